@@ -48,6 +48,11 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
   private static final long serialVersionUID = -1486322887991472729L;
 
   private final Map<String, Object> attributeMap;
+  /**
+   * Attributes captured from a metadata result-set row, which are kept in compact form until an
+   * attribute is changed. Attributes in the map take precedence.
+   */
+  private volatile AttributeRow attributeRow;
 
   /**
    * Effective Java - Item 17 - Minimize Mutability - Package-private constructors make a class
@@ -70,19 +75,38 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
   @Override
   public final <T> T getAttribute(final String name, final T defaultValue)
       throws ClassCastException {
-    return (T) attributeMap.getOrDefault(name, defaultValue);
+    if (name == null) {
+      return defaultValue;
+    }
+    Object value = attributeMap.get(name);
+    if (value == null) {
+      final AttributeRow row = attributeRow;
+      if (row != null) {
+        value = row.get(name);
+      }
+    }
+    if (value == null) {
+      return defaultValue;
+    }
+    return (T) value;
   }
 
   /** {@inheritDoc} */
   @Override
   public final Map<String, Object> getAttributes() {
-    return new TreeMap<>(attributeMap);
+    final Map<String, Object> attributes = new TreeMap<>();
+    final AttributeRow row = attributeRow;
+    if (row != null) {
+      row.copyInto(attributes);
+    }
+    attributes.putAll(attributeMap);
+    return attributes;
   }
 
   /** {@inheritDoc} */
   @Override
   public final String getRemarks() {
-    final Object remarks = attributeMap.get(REMARKS_ATTRIBUTE);
+    final Object remarks = getAttribute(REMARKS_ATTRIBUTE);
     if (remarks == null) {
       return "";
     }
@@ -92,7 +116,7 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
   /** {@inheritDoc} */
   @Override
   public final boolean hasAttribute(final String name) {
-    return attributeMap.containsKey(name);
+    return getAttribute(name) != null;
   }
 
   /** {@inheritDoc} */
@@ -114,6 +138,7 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
   @Override
   public final void removeAttribute(final String name) {
     if (!isBlank(name)) {
+      expandAttributeRow();
       attributeMap.remove(name);
     }
   }
@@ -123,6 +148,7 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
   public final void setAttribute(final String name, final Object value) {
     if (!isBlank(name)) {
       if (value == null) {
+        expandAttributeRow();
         attributeMap.remove(name);
       } else {
         attributeMap.put(name, value);
@@ -148,4 +174,35 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
       }
     }
   }
+
+  /**
+   * Adds attributes captured from a metadata result-set row. The first row is kept in compact
+   * form, and values from any later rows are added to the map.
+   *
+   * @param row Attributes captured from a metadata result-set row
+   */
+  final synchronized void addAttributes(final AttributeRow row) {
+    if (row == null) {
+      return;
+    }
+    if (attributeRow == null) {
+      // Values from the row replace any existing values, as they would in the map
+      row.forEach((key, value) -> attributeMap.remove(key));
+      attributeRow = row;
+    } else {
+      row.copyInto(attributeMap);
+    }
+  }
+
+  /**
+   * Moves attributes from the compact row into the map, so that they can be removed. Values are
+   * copied before the row is dropped, so readers see them throughout.
+   */
+  private synchronized void expandAttributeRow() {
+    final AttributeRow row = attributeRow;
+    if (row != null) {
+      row.forEach(attributeMap::putIfAbsent);
+      attributeRow = null;
+    }
+  }
 }
@@ -30,33 +30,80 @@ package schemacrawler.crawl;
 
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForSchemaInclusion;
+import static us.fatehi.utility.TemplatingUtility.extractTemplateVariables;
 import static us.fatehi.utility.Utility.isBlank;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.AttributedObject;
 import schemacrawler.schema.DataTypeType;
 import schemacrawler.schema.DatabaseObject;
 import schemacrawler.schema.JavaSqlType;
 import schemacrawler.schema.NamedObjectKey;
 import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.AttributeCapture;
+import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.Retriever;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
+import schemacrawler.schemacrawler.exceptions.SchemaCrawlerException;
 import schemacrawler.utility.TypeMap;
+import us.fatehi.utility.scheduler.TaskDefinition;
+import us.fatehi.utility.scheduler.TaskRunner;
+import us.fatehi.utility.string.StringFormat;
 
 /** Base class for retriever that uses database metadata to get the details about the schema. */
 @Retriever
 abstract class AbstractRetriever {
 
+  /** Processes the results of a data dictionary query. */
+  @FunctionalInterface
+  interface MetadataResultSetConsumer {
+    void accept(MetadataResultSet results) throws SQLException;
+  }
+
+  /** Makes a JDBC metadata call for all tables in a schema. */
+  @FunctionalInterface
+  interface SchemaMetadataCall {
+    ResultSet call(DatabaseMetaData metaData, Schema schema) throws SQLException;
+  }
+
   private static final Logger LOGGER = Logger.getLogger(AbstractRetriever.class.getName());
 
+  private static String escapeRegularExpression(final String text) {
+    final StringBuilder buffer = new StringBuilder(text.length() + 8);
+    for (final char ch : text.toCharArray()) {
+      if ("\\^$.|?*+()[]{}".indexOf(ch) >= 0) {
+        buffer.append('\\');
+      }
+      buffer.append(ch);
+    }
+    return buffer.toString();
+  }
+
   final MutableCatalog catalog;
   private final SchemaCrawlerOptions options;
   private final RetrieverConnection retrieverConnection;
+  private Consumer<Collection<MutableTable>> tablesRetrievedListener;
 
   AbstractRetriever(
       final RetrieverConnection retrieverConnection,
@@ -66,6 +113,7 @@ abstract class AbstractRetriever {
         requireNonNull(retrieverConnection, "No retriever connection provided");
     this.catalog = catalog;
     this.options = requireNonNull(options, "No SchemaCrawler options provided");
+    tablesRetrievedListener = tables -> {};
   }
 
   /**
@@ -99,6 +147,16 @@ abstract class AbstractRetriever {
     return belongsToCatalog && belongsToSchema;
   }
 
+  /**
+   * Gets the columns to capture as attributes, for a type of database object.
+   *
+   * @param type Type of database object
+   * @return Attribute capture
+   */
+  final AttributeCapture getAttributeCapture(final Class<? extends AttributedObject> type) {
+    return options.getLoadOptions().getAttributeCapture(type);
+  }
+
   final NamedObjectList<SchemaReference> getAllSchemas() {
     return catalog.getAllSchemas();
   }
@@ -107,6 +165,27 @@ abstract class AbstractRetriever {
     return retrieverConnection;
   }
 
+  /**
+   * Sets a listener that is told about tables as the retrieval for them is complete, for retrievals
+   * that are made one schema or one table at a time. Retrievals that are made for all tables at
+   * once do not report tables.
+   *
+   * @param tablesRetrievedListener Listener for tables that have been retrieved
+   */
+  final void onTablesRetrieved(final Consumer<Collection<MutableTable>> tablesRetrievedListener) {
+    this.tablesRetrievedListener =
+        requireNonNull(tablesRetrievedListener, "No tables retrieved listener provided");
+  }
+
+  /**
+   * Reports tables for which the retrieval is complete, and which will not be changed by it again.
+   *
+   * @param tables Tables that have been retrieved
+   */
+  final void tablesRetrieved(final Collection<MutableTable> tables) {
+    tablesRetrievedListener.accept(tables);
+  }
+
   final InclusionRule getSchemaInclusionRule() {
     return options.getLimitOptions().get(ruleForSchemaInclusion);
   }
@@ -164,12 +243,20 @@ abstract class AbstractRetriever {
       final int javaSqlTypeInt,
       final String databaseSpecificTypeName,
       final String mappedClassName) {
-    MutableColumnDataType columnDataType =
-        catalog
-            .lookupColumnDataType(schema, databaseSpecificTypeName)
-            .orElse(catalog.lookupSystemColumnDataType(databaseSpecificTypeName).orElse(null));
-    // Create new data type, if needed
-    if (columnDataType == null) {
+    final MutableColumnDataType existingColumnDataType =
+        lookupColumnDataType(schema, databaseSpecificTypeName);
+    if (existingColumnDataType != null) {
+      return existingColumnDataType;
+    }
+
+    // Table columns and routine parameters may be retrieved at the same time,
+    // so make sure that only one data type is created for a given name
+    synchronized (catalog) {
+      MutableColumnDataType columnDataType = lookupColumnDataType(schema, databaseSpecificTypeName);
+      if (columnDataType != null) {
+        return columnDataType;
+      }
+      // Create new data type
       columnDataType = new MutableColumnDataType(schema, databaseSpecificTypeName, type);
       final JavaSqlType javaSqlType = retrieverConnection.getJavaSqlTypes().valueOf(javaSqlTypeInt);
       columnDataType.setJavaSqlType(javaSqlType);
@@ -188,8 +275,183 @@ abstract class AbstractRetriever {
       columnDataType.withQuoting(getRetrieverConnection().getIdentifiers());
 
       catalog.addColumnDataType(columnDataType);
+      return columnDataType;
     }
-    return columnDataType;
+  }
+
+  /**
+   * Makes a JDBC metadata call once for each schema, with a null table name pattern, instead of
+   * once for each table. Some drivers reject a null table name, or return no rows for it, so tables
+   * in schemas for which no rows were returned need to be retrieved one table at a time. Tables in
+   * schemas for which the call failed, even partway through the results, are also retrieved one
+   * table at a time, so the row consumer needs to allow a row to be processed again. A row consumer
+   * is created once for each result-set, so that it can look up the columns that it reads once.
+   *
+   * @param allTables Tables to retrieve metadata for
+   * @param description Description of the metadata call, for logging
+   * @param fetchSize Fetch size, or 0 for a fetch size that adapts to the results
+   * @param metadataCall Makes the metadata call for a schema
+   * @param rowConsumerFactory Creates a consumer for the results, that processes the current row
+   * @return Tables that need to be retrieved one table at a time
+   */
+  final NamedObjectList<MutableTable> retrieveFromMetadataForAllTables(
+      final NamedObjectList<MutableTable> allTables,
+      final String description,
+      final int fetchSize,
+      final SchemaMetadataCall metadataCall,
+      final Function<MetadataResultSet, MetadataResultSetConsumer> rowConsumerFactory) {
+
+    final Map<Schema, NamedObjectList<MutableTable>> tablesBySchema = new LinkedHashMap<>();
+    for (final MutableTable table : allTables) {
+      tablesBySchema
+          .computeIfAbsent(table.getSchema(), schema -> new NamedObjectList<>())
+          .add(table);
+    }
+
+    final NamedObjectList<MutableTable> remainingTables = new NamedObjectList<>();
+    for (final Map.Entry<Schema, NamedObjectList<MutableTable>> schemaTables :
+        tablesBySchema.entrySet()) {
+      final Schema schema = schemaTables.getKey();
+      int rows = 0;
+      boolean failed = false;
+      try (final Connection connection = retrieverConnection.getConnection();
+          final MetadataResultSet results =
+              new MetadataResultSet(
+                  metadataCall.call(connection.getMetaData(), schema),
+                  description,
+                  fetchSize,
+                  retrieverConnection.getStringPool()); ) {
+        final MetadataResultSetConsumer rowConsumer = rowConsumerFactory.apply(results);
+        while (results.next()) {
+          rows++;
+          rowConsumer.accept(results);
+        }
+      } catch (final Exception e) {
+        failed = true;
+        LOGGER.log(
+            Level.WARNING,
+            e,
+            new StringFormat(
+                "Could not make %s call for schema <%s>, after %d rows",
+                description, schema, rows));
+      }
+      if (failed || rows == 0) {
+        LOGGER.log(
+            Level.FINE,
+            new StringFormat(
+                "Retrieving %s one table at a time for schema <%s>", description, schema));
+        for (final MutableTable table : schemaTables.getValue()) {
+          remainingTables.add(table);
+        }
+      } else {
+        tablesRetrieved(schemaTables.getValue().values());
+      }
+    }
+    return remainingTables;
+  }
+
+  /**
+   * Runs a data dictionary query, and processes the results. If partitioning is requested, and the
+   * query is restricted by the schemas parameter, the query is split by schema into partitions,
+   * and each partition is run in parallel, on its own connection. The consumer needs to be safe for
+   * use from multiple threads, but all the results for a schema are processed by a single call.
+   *
+   * @param query Data dictionary query
+   * @param fetchSize Fetch size, or 0 for a fetch size that adapts to the results
+   * @param consumer Processes each result-set
+   * @throws SQLException On a database access exception
+   */
+  final void retrieveFromDataDictionary(
+      final Query query, final int fetchSize, final MetadataResultSetConsumer consumer)
+      throws SQLException {
+    requireNonNull(query, "No query provided");
+    requireNonNull(consumer, "No result-set consumer provided");
+
+    final List<InclusionRule> schemaPartitions = getSchemaPartitions(query);
+    if (schemaPartitions.size() == 1) {
+      retrieveFromDataDictionary(query, schemaPartitions.get(0), fetchSize, consumer);
+      return;
+    }
+
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Retrieving <%s> in %d partitions", query.getName(), schemaPartitions.size()));
+    final TaskRunner taskRunner =
+        retrieverConnection.newTaskRunner(
+            String.format("retrieve-%s-partitions", query.getName()));
+    try {
+      for (final InclusionRule schemaPartition : schemaPartitions) {
+        taskRunner.add(
+            new TaskDefinition(
+                String.format("%s %s", query.getName(), schemaPartition),
+                MutableCrawlMetrics.propagate(
+                    () ->
+                        retrieveFromDataDictionary(
+                            query, schemaPartition, fetchSize, consumer))));
+      }
+      taskRunner.submit();
+    } catch (final SQLException | SchemaCrawlerException e) {
+      throw e;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutionRuntimeException(
+          String.format("Interrupted while retrieving <%s>", query.getName()), e);
+    } catch (final Exception e) {
+      throw new ExecutionRuntimeException(e.getMessage(), e);
+    } finally {
+      taskRunner.stop();
+    }
+  }
+
+  /**
+   * Splits schemas into partitions, in a round-robin fashion, and creates an inclusion rule that
+   * matches just the names of the schemas in each partition. If the query cannot be partitioned,
+   * the schema inclusion rule is used as is.
+   */
+  private List<InclusionRule> getSchemaPartitions(final Query query) {
+    final InclusionRule schemaInclusionRule = getSchemaInclusionRule();
+    final int dataDictionaryPartitions = options.getLoadOptions().getDataDictionaryPartitions();
+    if (dataDictionaryPartitions <= 1
+        || !extractTemplateVariables(query.getQuery()).contains("schemas")) {
+      return Collections.singletonList(schemaInclusionRule);
+    }
+
+    final List<String> schemaNames = new ArrayList<>();
+    for (final SchemaReference schema : getAllSchemas()) {
+      final String schemaName = schema.getName();
+      if (isBlank(schemaName)) {
+        return Collections.singletonList(schemaInclusionRule);
+      }
+      schemaNames.add(schemaName);
+    }
+    final int partitionCount = Math.min(dataDictionaryPartitions, schemaNames.size());
+    if (partitionCount <= 1) {
+      return Collections.singletonList(schemaInclusionRule);
+    }
+
+    final List<StringJoiner> partitionPatterns = new ArrayList<>();
+    for (int i = 0; i < partitionCount; i++) {
+      partitionPatterns.add(new StringJoiner("|", "^(", ")$"));
+    }
+    for (int i = 0; i < schemaNames.size(); i++) {
+      partitionPatterns
+          .get(i % partitionCount)
+          .add(escapeRegularExpression(schemaNames.get(i)));
+    }
+
+    final List<InclusionRule> schemaPartitions = new ArrayList<>();
+    for (final StringJoiner partitionPattern : partitionPatterns) {
+      schemaPartitions.add(new RegularExpressionInclusionRule(partitionPattern.toString()));
+    }
+    return schemaPartitions;
+  }
+
+  private MutableColumnDataType lookupColumnDataType(
+      final Schema schema, final String databaseSpecificTypeName) {
+    return catalog
+        .lookupColumnDataType(schema, databaseSpecificTypeName)
+        .orElse(catalog.lookupSystemColumnDataType(databaseSpecificTypeName).orElse(null));
   }
 
   final Optional<MutableRoutine> lookupRoutine(
@@ -206,6 +468,25 @@ abstract class AbstractRetriever {
     return catalog.lookupTable(new NamedObjectKey(catalogName, schemaName, tableName));
   }
 
+  private void retrieveFromDataDictionary(
+      final Query query,
+      final InclusionRule schemaInclusionRule,
+      final int fetchSize,
+      final MetadataResultSetConsumer consumer)
+      throws SQLException {
+    try (final Connection connection = getRetrieverConnection().getConnection();
+        final Statement statement = connection.createStatement();
+        final MetadataResultSet results =
+            new MetadataResultSet(
+                query,
+                statement,
+                schemaInclusionRule,
+                fetchSize,
+                retrieverConnection.getStringPool()); ) {
+      consumer.accept(results);
+    }
+  }
+
   final String normalizeCatalogName(final String name) {
     if (retrieverConnection.isSupportsCatalogs()) {
       return name;
@@ -0,0 +1,90 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact storage for attributes captured from a row of a database metadata result-set. Column
+ * labels are shared by all rows read from the same result-set, and each row only holds an array
+ * of values. Null values are not attributes.
+ */
+final class AttributeRow implements Serializable {
+
+  private static final long serialVersionUID = 2381743602159864407L;
+
+  private final String[] labels;
+  private final Object[] values;
+
+  AttributeRow(final String[] labels, final Object[] values) {
+    this.labels = requireNonNull(labels, "No labels provided");
+    this.values = requireNonNull(values, "No values provided");
+    if (labels.length != values.length) {
+      throw new IllegalArgumentException("Labels do not match values");
+    }
+  }
+
+  /**
+   * Copies non-null values into a map, keyed by column label.
+   *
+   * @param map Map to copy into
+   */
+  void copyInto(final Map<String, Object> map) {
+    forEach(map::put);
+  }
+
+  /**
+   * Performs an action for each non-null value, with the column label.
+   *
+   * @param action Action to perform
+   */
+  void forEach(final BiConsumer<String, Object> action) {
+    for (int i = 0; i < labels.length; i++) {
+      if (values[i] != null) {
+        action.accept(labels[i], values[i]);
+      }
+    }
+  }
+
+  Object get(final String label) {
+    if (label == null) {
+      return null;
+    }
+    for (int i = 0; i < labels.length; i++) {
+      if (labels[i].equals(label)) {
+        return values[i];
+      }
+    }
+    return null;
+  }
+}
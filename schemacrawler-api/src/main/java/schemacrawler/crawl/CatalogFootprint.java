@@ -0,0 +1,449 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SortedMap;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.Grant;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.Privilege;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.TableReference;
+import schemacrawler.schema.Trigger;
+
+/**
+ * Estimates the memory retained by a catalog, for each type of object in the catalog. The object
+ * graph of the catalog is walked, and each object is counted once, against the type of the
+ * nearest schema object that holds it. For example, the lists of columns held by a table count
+ * against tables, while the columns themselves count against columns. Attributes, including
+ * remarks, and lints count separately from the objects that hold them. Strings and other objects
+ * that are shared are counted against the type of object that first reached them.
+ *
+ * <p>Sizes are estimated for a 64-bit JVM with compressed references, and collections from the
+ * Java runtime are estimated from their size, rather than inspected, so the report is intended to
+ * show where memory goes, rather than to be exact.
+ */
+public final class CatalogFootprint {
+
+  public enum ObjectType {
+    catalog,
+    schemas,
+    tables,
+    columns,
+    indexes,
+    foreign_keys,
+    constraints,
+    triggers,
+    privileges,
+    routines,
+    sequences,
+    synonyms,
+    data_types,
+    attributes,
+    lints;
+
+    @Override
+    public String toString() {
+      return name().replace('_', ' ');
+    }
+  }
+
+  /** Attribute that lints are stored in, by the lint command. */
+  private static final String LINT_KEY = "schemacrawler.lint";
+
+  private static final int OBJECT_HEADER = 12;
+  private static final int ARRAY_HEADER = 16;
+  private static final int REFERENCE = 4;
+  private static final boolean COMPACT_STRINGS =
+      !System.getProperty("java.specification.version", "").startsWith("1.");
+
+  private static long align(final long size) {
+    return (size + 7) & ~7L;
+  }
+
+  private static long collectionSize(final Collection<?> collection) {
+    final int size = collection.size();
+    if (collection instanceof RandomAccess) {
+      return 24 + align(ARRAY_HEADER + (long) REFERENCE * size);
+    }
+    if (collection instanceof Set) {
+      return 16 + hashMapSize(size);
+    }
+    return 24 + 24L * size;
+  }
+
+  private static long hashMapSize(final int size) {
+    if (size == 0) {
+      return 64;
+    }
+    int capacity = 16;
+    while (capacity * 3 / 4 < size) {
+      capacity = capacity * 2;
+    }
+    return 64 + align(ARRAY_HEADER + (long) REFERENCE * capacity) + 32L * size;
+  }
+
+  private static boolean isRuntimeClass(final Class<?> type) {
+    final String className = type.getName();
+    return className.startsWith("java.")
+        || className.startsWith("javax.")
+        || className.startsWith("jdk.")
+        || className.startsWith("sun.");
+  }
+
+  private static long mapSize(final Map<?, ?> map) {
+    if (map instanceof SortedMap) {
+      return 48 + 40L * map.size();
+    }
+    return hashMapSize(map.size());
+  }
+
+  /** Gets the type of schema object, or null for objects that belong to the object holding them. */
+  private static ObjectType objectTypeOf(final Object object) {
+    if (object instanceof IndexColumn) {
+      return ObjectType.indexes;
+    } else if (object instanceof TableConstraintColumn) {
+      return ObjectType.constraints;
+    } else if (object instanceof RoutineParameter) {
+      return ObjectType.routines;
+    } else if (object instanceof Column) {
+      return ObjectType.columns;
+    } else if (object instanceof Index) {
+      return ObjectType.indexes;
+    } else if (object instanceof TableReference || object instanceof ColumnReference) {
+      return ObjectType.foreign_keys;
+    } else if (object instanceof TableConstraint) {
+      return ObjectType.constraints;
+    } else if (object instanceof Trigger) {
+      return ObjectType.triggers;
+    } else if (object instanceof Privilege || object instanceof Grant) {
+      return ObjectType.privileges;
+    } else if (object instanceof Routine) {
+      return ObjectType.routines;
+    } else if (object instanceof Sequence) {
+      return ObjectType.sequences;
+    } else if (object instanceof Synonym) {
+      return ObjectType.synonyms;
+    } else if (object instanceof ColumnDataType) {
+      return ObjectType.data_types;
+    } else if (object instanceof Table) {
+      return ObjectType.tables;
+    } else if (object instanceof Schema) {
+      return ObjectType.schemas;
+    } else {
+      return null;
+    }
+  }
+
+  private static long runtimeObjectSize(final Object object) {
+    if (object instanceof Long || object instanceof Double) {
+      return 24;
+    }
+    if (object instanceof Number || object instanceof Boolean || object instanceof Character) {
+      return 16;
+    }
+    if (object instanceof StringBuilder) {
+      return 24 + align(ARRAY_HEADER + ((StringBuilder) object).capacity() * 2L);
+    }
+    return 24;
+  }
+
+  private static long stringSize(final String string) {
+    final int length = string.length();
+    boolean isLatin1 = COMPACT_STRINGS;
+    for (int i = 0; isLatin1 && i < length; i++) {
+      isLatin1 = string.charAt(i) <= 0xFF;
+    }
+    return 24 + align(ARRAY_HEADER + (isLatin1 ? length : 2L * length));
+  }
+
+  private final Map<ObjectType, long[]> footprint;
+  private final Map<Class<?>, Long> shallowSizes;
+  private final Map<Class<?>, List<Field>> referenceFields;
+  private final Set<Object> visited;
+  private final Deque<Object> objects;
+  private final Deque<ObjectType> objectTypes;
+
+  /**
+   * Estimates the memory retained by a catalog.
+   *
+   * @param catalog Catalog to estimate
+   */
+  public CatalogFootprint(final Catalog catalog) {
+    requireNonNull(catalog, "No catalog provided");
+
+    footprint = new EnumMap<>(ObjectType.class);
+    for (final ObjectType objectType : ObjectType.values()) {
+      footprint.put(objectType, new long[2]);
+    }
+    shallowSizes = new HashMap<>();
+    referenceFields = new HashMap<>();
+    visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    objects = new ArrayDeque<>();
+    objectTypes = new ArrayDeque<>();
+
+    walk(catalog);
+
+    // Release working memory, since the catalog may be very large
+    shallowSizes.clear();
+    referenceFields.clear();
+    visited.clear();
+  }
+
+  /**
+   * Gets the estimated number of Java objects held for a type of schema object.
+   *
+   * @param objectType Type of schema object
+   * @return Number of Java objects
+   */
+  public long getObjectCount(final ObjectType objectType) {
+    return footprint.get(requireNonNull(objectType, "No object type provided"))[0];
+  }
+
+  /**
+   * Gets the estimated number of bytes retained for a type of schema object.
+   *
+   * @param objectType Type of schema object
+   * @return Estimated size in bytes
+   */
+  public long getSize(final ObjectType objectType) {
+    return footprint.get(requireNonNull(objectType, "No object type provided"))[1];
+  }
+
+  /**
+   * Gets the estimated number of bytes retained by the catalog.
+   *
+   * @return Estimated size in bytes
+   */
+  public long getTotalSize() {
+    long totalSize = 0;
+    for (final long[] counts : footprint.values()) {
+      totalSize = totalSize + counts[1];
+    }
+    return totalSize;
+  }
+
+  @Override
+  public String toString() {
+    final long totalSize = getTotalSize();
+    final StringBuilder buffer = new StringBuilder();
+    buffer.append(
+        String.format("%-15s %12s %15s %7s%n", "Object type", "Objects", "Size (bytes)", "Size"));
+    for (final ObjectType objectType : ObjectType.values()) {
+      final long size = getSize(objectType);
+      buffer.append(
+          String.format(
+              "%-15s %12d %15d %6.1f%%%n",
+              objectType,
+              getObjectCount(objectType),
+              size,
+              totalSize == 0 ? 0.0 : size * 100.0 / totalSize));
+    }
+    buffer.append(String.format("%-15s %12s %15d%n", "total", "", totalSize));
+    return buffer.toString();
+  }
+
+  private void add(final ObjectType objectType, final long size) {
+    final long[] counts = footprint.get(objectType);
+    counts[0] = counts[0] + 1;
+    counts[1] = counts[1] + size;
+  }
+
+  private List<Field> getReferenceFields(final Class<?> type) {
+    List<Field> fields = referenceFields.get(type);
+    if (fields == null) {
+      fields = new ArrayList<>();
+      for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+        for (final Field field : current.getDeclaredFields()) {
+          if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+            continue;
+          }
+          try {
+            field.setAccessible(true);
+            fields.add(field);
+          } catch (final RuntimeException e) {
+            // Fields that cannot be read are not followed
+          }
+        }
+      }
+      referenceFields.put(type, fields);
+    }
+    return fields;
+  }
+
+  private long getShallowSize(final Class<?> type) {
+    Long shallowSize = shallowSizes.get(type);
+    if (shallowSize == null) {
+      long size = OBJECT_HEADER;
+      for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+        for (final Field field : current.getDeclaredFields()) {
+          if (Modifier.isStatic(field.getModifiers())) {
+            continue;
+          }
+          final Class<?> fieldType = field.getType();
+          if (fieldType == long.class || fieldType == double.class) {
+            size = size + 8;
+          } else if (fieldType == int.class || fieldType == float.class) {
+            size = size + 4;
+          } else if (fieldType == short.class || fieldType == char.class) {
+            size = size + 2;
+          } else if (fieldType == byte.class || fieldType == boolean.class) {
+            size = size + 1;
+          } else {
+            size = size + REFERENCE;
+          }
+        }
+      }
+      shallowSize = align(size);
+      shallowSizes.put(type, shallowSize);
+    }
+    return shallowSize;
+  }
+
+  private void measure(final Object object, final ObjectType objectType) {
+    final Class<?> type = object.getClass();
+    if (object instanceof String) {
+      add(objectType, stringSize((String) object));
+    } else if (type.isArray()) {
+      final Class<?> componentType = type.getComponentType();
+      final int length = Array.getLength(object);
+      final long elementSize;
+      if (componentType == long.class || componentType == double.class) {
+        elementSize = 8;
+      } else if (componentType == int.class || componentType == float.class) {
+        elementSize = 4;
+      } else if (componentType == short.class || componentType == char.class) {
+        elementSize = 2;
+      } else if (componentType == byte.class || componentType == boolean.class) {
+        elementSize = 1;
+      } else {
+        elementSize = REFERENCE;
+        for (final Object element : (Object[]) object) {
+          push(element, objectType);
+        }
+      }
+      add(objectType, align(ARRAY_HEADER + elementSize * length));
+    } else if (object instanceof Map && isRuntimeClass(type)) {
+      final Map<?, ?> map = (Map<?, ?>) object;
+      add(objectType, mapSize(map));
+      for (final Map.Entry<?, ?> entry : map.entrySet()) {
+        push(entry.getKey(), objectType);
+        if (objectType == ObjectType.attributes && LINT_KEY.equals(entry.getKey())) {
+          push(entry.getValue(), ObjectType.lints);
+        } else {
+          push(entry.getValue(), objectType);
+        }
+      }
+    } else if (object instanceof Collection && isRuntimeClass(type)) {
+      final Collection<?> collection = (Collection<?>) object;
+      add(objectType, collectionSize(collection));
+      for (final Object element : collection) {
+        push(element, objectType);
+      }
+    } else if (object instanceof Optional) {
+      add(objectType, 16);
+      push(((Optional<?>) object).orElse(null), objectType);
+    } else if (isRuntimeClass(type)) {
+      add(objectType, runtimeObjectSize(object));
+    } else {
+      add(objectType, getShallowSize(type));
+      for (final Field field : getReferenceFields(type)) {
+        final Object value;
+        try {
+          value = field.get(object);
+        } catch (final IllegalAccessException e) {
+          continue;
+        }
+        // Attributes, including remarks, are counted separately from the objects that hold them
+        if (field.getDeclaringClass() == AbstractNamedObjectWithAttributes.class) {
+          push(value, ObjectType.attributes);
+        } else {
+          push(value, objectType);
+        }
+      }
+    }
+  }
+
+  private void push(final Object object, final ObjectType objectType) {
+    // Enums and classes are shared by all catalogs, so they are not counted
+    if (object == null || object instanceof Enum || object instanceof Class) {
+      return;
+    }
+    objects.push(object);
+    objectTypes.push(objectType);
+  }
+
+  private void walk(final Catalog catalog) {
+    // Walk iteratively, since object graphs can be deeper than the stack allows
+    push(catalog, ObjectType.catalog);
+    while (!objects.isEmpty()) {
+      final Object object = objects.pop();
+      final ObjectType holderObjectType = objectTypes.pop();
+      if (!visited.add(object)) {
+        continue;
+      }
+      final ObjectType objectType = objectTypeOf(object);
+      if (objectType == null) {
+        measure(object, holderObjectType);
+      } else {
+        measure(object, objectType);
+      }
+    }
+  }
+}
@@ -0,0 +1,213 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+
+/**
+ * Compact binary snapshot of a catalog, which is much faster to save and load than Java
+ * serialization of the catalog object graph. A snapshot starts with a header of magic bytes and a
+ * format version, followed by a string table with every string in the snapshot. References between
+ * database objects are written as variable-length integer ids, so that the catalog can be restored
+ * without reflection.
+ *
+ * <p>Tables are listed in a table of contents, with the positions of the blocks that describe each
+ * table. When a snapshot is read from a buffer, such as a memory-mapped file, a table filter
+ * selects tables from the table of contents, and the blocks of the other tables are never read.
+ * Strings are only decoded when they are first used.
+ *
+ * <p>Attribute values that are not strings, numbers, booleans, or lists, sets and maps of these,
+ * are written using a value serializer provided by the caller, and read back with a matching value
+ * deserializer.
+ */
+public final class CatalogSnapshot {
+
+  static final byte[] MAGIC = {'S', 'C', 'S', 'N'};
+  static final int VERSION = 2;
+
+  static final int REF_NULL = 0;
+  static final int REF_NEW = 1;
+  static final int REF_OFFSET = 2;
+
+  static final int VALUE_NULL = 0;
+  static final int VALUE_STRING = 1;
+  static final int VALUE_TRUE = 2;
+  static final int VALUE_FALSE = 3;
+  static final int VALUE_INTEGER = 4;
+  static final int VALUE_LONG = 5;
+  static final int VALUE_SHORT = 6;
+  static final int VALUE_DOUBLE = 7;
+  static final int VALUE_FLOAT = 8;
+  static final int VALUE_BIG_INTEGER = 9;
+  static final int VALUE_BIG_DECIMAL = 10;
+  static final int VALUE_LIST = 11;
+  static final int VALUE_SET = 12;
+  static final int VALUE_MAP = 13;
+  static final int VALUE_SERIALIZED = 14;
+
+  static final int KIND_TABLE = 0;
+  static final int KIND_VIEW = 1;
+  static final int KIND_FUNCTION = 2;
+  static final int KIND_PROCEDURE = 3;
+  static final int KIND_ROUTINE = 4;
+  static final int KIND_OTHER = 5;
+  static final int KIND_PRIMARY_KEY = 6;
+  static final int KIND_ALTERNATE_KEY = 7;
+  static final int KIND_FOREIGN_KEY = 8;
+  static final int KIND_WEAK_ASSOCIATION = 9;
+  static final int KIND_TABLE_CONSTRAINT = 10;
+
+  /**
+   * Checks if a buffer starts with a catalog snapshot header, from its current position. The
+   * position of the buffer is not changed.
+   *
+   * @param buffer Buffer
+   * @return True if the buffer contains a catalog snapshot
+   */
+  public static boolean isCatalogSnapshot(final ByteBuffer buffer) {
+    requireNonNull(buffer, "No buffer provided");
+    if (buffer.remaining() < MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (buffer.get(buffer.position() + i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if a stream starts with a catalog snapshot header. The stream needs to support mark and
+   * reset, and is reset to where it was before the check.
+   *
+   * @param in Input stream that supports mark and reset
+   * @return True if the stream contains a catalog snapshot
+   * @throws IOException On an exception reading the stream
+   */
+  public static boolean isCatalogSnapshot(final InputStream in) throws IOException {
+    requireNonNull(in, "No input stream provided");
+    if (!in.markSupported()) {
+      throw new IllegalArgumentException("Input stream does not support mark and reset");
+    }
+    in.mark(MAGIC.length);
+    try {
+      for (final byte magicByte : MAGIC) {
+        if (in.read() != magicByte) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      in.reset();
+    }
+  }
+
+  /**
+   * Reads a catalog from a snapshot in a buffer, with only the tables that are selected by a table
+   * filter. The table filter is tested with tables that only have a schema, a name and a table
+   * type. Tables that are not selected are not read, but tables that are read may refer to them as
+   * partial tables.
+   *
+   * @param buffer Buffer with the snapshot, from the current position
+   * @param valueDeserializer Deserializer for attribute values that were written with the value
+   *     serializer
+   * @param tableFilter Filter for tables to read
+   * @return Catalog
+   * @throws IOException If the snapshot is not valid
+   */
+  public static Catalog readCatalog(
+      final ByteBuffer buffer,
+      final Function<byte[], Object> valueDeserializer,
+      final Predicate<Table> tableFilter)
+      throws IOException {
+    requireNonNull(buffer, "No buffer provided");
+    requireNonNull(valueDeserializer, "No value deserializer provided");
+    requireNonNull(tableFilter, "No table filter provided");
+    return new CatalogSnapshotReader(buffer, valueDeserializer, tableFilter).read();
+  }
+
+  /**
+   * Reads a catalog from a snapshot, with all tables.
+   *
+   * @param in Input stream to read the snapshot from, which is not closed
+   * @param valueDeserializer Deserializer for attribute values that were written with the value
+   *     serializer
+   * @return Catalog
+   * @throws IOException On an exception reading the stream, or if the snapshot is not valid
+   */
+  public static Catalog readCatalog(
+      final InputStream in, final Function<byte[], Object> valueDeserializer) throws IOException {
+    requireNonNull(in, "No input stream provided");
+    requireNonNull(valueDeserializer, "No value deserializer provided");
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[64 * 1024];
+    int length;
+    while ((length = in.read(buffer)) != -1) {
+      bytes.write(buffer, 0, length);
+    }
+    return readCatalog(ByteBuffer.wrap(bytes.toByteArray()), valueDeserializer, table -> true);
+  }
+
+  /**
+   * Writes a snapshot of a catalog.
+   *
+   * @param catalog Catalog, which needs to have been created by SchemaCrawler
+   * @param out Output stream to write the snapshot to, which is flushed but not closed
+   * @param valueSerializer Serializer for attribute values of types that the snapshot does not
+   *     support directly
+   * @throws IOException On an exception writing the stream
+   */
+  public static void writeCatalog(
+      final Catalog catalog, final OutputStream out, final Function<Object, byte[]> valueSerializer)
+      throws IOException {
+    requireNonNull(catalog, "No catalog provided");
+    requireNonNull(out, "No output stream provided");
+    requireNonNull(valueSerializer, "No value serializer provided");
+    if (!(catalog instanceof MutableCatalog)) {
+      throw new IllegalArgumentException("Catalog was not created by SchemaCrawler");
+    }
+    new CatalogSnapshotWriter(out, valueSerializer).write((MutableCatalog) catalog);
+  }
+
+  private CatalogSnapshot() {
+    // Prevent instantiation
+  }
+}
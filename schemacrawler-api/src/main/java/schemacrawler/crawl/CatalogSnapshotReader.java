@@ -0,0 +1,1039 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_ALTERNATE_KEY;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_FOREIGN_KEY;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_FUNCTION;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_PRIMARY_KEY;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_ROUTINE;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_TABLE;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_TABLE_CONSTRAINT;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_VIEW;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_WEAK_ASSOCIATION;
+import static schemacrawler.crawl.CatalogSnapshot.MAGIC;
+import static schemacrawler.crawl.CatalogSnapshot.REF_NEW;
+import static schemacrawler.crawl.CatalogSnapshot.REF_NULL;
+import static schemacrawler.crawl.CatalogSnapshot.REF_OFFSET;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_BIG_DECIMAL;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_BIG_INTEGER;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_DOUBLE;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_FALSE;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_FLOAT;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_INTEGER;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_LIST;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_LONG;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_MAP;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_NULL;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_SERIALIZED;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_SET;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_SHORT;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_STRING;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_TRUE;
+import static schemacrawler.crawl.CatalogSnapshot.VERSION;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.sql.DriverPropertyInfo;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import schemacrawler.BaseProductVersion;
+import schemacrawler.ProductVersion;
+import schemacrawler.crawl.SynonymRetriever.UnknownDatabaseObject;
+import schemacrawler.schema.ActionOrientationType;
+import schemacrawler.schema.CheckOptionType;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ConditionTimingType;
+import schemacrawler.schema.DataTypeType;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.EventManipulationType;
+import schemacrawler.schema.ForeignKeyDeferrability;
+import schemacrawler.schema.ForeignKeyUpdateRule;
+import schemacrawler.schema.FunctionReturnType;
+import schemacrawler.schema.IndexColumnSortSequence;
+import schemacrawler.schema.IndexType;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.ParameterModeType;
+import schemacrawler.schema.ProcedureReturnType;
+import schemacrawler.schema.RoutineBodyType;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SearchableType;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraintType;
+import schemacrawler.schema.TableType;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.utility.JavaSqlTypes;
+
+/**
+ * Reads a catalog snapshot from a buffer. The table of contents is read first, and only the blocks
+ * of the tables that are selected by the table filter are read. Other tables are only created as
+ * partial tables if they are referred to by tables that are read.
+ */
+final class CatalogSnapshotReader {
+
+  private final ByteBuffer buffer;
+  private final Function<byte[], Object> valueDeserializer;
+  private final Predicate<Table> tableFilter;
+  private final List<Object> objects;
+  private final List<TableEntry> tableEntries;
+  private final Map<List<String>, TablePartial> partialTables;
+  private final Map<TablePartial, Map<String, ColumnPartial>> partialColumns;
+  private final Map<Integer, AbstractTableReference> tableReferences;
+  private final JavaSqlTypes javaSqlTypes;
+  private int[] stringPositions;
+  private int[] stringLengths;
+  private String[] strings;
+  private int bodyStart;
+  private MutableCatalog catalog;
+
+  CatalogSnapshotReader(
+      final ByteBuffer buffer,
+      final Function<byte[], Object> valueDeserializer,
+      final Predicate<Table> tableFilter) {
+    this.buffer = requireNonNull(buffer, "No buffer provided").duplicate();
+    this.valueDeserializer = requireNonNull(valueDeserializer, "No value deserializer provided");
+    this.tableFilter = requireNonNull(tableFilter, "No table filter provided");
+    objects = new ArrayList<>();
+    tableEntries = new ArrayList<>();
+    partialTables = new HashMap<>();
+    partialColumns = new IdentityHashMap<>();
+    tableReferences = new HashMap<>();
+    javaSqlTypes = new JavaSqlTypes();
+  }
+
+  MutableCatalog read() throws IOException {
+    try {
+      return readCatalog();
+    } catch (final BufferUnderflowException | IllegalArgumentException e) {
+      final StreamCorruptedException exception =
+          new StreamCorruptedException("Catalog snapshot is truncated, or not valid");
+      exception.initCause(e);
+      throw exception;
+    }
+  }
+
+  private Object lookup(final int ref) throws IOException {
+    if (ref == REF_NULL) {
+      return null;
+    }
+    final int id = ref - REF_OFFSET;
+    if (id < 0 || id >= objects.size()) {
+      throw new StreamCorruptedException(String.format("Unknown object id <%d>", id));
+    }
+    return objects.get(id);
+  }
+
+  private MutableColumn lookupColumn(final MutableTable table, final String name)
+      throws IOException {
+    final Optional<MutableColumn> column = table.lookupColumn(name);
+    if (!column.isPresent()) {
+      throw new StreamCorruptedException(
+          String.format("Unknown column <%s> of table <%s>", name, table.getFullName()));
+    }
+    return column.get();
+  }
+
+  /** Tables that are not read are referred to by partial tables, one for each table. */
+  private TablePartial lookupPartialTable(final Schema schema, final String name) {
+    final List<String> key = Arrays.asList(schema.getCatalogName(), schema.getName(), name);
+    return partialTables.computeIfAbsent(key, k -> new TablePartial(schema, name));
+  }
+
+  private Map<String, Object> readAttributes() throws IOException {
+    final int size = readUnsignedInt();
+    if (size == 0) {
+      return Collections.emptyMap();
+    }
+    final Map<String, Object> attributes = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      final String key = readString();
+      final Object value = readValue();
+      attributes.put(key, value);
+    }
+    return attributes;
+  }
+
+  private BigInteger readBigInteger() throws IOException {
+    final int length = readUnsignedInt();
+    if (length == 0) {
+      return null;
+    }
+    return new BigInteger(readBytes(length - 1));
+  }
+
+  private boolean readBoolean() throws IOException {
+    return readByte() != 0;
+  }
+
+  private int readByte() {
+    return buffer.get();
+  }
+
+  private byte[] readBytes(final int length) {
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private MutableCatalog readCatalog() throws IOException {
+    for (final byte magicByte : MAGIC) {
+      if (!buffer.hasRemaining() || buffer.get() != magicByte) {
+        throw new StreamCorruptedException("Not a catalog snapshot");
+      }
+    }
+    final int version = readUnsignedInt();
+    if (version != VERSION) {
+      throw new StreamCorruptedException(
+          String.format("Unsupported catalog snapshot version <%d>", version));
+    }
+    readStringTable();
+
+    final String name = readString();
+    final MutableDatabaseInfo databaseInfo = readDatabaseInfo();
+    final MutableJdbcDriverInfo jdbcDriverInfo = readJdbcDriverInfo();
+    final MutableCrawlInfo crawlInfo = readCrawlInfo();
+    catalog = new MutableCatalog(name, databaseInfo, jdbcDriverInfo, crawlInfo);
+    catalog.addAttributes(readAttributes());
+
+    readFilteredList(catalog.getAllSchemas(), this::readSchemaRef);
+    final int referencedSchemaCount = readUnsignedInt();
+    for (int i = 0; i < referencedSchemaCount; i++) {
+      readSchemaRef();
+    }
+
+    final int columnDataTypeCount = readUnsignedInt();
+    for (int i = 0; i < columnDataTypeCount; i++) {
+      catalog.addColumnDataType((MutableColumnDataType) readColumnDataTypeRef());
+    }
+    final int referencedColumnDataTypeCount = readUnsignedInt();
+    for (int i = 0; i < referencedColumnDataTypeCount; i++) {
+      readColumnDataTypeRef();
+    }
+
+    readFilteredList(catalog.getAllRoutines(), this::readRoutine);
+
+    // Tables are selected from the table of contents, and blocks for other tables are not read
+    readFilteredList(catalog.getAllTables(), this::readTableEntry);
+
+    readFilteredList(catalog.getAllSequences(), this::readSequence);
+    readFilteredList(catalog.getAllSynonyms(), this::readSynonym);
+
+    final int databaseUserCount = readUnsignedInt();
+    for (int i = 0; i < databaseUserCount; i++) {
+      final ImmutableDatabaseUser databaseUser = new ImmutableDatabaseUser(readString());
+      databaseUser.addAttributes(readAttributes());
+      catalog.addDatabaseUser(databaseUser);
+    }
+
+    for (final TableEntry tableEntry : tableEntries) {
+      if (tableEntry.table != null) {
+        seek(tableEntry.detailsPosition);
+        readTableDetails(tableEntry.table);
+      }
+    }
+    // Sort indexes of tables are only known after the tables are added
+    catalog.getAllTables().resort();
+    for (final TableEntry tableEntry : tableEntries) {
+      if (tableEntry.table != null) {
+        seek(tableEntry.relationshipsPosition);
+        readTableRelationships(tableEntry.table);
+      }
+    }
+
+    return catalog;
+  }
+
+  private ColumnDataType readColumnDataTypeRef() throws IOException {
+    final int ref = readUnsignedInt();
+    if (ref != REF_NEW) {
+      return (ColumnDataType) lookup(ref);
+    }
+    final Schema schema = readSchemaRef();
+    final String name = readString();
+    final DataTypeType type = readEnum(DataTypeType.class);
+    final MutableColumnDataType columnDataType = new MutableColumnDataType(schema, name, type);
+    register(columnDataType);
+
+    columnDataType.addAttributes(readAttributes());
+    columnDataType.setAutoIncrementable(readBoolean());
+    columnDataType.setCaseSensitive(readBoolean());
+    columnDataType.setCreateParameters(readString());
+    columnDataType.setFixedPrecisionScale(readBoolean());
+    columnDataType.setJavaSqlType(javaSqlTypes.valueOf(readSignedInt()));
+    columnDataType.setTypeMappedClass(readString());
+    columnDataType.setLiteralPrefix(readString());
+    columnDataType.setLiteralSuffix(readString());
+    columnDataType.setLocalTypeName(readString());
+    columnDataType.setMaximumScale(readSignedInt());
+    columnDataType.setMinimumScale(readSignedInt());
+    columnDataType.setNullable(readBoolean());
+    columnDataType.setNumPrecisionRadix(readSignedInt());
+    columnDataType.setPrecision(readSignedLong());
+    columnDataType.setSearchable(readEnum(SearchableType.class));
+    columnDataType.setUnsigned(readBoolean());
+    final int enumValueCount = readUnsignedInt();
+    final List<String> enumValues = new ArrayList<>(enumValueCount);
+    for (int i = 0; i < enumValueCount; i++) {
+      enumValues.add(readString());
+    }
+    columnDataType.setEnumValues(enumValues);
+    columnDataType.setBaseType(readColumnDataTypeRef());
+
+    return columnDataType;
+  }
+
+  private void readColumnDetails(final MutableColumn column) throws IOException {
+    column.addAttributes(readAttributes());
+    column.setOrdinalPosition(readSignedInt());
+    column.setSize(readSignedInt());
+    column.setDecimalDigits(readSignedInt());
+    column.setNullable(readBoolean());
+    column.setColumnDataType((ColumnDataType) lookup(readUnsignedInt()));
+    column.setDefaultValue(readString());
+    final int flags = readByte();
+    column.setAutoIncremented((flags & 1) != 0);
+    column.setGenerated((flags & 1 << 1) != 0);
+    column.setHidden((flags & 1 << 2) != 0);
+    if ((flags & 1 << 3) != 0) {
+      column.markAsPartOfIndex();
+    }
+    if ((flags & 1 << 4) != 0) {
+      column.markAsPartOfPrimaryKey();
+    }
+    if ((flags & 1 << 5) != 0) {
+      column.markAsPartOfUniqueIndex();
+    }
+
+    final int privilegeCount = readUnsignedInt();
+    for (int i = 0; i < privilegeCount; i++) {
+      final MutablePrivilege<Column> privilege =
+          new MutablePrivilege<>(new ColumnPointer(column), readString());
+      readPrivilege(privilege);
+      column.addPrivilege(privilege);
+    }
+  }
+
+  private Column readColumnRef() throws IOException {
+    final Table table = readTableRef();
+    if (table == null) {
+      return null;
+    }
+    final String name = readString();
+    if (table instanceof MutableTable) {
+      return lookupColumn((MutableTable) table, name);
+    }
+    final TablePartial partialTable = (TablePartial) table;
+    return partialColumns
+        .computeIfAbsent(partialTable, key -> new HashMap<>())
+        .computeIfAbsent(
+            name,
+            key -> {
+              final ColumnPartial column = new ColumnPartial(partialTable, name);
+              partialTable.addColumn(column);
+              return column;
+            });
+  }
+
+  private void readConstrainedColumns(final MutableTableConstraint tableConstraint)
+      throws IOException {
+    final int columnCount = readUnsignedInt();
+    for (int i = 0; i < columnCount; i++) {
+      final MutableTableConstraintColumn column =
+          new MutableTableConstraintColumn(tableConstraint, readColumnRef());
+      column.setKeyOrdinalPosition(readSignedInt());
+      column.addAttributes(readAttributes());
+      tableConstraint.addColumn(column);
+    }
+  }
+
+  private MutableCrawlInfo readCrawlInfo() throws IOException {
+    final ProductVersion schemaCrawlerVersion = readProductVersion();
+    final ProductVersion operatingSystemVersion = readProductVersion();
+    final ProductVersion jvmVersion = readProductVersion();
+    final ProductVersion databaseVersion = readProductVersion();
+    final ProductVersion jdbcDriverVersion = readProductVersion();
+    final long epochSecond = readSignedLong();
+    final int nanos = readUnsignedInt();
+    final String runId = readString();
+    return new MutableCrawlInfo(
+        schemaCrawlerVersion,
+        operatingSystemVersion,
+        jvmVersion,
+        databaseVersion,
+        jdbcDriverVersion,
+        Instant.ofEpochSecond(epochSecond, nanos),
+        runId);
+  }
+
+  private MutableDatabaseInfo readDatabaseInfo() throws IOException {
+    final String productName = readString();
+    final String productVersion = readString();
+    final String userName = readString();
+    final MutableDatabaseInfo databaseInfo =
+        new MutableDatabaseInfo(productName, productVersion, userName);
+
+    final int serverInfoCount = readUnsignedInt();
+    for (int i = 0; i < serverInfoCount; i++) {
+      final String name = readString();
+      final String value = readString();
+      final String description = readString();
+      databaseInfo.addServerInfo(new ImmutableServerInfoProperty(name, value, description));
+    }
+
+    final int propertyCount = readUnsignedInt();
+    final List<ImmutableDatabaseProperty> properties = new ArrayList<>(propertyCount);
+    for (int i = 0; i < propertyCount; i++) {
+      final String name = readString();
+      properties.add(new ImmutableDatabaseProperty(name, readValue()));
+    }
+    databaseInfo.addAll(properties);
+
+    return databaseInfo;
+  }
+
+  private DatabaseObject readDatabaseObjectRef() throws IOException {
+    final int kind = readByte();
+    if (kind == KIND_TABLE) {
+      return readTableRef();
+    } else if (kind == KIND_ROUTINE) {
+      return (DatabaseObject) lookup(readUnsignedInt());
+    } else {
+      final Schema schema = readSchemaRef();
+      final UnknownDatabaseObject databaseObject =
+          new UnknownDatabaseObject(schema, readString());
+      databaseObject.addAttributes(readAttributes());
+      return databaseObject;
+    }
+  }
+
+  private <E extends Enum<E>> E readEnum(final Class<E> enumClass) throws IOException {
+    final String name = readString();
+    if (name == null) {
+      return null;
+    }
+    return Enum.valueOf(enumClass, name);
+  }
+
+  /** Reads a list of named objects, skipping over objects that are not selected. */
+  private <N extends NamedObject> void readFilteredList(
+      final NamedObjectList<N> namedObjects, final ObjectReader<? extends N> objectReader)
+      throws IOException {
+    final int count = readUnsignedInt();
+    for (int i = 0; i < count; i++) {
+      final N namedObject = objectReader.read();
+      if (namedObject != null) {
+        namedObjects.add(namedObject);
+      }
+    }
+    final int filteredCount = readUnsignedInt();
+    if (filteredCount == 0) {
+      return;
+    }
+    final Set<N> filteredObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (int i = 0; i < filteredCount; i++) {
+      final N namedObject = objectReader.read();
+      if (namedObject != null) {
+        namedObjects.add(namedObject);
+        filteredObjects.add(namedObject);
+      }
+    }
+    if (!filteredObjects.isEmpty()) {
+      namedObjects.filter(namedObject -> !filteredObjects.contains(namedObject));
+    }
+  }
+
+  private void readIndex(final MutableTable table) throws IOException {
+    final MutableIndex index = new MutableIndex(table, readString());
+    index.addAttributes(readAttributes());
+    index.setUnique(readBoolean());
+    index.setIndexType(readEnum(IndexType.class));
+    index.setCardinality(readSignedLong());
+    index.setPages(readSignedLong());
+    index.appendDefinition(readString());
+    final int columnCount = readUnsignedInt();
+    for (int i = 0; i < columnCount; i++) {
+      final MutableIndexColumn column = new MutableIndexColumn(index, readColumnRef());
+      column.setKeyOrdinalPosition(readSignedInt());
+      column.setSortSequence(readEnum(IndexColumnSortSequence.class));
+      column.addAttributes(readAttributes());
+      index.addColumn(column);
+    }
+    table.addIndex(index);
+  }
+
+  private MutableJdbcDriverInfo readJdbcDriverInfo() throws IOException {
+    final String productName = readString();
+    final String productVersion = readString();
+    final String driverClassName = readString();
+    final int driverMajorVersion = readSignedInt();
+    final int driverMinorVersion = readSignedInt();
+    final int jdbcMajorVersion = readSignedInt();
+    final int jdbcMinorVersion = readSignedInt();
+    final boolean jdbcCompliant = readBoolean();
+    final String connectionUrl = readString();
+    final MutableJdbcDriverInfo jdbcDriverInfo =
+        new MutableJdbcDriverInfo(
+            productName,
+            driverClassName,
+            productVersion,
+            driverMajorVersion,
+            driverMinorVersion,
+            jdbcMajorVersion,
+            jdbcMinorVersion,
+            jdbcCompliant,
+            connectionUrl);
+
+    final int propertyCount = readUnsignedInt();
+    for (int i = 0; i < propertyCount; i++) {
+      final DriverPropertyInfo driverPropertyInfo =
+          new DriverPropertyInfo(readString(), readString());
+      driverPropertyInfo.description = readString();
+      driverPropertyInfo.required = readBoolean();
+      final int choiceCount = readUnsignedInt();
+      if (choiceCount > 0) {
+        driverPropertyInfo.choices = new String[choiceCount];
+        for (int j = 0; j < choiceCount; j++) {
+          driverPropertyInfo.choices[j] = readString();
+        }
+      }
+      jdbcDriverInfo.addJdbcDriverProperty(new ImmutableJdbcDriverProperty(driverPropertyInfo));
+    }
+
+    return jdbcDriverInfo;
+  }
+
+  private <D extends DatabaseObject> void readPrivilege(final MutablePrivilege<D> privilege)
+      throws IOException {
+    privilege.addAttributes(readAttributes());
+    final int grantCount = readUnsignedInt();
+    for (int i = 0; i < grantCount; i++) {
+      final String grantor = readString();
+      final String grantee = readString();
+      privilege.addGrant(grantor, grantee, readBoolean());
+    }
+  }
+
+  private ProductVersion readProductVersion() throws IOException {
+    final String productName = readString();
+    final String productVersion = readString();
+    return new BaseProductVersion(productName, productVersion);
+  }
+
+  private MutableRoutine readRoutine() throws IOException {
+    final boolean isFunction = readByte() == KIND_FUNCTION;
+    final Schema schema = readSchemaRef();
+    final String name = readString();
+    final String specificName = readString();
+    final MutableRoutine routine;
+    if (isFunction) {
+      routine = new MutableFunction(schema, name, specificName);
+    } else {
+      routine = new MutableProcedure(schema, name, specificName);
+    }
+    register(routine);
+
+    routine.addAttributes(readAttributes());
+    routine.setRoutineBodyType(readEnum(RoutineBodyType.class));
+    routine.appendDefinition(readString());
+    if (isFunction) {
+      ((MutableFunction) routine).setReturnType(readEnum(FunctionReturnType.class));
+    } else {
+      ((MutableProcedure) routine).setReturnType(readEnum(ProcedureReturnType.class));
+    }
+
+    final int parameterCount = readUnsignedInt();
+    for (int i = 0; i < parameterCount; i++) {
+      final String parameterName = readString();
+      final MutableRoutineParameter<?> parameter;
+      if (isFunction) {
+        final MutableFunction function = (MutableFunction) routine;
+        final MutableFunctionParameter functionParameter =
+            new MutableFunctionParameter(function, parameterName);
+        function.addParameter(functionParameter);
+        parameter = functionParameter;
+      } else {
+        final MutableProcedure procedure = (MutableProcedure) routine;
+        final MutableProcedureParameter procedureParameter =
+            new MutableProcedureParameter(procedure, parameterName);
+        procedure.addParameter(procedureParameter);
+        parameter = procedureParameter;
+      }
+      parameter.addAttributes(readAttributes());
+      parameter.setOrdinalPosition(readSignedInt());
+      parameter.setSize(readSignedInt());
+      parameter.setDecimalDigits(readSignedInt());
+      parameter.setNullable(readBoolean());
+      parameter.setColumnDataType(readColumnDataTypeRef());
+      parameter.setParameterMode(readEnum(ParameterModeType.class));
+    }
+
+    return routine;
+  }
+
+  private SchemaReference readSchemaRef() throws IOException {
+    final int ref = readUnsignedInt();
+    if (ref != REF_NEW) {
+      return (SchemaReference) lookup(ref);
+    }
+    final String catalogName = readString();
+    final String schemaName = readString();
+    final SchemaReference schema = new SchemaReference(catalogName, schemaName);
+    register(schema);
+
+    readAttributes().forEach(schema::setAttribute);
+
+    return schema;
+  }
+
+  private MutableSequence readSequence() throws IOException {
+    final Schema schema = readSchemaRef();
+    final MutableSequence sequence = new MutableSequence(schema, readString());
+    sequence.addAttributes(readAttributes());
+    sequence.setIncrement(readSignedLong());
+    sequence.setStartValue(readBigInteger());
+    sequence.setMinimumValue(readBigInteger());
+    sequence.setMaximumValue(readBigInteger());
+    sequence.setCycle(readBoolean());
+    return sequence;
+  }
+
+  private int readSignedInt() throws IOException {
+    final int zigzag = readUnsignedInt();
+    return zigzag >>> 1 ^ -(zigzag & 1);
+  }
+
+  private long readSignedLong() throws IOException {
+    long zigzag = 0;
+    for (int shift = 0; shift < 64; shift = shift + 7) {
+      final int b = readByte();
+      zigzag = zigzag | (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return zigzag >>> 1 ^ -(zigzag & 1);
+      }
+    }
+    throw new StreamCorruptedException("Malformed variable-length integer");
+  }
+
+  private String readString() throws IOException {
+    final int ref = readUnsignedInt();
+    if (ref == REF_NULL) {
+      return null;
+    }
+    final int index = ref - 1;
+    if (index >= strings.length) {
+      throw new StreamCorruptedException(String.format("Unknown string index <%d>", index));
+    }
+    String value = strings[index];
+    if (value == null) {
+      final int length = stringLengths[index];
+      if (buffer.hasArray()) {
+        value =
+            new String(
+                buffer.array(), buffer.arrayOffset() + stringPositions[index], length, UTF_8);
+      } else {
+        final byte[] bytes = new byte[length];
+        final ByteBuffer stringBuffer = buffer.duplicate();
+        stringBuffer.position(stringPositions[index]);
+        stringBuffer.get(bytes);
+        value = new String(bytes, UTF_8);
+      }
+      strings[index] = value;
+    }
+    return value;
+  }
+
+  /**
+   * Reads the positions of strings in the string table, and skips over them. Strings are decoded
+   * when they are first used, so strings in table blocks that are not read are never decoded.
+   */
+  private void readStringTable() throws IOException {
+    final int count = readUnsignedInt();
+    stringPositions = new int[count];
+    stringLengths = new int[count];
+    strings = new String[count];
+    for (int i = 0; i < count; i++) {
+      stringLengths[i] = readUnsignedInt();
+      stringPositions[i] = buffer.position();
+      buffer.position(buffer.position() + stringLengths[i]);
+    }
+    bodyStart = buffer.position();
+  }
+
+  private MutableSynonym readSynonym() throws IOException {
+    final Schema schema = readSchemaRef();
+    final MutableSynonym synonym = new MutableSynonym(schema, readString());
+    synonym.addAttributes(readAttributes());
+    synonym.setReferencedObject(readDatabaseObjectRef());
+    return synonym;
+  }
+
+  private void readTableConstraint(final MutableTableConstraint tableConstraint)
+      throws IOException {
+    tableConstraint.addAttributes(readAttributes());
+    if (!(tableConstraint instanceof MutablePrimaryKey)) {
+      tableConstraint.setTableConstraintType(readEnum(TableConstraintType.class));
+      tableConstraint.setDeferrable(readBoolean());
+      tableConstraint.setInitiallyDeferred(readBoolean());
+    }
+    tableConstraint.appendDefinition(readString());
+    readConstrainedColumns(tableConstraint);
+  }
+
+  private void readTableDetails(final MutableTable table) throws IOException {
+    table.addAttributes(readAttributes());
+    table.appendDefinition(readString());
+    table.setSortIndex(readSignedInt());
+
+    final int columnCount = readUnsignedInt();
+    for (int i = 0; i < columnCount; i++) {
+      final MutableColumn column = new MutableColumn(table, readString());
+      readColumnDetails(column);
+      table.addColumn(column);
+    }
+    final int hiddenColumnCount = readUnsignedInt();
+    for (int i = 0; i < hiddenColumnCount; i++) {
+      final MutableColumn column = new MutableColumn(table, readString());
+      readColumnDetails(column);
+      table.addHiddenColumn(column);
+    }
+
+    if (readBoolean()) {
+      final MutablePrimaryKey primaryKey = MutablePrimaryKey.newPrimaryKey(table, readString());
+      readTableConstraint(primaryKey);
+      table.setPrimaryKey(primaryKey);
+    }
+    final int alternateKeyCount = readUnsignedInt();
+    for (int i = 0; i < alternateKeyCount; i++) {
+      final MutablePrimaryKey alternateKey = MutablePrimaryKey.newAlternateKey(table, readString());
+      readTableConstraint(alternateKey);
+      table.addAlternateKey(alternateKey);
+    }
+
+    final int indexCount = readUnsignedInt();
+    for (int i = 0; i < indexCount; i++) {
+      readIndex(table);
+    }
+
+    final int triggerCount = readUnsignedInt();
+    for (int i = 0; i < triggerCount; i++) {
+      readTrigger(table);
+    }
+
+    final int privilegeCount = readUnsignedInt();
+    for (int i = 0; i < privilegeCount; i++) {
+      final MutablePrivilege<Table> privilege =
+          new MutablePrivilege<>(new TablePointer(table), readString());
+      readPrivilege(privilege);
+      table.addPrivilege(privilege);
+    }
+
+    if (table instanceof MutableView) {
+      final MutableView view = (MutableView) table;
+      view.setCheckOption(readEnum(CheckOptionType.class));
+      view.setUpdatable(readBoolean());
+    }
+  }
+
+  /**
+   * Reads an entry in the table of contents, and checks if the table is selected.
+   *
+   * @return Table, or null if the table is not selected
+   */
+  private MutableTable readTableEntry() throws IOException {
+    final boolean isView = readByte() == KIND_VIEW;
+    final Schema schema = (Schema) lookup(readUnsignedInt());
+    final String name = readString();
+    final String tableType = readString();
+    final TableEntry tableEntry = new TableEntry(schema, name, buffer.getInt(), buffer.getInt());
+    tableEntries.add(tableEntry);
+
+    final MutableTable table;
+    if (isView) {
+      table = new MutableView(schema, name);
+    } else {
+      table = new MutableTable(schema, name);
+    }
+    table.setTableType(new TableType(tableType));
+    if (tableFilter.test(table)) {
+      tableEntry.table = table;
+    }
+    return tableEntry.table;
+  }
+
+  private Table readTableRef() throws IOException {
+    final int ref = readUnsignedInt();
+    if (ref == REF_NULL) {
+      return null;
+    }
+    if (ref == REF_NEW) {
+      final Schema schema = (Schema) lookup(readUnsignedInt());
+      return lookupPartialTable(schema, readString());
+    }
+    final int index = ref - REF_OFFSET;
+    if (index >= tableEntries.size()) {
+      throw new StreamCorruptedException(String.format("Unknown table index <%d>", index));
+    }
+    final TableEntry tableEntry = tableEntries.get(index);
+    if (tableEntry.table != null) {
+      return tableEntry.table;
+    }
+    return lookupPartialTable(tableEntry.schema, tableEntry.name);
+  }
+
+  /**
+   * Reads a foreign key or weak association. It is created the first time that it is read, and
+   * skipped over after that.
+   */
+  private AbstractTableReference readTableReference(final int kind) throws IOException {
+    if (kind != KIND_FOREIGN_KEY && kind != KIND_WEAK_ASSOCIATION) {
+      throw new StreamCorruptedException(String.format("Unknown table reference kind <%d>", kind));
+    }
+    final int id = readUnsignedInt();
+    final int length = buffer.getInt();
+    final AbstractTableReference existingTableReference = tableReferences.get(id);
+    if (existingTableReference != null) {
+      buffer.position(buffer.position() + length);
+      return existingTableReference;
+    }
+
+    final String name = readString();
+    final int columnReferenceCount = readUnsignedInt();
+    final List<ImmutableColumnReference> columnReferences = new ArrayList<>(columnReferenceCount);
+    for (int i = 0; i < columnReferenceCount; i++) {
+      final int keySequence = readSignedInt();
+      final Column foreignKeyColumn = readColumnRef();
+      final Column primaryKeyColumn = readColumnRef();
+      columnReferences.add(
+          new ImmutableColumnReference(keySequence, foreignKeyColumn, primaryKeyColumn));
+    }
+    final AbstractTableReference tableReference;
+    if (kind == KIND_FOREIGN_KEY) {
+      tableReference = new MutableForeignKey(name, columnReferences.get(0));
+    } else {
+      tableReference = new MutableWeakAssociation(name, columnReferences.get(0));
+    }
+    for (int i = 1; i < columnReferences.size(); i++) {
+      tableReference.addColumnReference(columnReferences.get(i));
+    }
+    tableReferences.put(id, tableReference);
+
+    tableReference.addAttributes(readAttributes());
+    if (kind == KIND_FOREIGN_KEY) {
+      final MutableForeignKey foreignKey = (MutableForeignKey) tableReference;
+      foreignKey.setDeferrability(readEnum(ForeignKeyDeferrability.class));
+      foreignKey.setDeleteRule(readEnum(ForeignKeyUpdateRule.class));
+      foreignKey.setUpdateRule(readEnum(ForeignKeyUpdateRule.class));
+      foreignKey.appendDefinition(readString());
+      // Partial tables only know about the foreign key that they were created for
+      for (final Table table :
+          new Table[] {foreignKey.getForeignKeyTable(), foreignKey.getPrimaryKeyTable()}) {
+        if (table instanceof TablePartial) {
+          ((TablePartial) table).addForeignKey(foreignKey);
+        }
+      }
+    }
+    return tableReference;
+  }
+
+  private void readTableRelationships(final MutableTable table) throws IOException {
+    final int referencingColumnCount = readUnsignedInt();
+    for (int i = 0; i < referencingColumnCount; i++) {
+      final MutableColumn column = lookupColumn(table, readString());
+      column.setReferencedColumn(readColumnRef());
+    }
+
+    final int foreignKeyCount = readUnsignedInt();
+    for (int i = 0; i < foreignKeyCount; i++) {
+      table.addForeignKey((MutableForeignKey) readTableReference(readByte()));
+    }
+    final int weakAssociationCount = readUnsignedInt();
+    for (int i = 0; i < weakAssociationCount; i++) {
+      table.addWeakAssociation((MutableWeakAssociation) readTableReference(readByte()));
+    }
+
+    final int tableConstraintCount = readUnsignedInt();
+    for (int i = 0; i < tableConstraintCount; i++) {
+      final int kind = readByte();
+      final MutableTableConstraint tableConstraint;
+      if (kind == KIND_PRIMARY_KEY) {
+        tableConstraint = table.getPrimaryKey();
+      } else if (kind == KIND_ALTERNATE_KEY) {
+        tableConstraint = table.lookupAlternateKey(readString()).orElse(null);
+      } else if (kind == KIND_TABLE_CONSTRAINT) {
+        tableConstraint = new MutableTableConstraint(table, readString());
+        readTableConstraint(tableConstraint);
+      } else {
+        tableConstraint = readTableReference(kind);
+      }
+      if (tableConstraint != null) {
+        table.addTableConstraint(tableConstraint);
+      }
+    }
+
+    if (table instanceof MutableView) {
+      final MutableView view = (MutableView) table;
+      final int tableUsageCount = readUnsignedInt();
+      for (int i = 0; i < tableUsageCount; i++) {
+        final Table usedTable = readTableRef();
+        if (usedTable instanceof MutableTable) {
+          view.addTableUsage((MutableTable) usedTable);
+        }
+      }
+    }
+  }
+
+  private void readTrigger(final MutableTable table) throws IOException {
+    final MutableTrigger trigger = new MutableTrigger(table, readString());
+    trigger.addAttributes(readAttributes());
+    trigger.setEventManipulationType(readEnum(EventManipulationType.class));
+    trigger.setActionOrder(readSignedInt());
+    trigger.appendActionCondition(readString());
+    trigger.appendActionStatement(readString());
+    trigger.setActionOrientation(readEnum(ActionOrientationType.class));
+    trigger.setConditionTiming(readEnum(ConditionTimingType.class));
+    table.addTrigger(trigger);
+  }
+
+  private int readUnsignedInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift = shift + 7) {
+      final int b = readByte();
+      value = value | (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new StreamCorruptedException("Malformed variable-length integer");
+  }
+
+  private Object readValue() throws IOException {
+    final int type = readByte();
+    switch (type) {
+      case VALUE_NULL:
+        return null;
+      case VALUE_STRING:
+        return readString();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_INTEGER:
+        return readSignedInt();
+      case VALUE_LONG:
+        return readSignedLong();
+      case VALUE_SHORT:
+        return (short) readSignedInt();
+      case VALUE_DOUBLE:
+        return Double.longBitsToDouble(readSignedLong());
+      case VALUE_FLOAT:
+        return Float.intBitsToFloat(readSignedInt());
+      case VALUE_BIG_INTEGER:
+        return readBigInteger();
+      case VALUE_BIG_DECIMAL:
+        final BigInteger unscaledValue = readBigInteger();
+        return new BigDecimal(unscaledValue, readSignedInt());
+      case VALUE_LIST:
+      case VALUE_SET:
+        final int size = readUnsignedInt();
+        final List<Object> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          elements.add(readValue());
+        }
+        if (type == VALUE_SET) {
+          return new LinkedHashSet<>(elements);
+        }
+        return elements;
+      case VALUE_MAP:
+        final int mapSize = readUnsignedInt();
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < mapSize; i++) {
+          final Object key = readValue();
+          map.put(key, readValue());
+        }
+        return map;
+      case VALUE_SERIALIZED:
+        return valueDeserializer.apply(readBytes(readUnsignedInt()));
+      default:
+        throw new StreamCorruptedException(String.format("Unknown value type <%d>", type));
+    }
+  }
+
+  private void register(final Object object) {
+    objects.add(object);
+  }
+
+  private void seek(final int position) {
+    buffer.position(bodyStart + position);
+  }
+
+  /** Entry in the table of contents, with the positions of the table blocks. */
+  private static final class TableEntry {
+    final Schema schema;
+    final String name;
+    final int detailsPosition;
+    final int relationshipsPosition;
+    MutableTable table;
+
+    TableEntry(
+        final Schema schema,
+        final String name,
+        final int detailsPosition,
+        final int relationshipsPosition) {
+      this.schema = schema;
+      this.name = name;
+      this.detailsPosition = detailsPosition;
+      this.relationshipsPosition = relationshipsPosition;
+    }
+  }
+
+  @FunctionalInterface
+  private interface ObjectReader<N> {
+    N read() throws IOException;
+  }
+}
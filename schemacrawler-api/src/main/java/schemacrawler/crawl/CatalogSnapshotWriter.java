@@ -0,0 +1,914 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_ALTERNATE_KEY;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_FOREIGN_KEY;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_FUNCTION;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_OTHER;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_PRIMARY_KEY;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_PROCEDURE;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_ROUTINE;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_TABLE;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_TABLE_CONSTRAINT;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_VIEW;
+import static schemacrawler.crawl.CatalogSnapshot.KIND_WEAK_ASSOCIATION;
+import static schemacrawler.crawl.CatalogSnapshot.MAGIC;
+import static schemacrawler.crawl.CatalogSnapshot.REF_NEW;
+import static schemacrawler.crawl.CatalogSnapshot.REF_NULL;
+import static schemacrawler.crawl.CatalogSnapshot.REF_OFFSET;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_BIG_DECIMAL;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_BIG_INTEGER;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_DOUBLE;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_FALSE;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_FLOAT;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_INTEGER;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_LIST;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_LONG;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_MAP;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_NULL;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_SERIALIZED;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_SET;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_SHORT;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_STRING;
+import static schemacrawler.crawl.CatalogSnapshot.VALUE_TRUE;
+import static schemacrawler.crawl.CatalogSnapshot.VERSION;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import schemacrawler.ProductVersion;
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.DatabaseProperty;
+import schemacrawler.schema.DatabaseUser;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Grant;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.JdbcDriverProperty;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.PrimaryKey;
+import schemacrawler.schema.Privilege;
+import schemacrawler.schema.Property;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.TableReference;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schema.View;
+import schemacrawler.schema.WeakAssociation;
+
+/**
+ * Writes a catalog snapshot. The snapshot is built in memory, so that the string table can be
+ * written in front of it, and so that the table of contents can point to table blocks that are
+ * written after it. Each table is written in two blocks - the table details, and the relationships
+ * with other tables, which refer to tables and columns by name, so that a table block can be read
+ * without reading any other table block.
+ */
+final class CatalogSnapshotWriter {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final OutputStream out;
+  private final Function<Object, byte[]> valueSerializer;
+  private byte[] buffer;
+  private int position;
+  private final Map<String, Integer> strings;
+  private final List<byte[]> stringBytes;
+  private final Map<Object, Integer> objects;
+  private final Map<Table, Integer> tableIndexes;
+  private final Map<TableReference, Integer> tableReferenceIds;
+
+  CatalogSnapshotWriter(final OutputStream out, final Function<Object, byte[]> valueSerializer) {
+    this.out = requireNonNull(out, "No output stream provided");
+    this.valueSerializer = requireNonNull(valueSerializer, "No value serializer provided");
+    buffer = new byte[BUFFER_SIZE];
+    strings = new HashMap<>();
+    stringBytes = new ArrayList<>();
+    objects = new IdentityHashMap<>();
+    tableIndexes = new IdentityHashMap<>();
+    tableReferenceIds = new IdentityHashMap<>();
+  }
+
+  void write(final MutableCatalog catalog) throws IOException {
+    requireNonNull(catalog, "No catalog provided");
+
+    writeString(catalog.getName());
+    writeDatabaseInfo(catalog.getDatabaseInfo());
+    writeJdbcDriverInfo(catalog.getJdbcDriverInfo());
+    writeCrawlInfo(catalog.getCrawlInfo());
+    writeAttributes(catalog);
+
+    writeFilteredList(catalog.getAllSchemas(), this::writeSchemaRef);
+
+    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
+    final List<MutableTable> tables = allTables.values();
+    final List<MutableTable> filteredTables = allTables.filteredValues();
+    final List<MutableTable> tablesToWrite = new ArrayList<>(tables);
+    tablesToWrite.addAll(filteredTables);
+
+    // Table blocks can be skipped when reading, so schemas and data types that they refer to are
+    // written up front
+    final Set<Schema> referencedSchemas = Collections.newSetFromMap(new IdentityHashMap<>());
+    final Set<ColumnDataType> referencedColumnDataTypes =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+    for (final MutableTable table : tablesToWrite) {
+      collectReferences(table, referencedSchemas, referencedColumnDataTypes);
+    }
+    referencedSchemas.removeAll(catalog.getAllSchemas().values());
+    referencedSchemas.removeAll(catalog.getAllSchemas().filteredValues());
+    writeObjects(new ArrayList<>(referencedSchemas), this::writeSchemaRef);
+
+    writeObjects(catalog.getAllColumnDataTypes().values(), this::writeColumnDataTypeRef);
+    referencedColumnDataTypes.removeAll(catalog.getAllColumnDataTypes().values());
+    writeObjects(new ArrayList<>(referencedColumnDataTypes), this::writeColumnDataTypeRef);
+
+    writeFilteredList(catalog.getAllRoutines(), this::writeRoutine);
+
+    // Table of contents, with the positions of the table blocks written in later
+    for (final MutableTable table : tablesToWrite) {
+      tableIndexes.put(table, tableIndexes.size());
+    }
+    final int[] tablePositions = new int[tablesToWrite.size()];
+    writeUnsignedInt(tables.size());
+    for (int i = 0; i < tables.size(); i++) {
+      tablePositions[i] = writeTableEntry(tables.get(i));
+    }
+    writeUnsignedInt(filteredTables.size());
+    for (int i = tables.size(); i < tablesToWrite.size(); i++) {
+      tablePositions[i] = writeTableEntry(tablesToWrite.get(i));
+    }
+
+    writeFilteredList(catalog.getAllSequences(), this::writeSequence);
+    writeFilteredList(catalog.getAllSynonyms(), this::writeSynonym);
+
+    final Collection<DatabaseUser> databaseUsers = catalog.getDatabaseUsers();
+    writeUnsignedInt(databaseUsers.size());
+    for (final DatabaseUser databaseUser : databaseUsers) {
+      writeString(databaseUser.getName());
+      writeAttributes(databaseUser);
+    }
+
+    // Table blocks are written in two passes - first the table details, and then the
+    // relationships, which can refer to columns of any table
+    for (int i = 0; i < tablesToWrite.size(); i++) {
+      writePosition(tablePositions[i]);
+      writeTableDetails(tablesToWrite.get(i));
+    }
+    for (int i = 0; i < tablesToWrite.size(); i++) {
+      writePosition(tablePositions[i] + 4);
+      writeTableRelationships(tablesToWrite.get(i));
+    }
+
+    // Write the header and string table, followed by the body
+    final byte[] body = buffer;
+    final int bodyLength = position;
+    buffer = new byte[BUFFER_SIZE];
+    position = 0;
+    writeBytes(MAGIC, 0, MAGIC.length);
+    writeUnsignedInt(VERSION);
+    writeUnsignedInt(stringBytes.size());
+    for (final byte[] bytes : stringBytes) {
+      writeUnsignedInt(bytes.length);
+      writeBytes(bytes, 0, bytes.length);
+    }
+    out.write(buffer, 0, position);
+    out.write(body, 0, bodyLength);
+    out.flush();
+  }
+
+  private void collectReferences(
+      final MutableTable table,
+      final Set<Schema> schemas,
+      final Set<ColumnDataType> columnDataTypes) {
+    schemas.add(table.getSchema());
+    final List<Column> columns = new ArrayList<>(table.getColumns());
+    columns.addAll(table.getHiddenColumns());
+    for (final Column column : columns) {
+      columnDataTypes.add(column.getColumnDataType());
+      final Column referencedColumn = column.getReferencedColumn();
+      if (referencedColumn != null) {
+        schemas.add(referencedColumn.getParent().getSchema());
+      }
+    }
+    final List<TableReference> tableReferences = new ArrayList<>(table.getForeignKeys());
+    tableReferences.addAll(table.getWeakAssociations());
+    for (final TableReference tableReference : tableReferences) {
+      for (final ColumnReference columnReference : tableReference.getColumnReferences()) {
+        schemas.add(columnReference.getForeignKeyColumn().getParent().getSchema());
+        schemas.add(columnReference.getPrimaryKeyColumn().getParent().getSchema());
+      }
+    }
+    if (table instanceof View) {
+      for (final Table usedTable : ((View) table).getTableUsage()) {
+        schemas.add(usedTable.getSchema());
+      }
+    }
+    schemas.remove(null);
+    columnDataTypes.remove(null);
+  }
+
+  private void register(final Object object) {
+    objects.put(object, objects.size());
+  }
+
+  private void writeAttributes(final AttributedObject attributedObject) {
+    final Map<String, Object> attributes = attributedObject.getAttributes();
+    writeUnsignedInt(attributes.size());
+    for (final Entry<String, Object> attribute : attributes.entrySet()) {
+      writeString(attribute.getKey());
+      writeValue(attribute.getValue());
+    }
+  }
+
+  private void writeBigInteger(final BigInteger value) {
+    if (value == null) {
+      writeUnsignedInt(0);
+      return;
+    }
+    final byte[] bytes = value.toByteArray();
+    writeUnsignedInt(bytes.length + 1);
+    writeBytes(bytes, 0, bytes.length);
+  }
+
+  private void writeBoolean(final boolean value) {
+    writeByte(value ? 1 : 0);
+  }
+
+  private void writeByte(final int value) {
+    if (position == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    buffer[position++] = (byte) value;
+  }
+
+  private void writeBytes(final byte[] bytes, final int offset, final int length) {
+    if (length > buffer.length - position) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+    }
+    System.arraycopy(bytes, offset, buffer, position, length);
+    position = position + length;
+  }
+
+  private void writeColumnDataTypeRef(final ColumnDataType columnDataType) {
+    if (writeRef(columnDataType)) {
+      return;
+    }
+    writeSchemaRef(columnDataType.getSchema());
+    writeString(columnDataType.getName());
+    writeEnum(columnDataType.getType());
+    register(columnDataType);
+
+    writeAttributes(columnDataType);
+    writeBoolean(columnDataType.isAutoIncrementable());
+    writeBoolean(columnDataType.isCaseSensitive());
+    writeString(columnDataType.getCreateParameters());
+    writeBoolean(columnDataType.isFixedPrecisionScale());
+    writeSignedInt(columnDataType.getJavaSqlType().getVendorTypeNumber());
+    writeString(columnDataType.getTypeMappedClass().getName());
+    writeString(columnDataType.getLiteralPrefix());
+    writeString(columnDataType.getLiteralSuffix());
+    writeString(columnDataType.getLocalTypeName());
+    writeSignedInt(columnDataType.getMaximumScale());
+    writeSignedInt(columnDataType.getMinimumScale());
+    writeBoolean(columnDataType.isNullable());
+    writeSignedInt(columnDataType.getNumPrecisionRadix());
+    writeSignedLong(columnDataType.getPrecision());
+    writeEnum(columnDataType.getSearchable());
+    writeBoolean(columnDataType.isUnsigned());
+    final List<String> enumValues = columnDataType.getEnumValues();
+    writeUnsignedInt(enumValues.size());
+    for (final String enumValue : enumValues) {
+      writeString(enumValue);
+    }
+    // Base type may refer back to this data type
+    writeColumnDataTypeRef(columnDataType.getBaseType());
+  }
+
+  private void writeColumnDetails(final Column column) {
+    writeAttributes(column);
+    writeSignedInt(column.getOrdinalPosition());
+    writeSignedInt(column.getSize());
+    writeSignedInt(column.getDecimalDigits());
+    writeBoolean(column.isNullable());
+    writeObjectId(column.getColumnDataType());
+    writeString(column.getDefaultValue());
+    int flags = 0;
+    flags = flags | (column.isAutoIncremented() ? 1 : 0);
+    flags = flags | (column.isGenerated() ? 1 << 1 : 0);
+    flags = flags | (column.isHidden() ? 1 << 2 : 0);
+    flags = flags | (column.isPartOfIndex() ? 1 << 3 : 0);
+    flags = flags | (column.isPartOfPrimaryKey() ? 1 << 4 : 0);
+    flags = flags | (column.isPartOfUniqueIndex() ? 1 << 5 : 0);
+    writeByte(flags);
+    writePrivileges(column.getPrivileges());
+  }
+
+  /** Columns are referred to by table and name, since table blocks are read independently. */
+  private void writeColumnRef(final Column column) {
+    if (column == null) {
+      writeUnsignedInt(REF_NULL);
+      return;
+    }
+    writeTableRef(column.getParent());
+    writeString(column.getName());
+  }
+
+  private void writeConstrainedColumns(final TableConstraint tableConstraint) {
+    final List<TableConstraintColumn> columns = tableConstraint.getConstrainedColumns();
+    writeUnsignedInt(columns.size());
+    for (final TableConstraintColumn column : columns) {
+      writeColumnRef(((MutableKeyColumn) column).getColumn());
+      writeSignedInt(column.getTableConstraintOrdinalPosition());
+      writeAttributes(column);
+    }
+  }
+
+  private void writeCrawlInfo(final CrawlInfo crawlInfo) {
+    writeProductVersion(crawlInfo.getSchemaCrawlerVersion());
+    writeProductVersion(crawlInfo.getOperatingSystemVersion());
+    writeProductVersion(crawlInfo.getJvmVersion());
+    writeProductVersion(crawlInfo.getDatabaseVersion());
+    writeProductVersion(crawlInfo.getJdbcDriverVersion());
+    final Instant crawlTimestamp = crawlInfo.getCrawlTimestampInstant();
+    writeSignedLong(crawlTimestamp.getEpochSecond());
+    writeUnsignedInt(crawlTimestamp.getNano());
+    writeString(crawlInfo.getRunId());
+  }
+
+  private void writeDatabaseInfo(final MutableDatabaseInfo databaseInfo) {
+    writeProductVersion(databaseInfo);
+    writeString(databaseInfo.getUserName());
+
+    final Collection<Property> serverInfo = databaseInfo.getServerInfo();
+    writeUnsignedInt(serverInfo.size());
+    for (final Property property : serverInfo) {
+      writeString(property.getName());
+      writeString(Objects.toString(property.getValue(), null));
+      writeString(property.getDescription());
+    }
+
+    final Collection<DatabaseProperty> properties = databaseInfo.getProperties();
+    writeUnsignedInt(properties.size());
+    for (final DatabaseProperty property : properties) {
+      writeString(property.getName());
+      writeValue(property.getValue());
+    }
+  }
+
+  private void writeDatabaseObjectRef(final DatabaseObject databaseObject) {
+    if (databaseObject instanceof Table) {
+      writeByte(KIND_TABLE);
+      writeTableRef((Table) databaseObject);
+    } else if (databaseObject instanceof Routine && objects.containsKey(databaseObject)) {
+      writeByte(KIND_ROUTINE);
+      writeRef(databaseObject);
+    } else {
+      writeByte(KIND_OTHER);
+      writeSchemaRef(databaseObject.getSchema());
+      writeString(databaseObject.getName());
+      writeAttributes(databaseObject);
+    }
+  }
+
+  private void writeEnum(final Enum<?> value) {
+    writeString(value == null ? null : value.name());
+  }
+
+  private <N extends NamedObject> void writeFilteredList(
+      final NamedObjectList<N> namedObjects, final Consumer<? super N> objectWriter) {
+    writeObjects(namedObjects.values(), objectWriter);
+    writeObjects(namedObjects.filteredValues(), objectWriter);
+  }
+
+  private void writeIndex(final Index index) {
+    writeString(index.getName());
+    writeAttributes(index);
+    writeBoolean(index.isUnique());
+    writeEnum(index.getIndexType());
+    writeSignedLong(index.getCardinality());
+    writeSignedLong(index.getPages());
+    writeString(index.getDefinition());
+    final List<IndexColumn> columns = index.getColumns();
+    writeUnsignedInt(columns.size());
+    for (final IndexColumn column : columns) {
+      writeColumnRef(((MutableKeyColumn) column).getColumn());
+      writeSignedInt(column.getIndexOrdinalPosition());
+      writeEnum(column.getSortSequence());
+      writeAttributes(column);
+    }
+  }
+
+  private void writeInt(final int value) {
+    writeByte(value >>> 24);
+    writeByte(value >>> 16);
+    writeByte(value >>> 8);
+    writeByte(value);
+  }
+
+  private void writeJdbcDriverInfo(final MutableJdbcDriverInfo jdbcDriverInfo) {
+    writeProductVersion(jdbcDriverInfo);
+    writeString(jdbcDriverInfo.getDriverClassName());
+    writeSignedInt(jdbcDriverInfo.getDriverMajorVersion());
+    writeSignedInt(jdbcDriverInfo.getDriverMinorVersion());
+    writeSignedInt(jdbcDriverInfo.getJdbcMajorVersion());
+    writeSignedInt(jdbcDriverInfo.getJdbcMinorVersion());
+    writeBoolean(jdbcDriverInfo.isJdbcCompliant());
+    writeString(jdbcDriverInfo.getConnectionUrl());
+
+    final Collection<JdbcDriverProperty> properties = jdbcDriverInfo.getDriverProperties();
+    writeUnsignedInt(properties.size());
+    for (final JdbcDriverProperty property : properties) {
+      writeString(property.getName());
+      writeString(property.getValue());
+      writeString(property.getDescription());
+      writeBoolean(property.isRequired());
+      final Collection<String> choices = property.getChoices();
+      writeUnsignedInt(choices.size());
+      for (final String choice : choices) {
+        writeString(choice);
+      }
+    }
+  }
+
+  /**
+   * Writes the id of a schema or data type that was already written, since table blocks cannot
+   * register new objects.
+   */
+  private void writeObjectId(final Object object) {
+    if (object == null) {
+      writeUnsignedInt(REF_NULL);
+      return;
+    }
+    final Integer id = objects.get(object);
+    if (id == null) {
+      throw new IllegalStateException(
+          String.format("<%s> was not written before it was referenced", object));
+    }
+    writeUnsignedInt(id + REF_OFFSET);
+  }
+
+  private <N> void writeObjects(final List<N> values, final Consumer<? super N> objectWriter) {
+    writeUnsignedInt(values.size());
+    for (final N value : values) {
+      objectWriter.accept(value);
+    }
+  }
+
+  /** Writes the current position in the body into a placeholder written earlier. */
+  private void writePosition(final int placeholderPosition) {
+    final int current = position;
+    position = placeholderPosition;
+    writeInt(current);
+    position = current;
+  }
+
+  private <D extends DatabaseObject> void writePrivileges(
+      final Collection<Privilege<D>> privileges) {
+    writeUnsignedInt(privileges.size());
+    for (final Privilege<D> privilege : privileges) {
+      writeString(privilege.getName());
+      writeAttributes(privilege);
+      final Collection<Grant<D>> grants = privilege.getGrants();
+      writeUnsignedInt(grants.size());
+      for (final Grant<D> grant : grants) {
+        writeString(grant.getGrantor());
+        writeString(grant.getGrantee());
+        writeBoolean(grant.isGrantable());
+      }
+    }
+  }
+
+  private void writeProductVersion(final ProductVersion productVersion) {
+    writeString(productVersion.getProductName());
+    writeString(productVersion.getProductVersion());
+  }
+
+  /**
+   * Writes a reference to an object that has already been written, or the marker for a new
+   * object, which the caller then needs to write out in full.
+   *
+   * @return True if a reference was written
+   */
+  private boolean writeRef(final Object object) {
+    if (object == null) {
+      writeUnsignedInt(REF_NULL);
+      return true;
+    }
+    final Integer id = objects.get(object);
+    if (id != null) {
+      writeUnsignedInt(id + REF_OFFSET);
+      return true;
+    }
+    writeUnsignedInt(REF_NEW);
+    return false;
+  }
+
+  private void writeRoutine(final MutableRoutine routine) {
+    final boolean isFunction = routine instanceof MutableFunction;
+    writeByte(isFunction ? KIND_FUNCTION : KIND_PROCEDURE);
+    writeSchemaRef(routine.getSchema());
+    writeString(routine.getName());
+    writeString(routine.getSpecificName());
+    register(routine);
+
+    writeAttributes(routine);
+    writeEnum(routine.getRoutineBodyType());
+    writeString(routine.getDefinition());
+    if (isFunction) {
+      writeEnum(((MutableFunction) routine).getReturnType());
+    } else {
+      writeEnum(((MutableProcedure) routine).getReturnType());
+    }
+    final List<? extends RoutineParameter<? extends Routine>> parameters = routine.getParameters();
+    writeUnsignedInt(parameters.size());
+    for (final RoutineParameter<? extends Routine> parameter : parameters) {
+      writeString(parameter.getName());
+      writeAttributes(parameter);
+      writeSignedInt(parameter.getOrdinalPosition());
+      writeSignedInt(parameter.getSize());
+      writeSignedInt(parameter.getDecimalDigits());
+      writeBoolean(parameter.isNullable());
+      writeColumnDataTypeRef(parameter.getColumnDataType());
+      writeEnum(parameter.getParameterMode());
+    }
+  }
+
+  private void writeSchemaRef(final Schema schema) {
+    if (writeRef(schema)) {
+      return;
+    }
+    writeString(schema.getCatalogName());
+    writeString(schema.getName());
+    register(schema);
+
+    writeAttributes(schema);
+  }
+
+  private void writeSequence(final Sequence sequence) {
+    writeSchemaRef(sequence.getSchema());
+    writeString(sequence.getName());
+    writeAttributes(sequence);
+    writeSignedLong(sequence.getIncrement());
+    writeBigInteger(sequence.getStartValue());
+    writeBigInteger(sequence.getMinimumValue());
+    writeBigInteger(sequence.getMaximumValue());
+    writeBoolean(sequence.isCycle());
+  }
+
+  private void writeSignedInt(final int value) {
+    writeUnsignedInt(value << 1 ^ value >> 31);
+  }
+
+  private void writeSignedLong(final long value) {
+    long zigzag = value << 1 ^ value >> 63;
+    while ((zigzag & ~0x7FL) != 0) {
+      writeByte((int) (zigzag & 0x7F | 0x80));
+      zigzag = zigzag >>> 7;
+    }
+    writeByte((int) zigzag);
+  }
+
+  private void writeString(final String value) {
+    if (value == null) {
+      writeUnsignedInt(REF_NULL);
+      return;
+    }
+    Integer index = strings.get(value);
+    if (index == null) {
+      index = stringBytes.size();
+      strings.put(value, index);
+      stringBytes.add(value.getBytes(UTF_8));
+    }
+    writeUnsignedInt(index + 1);
+  }
+
+  private void writeSynonym(final Synonym synonym) {
+    writeSchemaRef(synonym.getSchema());
+    writeString(synonym.getName());
+    writeAttributes(synonym);
+    writeDatabaseObjectRef(synonym.getReferencedObject());
+  }
+
+  private void writeTableColumns(final Collection<Column> columns) {
+    writeUnsignedInt(columns.size());
+    for (final Column column : columns) {
+      writeString(column.getName());
+      writeColumnDetails(column);
+    }
+  }
+
+  private void writeTableConstraint(final TableConstraint tableConstraint) {
+    writeString(tableConstraint.getName());
+    writeAttributes(tableConstraint);
+    if (!(tableConstraint instanceof PrimaryKey)) {
+      writeEnum(tableConstraint.getType());
+      writeBoolean(tableConstraint.isDeferrable());
+      writeBoolean(tableConstraint.isInitiallyDeferred());
+    }
+    writeString(tableConstraint.getDefinition());
+    writeConstrainedColumns(tableConstraint);
+  }
+
+  private void writeTableConstraintEntry(
+      final MutableTable table, final TableConstraint constraint) {
+    if (constraint == table.getPrimaryKey()) {
+      writeByte(KIND_PRIMARY_KEY);
+    } else if (constraint instanceof PrimaryKey
+        && table.lookupAlternateKey(constraint.getName()).orElse(null) == constraint) {
+      writeByte(KIND_ALTERNATE_KEY);
+      writeString(constraint.getName());
+    } else if (constraint instanceof TableReference) {
+      writeTableReference((TableReference) constraint);
+    } else {
+      writeByte(KIND_TABLE_CONSTRAINT);
+      writeTableConstraint(constraint);
+    }
+  }
+
+  private void writeTableDetails(final MutableTable table) {
+    writeAttributes(table);
+    writeString(table.getDefinition());
+    writeSignedInt(table.getSortIndex());
+
+    writeTableColumns(table.getColumns());
+    writeTableColumns(table.getHiddenColumns());
+
+    final PrimaryKey primaryKey = table.getPrimaryKey();
+    writeBoolean(primaryKey != null);
+    if (primaryKey != null) {
+      writeTableConstraint(primaryKey);
+    }
+    final Collection<PrimaryKey> alternateKeys = table.getAlternateKeys();
+    writeUnsignedInt(alternateKeys.size());
+    for (final PrimaryKey alternateKey : alternateKeys) {
+      writeTableConstraint(alternateKey);
+    }
+
+    final Collection<Index> indexes = table.getIndexes();
+    writeUnsignedInt(indexes.size());
+    for (final Index index : indexes) {
+      writeIndex(index);
+    }
+
+    final Collection<Trigger> triggers = table.getTriggers();
+    writeUnsignedInt(triggers.size());
+    for (final Trigger trigger : triggers) {
+      writeTrigger(trigger);
+    }
+
+    writePrivileges(table.getPrivileges());
+
+    if (table instanceof View) {
+      final View view = (View) table;
+      writeEnum(view.getCheckOption());
+      writeBoolean(view.isUpdatable());
+    }
+  }
+
+  /**
+   * Writes an entry in the table of contents, which has enough information to filter tables
+   * without reading the table blocks.
+   *
+   * @return Position of the placeholders for the positions of the table blocks
+   */
+  private int writeTableEntry(final MutableTable table) {
+    writeByte(table instanceof View ? KIND_VIEW : KIND_TABLE);
+    writeObjectId(table.getSchema());
+    writeString(table.getName());
+    writeString(table.getTableType().getTableType());
+    final int placeholderPosition = position;
+    writeInt(0);
+    writeInt(0);
+    return placeholderPosition;
+  }
+
+  private void writeTableRef(final Table table) {
+    if (table == null) {
+      writeUnsignedInt(REF_NULL);
+      return;
+    }
+    final Integer index = tableIndexes.get(table);
+    if (index != null) {
+      writeUnsignedInt(index + REF_OFFSET);
+      return;
+    }
+    // Tables that are not in the catalog are read as partial tables
+    writeUnsignedInt(REF_NEW);
+    writeObjectId(table.getSchema());
+    writeString(table.getName());
+  }
+
+  /**
+   * Writes a foreign key or weak association in full for each table that it belongs to, since the
+   * other table may not be read. The reader uses the id to create it only once, and skips over it
+   * after that.
+   */
+  private void writeTableReference(final TableReference tableReference) {
+    final boolean isForeignKey = tableReference instanceof ForeignKey;
+    writeByte(isForeignKey ? KIND_FOREIGN_KEY : KIND_WEAK_ASSOCIATION);
+    Integer id = tableReferenceIds.get(tableReference);
+    if (id == null) {
+      id = tableReferenceIds.size();
+      tableReferenceIds.put(tableReference, id);
+    }
+    writeUnsignedInt(id);
+    final int lengthPosition = position;
+    writeInt(0);
+
+    writeString(tableReference.getName());
+    final List<ColumnReference> columnReferences = tableReference.getColumnReferences();
+    writeUnsignedInt(columnReferences.size());
+    for (final ColumnReference columnReference : columnReferences) {
+      writeSignedInt(columnReference.getKeySequence());
+      writeColumnRef(columnReference.getForeignKeyColumn());
+      writeColumnRef(columnReference.getPrimaryKeyColumn());
+    }
+    writeAttributes(tableReference);
+    if (isForeignKey) {
+      final ForeignKey foreignKey = (ForeignKey) tableReference;
+      writeEnum(foreignKey.getDeferrability());
+      writeEnum(foreignKey.getDeleteRule());
+      writeEnum(foreignKey.getUpdateRule());
+      writeString(foreignKey.getDefinition());
+    }
+
+    final int current = position;
+    position = lengthPosition;
+    writeInt(current - lengthPosition - 4);
+    position = current;
+  }
+
+  private void writeTableRelationships(final MutableTable table) {
+    final List<Column> columns = new ArrayList<>(table.getColumns());
+    columns.addAll(table.getHiddenColumns());
+    final List<Column> referencingColumns = new ArrayList<>();
+    for (final Column column : columns) {
+      if (column.getReferencedColumn() != null) {
+        referencingColumns.add(column);
+      }
+    }
+    writeUnsignedInt(referencingColumns.size());
+    for (final Column column : referencingColumns) {
+      writeString(column.getName());
+      writeColumnRef(column.getReferencedColumn());
+    }
+
+    final Collection<ForeignKey> foreignKeys = table.getForeignKeys();
+    writeUnsignedInt(foreignKeys.size());
+    for (final ForeignKey foreignKey : foreignKeys) {
+      writeTableReference(foreignKey);
+    }
+    final Collection<WeakAssociation> weakAssociations = table.getWeakAssociations();
+    writeUnsignedInt(weakAssociations.size());
+    for (final WeakAssociation weakAssociation : weakAssociations) {
+      writeTableReference(weakAssociation);
+    }
+
+    final Collection<TableConstraint> tableConstraints = table.getTableConstraints();
+    writeUnsignedInt(tableConstraints.size());
+    for (final TableConstraint tableConstraint : tableConstraints) {
+      writeTableConstraintEntry(table, tableConstraint);
+    }
+
+    if (table instanceof View) {
+      final Collection<Table> tableUsage = ((View) table).getTableUsage();
+      writeUnsignedInt(tableUsage.size());
+      for (final Table usedTable : tableUsage) {
+        writeTableRef(usedTable);
+      }
+    }
+  }
+
+  private void writeTrigger(final Trigger trigger) {
+    writeString(trigger.getName());
+    writeAttributes(trigger);
+    writeEnum(trigger.getEventManipulationType());
+    writeSignedInt(trigger.getActionOrder());
+    writeString(trigger.getActionCondition());
+    writeString(trigger.getActionStatement());
+    writeEnum(trigger.getActionOrientation());
+    writeEnum(trigger.getConditionTiming());
+  }
+
+  private void writeUnsignedInt(final int value) {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      writeByte(remaining & 0x7F | 0x80);
+      remaining = remaining >>> 7;
+    }
+    writeByte(remaining);
+  }
+
+  private void writeValue(final Object value) {
+    if (value == null) {
+      writeByte(VALUE_NULL);
+    } else if (value instanceof String) {
+      writeByte(VALUE_STRING);
+      writeString((String) value);
+    } else if (value instanceof Boolean) {
+      writeByte((Boolean) value ? VALUE_TRUE : VALUE_FALSE);
+    } else if (value instanceof Integer) {
+      writeByte(VALUE_INTEGER);
+      writeSignedInt((Integer) value);
+    } else if (value instanceof Long) {
+      writeByte(VALUE_LONG);
+      writeSignedLong((Long) value);
+    } else if (value instanceof Short) {
+      writeByte(VALUE_SHORT);
+      writeSignedInt((Short) value);
+    } else if (value instanceof Double) {
+      writeByte(VALUE_DOUBLE);
+      writeSignedLong(Double.doubleToLongBits((Double) value));
+    } else if (value instanceof Float) {
+      writeByte(VALUE_FLOAT);
+      writeSignedInt(Float.floatToIntBits((Float) value));
+    } else if (value instanceof BigInteger) {
+      writeByte(VALUE_BIG_INTEGER);
+      writeBigInteger((BigInteger) value);
+    } else if (value instanceof BigDecimal) {
+      final BigDecimal bigDecimal = (BigDecimal) value;
+      writeByte(VALUE_BIG_DECIMAL);
+      writeBigInteger(bigDecimal.unscaledValue());
+      writeSignedInt(bigDecimal.scale());
+    } else if (value instanceof List || value instanceof Set) {
+      final Collection<?> collection = (Collection<?>) value;
+      writeByte(value instanceof List ? VALUE_LIST : VALUE_SET);
+      // Copy, so that the size matches the elements for concurrently modified collections
+      final List<?> elements = new ArrayList<>(collection);
+      writeUnsignedInt(elements.size());
+      for (final Object element : elements) {
+        writeValue(element);
+      }
+    } else if (value instanceof Map) {
+      final Map<?, ?> map = new LinkedHashMap<>((Map<?, ?>) value);
+      writeByte(VALUE_MAP);
+      writeUnsignedInt(map.size());
+      for (final Entry<?, ?> entry : map.entrySet()) {
+        writeValue(entry.getKey());
+        writeValue(entry.getValue());
+      }
+    } else {
+      final byte[] bytes = valueSerializer.apply(value);
+      writeByte(VALUE_SERIALIZED);
+      writeUnsignedInt(bytes.length);
+      writeBytes(bytes, 0, bytes.length);
+    }
+  }
+
+}
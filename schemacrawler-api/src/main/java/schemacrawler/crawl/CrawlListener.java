@@ -0,0 +1,96 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Table;
+
+/**
+ * Receives events as a crawl progresses, so that tables and routines can be processed before the
+ * entire catalog has been retrieved. A table is passed to each event as soon as the retrievals for
+ * that event are complete for that table, without waiting for other tables. Retrievals that are
+ * made one schema or one table at a time, such as for columns, primary keys and indexes from
+ * database metadata, complete tables as they go. Retrievals that are made for all tables at once,
+ * such as from data dictionary queries, or for foreign keys, complete all tables when they end.
+ * Tables are partially built until they are complete, and should not be modified.
+ *
+ * <p>Tables are filtered, for example, by grep options, only after their keys are loaded. So
+ * tables that are discovered, or have their columns or keys loaded, may not be in the final
+ * catalog. Only tables and routines that are in the final catalog are complete.
+ *
+ * <p>Events are delivered on a single thread of their own, one object at a time, while the crawl
+ * continues, and the crawl returns once all events have been delivered. The events for a table
+ * are delivered in the order in which they are declared here. Exceptions thrown by a listener are
+ * logged, and do not stop the crawl.
+ */
+public interface CrawlListener {
+
+  /**
+   * A table has been retrieved, but its columns and other details are not yet available. The table
+   * may still be filtered out of the catalog after this event.
+   *
+   * @param table Partially built table
+   */
+  default void tableDiscovered(final Table table) {}
+
+  /**
+   * Columns of a table have been retrieved, and will not be changed by the crawl, though other
+   * details of the table may still be retrieved. This event is not raised if columns are not
+   * retrieved for the schema info-level. The table may still be filtered out of the catalog after
+   * this event.
+   *
+   * @param table Partially built table
+   */
+  default void tableColumnsLoaded(final Table table) {}
+
+  /**
+   * Primary keys, foreign keys, indexes, table constraints and triggers of a table have been
+   * retrieved. This event is not raised if none of these are retrieved for the schema info-level.
+   * The table may still be filtered out of the catalog after this event.
+   *
+   * @param table Partially built table
+   */
+  default void tableKeysLoaded(final Table table) {}
+
+  /**
+   * A table has been fully retrieved, is in the final catalog, and will not be changed by the
+   * crawl. Catalog loaders that run after the crawl may still add details, such as weak
+   * associations.
+   *
+   * @param table Table
+   */
+  default void tableComplete(final Table table) {}
+
+  /**
+   * A routine has been fully retrieved, and is in the final catalog.
+   *
+   * @param routine Routine
+   */
+  default void routineComplete(final Routine routine) {}
+}
@@ -0,0 +1,129 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.schema.NamedObject;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Delivers crawl events to crawl listeners on a thread of its own, so that retrievals do not wait
+ * for listeners, and are not held up by them. Events are delivered one object at a time, in the
+ * order in which they were posted, so a listener sees the events for a table in the order of the
+ * crawl.
+ */
+final class CrawlListenerNotifier {
+
+  private static final Logger LOGGER = Logger.getLogger(CrawlListenerNotifier.class.getName());
+
+  private final Collection<CrawlListener> crawlListeners;
+  private ExecutorService executorService;
+
+  CrawlListenerNotifier(final Collection<CrawlListener> crawlListeners) {
+    this.crawlListeners = requireNonNull(crawlListeners, "No crawl listeners provided");
+  }
+
+  /**
+   * Waits for all the events that have been posted to be delivered. Events that are posted after
+   * this are delivered on a new thread.
+   */
+  void awaitDelivery() {
+    final ExecutorService postedEvents;
+    synchronized (this) {
+      postedEvents = executorService;
+      executorService = null;
+    }
+    if (postedEvents == null) {
+      return;
+    }
+    postedEvents.shutdown();
+    try {
+      while (!postedEvents.awaitTermination(1, TimeUnit.MINUTES)) {
+        LOGGER.log(Level.WARNING, "Waiting for crawl listeners to complete");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      postedEvents.shutdownNow();
+    }
+  }
+
+  /**
+   * Posts an event for each of the named objects. The objects are copied when the event is posted,
+   * so the event is delivered for the same objects even if the collection is later changed, for
+   * example, by filtering.
+   *
+   * @param eventName Name of the event, for logging
+   * @param namedObjects Objects to raise the event for
+   * @param event Event to raise on each listener
+   */
+  synchronized <N extends NamedObject> void post(
+      final String eventName,
+      final Collection<N> namedObjects,
+      final BiConsumer<CrawlListener, N> event) {
+    if (crawlListeners.isEmpty() || namedObjects.isEmpty()) {
+      return;
+    }
+    final List<N> postedObjects = new ArrayList<>(namedObjects);
+    if (executorService == null) {
+      executorService = Executors.newSingleThreadExecutor();
+    }
+    executorService.execute(() -> deliver(eventName, postedObjects, event));
+  }
+
+  private <N extends NamedObject> void deliver(
+      final String eventName,
+      final List<N> namedObjects,
+      final BiConsumer<CrawlListener, N> event) {
+    LOGGER.log(Level.FINE, new StringFormat("Notifying crawl listeners of <%s>", eventName));
+    for (final N namedObject : namedObjects) {
+      for (final CrawlListener crawlListener : crawlListeners) {
+        try {
+          event.accept(crawlListener, namedObject);
+        } catch (final RuntimeException e) {
+          LOGGER.log(
+              Level.WARNING,
+              e,
+              new StringFormat(
+                  "Crawl listener failed on <%s> for <%s>", eventName, namedObject.getFullName()));
+        }
+      }
+    }
+  }
+}
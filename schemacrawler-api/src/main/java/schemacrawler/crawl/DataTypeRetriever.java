@@ -79,6 +79,7 @@ final class DataTypeRetriever extends AbstractRetriever {
         break;
 
       case metadata:
+      case metadata_all:
         LOGGER.log(Level.INFO, "Retrieving system column data types");
         retrieveSystemColumnDataTypesFromMetadata(systemSchema);
         break;
@@ -162,7 +163,12 @@ final class DataTypeRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(typeInfoSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                typeInfoSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(TYPE_INFO, typeInfoRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       int numSystemColumnDataTypes = 0;
       while (results.next()) {
         numSystemColumnDataTypes = numSystemColumnDataTypes + 1;
@@ -179,7 +185,10 @@ final class DataTypeRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final MetadataResultSet results =
             new MetadataResultSet(
-                connection.getMetaData().getTypeInfo(), "DatabaseMetaData::getTypeInfo"); ) {
+                connection.getMetaData().getTypeInfo(),
+                "DatabaseMetaData::getTypeInfo",
+                getRetrieverConnection().getFetchSize(typeInfoRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       int numSystemColumnDataTypes = 0;
       while (results.next()) {
         numSystemColumnDataTypes = numSystemColumnDataTypes + 1;
@@ -216,7 +225,9 @@ final class DataTypeRetriever extends AbstractRetriever {
         final MetadataResultSet results =
             new MetadataResultSet(
                 connection.getMetaData().getUDTs(catalogName, schemaName, null, null),
-                "DatabaseMetaData::getUDTs"); ) {
+                "DatabaseMetaData::getUDTs",
+                0,
+                getRetrieverConnection().getStringPool()); ) {
       while (results.next()) {
         // "TYPE_CAT", "TYPE_SCHEM"
         final String typeName = results.getString("TYPE_NAME");
@@ -235,7 +235,12 @@ final class DatabaseInfoRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(databaseUsersSql, statement, new IncludeAll()); ) {
+            new MetadataResultSet(
+                databaseUsersSql,
+                statement,
+                new IncludeAll(),
+                getRetrieverConnection().getFetchSize(DATABASE_USERS),
+                getRetrieverConnection().getStringPool()); ) {
       while (results.next()) {
         final String username = results.getString("USERNAME");
         if (isBlank(username)) {
@@ -270,7 +275,12 @@ final class DatabaseInfoRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(serverInfoSql, statement, new IncludeAll()); ) {
+            new MetadataResultSet(
+                serverInfoSql,
+                statement,
+                new IncludeAll(),
+                getRetrieverConnection().getFetchSize(SERVER_INFORMATION),
+                getRetrieverConnection().getStringPool()); ) {
       while (results.next()) {
         final String propertyName = results.getString("NAME");
         if (isBlank(propertyName)) {
@@ -35,8 +35,6 @@ import static us.fatehi.utility.Utility.isBlank;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +42,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.ForeignKey;
 import schemacrawler.schema.ForeignKeyDeferrability;
 import schemacrawler.schema.ForeignKeyUpdateRule;
 import schemacrawler.schema.NamedObjectKey;
@@ -58,6 +57,40 @@ import us.fatehi.utility.string.StringFormat;
 /** A retriever uses database metadata to get the details about the database forign keys. */
 final class ForeignKeyRetriever extends AbstractRetriever {
 
+  /** Ordinal positions of the columns of foreign key metadata, looked up once for the results. */
+  private static final class ColumnOrdinals {
+
+    private final int fkName;
+    private final int pkTableCat;
+    private final int pkTableSchem;
+    private final int pkTableName;
+    private final int pkColumnName;
+    private final int fkTableCat;
+    private final int fkTableSchem;
+    private final int fkTableName;
+    private final int fkColumnName;
+    private final int keySeq;
+    private final int updateRule;
+    private final int deleteRule;
+    private final int deferrability;
+
+    ColumnOrdinals(final MetadataResultSet results) {
+      fkName = results.findColumn("FK_NAME");
+      pkTableCat = results.findColumn("PKTABLE_CAT");
+      pkTableSchem = results.findColumn("PKTABLE_SCHEM");
+      pkTableName = results.findColumn("PKTABLE_NAME");
+      pkColumnName = results.findColumn("PKCOLUMN_NAME");
+      fkTableCat = results.findColumn("FKTABLE_CAT");
+      fkTableSchem = results.findColumn("FKTABLE_SCHEM");
+      fkTableName = results.findColumn("FKTABLE_NAME");
+      fkColumnName = results.findColumn("FKCOLUMN_NAME");
+      keySeq = results.findColumn("KEY_SEQ");
+      updateRule = results.findColumn("UPDATE_RULE");
+      deleteRule = results.findColumn("DELETE_RULE");
+      deferrability = results.findColumn("DEFERRABILITY");
+    }
+  }
+
   private static final Logger LOGGER = Logger.getLogger(ForeignKeyRetriever.class.getName());
 
   ForeignKeyRetriever(
@@ -77,6 +110,7 @@ final class ForeignKeyRetriever extends AbstractRetriever {
         break;
 
       case metadata:
+      case metadata_all:
         LOGGER.log(Level.INFO, "Retrieving foreign keys");
         retrieveForeignKeysFromMetadata(allTables);
         break;
@@ -90,19 +124,20 @@ final class ForeignKeyRetriever extends AbstractRetriever {
   private void createForeignKeys(
       final MetadataResultSet results, final Map<NamedObjectKey, MutableForeignKey> foreignKeys)
       throws SQLException {
+    final ColumnOrdinals columns = new ColumnOrdinals(results);
     while (results.next()) {
-      String foreignKeyName = results.getString("FK_NAME");
+      String foreignKeyName = results.getString(columns.fkName);
       LOGGER.log(Level.FINE, new StringFormat("Retrieving foreign key: %s", foreignKeyName));
 
-      final String pkTableCatalogName = normalizeCatalogName(results.getString("PKTABLE_CAT"));
-      final String pkTableSchemaName = normalizeSchemaName(results.getString("PKTABLE_SCHEM"));
-      final String pkTableName = results.getString("PKTABLE_NAME");
-      final String pkColumnName = results.getString("PKCOLUMN_NAME");
+      final String pkTableCatalogName = normalizeCatalogName(results.getString(columns.pkTableCat));
+      final String pkTableSchemaName = normalizeSchemaName(results.getString(columns.pkTableSchem));
+      final String pkTableName = results.getString(columns.pkTableName);
+      final String pkColumnName = results.getString(columns.pkColumnName);
 
-      final String fkTableCatalogName = normalizeCatalogName(results.getString("FKTABLE_CAT"));
-      final String fkTableSchemaName = normalizeSchemaName(results.getString("FKTABLE_SCHEM"));
-      final String fkTableName = results.getString("FKTABLE_NAME");
-      final String fkColumnName = results.getString("FKCOLUMN_NAME");
+      final String fkTableCatalogName = normalizeCatalogName(results.getString(columns.fkTableCat));
+      final String fkTableSchemaName = normalizeSchemaName(results.getString(columns.fkTableSchem));
+      final String fkTableName = results.getString(columns.fkTableName);
+      final String fkColumnName = results.getString(columns.fkColumnName);
 
       final Optional<MutableTable> pkTableOptional =
           lookupTable(pkTableCatalogName, pkTableSchemaName, pkTableName);
@@ -112,13 +147,13 @@ final class ForeignKeyRetriever extends AbstractRetriever {
         continue;
       }
 
-      final int keySequence = results.getInt("KEY_SEQ", 0);
+      final int keySequence = results.getInt(columns.keySeq, 0);
       final ForeignKeyUpdateRule updateRule =
-          results.getEnumFromId("UPDATE_RULE", ForeignKeyUpdateRule.unknown);
+          results.getEnumFromId(columns.updateRule, ForeignKeyUpdateRule.unknown);
       final ForeignKeyUpdateRule deleteRule =
-          results.getEnumFromId("DELETE_RULE", ForeignKeyUpdateRule.unknown);
+          results.getEnumFromId(columns.deleteRule, ForeignKeyUpdateRule.unknown);
       final ForeignKeyDeferrability deferrability =
-          results.getEnumFromId("DEFERRABILITY", ForeignKeyDeferrability.unknown);
+          results.getEnumFromId(columns.deferrability, ForeignKeyDeferrability.unknown);
 
       final Column pkColumn =
           lookupOrCreateColumn(pkTableCatalogName, pkTableSchemaName, pkTableName, pkColumnName);
@@ -163,7 +198,7 @@ final class ForeignKeyRetriever extends AbstractRetriever {
       foreignKey.setUpdateRule(updateRule);
       foreignKey.setDeleteRule(deleteRule);
       foreignKey.setDeferrability(deferrability);
-      foreignKey.addAttributes(results.getAttributes());
+      foreignKey.addAttributes(results.getAttributes(getAttributeCapture(ForeignKey.class)));
 
       if (fkColumn instanceof MutableColumn) {
         ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
@@ -203,13 +238,14 @@ final class ForeignKeyRetriever extends AbstractRetriever {
       return;
     }
 
-    final Map<NamedObjectKey, MutableForeignKey> foreignKeys = new HashMap<>();
+    // Foreign keys may be retrieved in parallel partitions
+    final Map<NamedObjectKey, MutableForeignKey> foreignKeys = new ConcurrentHashMap<>();
     final Query fkSql = informationSchemaViews.getQuery(FOREIGN_KEYS);
-    try (final Connection connection = getRetrieverConnection().getConnection();
-        final Statement statement = connection.createStatement();
-        final MetadataResultSet results =
-            new MetadataResultSet(fkSql, statement, getSchemaInclusionRule()); ) {
-      createForeignKeys(results, foreignKeys);
+    try {
+      retrieveFromDataDictionary(
+          fkSql,
+          getRetrieverConnection().getFetchSize(FOREIGN_KEYS, foreignKeysRetrievalStrategy),
+          results -> createForeignKeys(results, foreignKeys));
     } catch (final SQLException e) {
       throw new WrappedSQLException(
           String.format("Could not retrieve foreign keys from SQL:%n%s", fkSql), e);
@@ -233,7 +269,9 @@ final class ForeignKeyRetriever extends AbstractRetriever {
                     table.getSchema().getCatalogName(),
                     table.getSchema().getName(),
                     table.getName()),
-                "DatabaseMetaData::getImportedKeys")) {
+                "DatabaseMetaData::getImportedKeys",
+                getRetrieverConnection().getFetchSize(foreignKeysRetrievalStrategy),
+                getRetrieverConnection().getStringPool())) {
           createForeignKeys(results, foreignKeys);
         } catch (final SQLException e) {
           logPossiblyUnsupportedSQLFeature(
@@ -249,7 +287,9 @@ final class ForeignKeyRetriever extends AbstractRetriever {
                     table.getSchema().getCatalogName(),
                     table.getSchema().getName(),
                     table.getName()),
-                "DatabaseMetaData::getExportedKeys")) {
+                "DatabaseMetaData::getExportedKeys",
+                getRetrieverConnection().getFetchSize(foreignKeysRetrievalStrategy),
+                getRetrieverConnection().getStringPool())) {
           createForeignKeys(results, foreignKeys);
         } catch (final SQLException e) {
           logPossiblyUnsupportedSQLFeature(
@@ -84,6 +84,7 @@ final class FunctionParameterRetriever extends AbstractRetriever {
         break;
 
       case metadata:
+      case metadata_all:
         LOGGER.log(Level.INFO, "Retrieving function parameters");
         retrieveFunctionParametersFromMetadata(allRoutines, parameterFilter);
         break;
@@ -199,7 +200,13 @@ final class FunctionParameterRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(functionColumnsSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                functionColumnsSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection()
+                    .getFetchSize(FUNCTION_COLUMNS, functionParametersRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       while (results.next()) {
         createFunctionParameter(results, allRoutines, parameterFilter);
       }
@@ -226,7 +233,9 @@ final class FunctionParameterRetriever extends AbstractRetriever {
                           function.getSchema().getName(),
                           function.getName(),
                           null),
-                  "DatabaseMetaData::getFunctionColumns"); ) {
+                  "DatabaseMetaData::getFunctionColumns",
+                  getRetrieverConnection().getFetchSize(functionParametersRetrievalStrategy),
+                  getRetrieverConnection().getStringPool()); ) {
         while (results.next()) {
           createFunctionParameter(results, allRoutines, parameterFilter);
         }
@@ -34,13 +34,15 @@ import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.in
 import static us.fatehi.utility.Utility.isBlank;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import schemacrawler.schema.Column;
+import schemacrawler.schema.Index;
 import schemacrawler.schema.IndexColumnSortSequence;
 import schemacrawler.schema.IndexType;
+import schemacrawler.schema.NamedObjectKey;
 import schemacrawler.schema.Schema;
 import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.Query;
@@ -51,6 +53,36 @@ import us.fatehi.utility.string.StringFormat;
 /** A retriever uses database metadata to get the details about the database tables. */
 final class IndexRetriever extends AbstractRetriever {
 
+  /** Ordinal positions of the columns of index metadata, looked up once for the results. */
+  private static final class ColumnOrdinals {
+
+    private final int tableCat;
+    private final int tableSchem;
+    private final int tableName;
+    private final int indexName;
+    private final int columnName;
+    private final int nonUnique;
+    private final int type;
+    private final int ordinalPosition;
+    private final int ascOrDesc;
+    private final int cardinality;
+    private final int pages;
+
+    ColumnOrdinals(final MetadataResultSet results) {
+      tableCat = results.findColumn("TABLE_CAT");
+      tableSchem = results.findColumn("TABLE_SCHEM");
+      tableName = results.findColumn("TABLE_NAME");
+      indexName = results.findColumn("INDEX_NAME");
+      columnName = results.findColumn("COLUMN_NAME");
+      nonUnique = results.findColumn("NON_UNIQUE");
+      type = results.findColumn("TYPE");
+      ordinalPosition = results.findColumn("ORDINAL_POSITION");
+      ascOrDesc = results.findColumn("ASC_OR_DESC");
+      cardinality = results.findColumn("CARDINALITY");
+      pages = results.findColumn("PAGES");
+    }
+  }
+
   private static final Logger LOGGER = Logger.getLogger(IndexRetriever.class.getName());
 
   IndexRetriever(
@@ -66,7 +98,7 @@ final class IndexRetriever extends AbstractRetriever {
     switch (getRetrieverConnection().get(indexesRetrievalStrategy)) {
       case data_dictionary_all:
         LOGGER.log(Level.INFO, "Retrieving indexes, using fast data dictionary retrieval");
-        retrieveIndexesFromDataDictionary();
+        retrieveIndexesFromDataDictionary(allTables);
         break;
 
       case metadata:
@@ -74,6 +106,11 @@ final class IndexRetriever extends AbstractRetriever {
         retrieveIndexesFromMetadata(allTables);
         break;
 
+      case metadata_all:
+        LOGGER.log(Level.INFO, "Retrieving indexes, for all tables in each schema");
+        retrieveIndexesFromMetadataForAllTables(allTables);
+        break;
+
       default:
         LOGGER.log(Level.INFO, "Not retrieving indexes");
         break;
@@ -82,14 +119,16 @@ final class IndexRetriever extends AbstractRetriever {
 
   private void createIndexes(final MutableTable table, final MetadataResultSet results)
       throws SQLException {
+    final ColumnOrdinals columns = new ColumnOrdinals(results);
     while (results.next()) {
-      createIndexForTable(table, results);
+      createIndexForTable(table, results, columns);
     }
   }
 
-  private void createIndexForTable(final MutableTable table, final MetadataResultSet results) {
+  private void createIndexForTable(
+      final MutableTable table, final MetadataResultSet results, final ColumnOrdinals columns) {
     // "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME"
-    String indexName = results.getString("INDEX_NAME");
+    String indexName = results.getString(columns.indexName);
     LOGGER.log(Level.FINE, new StringFormat("Retrieving index <%s.%s>", table, indexName));
 
     // Work-around PostgreSQL JDBC driver bugs by unquoting column
@@ -98,7 +137,7 @@ final class IndexRetriever extends AbstractRetriever {
     // http://www.postgresql.org/message-id/200707231358.l6NDwlWh026230@wwwmaster.postgresql.org
     // #6253 -
     // http://www.postgresql.org/message-id/201110121403.p9CE3fsx039675@wwwmaster.postgresql.org
-    final String columnName = results.getString("COLUMN_NAME");
+    final String columnName = results.getString(columns.columnName);
     if (isBlank(columnName)) {
       return;
     }
@@ -106,13 +145,13 @@ final class IndexRetriever extends AbstractRetriever {
         Level.FINE,
         new StringFormat("Retrieving index column <%s.%s.%s>", table, indexName, columnName));
 
-    final boolean uniqueIndex = !results.getBoolean("NON_UNIQUE");
-    final IndexType type = results.getEnumFromId("TYPE", IndexType.unknown);
-    final int ordinalPosition = results.getShort("ORDINAL_POSITION", (short) 0);
+    final boolean uniqueIndex = !results.getBoolean(columns.nonUnique);
+    final IndexType type = results.getEnumFromId(columns.type, IndexType.unknown);
+    final int ordinalPosition = results.getShort(columns.ordinalPosition, (short) 0);
     final IndexColumnSortSequence sortSequence =
-        IndexColumnSortSequence.valueOfFromCode(results.getString("ASC_OR_DESC"));
-    final long cardinality = results.getLong("CARDINALITY", 0L);
-    final long pages = results.getLong("PAGES", 0L);
+        IndexColumnSortSequence.valueOfFromCode(results.getString(columns.ascOrDesc));
+    final long cardinality = results.getLong(columns.cardinality, 0L);
+    final long pages = results.getLong(columns.pages, 0L);
 
     final Column column;
     final Optional<MutableColumn> columnOptional = table.lookupColumn(columnName);
@@ -155,10 +194,11 @@ final class IndexRetriever extends AbstractRetriever {
     index.setIndexType(type);
     index.setCardinality(cardinality);
     index.setPages(pages);
-    index.addAttributes(results.getAttributes());
+    index.addAttributes(results.getAttributes(getAttributeCapture(Index.class)));
   }
 
-  private void retrieveIndexesFromDataDictionary() throws WrappedSQLException {
+  private void retrieveIndexesFromDataDictionary(final NamedObjectList<MutableTable> allTables)
+      throws WrappedSQLException {
     final InformationSchemaViews informationSchemaViews =
         getRetrieverConnection().getInformationSchemaViews();
 
@@ -168,29 +208,63 @@ final class IndexRetriever extends AbstractRetriever {
     }
 
     final Query indexesSql = informationSchemaViews.getQuery(INDEXES);
-    try (final Connection connection = getRetrieverConnection().getConnection();
-        final Statement statement = connection.createStatement();
-        final MetadataResultSet results =
-            new MetadataResultSet(indexesSql, statement, getSchemaInclusionRule()); ) {
-      while (results.next()) {
-        final String catalogName = normalizeCatalogName(results.getString("TABLE_CAT"));
-        final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEM"));
-        final String tableName = results.getString("TABLE_NAME");
-
-        final Optional<MutableTable> optionalTable =
-            lookupTable(catalogName, schemaName, tableName);
-        if (!optionalTable.isPresent()) {
-          continue;
-        }
-        final MutableTable table = optionalTable.get();
-        createIndexForTable(table, results);
-      }
+    try {
+      retrieveFromDataDictionary(
+          indexesSql,
+          getRetrieverConnection().getFetchSize(INDEXES, indexesRetrievalStrategy),
+          results -> {
+            final ColumnOrdinals columns = new ColumnOrdinals(results);
+            while (results.next()) {
+              final String catalogName = normalizeCatalogName(results.getString(columns.tableCat));
+              final String schemaName = normalizeSchemaName(results.getString(columns.tableSchem));
+              final String tableName = results.getString(columns.tableName);
+
+              final Optional<MutableTable> optionalTable =
+                  allTables.lookup(new NamedObjectKey(catalogName, schemaName, tableName));
+              if (!optionalTable.isPresent()) {
+                continue;
+              }
+              final MutableTable table = optionalTable.get();
+              createIndexForTable(table, results, columns);
+            }
+          });
     } catch (final SQLException e) {
       throw new WrappedSQLException(
           String.format("Could not retrieve indexes from SQL:%n%s", indexesSql), e);
     }
   }
 
+  private void retrieveIndexesFromMetadataForAllTables(
+      final NamedObjectList<MutableTable> allTables) throws SQLException {
+    final NamedObjectList<MutableTable> remainingTables =
+        retrieveFromMetadataForAllTables(
+            allTables,
+            "DatabaseMetaData::getIndexInfo",
+            getRetrieverConnection().getFetchSize(indexesRetrievalStrategy),
+            (metaData, schema) ->
+                metaData.getIndexInfo(
+                    schema.getCatalogName(),
+                    schema.getName(),
+                    null,
+                    false /* return indices regardless of whether unique or not */,
+                    true /* approximate - reflect approximate or out of data values */),
+            results -> {
+              final ColumnOrdinals columns = new ColumnOrdinals(results);
+              return row -> {
+                final String catalogName = normalizeCatalogName(row.getString(columns.tableCat));
+                final String schemaName = normalizeSchemaName(row.getString(columns.tableSchem));
+                final String tableName = row.getString(columns.tableName);
+
+                final Optional<MutableTable> optionalTable =
+                    allTables.lookup(new NamedObjectKey(catalogName, schemaName, tableName));
+                if (optionalTable.isPresent()) {
+                  createIndexForTable(optionalTable.get(), row, columns);
+                }
+              };
+            });
+    retrieveIndexesFromMetadata(remainingTables);
+  }
+
   private void retrieveIndexesFromMetadata(final NamedObjectList<MutableTable> allTables)
       throws SQLException {
     for (final MutableTable table : allTables) {
@@ -206,12 +280,15 @@ final class IndexRetriever extends AbstractRetriever {
                           table.getName(),
                           false /* return indices regardless of whether unique or not */,
                           true /* approximate - reflect approximate or out of data values */),
-                  "DatabaseMetaData::getIndexInfo"); ) {
+                  "DatabaseMetaData::getIndexInfo",
+                  getRetrieverConnection().getFetchSize(indexesRetrievalStrategy),
+                  getRetrieverConnection().getStringPool()); ) {
         createIndexes(table, results);
       } catch (final SQLException e) {
         logPossiblyUnsupportedSQLFeature(
             new StringFormat("Could not retrieve indexes for table <%s>", table), e);
       }
+      tablesRetrieved(Collections.singletonList(table));
     }
   }
 }
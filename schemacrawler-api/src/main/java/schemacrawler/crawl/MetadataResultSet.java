@@ -41,61 +41,183 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import schemacrawler.inclusionrule.InclusionRule;
 import schemacrawler.schema.IdentifiedEnum;
 import schemacrawler.schema.ResultsColumn;
 import schemacrawler.schema.ResultsColumns;
+import schemacrawler.schemacrawler.AttributeCapture;
 import schemacrawler.schemacrawler.Query;
 import schemacrawler.utility.BinaryData;
 import us.fatehi.utility.UtilityLogger;
 import us.fatehi.utility.string.StringFormat;
+import us.fatehi.utility.string.StringPool;
 
 /**
  * A wrapper around a JDBC resultset obtained from a database metadata call. This allows type-safe
  * methods to obtain boolean, integer and string data, while abstracting away the quirks of the JDBC
  * metadata API.
+ *
+ * <p>Columns are read by their position in the result-set. Retrievers that read many rows can look
+ * up the positions of the columns that they need once with {@link #findColumn(String)}, and read
+ * each row by position, without any lookups by name, either by SchemaCrawler or by the JDBC driver.
+ * When a column is read by name, its position is looked up only the first time the column is read.
+ *
+ * <p>Unless a fetch size is provided, the fetch size adapts to the result-set. It starts small, so
+ * that small result-sets are cheap, and doubles every time a full batch of rows has been read, up
+ * to a limit that keeps an estimate of the memory used by a batch of rows within a budget. The
+ * estimate is based on the display size of the columns in the result-set.
+ *
+ * <p>When a string pool is provided, strings that are read are deduplicated through the pool, since
+ * the same names, types, remarks and attribute values are repeated across many rows.
+ *
+ * <p>When the results are closed, the number of rows, an estimate of the bytes fetched, and the
+ * number of values that could not be read are recorded in the crawl metrics, if a retrieval task
+ * is being measured.
  */
 public final class MetadataResultSet implements AutoCloseable {
 
   private static final Logger LOGGER = Logger.getLogger(MetadataResultSet.class.getName());
 
   private static final int FETCHSIZE = 20;
+  private static final int MAX_FETCHSIZE = 10_000;
+  private static final long FETCH_MEMORY_BUDGET = 4 * 1024 * 1024;
+  /** Upper bound on the estimated width of a column, since large objects are not prefetched. */
+  private static final int MAX_COLUMN_WIDTH = 4_000;
+
+  private static Statement withFetchSize(final Statement statement, final int fetchSize) {
+    if (statement != null && fetchSize > 0) {
+      try {
+        statement.setFetchSize(fetchSize);
+      } catch (final SQLException e) {
+        LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+      }
+    }
+    return statement;
+  }
 
   private final ResultsColumns resultsColumns;
   private final ResultSet results;
   private final String description;
-  private Set<ResultsColumn> readColumns;
+  private final StringPool stringPool;
+  private final long startNanos;
+  /** Ordinal positions of columns by the names they were read with, or 0 if not present. */
+  private final Map<String, Integer> columnOrdinals;
+  /** Names of columns by ordinal position, for logging. */
+  private final String[] columnNamesByOrdinal;
+  /** Ordinal positions of columns that were read from the current row. */
+  private final BitSet readColumns;
+  /** Attribute capture, and the read columns, for which the captured columns were computed. */
+  private AttributeCapture attributeCapture;
+  private BitSet attributeReadColumns;
+  /** Columns captured as attributes, with shared upper-case labels. */
+  private ResultsColumn[] attributeColumns;
+  private String[] attributeLabels;
+  private final boolean isAdaptiveFetchSize;
+  private final int maxFetchSize;
+  private int fetchSize;
   private int rowCount;
+  private long bytesFetched;
+  private int errorCount;
   private boolean showLobs;
 
   public MetadataResultSet(
       final Query query, final Statement statement, final InclusionRule schemaInclusionRule)
       throws SQLException {
-    this(executeAgainstSchema(query, statement, schemaInclusionRule), query.getName());
+    this(query, statement, schemaInclusionRule, 0);
+  }
+
+  public MetadataResultSet(
+      final Query query,
+      final Statement statement,
+      final InclusionRule schemaInclusionRule,
+      final int fetchSize)
+      throws SQLException {
+    this(query, statement, schemaInclusionRule, fetchSize, null);
+  }
+
+  /**
+   * Runs a query, and wraps the results.
+   *
+   * @param query Query to run
+   * @param statement Statement to run the query with
+   * @param schemaInclusionRule Schema inclusion rule for the query
+   * @param fetchSize Fetch size, or 0 for a fetch size that adapts to the results
+   * @param stringPool Pool to deduplicate strings that are read, or null
+   * @throws SQLException On a database access exception
+   */
+  public MetadataResultSet(
+      final Query query,
+      final Statement statement,
+      final InclusionRule schemaInclusionRule,
+      final int fetchSize,
+      final StringPool stringPool)
+      throws SQLException {
+    this(
+        executeAgainstSchema(query, withFetchSize(statement, fetchSize), schemaInclusionRule),
+        query.getName(),
+        fetchSize,
+        stringPool);
   }
 
   public MetadataResultSet(final ResultSet resultSet, final String description)
       throws SQLException {
+    this(resultSet, description, 0);
+  }
+
+  public MetadataResultSet(
+      final ResultSet resultSet, final String description, final int fetchSize)
+      throws SQLException {
+    this(resultSet, description, fetchSize, null);
+  }
+
+  /**
+   * Wraps results.
+   *
+   * @param resultSet Results
+   * @param description Description of the results, for logging
+   * @param fetchSize Fetch size, or 0 for a fetch size that adapts to the results
+   * @param stringPool Pool to deduplicate strings that are read, or null
+   * @throws SQLException On a database access exception
+   */
+  public MetadataResultSet(
+      final ResultSet resultSet,
+      final String description,
+      final int fetchSize,
+      final StringPool stringPool)
+      throws SQLException {
+    startNanos = System.nanoTime();
     results = requireNonNull(resultSet, "Cannot use null results");
-    try {
-      results.setFetchSize(FETCHSIZE);
-    } catch (final NullPointerException | SQLException e) {
-      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
-    }
     this.description = requireNotBlank(description, "No result-set description provided");
+    this.stringPool = stringPool;
 
     resultsColumns = new ResultsCrawler(results).crawl();
-    readColumns = new HashSet<>();
+    columnOrdinals = new HashMap<>();
+    columnNamesByOrdinal = new String[resultsColumns.getColumns().size() + 1];
+    for (final ResultsColumn resultsColumn : resultsColumns) {
+      columnNamesByOrdinal[resultsColumn.getOrdinalPosition()] = resultsColumn.getName();
+    }
+    readColumns = new BitSet();
     showLobs = true;
+
+    isAdaptiveFetchSize = fetchSize <= 0;
+    if (isAdaptiveFetchSize) {
+      this.fetchSize = FETCHSIZE;
+      maxFetchSize =
+          (int)
+              Math.max(
+                  FETCHSIZE, Math.min(MAX_FETCHSIZE, FETCH_MEMORY_BUDGET / estimateRowWidth()));
+    } else {
+      this.fetchSize = fetchSize;
+      maxFetchSize = fetchSize;
+    }
+    setFetchSize();
   }
 
   /**
@@ -107,7 +229,36 @@ public final class MetadataResultSet implements AutoCloseable {
   @Override
   public void close() throws SQLException {
     results.close();
-    LOGGER.log(Level.FINE, new StringFormat("Processed %d rows for <%s>", rowCount, description));
+    LOGGER.log(
+        Level.FINE,
+        new StringFormat(
+            "Processed %d rows for <%s>, with a fetch size of %d",
+            rowCount, description, fetchSize));
+    MutableCrawlMetrics.recordResults(
+        description, System.nanoTime() - startNanos, rowCount, bytesFetched, errorCount);
+  }
+
+  /**
+   * Looks up the ordinal position of a column in the result-set, so that the column can be read by
+   * position from every row, without looking it up by name each time.
+   *
+   * @param columnName Column name
+   * @return Ordinal position of the column, or 0 if the column is not present
+   */
+  public int findColumn(final String columnName) {
+    if (columnName == null) {
+      return 0;
+    }
+    Integer ordinal = columnOrdinals.get(columnName);
+    if (ordinal == null) {
+      ordinal =
+          resultsColumns
+              .lookupColumn(columnName)
+              .map(ResultsColumn::getOrdinalPosition)
+              .orElse(0);
+      columnOrdinals.put(columnName, ordinal);
+    }
+    return ordinal;
   }
 
   /**
@@ -119,12 +270,13 @@ public final class MetadataResultSet implements AutoCloseable {
   public Map<String, Object> getAttributes() {
     final Map<String, Object> attributes = new HashMap<>();
     for (final ResultsColumn resultsColumn : resultsColumns) {
-      if (!readColumns.contains(resultsColumn)) {
+      if (!readColumns.get(resultsColumn.getOrdinalPosition())) {
         try {
-          final String key = resultsColumn.getLabel().toUpperCase();
+          final String key = pooled(resultsColumn.getLabel().toUpperCase());
           final Object value = getColumnData(resultsColumn);
           attributes.put(key, value);
         } catch (final SQLException | ArrayIndexOutOfBoundsException e) {
+          errorCount = errorCount + 1;
           /*
            * MySQL connector is broken and can cause ArrayIndexOutOfBoundsExceptions for no good
            * reason (tested with connector 5.1.26 and server version 5.0.95). Ignoring the
@@ -140,6 +292,47 @@ public final class MetadataResultSet implements AutoCloseable {
     return attributes;
   }
 
+  /**
+   * Gets unread (and therefore unmapped) columns from the database metadata result-set, that are
+   * selected for capture, as a compact row of additional attributes. Column labels are shared by
+   * all rows of the result-set.
+   *
+   * @param capture Attribute capture
+   * @return Row of additional attributes to the database object, or null if there are none
+   */
+  AttributeRow getAttributes(final AttributeCapture capture) {
+    if (capture == null || capture.isNone()) {
+      return null;
+    }
+    if (!capture.equals(attributeCapture) || !readColumns.equals(attributeReadColumns)) {
+      computeAttributeColumns(capture);
+    }
+    if (attributeColumns.length == 0) {
+      return null;
+    }
+
+    final Object[] values = new Object[attributeColumns.length];
+    boolean hasValues = false;
+    for (int i = 0; i < attributeColumns.length; i++) {
+      final ResultsColumn resultsColumn = attributeColumns[i];
+      try {
+        values[i] = getColumnData(resultsColumn);
+        hasValues = hasValues || values[i] != null;
+      } catch (final SQLException | ArrayIndexOutOfBoundsException e) {
+        errorCount = errorCount + 1;
+        // See comment in getAttributes()
+        LOGGER.log(
+            Level.WARNING,
+            e,
+            new StringFormat("Could not read value for column <%s>", resultsColumn));
+      }
+    }
+    if (!hasValues) {
+      return null;
+    }
+    return new AttributeRow(attributeLabels, values);
+  }
+
   public BigInteger getBigInteger(final String columnName) {
     String stringBigInteger = getString(columnName);
     if (isBlank(stringBigInteger)) {
@@ -163,14 +356,27 @@ public final class MetadataResultSet implements AutoCloseable {
    * @return Whether the string evaluates to true
    */
   public boolean getBoolean(final String columnName) {
-    if (useColumn(columnName)) {
+    return getBoolean(findColumn(columnName));
+  }
+
+  /**
+   * Checks if the value of a column from the result set evaluates to true.
+   *
+   * @param ordinal Ordinal position of the column, from {@link #findColumn(String)}
+   * @return Whether the string evaluates to true
+   */
+  public boolean getBoolean(final int ordinal) {
+    if (useColumn(ordinal)) {
       try {
-        final Object booleanValue = results.getObject(columnName);
+        final Object booleanValue = results.getObject(ordinal);
+        addBytesFetched(booleanValue);
         final String stringBooleanValue;
         if (results.wasNull() || booleanValue == null) {
           LOGGER.log(
               Level.FINER,
-              new StringFormat("NULL value for column <%s>, so evaluating to 'false'", columnName));
+              new StringFormat(
+                  "NULL value for column <%s>, so evaluating to 'false'",
+                  columnNamesByOrdinal[ordinal]));
           return false;
         } else {
           stringBooleanValue = String.valueOf(booleanValue).trim();
@@ -183,10 +389,12 @@ public final class MetadataResultSet implements AutoCloseable {
               || stringBooleanValue.equalsIgnoreCase("true");
         }
       } catch (final SQLException e) {
+        errorCount = errorCount + 1;
         LOGGER.log(
             Level.WARNING,
             e,
-            new StringFormat("Could not read boolean value for column <%s>", columnName));
+            new StringFormat(
+                "Could not read boolean value for column <%s>", columnNamesByOrdinal[ordinal]));
       }
     }
     return false;
@@ -222,8 +430,20 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public <E extends Enum<E> & IdentifiedEnum> E getEnumFromId(
       final String columnName, final E defaultValue) {
+    return getEnumFromId(findColumn(columnName), defaultValue);
+  }
+
+  /**
+   * Reads the value of a column from the result set as an enum.
+   *
+   * @param ordinal Ordinal position of the column, from {@link #findColumn(String)}
+   * @param defaultValue Default enum value to return
+   * @return Enum value of the column, or the default if not available
+   */
+  public <E extends Enum<E> & IdentifiedEnum> E getEnumFromId(
+      final int ordinal, final E defaultValue) {
     requireNonNull(defaultValue, "No default value provided");
-    final int value = getInt(columnName, defaultValue.id());
+    final int value = getInt(ordinal, defaultValue.id());
     return enumValueFromId(value, defaultValue);
   }
 
@@ -250,22 +470,39 @@ public final class MetadataResultSet implements AutoCloseable {
    * @return Integer value of the column, or the default if not available
    */
   public int getInt(final String columnName, final int defaultValue) {
+    return getInt(findColumn(columnName), defaultValue);
+  }
+
+  /**
+   * Reads the value of a column from the result set as an integer. If the value was null, returns
+   * the default.
+   *
+   * @param ordinal Ordinal position of the column, from {@link #findColumn(String)}
+   * @param defaultValue Default value
+   * @return Integer value of the column, or the default if not available
+   */
+  public int getInt(final int ordinal, final int defaultValue) {
     int value = defaultValue;
-    if (useColumn(columnName)) {
+    if (useColumn(ordinal)) {
       try {
-        value = results.getInt(columnName);
+        value = results.getInt(ordinal);
+        bytesFetched = bytesFetched + Integer.BYTES;
         if (results.wasNull()) {
           LOGGER.log(
               Level.FINER,
               new StringFormat(
-                  "NULL int value for column <%s>, so using default %d", columnName, defaultValue));
+                  "NULL int value for column <%s>, so using default %d",
+                  columnNamesByOrdinal[ordinal],
+                  defaultValue));
           value = defaultValue;
         }
       } catch (final SQLException e) {
+        errorCount = errorCount + 1;
         LOGGER.log(
             Level.WARNING,
             e,
-            new StringFormat("Could not read integer value for column <%s>", columnName));
+            new StringFormat(
+                "Could not read integer value for column <%s>", columnNamesByOrdinal[ordinal]));
       }
     }
     return value;
@@ -280,23 +517,38 @@ public final class MetadataResultSet implements AutoCloseable {
    * @return Long value of the column, or the default if not available
    */
   public long getLong(final String columnName, final long defaultValue) {
+    return getLong(findColumn(columnName), defaultValue);
+  }
+
+  /**
+   * Reads the value of a column from the result set as a long. If the value was null, returns the
+   * default.
+   *
+   * @param ordinal Ordinal position of the column, from {@link #findColumn(String)}
+   * @param defaultValue Default value
+   * @return Long value of the column, or the default if not available
+   */
+  public long getLong(final int ordinal, final long defaultValue) {
     long value = defaultValue;
-    if (useColumn(columnName)) {
+    if (useColumn(ordinal)) {
       try {
-        value = results.getLong(columnName);
+        value = results.getLong(ordinal);
+        bytesFetched = bytesFetched + Long.BYTES;
         if (results.wasNull()) {
           LOGGER.log(
               Level.FINER,
               new StringFormat(
                   "NULL long value for column <%s>, so using default %d",
-                  columnName, defaultValue));
+                  columnNamesByOrdinal[ordinal], defaultValue));
           value = defaultValue;
         }
       } catch (final SQLException e) {
+        errorCount = errorCount + 1;
         LOGGER.log(
             Level.WARNING,
             e,
-            new StringFormat("Could not read long value for column <%s>", columnName));
+            new StringFormat(
+                "Could not read long value for column <%s>", columnNamesByOrdinal[ordinal]));
       }
     }
     return value;
@@ -311,23 +563,38 @@ public final class MetadataResultSet implements AutoCloseable {
    * @return Short value of the column, or the default if not available
    */
   public short getShort(final String columnName, final short defaultValue) {
+    return getShort(findColumn(columnName), defaultValue);
+  }
+
+  /**
+   * Reads the value of a column from the result set as a short. If the value was null, returns the
+   * default.
+   *
+   * @param ordinal Ordinal position of the column, from {@link #findColumn(String)}
+   * @param defaultValue Default value
+   * @return Short value of the column, or the default if not available
+   */
+  public short getShort(final int ordinal, final short defaultValue) {
     short value = defaultValue;
-    if (useColumn(columnName)) {
+    if (useColumn(ordinal)) {
       try {
-        value = results.getShort(columnName);
+        value = results.getShort(ordinal);
+        bytesFetched = bytesFetched + Short.BYTES;
         if (results.wasNull()) {
           LOGGER.log(
               Level.FINER,
               new StringFormat(
                   "NULL short value for column <%s>, so using default %d",
-                  columnName, defaultValue));
+                  columnNamesByOrdinal[ordinal], defaultValue));
           value = defaultValue;
         }
       } catch (final SQLException e) {
+        errorCount = errorCount + 1;
         LOGGER.log(
             Level.WARNING,
             e,
-            new StringFormat("Could not read short value for column <%s>", columnName));
+            new StringFormat(
+                "Could not read short value for column <%s>", columnNamesByOrdinal[ordinal]));
       }
     }
     return value;
@@ -340,22 +607,35 @@ public final class MetadataResultSet implements AutoCloseable {
    * @return String value of the column, or null if not available
    */
   public String getString(final String columnName) {
+    return getString(findColumn(columnName));
+  }
+
+  /**
+   * Reads the value of a column from the result set as a string.
+   *
+   * @param ordinal Ordinal position of the column, from {@link #findColumn(String)}
+   * @return String value of the column, or null if not available
+   */
+  public String getString(final int ordinal) {
     String value = null;
-    if (useColumn(columnName)) {
+    if (useColumn(ordinal)) {
       try {
-        value = results.getString(columnName);
+        value = results.getString(ordinal);
+        addBytesFetched(value);
         if (results.wasNull()) {
           value = null;
         }
 
         if (value != null) {
-          value = value.trim();
+          value = pooled(value.trim());
         }
       } catch (final SQLException e) {
+        errorCount = errorCount + 1;
         LOGGER.log(
             Level.WARNING,
             e,
-            new StringFormat("Could not read string value for column <%s>", columnName));
+            new StringFormat(
+                "Could not read string value for column <%s>", columnNamesByOrdinal[ordinal]));
       }
     }
     return value;
@@ -371,12 +651,17 @@ public final class MetadataResultSet implements AutoCloseable {
    * @throws SQLException On a database access error
    */
   public boolean next() throws SQLException {
-    readColumns = new HashSet<>();
+    readColumns.clear();
 
     final boolean next = results.next();
     new UtilityLogger(LOGGER).logSQLWarnings(results);
     if (next) {
       rowCount = rowCount + 1;
+      if (isAdaptiveFetchSize && fetchSize < maxFetchSize && rowCount % fetchSize == 0) {
+        // A full batch of rows has been read, so expect more
+        fetchSize = Math.min(fetchSize * 2, maxFetchSize);
+        setFetchSize();
+      }
     }
     return next;
   }
@@ -394,6 +679,50 @@ public final class MetadataResultSet implements AutoCloseable {
     this.showLobs = showLobs;
   }
 
+  /** Adds an estimate of the bytes fetched for a value, at two bytes per character. */
+  private void addBytesFetched(final Object value) {
+    if (value instanceof String) {
+      bytesFetched = bytesFetched + 2L * ((String) value).length();
+    } else if (value != null) {
+      bytesFetched = bytesFetched + Long.BYTES;
+    }
+  }
+
+  private void computeAttributeColumns(final AttributeCapture capture) {
+    final List<ResultsColumn> columns = new ArrayList<>();
+    final List<String> labels = new ArrayList<>();
+    for (final ResultsColumn resultsColumn : resultsColumns) {
+      final String label = resultsColumn.getLabel().toUpperCase().intern();
+      if (!readColumns.get(resultsColumn.getOrdinalPosition()) && capture.captures(label)) {
+        columns.add(resultsColumn);
+        labels.add(label);
+      }
+    }
+    attributeCapture = capture;
+    attributeReadColumns = (BitSet) readColumns.clone();
+    attributeColumns = columns.toArray(new ResultsColumn[columns.size()]);
+    attributeLabels = labels.toArray(new String[labels.size()]);
+  }
+
+  /**
+   * Estimates the number of bytes needed to hold a row of results in memory, assuming two bytes
+   * per character, and a fixed overhead per column.
+   */
+  private long estimateRowWidth() {
+    long rowWidth = 0;
+    for (final ResultsColumn resultsColumn : resultsColumns) {
+      final int displaySize = resultsColumn.getDisplaySize();
+      final int columnWidth;
+      if (displaySize <= 0 || displaySize > MAX_COLUMN_WIDTH) {
+        columnWidth = MAX_COLUMN_WIDTH;
+      } else {
+        columnWidth = displaySize;
+      }
+      rowWidth = rowWidth + 2L * columnWidth + 16;
+    }
+    return Math.max(rowWidth, 1);
+  }
+
   private Object getColumnData(final ResultsColumn resultsColumn) throws SQLException {
     final int javaSqlType =
         resultsColumn.getColumnDataType().getJavaSqlType().getVendorTypeNumber();
@@ -427,12 +756,22 @@ public final class MetadataResultSet implements AutoCloseable {
         columnData = results.getObject(ordinalPosition);
         if (results.wasNull()) {
           columnData = null;
+        } else if (columnData instanceof String) {
+          columnData = pooled((String) columnData);
         }
         break;
     }
+    addBytesFetched(columnData);
     return columnData;
   }
 
+  private String pooled(final String value) {
+    if (stringPool == null) {
+      return value;
+    }
+    return stringPool.pooled(value);
+  }
+
   private Object readCharacterData(final Reader reader) {
     try {
       if (reader != null && showLobs) {
@@ -446,9 +785,25 @@ public final class MetadataResultSet implements AutoCloseable {
     return new BinaryData();
   }
 
-  private boolean useColumn(final String columnName) {
-    final Optional<ResultsColumn> optionalResultsColumn = resultsColumns.lookupColumn(columnName);
-    optionalResultsColumn.ifPresent(readColumns::add);
-    return optionalResultsColumn.isPresent();
+  private void setFetchSize() {
+    try {
+      results.setFetchSize(fetchSize);
+    } catch (final NullPointerException | SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+    }
+  }
+
+  /**
+   * Marks a column as read from the current row.
+   *
+   * @param ordinal Ordinal position of the column, or 0 if the column is not present
+   * @return Whether the column is present
+   */
+  private boolean useColumn(final int ordinal) {
+    if (ordinal <= 0 || ordinal >= columnNamesByOrdinal.length) {
+      return false;
+    }
+    readColumns.set(ordinal);
+    return true;
   }
 }
@@ -94,6 +94,18 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
     crawlInfo = new MutableCrawlInfo(databaseInfo, jdbcDriverInfo);
   }
 
+  MutableCatalog(
+      final String name,
+      final MutableDatabaseInfo databaseInfo,
+      final MutableJdbcDriverInfo jdbcDriverInfo,
+      final MutableCrawlInfo crawlInfo) {
+    super(name);
+
+    this.databaseInfo = requireNonNull(databaseInfo, "No database information provided");
+    this.jdbcDriverInfo = requireNonNull(jdbcDriverInfo, "No JDBC driver information provided");
+    this.crawlInfo = requireNonNull(crawlInfo, "No crawl information provided");
+  }
+
   /** {@inheritDoc} */
   @Override
   public Collection<ColumnDataType> getColumnDataTypes() {
@@ -376,6 +388,14 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
     tables.add(table);
   }
 
+  NamedObjectList<MutableColumnDataType> getAllColumnDataTypes() {
+    return columnDataTypes;
+  }
+
+  NamedObjectList<ImmutableDatabaseUser> getAllDatabaseUsers() {
+    return databaseUsers;
+  }
+
   NamedObjectList<MutableRoutine> getAllRoutines() {
     return routines;
   }
@@ -384,6 +404,14 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
     return schemas;
   }
 
+  NamedObjectList<MutableSequence> getAllSequences() {
+    return sequences;
+  }
+
+  NamedObjectList<MutableSynonym> getAllSynonyms() {
+    return synonyms;
+  }
+
   NamedObjectList<MutableTable> getAllTables() {
     return tables;
   }
@@ -413,4 +441,8 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
   Optional<MutableTable> lookupTable(final NamedObjectKey tableLookupKey) {
     return tables.lookup(tableLookupKey);
   }
+
+  void setCrawlMetrics(final MutableCrawlMetrics crawlMetrics) {
+    crawlInfo.setCrawlMetrics(crawlMetrics);
+  }
 }
@@ -50,6 +50,7 @@ import schemacrawler.OperatingSystemInfo;
 import schemacrawler.ProductVersion;
 import schemacrawler.Version;
 import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.CrawlMetrics;
 
 /** SchemaCrawler crawl information. */
 final class MutableCrawlInfo implements CrawlInfo {
@@ -82,6 +83,7 @@ final class MutableCrawlInfo implements CrawlInfo {
   private final ProductVersion schemaCrawlerVersion;
   private final ProductVersion databaseVersion;
   private final ProductVersion jdbcDriverVersion;
+  private CrawlMetrics crawlMetrics;
 
   MutableCrawlInfo(
       final MutableDatabaseInfo databaseInfo, final MutableJdbcDriverInfo jdbcDriverInfo) {
@@ -97,6 +99,44 @@ final class MutableCrawlInfo implements CrawlInfo {
 
     crawlTimestamp = Instant.now();
     runId = UUID.randomUUID();
+    crawlMetrics = new MutableCrawlMetrics();
+  }
+
+  /**
+   * Restores crawl information that was previously saved, such as in a catalog snapshot.
+   *
+   * @param schemaCrawlerVersion SchemaCrawler version used for the crawl
+   * @param operatingSystemVersion Operating system used for the crawl
+   * @param jvmVersion JVM used for the crawl
+   * @param databaseVersion Database product version
+   * @param jdbcDriverVersion JDBC driver version
+   * @param crawlTimestamp Time of the crawl
+   * @param runId Run id of the crawl
+   */
+  MutableCrawlInfo(
+      final ProductVersion schemaCrawlerVersion,
+      final ProductVersion operatingSystemVersion,
+      final ProductVersion jvmVersion,
+      final ProductVersion databaseVersion,
+      final ProductVersion jdbcDriverVersion,
+      final Instant crawlTimestamp,
+      final String runId) {
+    this.schemaCrawlerVersion = new BaseProductVersion(schemaCrawlerVersion);
+    this.operatingSystemVersion = new BaseProductVersion(operatingSystemVersion);
+    this.jvmVersion = new BaseProductVersion(jvmVersion);
+
+    this.databaseVersion = new BaseProductVersion(databaseVersion);
+    this.jdbcDriverVersion = new BaseProductVersion(jdbcDriverVersion);
+
+    this.crawlTimestamp = requireNonNull(crawlTimestamp, "No crawl timestamp provided");
+    this.runId = UUID.fromString(requireNonNull(runId, "No run id provided"));
+    crawlMetrics = new MutableCrawlMetrics();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public CrawlMetrics getCrawlMetrics() {
+    return crawlMetrics;
   }
 
   @Override
@@ -162,6 +202,10 @@ final class MutableCrawlInfo implements CrawlInfo {
     return info.toString();
   }
 
+  void setCrawlMetrics(final CrawlMetrics crawlMetrics) {
+    this.crawlMetrics = requireNonNull(crawlMetrics, "No crawl metrics provided");
+  }
+
   private ZonedDateTime getCrawlTimestampUTC() {
     return ZonedDateTime.ofInstant(crawlTimestamp, UTC);
   }
@@ -0,0 +1,330 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import schemacrawler.schema.CrawlMetrics;
+import schemacrawler.schema.RetrievalMetrics;
+import us.fatehi.utility.scheduler.TaskDefinition.TaskRunnable;
+
+/**
+ * Crawl metrics, recorded while the database is crawled. A retrieval task is run with its metrics
+ * set for the thread, so that results that are read and connections that are obtained by the task
+ * are recorded against it, without the metrics having to be passed around. Tasks that a retrieval
+ * task runs on other threads need to be propagated, so that they are recorded against it too.
+ */
+final class MutableCrawlMetrics implements CrawlMetrics {
+
+  private static final long serialVersionUID = 3412519708134250751L;
+
+  /** Metrics to record to, for the task that is running on the thread. */
+  private static final class Recorder {
+
+    private final MutableCrawlMetrics crawlMetrics;
+    private final MutableRetrievalMetrics taskMetrics;
+
+    Recorder(final MutableCrawlMetrics crawlMetrics, final MutableRetrievalMetrics taskMetrics) {
+      this.crawlMetrics = crawlMetrics;
+      this.taskMetrics = taskMetrics;
+    }
+  }
+
+  private static final ThreadLocal<Recorder> CURRENT_RECORDER = new ThreadLocal<>();
+
+  /**
+   * Wraps a task that is run on another thread by the retrieval task that is running on this
+   * thread, so that it is recorded against the same retrieval task.
+   *
+   * @param task Task to run
+   * @return Task that records against the current retrieval task
+   */
+  static TaskRunnable propagate(final TaskRunnable task) {
+    requireNonNull(task, "No task provided");
+    final Recorder recorder = CURRENT_RECORDER.get();
+    if (recorder == null) {
+      return task;
+    }
+    return () -> runWith(recorder, task);
+  }
+
+  /**
+   * Records the time taken to obtain a database connection against the current retrieval task.
+   *
+   * @param waitNanos Time waited, in nanoseconds
+   */
+  static void recordConnectionWait(final long waitNanos) {
+    final Recorder recorder = CURRENT_RECORDER.get();
+    if (recorder != null) {
+      recorder.taskMetrics.addConnectionWait(waitNanos);
+    }
+  }
+
+  /**
+   * Records results that were read against the query or metadata call, and against the current
+   * retrieval task.
+   *
+   * @param name Name of the query or metadata call
+   * @param elapsedNanos Time taken to read the results, in nanoseconds
+   * @param rows Number of rows read
+   * @param bytes Estimated number of bytes read
+   * @param errors Number of values that could not be read
+   */
+  static void recordResults(
+      final String name,
+      final long elapsedNanos,
+      final long rows,
+      final long bytes,
+      final long errors) {
+    final Recorder recorder = CURRENT_RECORDER.get();
+    if (recorder == null) {
+      return;
+    }
+    final MutableRetrievalMetrics queryMetrics =
+        recorder.crawlMetrics.queryMetrics.computeIfAbsent(name, MutableRetrievalMetrics::new);
+    queryMetrics.addRun(elapsedNanos);
+    queryMetrics.addResults(rows, bytes, errors);
+    recorder.taskMetrics.addResults(rows, bytes, errors);
+  }
+
+  private static void runWith(final Recorder recorder, final TaskRunnable task) throws Exception {
+    final Recorder previousRecorder = CURRENT_RECORDER.get();
+    CURRENT_RECORDER.set(recorder);
+    try {
+      task.run();
+    } finally {
+      if (previousRecorder == null) {
+        CURRENT_RECORDER.remove();
+      } else {
+        CURRENT_RECORDER.set(previousRecorder);
+      }
+    }
+  }
+
+  private static String escapeJson(final String value) {
+    final StringBuilder buffer = new StringBuilder(value.length() + 2);
+    buffer.append('"');
+    for (final char ch : value.toCharArray()) {
+      switch (ch) {
+        case '"':
+          buffer.append("\\\"");
+          break;
+        case '\\':
+          buffer.append("\\\\");
+          break;
+        case '\n':
+          buffer.append("\\n");
+          break;
+        case '\r':
+          buffer.append("\\r");
+          break;
+        case '\t':
+          buffer.append("\\t");
+          break;
+        default:
+          if (ch < ' ') {
+            buffer.append(String.format("\\u%04x", (int) ch));
+          } else {
+            buffer.append(ch);
+          }
+      }
+    }
+    return buffer.append('"').toString();
+  }
+
+  private static String escapeLabel(final String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String seconds(final long nanos) {
+    return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+  }
+
+  private static List<RetrievalMetrics> sorted(
+      final Collection<MutableRetrievalMetrics> retrievalMetrics) {
+    final List<RetrievalMetrics> sorted = new ArrayList<>(retrievalMetrics);
+    sorted.sort(Comparator.comparing(RetrievalMetrics::getName));
+    return sorted;
+  }
+
+  private final ConcurrentMap<String, MutableRetrievalMetrics> taskMetrics;
+  private final ConcurrentMap<String, MutableRetrievalMetrics> queryMetrics;
+
+  MutableCrawlMetrics() {
+    taskMetrics = new ConcurrentHashMap<>();
+    queryMetrics = new ConcurrentHashMap<>();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Collection<RetrievalMetrics> getQueryMetrics() {
+    return sorted(queryMetrics.values());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Collection<RetrievalMetrics> getTaskMetrics() {
+    return sorted(taskMetrics.values());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toJson() {
+    final StringBuilder json = new StringBuilder(4096);
+    json.append("{\n");
+    appendJson(json, "tasks", getTaskMetrics());
+    json.append(",\n");
+    appendJson(json, "queries", getQueryMetrics());
+    json.append("\n}\n");
+    return json.toString();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toOpenMetrics() {
+    final StringBuilder metrics = new StringBuilder(4096);
+    appendOpenMetrics(metrics, "task", getTaskMetrics());
+    appendOpenMetrics(metrics, "query", getQueryMetrics());
+    metrics.append("# EOF\n");
+    return metrics.toString();
+  }
+
+  /**
+   * Wraps a retrieval task, so that it is measured, and so that results and connections on the
+   * thread are recorded against it.
+   *
+   * @param taskName Name of the retrieval task
+   * @param task Retrieval task
+   * @return Measured retrieval task
+   */
+  TaskRunnable measure(final String taskName, final TaskRunnable task) {
+    requireNonNull(task, "No task provided");
+    final MutableRetrievalMetrics metrics =
+        taskMetrics.computeIfAbsent(taskName, MutableRetrievalMetrics::new);
+    final Recorder recorder = new Recorder(this, metrics);
+    return () -> {
+      final long startNanos = System.nanoTime();
+      try {
+        runWith(recorder, task);
+      } catch (final Exception e) {
+        metrics.addError();
+        throw e;
+      } finally {
+        metrics.addRun(System.nanoTime() - startNanos);
+      }
+    };
+  }
+
+  private void appendJson(
+      final StringBuilder json,
+      final String name,
+      final Collection<RetrievalMetrics> retrievalMetrics) {
+    json.append("  ").append(escapeJson(name)).append(": [");
+    boolean isFirst = true;
+    for (final RetrievalMetrics metrics : retrievalMetrics) {
+      if (!isFirst) {
+        json.append(',');
+      }
+      isFirst = false;
+      json.append("\n    {");
+      json.append("\"name\": ").append(escapeJson(metrics.getName()));
+      json.append(", \"runs\": ").append(metrics.getCount());
+      json.append(", \"duration-seconds\": ").append(seconds(metrics.getDuration().toNanos()));
+      json.append(", \"rows\": ").append(metrics.getRowCount());
+      json.append(", \"fetched-bytes\": ").append(metrics.getBytesFetched());
+      json.append(", \"connection-wait-seconds\": ")
+          .append(seconds(metrics.getConnectionWait().toNanos()));
+      json.append(", \"errors\": ").append(metrics.getErrorCount());
+      json.append('}');
+    }
+    if (!isFirst) {
+      json.append("\n  ");
+    }
+    json.append(']');
+  }
+
+  private void appendOpenMetrics(
+      final StringBuilder metrics,
+      final String kind,
+      final Collection<RetrievalMetrics> retrievalMetrics) {
+    appendOpenMetrics(
+        metrics, kind, "runs", "Number of runs", retrievalMetrics, m -> m.getCount());
+    appendOpenMetrics(
+        metrics,
+        kind,
+        "duration_seconds",
+        "Time taken",
+        retrievalMetrics,
+        m -> seconds(m.getDuration().toNanos()));
+    appendOpenMetrics(metrics, kind, "rows", "Rows read", retrievalMetrics, m -> m.getRowCount());
+    appendOpenMetrics(
+        metrics,
+        kind,
+        "fetched_bytes",
+        "Estimated bytes fetched",
+        retrievalMetrics,
+        m -> m.getBytesFetched());
+    appendOpenMetrics(
+        metrics,
+        kind,
+        "connection_wait_seconds",
+        "Time spent waiting for database connections",
+        retrievalMetrics,
+        m -> seconds(m.getConnectionWait().toNanos()));
+    appendOpenMetrics(
+        metrics, kind, "errors", "Number of errors", retrievalMetrics, m -> m.getErrorCount());
+  }
+
+  private void appendOpenMetrics(
+      final StringBuilder metrics,
+      final String kind,
+      final String unit,
+      final String help,
+      final Collection<RetrievalMetrics> retrievalMetrics,
+      final Function<RetrievalMetrics, Object> value) {
+    final String family = String.format("schemacrawler_crawl_%s_%s", kind, unit);
+    metrics.append("# TYPE ").append(family).append(" counter\n");
+    metrics.append("# HELP ").append(family).append(' ').append(help).append(" by ");
+    metrics.append(kind).append('\n');
+    for (final RetrievalMetrics retrievalMetric : retrievalMetrics) {
+      metrics.append(family).append("_total{").append(kind).append("=\"");
+      metrics.append(escapeLabel(retrievalMetric.getName())).append("\"} ");
+      metrics.append(value.apply(retrievalMetric)).append('\n');
+    }
+  }
+}
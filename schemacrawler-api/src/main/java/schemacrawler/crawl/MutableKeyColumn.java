@@ -188,6 +188,10 @@ class MutableKeyColumn extends AbstractDependantObject<Table> implements Column
     return column.lookupPrivilege(name);
   }
 
+  Column getColumn() {
+    return column;
+  }
+
   int getKeyOrdinalPosition() {
     return keyOrdinalPosition;
   }
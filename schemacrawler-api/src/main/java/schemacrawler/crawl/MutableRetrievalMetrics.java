@@ -0,0 +1,127 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static us.fatehi.utility.Utility.requireNotBlank;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import schemacrawler.schema.RetrievalMetrics;
+
+/** Retrieval metrics, which can be added to from multiple threads. */
+final class MutableRetrievalMetrics implements RetrievalMetrics {
+
+  private static final long serialVersionUID = -2781204455283519870L;
+
+  private final String name;
+  private final LongAdder count;
+  private final LongAdder durationNanos;
+  private final LongAdder rowCount;
+  private final LongAdder bytesFetched;
+  private final LongAdder connectionWaitNanos;
+  private final LongAdder errorCount;
+
+  MutableRetrievalMetrics(final String name) {
+    this.name = requireNotBlank(name, "No retrieval name provided");
+    count = new LongAdder();
+    durationNanos = new LongAdder();
+    rowCount = new LongAdder();
+    bytesFetched = new LongAdder();
+    connectionWaitNanos = new LongAdder();
+    errorCount = new LongAdder();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getBytesFetched() {
+    return bytesFetched.sum();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Duration getConnectionWait() {
+    return Duration.ofNanos(connectionWaitNanos.sum());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Duration getDuration() {
+    return Duration.ofNanos(durationNanos.sum());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getErrorCount() {
+    return errorCount.sum();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getRowCount() {
+    return rowCount.sum();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  void addConnectionWait(final long waitNanos) {
+    connectionWaitNanos.add(waitNanos);
+  }
+
+  void addError() {
+    errorCount.increment();
+  }
+
+  void addResults(final long rows, final long bytes, final long errors) {
+    rowCount.add(rows);
+    bytesFetched.add(bytes);
+    errorCount.add(errors);
+  }
+
+  void addRun(final long elapsedNanos) {
+    count.increment();
+    durationNanos.add(elapsedNanos);
+  }
+}
@@ -346,6 +346,10 @@ class MutableTable extends AbstractDatabaseObject implements Table {
     return columns;
   }
 
+  final int getSortIndex() {
+    return sortIndex;
+  }
+
   void removeTableConstraint(final TableConstraint tableConstraint) {
     constraints.remove(tableConstraint);
   }
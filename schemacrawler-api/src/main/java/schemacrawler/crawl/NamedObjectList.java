@@ -32,6 +32,7 @@ import static java.util.Comparator.naturalOrder;
 import static java.util.Objects.requireNonNull;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import schemacrawler.schema.AttributedObject;
 import schemacrawler.schema.NamedObject;
@@ -51,10 +53,35 @@ import us.fatehi.utility.ObjectToString;
  * ability to look up by dependent object which is not created yet. That is, by NamedObject +
  * String. Returns values sorted in natural sort order, and is iterable. The iterator does not allow
  * modifications to the underlying data structure.
+ *
+ * <p>Objects are indexed by the key of their parent, and then by name, so that a dependent object
+ * can be looked up with the key of the parent object that already exists, without creating a new
+ * key for every lookup.
+ *
+ * <p>Sorted values are cached until the list is modified. The sort order of some objects depends on
+ * values that are set after they are added to the list, such as the sort index of tables, so the
+ * list needs to be re-sorted after such values are changed.
  */
 final class NamedObjectList<N extends NamedObject> implements Serializable, ReducibleCollection<N> {
 
-  private static final long serialVersionUID = 3257847666804142128L;
+  /** Stands in for a null name, since concurrent maps do not allow null keys. */
+  private enum NullName {
+    NULL_NAME
+  }
+
+  /** Sorted values, along with the modification count of the list when they were sorted. */
+  private static final class SortedValues<N> {
+
+    private final long modificationCount;
+    private final List<N> values;
+
+    SortedValues(final long modificationCount, final List<N> values) {
+      this.modificationCount = modificationCount;
+      this.values = Collections.unmodifiableList(values);
+    }
+  }
+
+  private static final long serialVersionUID = 6917409342719867235L;
 
   private static final String SCHEMACRAWLER_FILTERED_OUT = "schemacrawler.filtered_out";
 
@@ -68,16 +95,26 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
     return key;
   }
 
-  private static NamedObjectKey makeLookupKey(final NamedObject namedObject, final String name) {
-    NamedObjectKey key = makeLookupKey(namedObject);
-    if (key != null) {
-      key = key.with(name);
+  private static Object nameKey(final String name) {
+    if (name == null) {
+      return NullName.NULL_NAME;
     }
-    return key;
+    return name;
+  }
+
+  private static NamedObjectKey parentKey(final NamedObjectKey key) {
+    final NamedObjectKey parentKey = key.parent();
+    if (parentKey == null) {
+      // An empty key is its own parent
+      return key;
+    }
+    return parentKey;
   }
 
-  private final Map<NamedObjectKey, N> objects = new ConcurrentHashMap<>();
+  private final Map<NamedObjectKey, Map<Object, N>> objects = new ConcurrentHashMap<>();
   private final Map<NamedObjectKey, N> filteredObjects = new ConcurrentHashMap<>();
+  private final AtomicLong modificationCount = new AtomicLong();
+  private transient volatile SortedValues<N> sortedValues;
 
   /** {@inheritDoc} */
   @Override
@@ -86,52 +123,35 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
       return;
     }
 
-    final Set<Entry<NamedObjectKey, N>> entrySet = objects.entrySet();
-    for (final Iterator<Entry<NamedObjectKey, N>> iterator = entrySet.iterator();
-        iterator.hasNext(); ) {
-      final Entry<NamedObjectKey, N> entry = iterator.next();
-      final NamedObjectKey namedObjectKey = entry.getKey();
-      final N namedObject = entry.getValue();
-      if (!predicate.test(namedObject)) {
-        // Filter object by moving it to the filtered objects map
-        iterator.remove();
-        filteredObjects.put(namedObjectKey, namedObject);
-        if (namedObject instanceof AttributedObject) {
-          final AttributedObject attributedObject = (AttributedObject) namedObject;
-          attributedObject.setAttribute(SCHEMACRAWLER_FILTERED_OUT, true);
-        }
-      }
+    for (final NamedObjectKey parentKey : objects.keySet()) {
+      objects.computeIfPresent(
+          parentKey,
+          (key, namedObjects) -> {
+            final Set<Entry<Object, N>> entrySet = namedObjects.entrySet();
+            for (final Iterator<Entry<Object, N>> iterator = entrySet.iterator();
+                iterator.hasNext(); ) {
+              final N namedObject = iterator.next().getValue();
+              if (!predicate.test(namedObject)) {
+                // Filter object by moving it to the filtered objects map
+                iterator.remove();
+                filteredObjects.put(namedObject.key(), namedObject);
+                if (namedObject instanceof AttributedObject) {
+                  final AttributedObject attributedObject = (AttributedObject) namedObject;
+                  attributedObject.setAttribute(SCHEMACRAWLER_FILTERED_OUT, true);
+                }
+              }
+            }
+            return namedObjects.isEmpty() ? null : namedObjects;
+          });
     }
+    modificationCount.incrementAndGet();
   }
 
   /** {@inheritDoc} */
   @Override
   public Iterator<N> iterator() {
-    final class UnmodifiableIterator implements Iterator<N> {
-
-      private final Iterator<N> iterator;
-
-      UnmodifiableIterator(final Iterator<N> iterator) {
-        this.iterator = iterator;
-      }
-
-      @Override
-      public boolean hasNext() {
-        return iterator.hasNext();
-      }
-
-      @Override
-      public N next() {
-        return iterator.next();
-      }
-
-      @Override
-      public void remove() {
-        throw new UnsupportedOperationException();
-      }
-    }
-
-    return new UnmodifiableIterator(values().iterator());
+    // Sorted values cannot be modified, so neither can the iterator
+    return values().iterator();
   }
 
   /** {@inheritDoc} */
@@ -143,7 +163,7 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
       final Entry<NamedObjectKey, N> entry = iterator.next();
       final NamedObjectKey namedObjectKey = entry.getKey();
       final N namedObject = entry.getValue();
-      objects.put(namedObjectKey, namedObject);
+      put(namedObjectKey, namedObject);
       iterator.remove();
       if (namedObject instanceof AttributedObject) {
         final AttributedObject attributedObject = (AttributedObject) namedObject;
@@ -166,12 +186,21 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
   boolean add(final N namedObject) {
     requireNonNull(namedObject, "Cannot add a null object to the list");
     final NamedObjectKey key = makeLookupKey(namedObject);
-    objects.put(key, namedObject);
+    put(key, namedObject);
     return true;
   }
 
   boolean contains(final NamedObject namedObject) {
-    return objects.containsKey(makeLookupKey(namedObject));
+    return internalGet(makeLookupKey(namedObject)).isPresent();
+  }
+
+  /**
+   * Gets all named objects that have been filtered out of the list, in no particular order.
+   *
+   * @return Filtered named objects
+   */
+  List<N> filteredValues() {
+    return new ArrayList<>(filteredObjects.values());
   }
 
   boolean isEmpty() {
@@ -179,8 +208,11 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
   }
 
   Optional<N> lookup(final NamedObject namedObject, final String name) {
-    final NamedObjectKey key = makeLookupKey(namedObject, name);
-    return internalGet(key);
+    final NamedObjectKey parentKey = makeLookupKey(namedObject);
+    if (parentKey == null) {
+      return Optional.empty();
+    }
+    return internalGet(parentKey, name);
   }
 
   /**
@@ -193,8 +225,30 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
     return internalGet(lookupKey);
   }
 
+  /**
+   * Sorts the values in the list again the next time they are needed. Needs to be called after
+   * values that objects in the list are sorted on are changed, such as the sort index of tables.
+   */
+  void resort() {
+    modificationCount.incrementAndGet();
+  }
+
   N remove(final N namedObject) {
-    return objects.remove(makeLookupKey(namedObject));
+    final NamedObjectKey key = makeLookupKey(namedObject);
+    if (key == null) {
+      return null;
+    }
+    final NamedObjectKey parentKey = parentKey(key);
+    final Map<Object, N> namedObjects = objects.get(parentKey);
+    if (namedObjects == null) {
+      return null;
+    }
+    final N removedObject = namedObjects.remove(nameKey(key.name()));
+    modificationCount.incrementAndGet();
+    // Drop the index for the parent if it is empty, unless an object was added in the meantime
+    objects.computeIfPresent(
+        parentKey, (lookupKey, lookupObjects) -> lookupObjects.isEmpty() ? null : lookupObjects);
+    return removedObject;
   }
 
   /**
@@ -203,21 +257,69 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
    * @return Number of elements in this list.
    */
   int size() {
-    return objects.size();
+    int size = 0;
+    for (final Map<Object, N> namedObjects : objects.values()) {
+      size = size + namedObjects.size();
+    }
+    return size;
   }
 
   /**
-   * Gets all named objects in the list, in sorted order.
+   * Gets all named objects in the list, in sorted order. The list cannot be modified.
    *
    * @return All named objects
    */
   List<N> values() {
-    final List<N> all = new ArrayList<>(objects.values());
+    // Get the count first, and count modifications after they are made, so that
+    // values that are sorted while the list is being modified are sorted again
+    // the next time
+    final long currentModificationCount = modificationCount.get();
+    final SortedValues<N> cachedValues = sortedValues;
+    if (cachedValues != null && cachedValues.modificationCount == currentModificationCount) {
+      return cachedValues.values;
+    }
+
+    final List<N> all = new ArrayList<>();
+    for (final Map<Object, N> namedObjects : objects.values()) {
+      all.addAll(namedObjects.values());
+    }
     all.sort(naturalOrder());
-    return all;
+
+    final SortedValues<N> newSortedValues = new SortedValues<>(currentModificationCount, all);
+    sortedValues = newSortedValues;
+    return newSortedValues.values;
   }
 
   private Optional<N> internalGet(final NamedObjectKey key) {
-    return Optional.ofNullable(objects.get(key));
+    if (key == null) {
+      return Optional.empty();
+    }
+    return internalGet(parentKey(key), key.name());
+  }
+
+  private Optional<N> internalGet(final NamedObjectKey parentKey, final String name) {
+    final Map<Object, N> namedObjects = objects.get(parentKey);
+    if (namedObjects == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(namedObjects.get(nameKey(name)));
+  }
+
+  private void put(final NamedObjectKey key, final N namedObject) {
+    // Add within the compute, so that an index that is being dropped for being empty
+    // is not added to
+    objects.compute(
+        parentKey(key),
+        (parentKey, namedObjects) -> {
+          final Map<Object, N> lookupObjects;
+          if (namedObjects == null) {
+            lookupObjects = new ConcurrentHashMap<>();
+          } else {
+            lookupObjects = namedObjects;
+          }
+          lookupObjects.put(nameKey(key.name()), namedObject);
+          return lookupObjects;
+        });
+    modificationCount.incrementAndGet();
   }
 }
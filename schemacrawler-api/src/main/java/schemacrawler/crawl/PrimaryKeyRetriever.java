@@ -34,11 +34,12 @@ import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.pr
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import schemacrawler.schema.NamedObjectKey;
 import schemacrawler.schema.Schema;
 import schemacrawler.schema.View;
 import schemacrawler.schemacrawler.InformationSchemaViews;
@@ -74,6 +75,11 @@ final class PrimaryKeyRetriever extends AbstractRetriever {
         retrievePrimaryKeysFromMetadata(allTables);
         break;
 
+      case metadata_all:
+        LOGGER.log(Level.INFO, "Retrieving primary keys, for all tables in each schema");
+        retrievePrimaryKeysFromMetadataForAllTables(allTables);
+        break;
+
       default:
         LOGGER.log(Level.INFO, "Not retrieving primary keys");
         break;
@@ -121,29 +127,55 @@ final class PrimaryKeyRetriever extends AbstractRetriever {
     }
 
     final Query pkSql = informationSchemaViews.getQuery(PRIMARY_KEYS);
-    try (final Connection connection = getRetrieverConnection().getConnection();
-        final Statement statement = connection.createStatement();
-        final MetadataResultSet results =
-            new MetadataResultSet(pkSql, statement, getSchemaInclusionRule()); ) {
-      while (results.next()) {
-        final String catalogName = normalizeCatalogName(results.getString("TABLE_CAT"));
-        final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEM"));
-        final String tableName = results.getString("TABLE_NAME");
-
-        final Optional<MutableTable> optionalTable =
-            lookupTable(catalogName, schemaName, tableName);
-        if (!optionalTable.isPresent()) {
-          continue;
-        }
-        final MutableTable table = optionalTable.get();
-        createPrimaryKeyForTable(table, results);
-      }
+    try {
+      retrieveFromDataDictionary(
+          pkSql,
+          getRetrieverConnection().getFetchSize(PRIMARY_KEYS, primaryKeysRetrievalStrategy),
+          results -> {
+            while (results.next()) {
+              final String catalogName = normalizeCatalogName(results.getString("TABLE_CAT"));
+              final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEM"));
+              final String tableName = results.getString("TABLE_NAME");
+
+              final Optional<MutableTable> optionalTable =
+                  allTables.lookup(new NamedObjectKey(catalogName, schemaName, tableName));
+              if (!optionalTable.isPresent()) {
+                continue;
+              }
+              final MutableTable table = optionalTable.get();
+              createPrimaryKeyForTable(table, results);
+            }
+          });
     } catch (final SQLException e) {
       throw new WrappedSQLException(
           String.format("Could not retrieve primary keys from SQL:%n%s", pkSql), e);
     }
   }
 
+  private void retrievePrimaryKeysFromMetadataForAllTables(
+      final NamedObjectList<MutableTable> allTables) throws SQLException {
+    final NamedObjectList<MutableTable> remainingTables =
+        retrieveFromMetadataForAllTables(
+            allTables,
+            "DatabaseMetaData::getPrimaryKeys",
+            getRetrieverConnection().getFetchSize(primaryKeysRetrievalStrategy),
+            (metaData, schema) ->
+                metaData.getPrimaryKeys(schema.getCatalogName(), schema.getName(), null),
+            results ->
+                row -> {
+                  final String catalogName = normalizeCatalogName(row.getString("TABLE_CAT"));
+                  final String schemaName = normalizeSchemaName(row.getString("TABLE_SCHEM"));
+                  final String tableName = row.getString("TABLE_NAME");
+
+                  final Optional<MutableTable> optionalTable =
+                      allTables.lookup(new NamedObjectKey(catalogName, schemaName, tableName));
+                  if (optionalTable.isPresent() && !(optionalTable.get() instanceof View)) {
+                    createPrimaryKeyForTable(optionalTable.get(), row);
+                  }
+                });
+    retrievePrimaryKeysFromMetadata(remainingTables);
+  }
+
   private void retrievePrimaryKeysFromMetadata(final NamedObjectList<MutableTable> allTables)
       throws SQLException {
     for (final MutableTable table : allTables) {
@@ -158,7 +190,9 @@ final class PrimaryKeyRetriever extends AbstractRetriever {
                       .getMetaData()
                       .getPrimaryKeys(
                           tableSchema.getCatalogName(), tableSchema.getName(), table.getName()),
-                  "DatabaseMetaData::getPrimaryKeys"); ) {
+                  "DatabaseMetaData::getPrimaryKeys",
+                  getRetrieverConnection().getFetchSize(primaryKeysRetrievalStrategy),
+                  getRetrieverConnection().getStringPool()); ) {
         while (results.next()) {
           createPrimaryKeyForTable(table, results);
         }
@@ -166,6 +200,7 @@ final class PrimaryKeyRetriever extends AbstractRetriever {
         logPossiblyUnsupportedSQLFeature(
             new StringFormat("Could not retrieve primary keys for table <%s>", table), e);
       }
+      tablesRetrieved(Collections.singletonList(table));
     }
   }
 }
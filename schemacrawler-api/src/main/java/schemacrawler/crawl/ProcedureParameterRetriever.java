@@ -88,6 +88,7 @@ final class ProcedureParameterRetriever extends AbstractRetriever {
         break;
 
       case metadata:
+      case metadata_all:
         LOGGER.log(Level.INFO, "Retrieving procedure parameters");
         retrieveProcedureParametersFromMetadata(allRoutines, parameterFilter);
         break;
@@ -204,7 +205,13 @@ final class ProcedureParameterRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(procedureColumnsSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                procedureColumnsSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection()
+                    .getFetchSize(PROCEDURE_COLUMNS, procedureParametersRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       while (results.next()) {
         createProcedureParameter(results, allRoutines, parameterFilter);
       }
@@ -232,7 +239,9 @@ final class ProcedureParameterRetriever extends AbstractRetriever {
                           procedure.getSchema().getName(),
                           procedure.getName(),
                           null),
-                  "DatabaseMetaData::getProcedureColumns"); ) {
+                  "DatabaseMetaData::getProcedureColumns",
+                  getRetrieverConnection().getFetchSize(procedureParametersRetrievalStrategy),
+                  getRetrieverConnection().getStringPool()); ) {
         while (results.next()) {
           createProcedureParameter(results, allRoutines, parameterFilter);
         }
@@ -31,6 +31,8 @@ package schemacrawler.crawl;
 import static java.util.Objects.requireNonNull;
 import static us.fatehi.utility.Utility.requireNotBlank;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -42,7 +44,9 @@ import us.fatehi.utility.scheduler.TaskRunners;
 
 /**
  * Builds a list of task definitions that can be run in parallel. These are then submitted to be run
- * (in parallel) in a blocked way until all are complete.
+ * (in parallel) in a blocked way until all are complete. Tasks can depend on other tasks that were
+ * added before them, and will only be run once those tasks are complete, so a single submission can
+ * describe an entire graph of retrievals.
  */
 public final class RetrievalTaskRunner {
 
@@ -50,6 +54,8 @@ public final class RetrievalTaskRunner {
 
   private final TaskRunner taskRunner;
   private final SchemaInfoLevel infoLevel;
+  private MutableCrawlMetrics crawlMetrics;
+  private TaskDefinition pendingTaskDefinition;
 
   public RetrievalTaskRunner(
       final String runId, final SchemaInfoLevel infoLevel, final int maxThreads) {
@@ -60,6 +66,18 @@ public final class RetrievalTaskRunner {
     taskRunner = TaskRunners.getTaskRunner(runId, maxThreads);
   }
 
+  /**
+   * Runs retrievals with a task runner that has been set up by the caller, for example, one that
+   * uses a shared thread pool.
+   *
+   * @param taskRunner Task runner to run retrievals with
+   * @param infoLevel Info-level for checking which retrievals to run
+   */
+  public RetrievalTaskRunner(final TaskRunner taskRunner, final SchemaInfoLevel infoLevel) {
+    this.taskRunner = requireNonNull(taskRunner, "No task runner provided");
+    this.infoLevel = requireNonNull(infoLevel, "No info-level provided");
+  }
+
   public RetrievalTaskRunner add(
       final SchemaInfoRetrieval retrieval,
       final TaskDefinition.TaskRunnable function,
@@ -80,6 +98,53 @@ public final class RetrievalTaskRunner {
     return this;
   }
 
+  /**
+   * Makes the last added task depend on other named tasks, so that it is run only after they are
+   * complete.
+   *
+   * @param retrievalNames Names of tasks that have already been added
+   * @return Task runner, for chaining
+   */
+  public RetrievalTaskRunner dependsOn(final String... retrievalNames) {
+    requireNonNull(pendingTaskDefinition, "No task to add dependencies to");
+    if (retrievalNames == null) {
+      return this;
+    }
+    final Collection<String> dependencies = new ArrayList<>();
+    for (final String retrievalName : retrievalNames) {
+      dependencies.add(retrievalName);
+    }
+    pendingTaskDefinition = pendingTaskDefinition.withDependencies(dependencies);
+    return this;
+  }
+
+  /**
+   * Makes the last added task depend on other retrievals, so that it is run only after they are
+   * complete.
+   *
+   * @param retrievals Retrievals that have already been added
+   * @return Task runner, for chaining
+   */
+  public RetrievalTaskRunner dependsOn(final SchemaInfoRetrieval... retrievals) {
+    requireNonNull(retrievals, "No retrievals provided");
+    final String[] retrievalNames = new String[retrievals.length];
+    for (int i = 0; i < retrievals.length; i++) {
+      retrievalNames[i] = retrievals[i].name();
+    }
+    return dependsOn(retrievalNames);
+  }
+
+  /**
+   * Records metrics for retrieval tasks that are added after this call.
+   *
+   * @param crawlMetrics Metrics to record to
+   * @return Task runner, for chaining
+   */
+  RetrievalTaskRunner recordTo(final MutableCrawlMetrics crawlMetrics) {
+    this.crawlMetrics = requireNonNull(crawlMetrics, "No crawl metrics provided");
+    return this;
+  }
+
   /**
    * Allows for a deferred conversion to a string. Useful in logging.
    *
@@ -94,6 +159,7 @@ public final class RetrievalTaskRunner {
   }
 
   public void submit() throws Exception {
+    addPending();
     taskRunner.submit();
   }
 
@@ -102,10 +168,26 @@ public final class RetrievalTaskRunner {
       final boolean shouldRun,
       final TaskDefinition.TaskRunnable function)
       throws Exception {
-    if (shouldRun) {
-      taskRunner.add(new TaskDefinition(retrievalName, function));
+    // Hold on to the task definition, in case dependencies are added
+    addPending();
+    if (shouldRun && crawlMetrics != null) {
+      pendingTaskDefinition =
+          new TaskDefinition(retrievalName, crawlMetrics.measure(retrievalName, function));
+    } else if (shouldRun) {
+      pendingTaskDefinition = new TaskDefinition(retrievalName, function);
     } else {
-      taskRunner.add(new TaskDefinition(retrievalName));
+      if (function instanceof TableRetrievalCountdown.CountedTask) {
+        // Tables are not changed by a retrieval that is not run
+        ((TableRetrievalCountdown.CountedTask) function).skip();
+      }
+      pendingTaskDefinition = new TaskDefinition(retrievalName);
+    }
+  }
+
+  private void addPending() throws Exception {
+    if (pendingTaskDefinition != null) {
+      taskRunner.add(pendingTaskDefinition);
+      pendingTaskDefinition = null;
     }
   }
 
@@ -28,12 +28,25 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.crawl;
 
+import static java.lang.reflect.Proxy.newProxyInstance;
 import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.scheduler.TaskRunner.MAX_THREADS;
+import static us.fatehi.utility.scheduler.TaskRunner.MIN_THREADS;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import schemacrawler.plugin.EnumDataTypeHelper;
 import schemacrawler.schema.TableTypes;
 import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.MetadataRetrievalStrategy;
 import schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy;
@@ -41,18 +54,75 @@ import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.utility.JavaSqlTypes;
 import schemacrawler.utility.TypeMap;
 import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.scheduler.AdaptiveConcurrencyLimit;
+import us.fatehi.utility.scheduler.TaskRunner;
+import us.fatehi.utility.scheduler.TaskRunners;
+import us.fatehi.utility.string.StringFormat;
+import us.fatehi.utility.string.StringPool;
 
-/** A connection for the retriever. Wraps a live database connection. */
+/**
+ * A connection for the retriever. Wraps a live database connection. All retrievals for a crawl
+ * share a single thread pool, and the number of connections in use at the same time is limited
+ * to the capacity of the connection source. Within that, the limit is adapted from how long
+ * connections are held for, so that the database server is not overloaded. Retrievals fail if a
+ * connection is not available in time, rather than going over the limit. Strings read during
+ * the crawl are deduplicated through a string pool, which is discarded with the connection.
+ */
 final class RetrieverConnection {
 
+  private static final Logger LOGGER = Logger.getLogger(RetrieverConnection.class.getName());
+
+  private static final Duration CONNECTION_WAIT = Duration.ofMinutes(1);
+
+  /** Releases the connection limit permit when the connection is closed. */
+  private static final class LimitedConnectionInvocationHandler implements InvocationHandler {
+
+    private final Connection connection;
+    private final AdaptiveConcurrencyLimit.Permit permit;
+    private final long startNanos;
+
+    LimitedConnectionInvocationHandler(
+        final Connection connection, final AdaptiveConcurrencyLimit.Permit permit) {
+      this.connection = connection;
+      this.permit = permit;
+      startNanos = System.nanoTime();
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args)
+        throws Throwable {
+      if ("close".equals(method.getName())) {
+        // The permit belongs to the connection, so it can be closed on any thread
+        permit.release(Duration.ofNanos(System.nanoTime() - startNanos));
+      }
+      try {
+        return method.invoke(connection, args);
+      } catch (final InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
   private final DatabaseConnectionSource dataSource;
   private final JavaSqlTypes javaSqlTypes;
   private final SchemaRetrievalOptions schemaRetrievalOptions;
+  private final AdaptiveConcurrencyLimit connectionLimit;
+  private final int maxConcurrency;
+  private ExecutorService executorService;
+  private final StringPool stringPool;
 
   RetrieverConnection(
       final DatabaseConnectionSource dataSource,
       final SchemaRetrievalOptions schemaRetrievalOptions)
       throws SQLException {
+    this(dataSource, schemaRetrievalOptions, MAX_THREADS);
+  }
+
+  RetrieverConnection(
+      final DatabaseConnectionSource dataSource,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final int maxThreads)
+      throws SQLException {
 
     this.dataSource = requireNonNull(dataSource, "Database connection source not provided");
 
@@ -60,6 +130,16 @@ final class RetrieverConnection {
         requireNonNull(schemaRetrievalOptions, "No database specific overrides provided");
 
     javaSqlTypes = new JavaSqlTypes();
+    stringPool = new StringPool();
+
+    // System threads are limited by the number of threads requested, but virtual threads are
+    // limited only by the capacity of the connection pool
+    maxConcurrency = TaskRunners.getMaxConcurrency(maxThreads, dataSource.getMaxConnections());
+    connectionLimit =
+        new AdaptiveConcurrencyLimit("database connections", MIN_THREADS, maxConcurrency);
+    LOGGER.log(
+        Level.CONFIG,
+        new StringFormat("Retrieving with up to <%d> connections in use", maxConcurrency));
   }
 
   public MetadataRetrievalStrategy get(
@@ -67,8 +147,80 @@ final class RetrieverConnection {
     return schemaRetrievalOptions.get(schemaInfoMetadataRetrievalStrategy);
   }
 
-  Connection getConnection() {
-    return dataSource.get();
+  /**
+   * Gets a connection, waiting if too many connections are in use. The connection needs to be
+   * closed as soon as it is no longer needed. The time taken is recorded against the retrieval task
+   * that is running, if any.
+   *
+   * @return Database connection
+   * @throws SQLException If a connection is not available in time, or on an interrupt
+   */
+  Connection getConnection() throws SQLException {
+    final long startNanos = System.nanoTime();
+    final AdaptiveConcurrencyLimit.Permit permit;
+    try {
+      permit = connectionLimit.acquire(CONNECTION_WAIT);
+    } catch (final TimeoutException e) {
+      MutableCrawlMetrics.recordConnectionWait(System.nanoTime() - startNanos);
+      throw new SQLTimeoutException(
+          String.format("Could not get a database connection: %s", e.getMessage()), e);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a database connection", e);
+    }
+
+    final Connection connection;
+    try {
+      connection = dataSource.get();
+    } catch (final RuntimeException e) {
+      permit.release(null);
+      throw e;
+    } finally {
+      MutableCrawlMetrics.recordConnectionWait(System.nanoTime() - startNanos);
+    }
+    return (Connection)
+        newProxyInstance(
+            RetrieverConnection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new LimitedConnectionInvocationHandler(connection, permit));
+  }
+
+  /**
+   * Gets the JDBC fetch size for results of a data dictionary query.
+   *
+   * @param informationSchemaKey Data dictionary query
+   * @return Fetch size, or 0 for a fetch size that adapts to the results
+   */
+  int getFetchSize(final InformationSchemaKey informationSchemaKey) {
+    return schemaRetrievalOptions.getFetchSize(informationSchemaKey);
+  }
+
+  /**
+   * Gets the JDBC fetch size for results of a data dictionary query. A fetch size set for the query
+   * takes precedence over one set for the type of schema information that it retrieves.
+   *
+   * @param informationSchemaKey Data dictionary query
+   * @param schemaInfoMetadataRetrievalStrategy Type of schema information
+   * @return Fetch size, or 0 for a fetch size that adapts to the results
+   */
+  int getFetchSize(
+      final InformationSchemaKey informationSchemaKey,
+      final SchemaInfoMetadataRetrievalStrategy schemaInfoMetadataRetrievalStrategy) {
+    final int fetchSize = getFetchSize(informationSchemaKey);
+    if (fetchSize > 0) {
+      return fetchSize;
+    }
+    return getFetchSize(schemaInfoMetadataRetrievalStrategy);
+  }
+
+  /**
+   * Gets the JDBC fetch size for results retrieved for a type of schema information.
+   *
+   * @param schemaInfoMetadataRetrievalStrategy Type of schema information
+   * @return Fetch size, or 0 for a fetch size that adapts to the results
+   */
+  int getFetchSize(final SchemaInfoMetadataRetrievalStrategy schemaInfoMetadataRetrievalStrategy) {
+    return schemaRetrievalOptions.getFetchSize(schemaInfoMetadataRetrievalStrategy);
   }
 
   EnumDataTypeHelper getEnumDataTypeHelper() {
@@ -92,6 +244,15 @@ final class RetrieverConnection {
     return javaSqlTypes;
   }
 
+  /**
+   * Gets the pool used to deduplicate strings read from metadata results during the crawl.
+   *
+   * @return String pool for the crawl
+   */
+  StringPool getStringPool() {
+    return stringPool;
+  }
+
   TableTypes getTableTypes() {
     return schemaRetrievalOptions.getTableTypes();
   }
@@ -107,4 +268,32 @@ final class RetrieverConnection {
   boolean isSupportsSchemas() {
     return schemaRetrievalOptions.isSupportsSchemas();
   }
+
+  /**
+   * Gets a task runner that runs on the thread pool shared by all retrievals. The thread pool is
+   * started with the first task runner, and runs until it is shut down.
+   *
+   * @param id Id of the task runner
+   * @return Task runner
+   */
+  synchronized TaskRunner newTaskRunner(final String id) {
+    if (executorService == null) {
+      // Retrievals can run their own tasks on the shared executor, and wait for them. Waiting on
+      // a task in a fork-join pool is a managed block, so the pool starts another thread to run
+      // the tasks that are waited on, rather than running out of threads.
+      executorService = TaskRunners.newSharedExecutorService(maxConcurrency);
+    }
+    return TaskRunners.getTaskRunner(id, executorService);
+  }
+
+  /**
+   * Shuts down the thread pool shared by all retrievals, once the tasks on it have completed. Task
+   * runners obtained after this start a new thread pool.
+   */
+  synchronized void shutdownTaskRunners() {
+    if (executorService != null) {
+      executorService.shutdown();
+      executorService = null;
+    }
+  }
 }
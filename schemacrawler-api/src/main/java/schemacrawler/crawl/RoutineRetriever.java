@@ -179,6 +179,7 @@ final class RoutineRetriever extends AbstractRetriever {
         break;
 
       case metadata:
+      case metadata_all:
         LOGGER.log(Level.INFO, "Retrieving functions");
         retrieveFunctionsFromMetadata(schemas, functionFilter);
         break;
@@ -202,7 +203,12 @@ final class RoutineRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(functionsSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                functionsSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(FUNCTIONS, functionsRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       int numFunctions = 0;
       while (results.next()) {
         numFunctions = numFunctions + 1;
@@ -225,7 +231,9 @@ final class RoutineRetriever extends AbstractRetriever {
           final MetadataResultSet results =
               new MetadataResultSet(
                   connection.getMetaData().getFunctions(catalogName, schemaName, null),
-                  "DatabaseMetaData::getFunctions"); ) {
+                  "DatabaseMetaData::getFunctions",
+                  getRetrieverConnection().getFetchSize(functionsRetrievalStrategy),
+                  getRetrieverConnection().getStringPool()); ) {
         int numFunctions = 0;
         while (results.next()) {
           numFunctions = numFunctions + 1;
@@ -258,6 +266,7 @@ final class RoutineRetriever extends AbstractRetriever {
         break;
 
       case metadata:
+      case metadata_all:
         LOGGER.log(Level.INFO, "Retrieving procedures");
         retrieveProceduresFromMetadata(schemas, procedureFilter);
         break;
@@ -280,7 +289,12 @@ final class RoutineRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(proceduresSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                proceduresSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(PROCEDURES, proceduresRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       int numProcedures = 0;
       while (results.next()) {
         numProcedures = numProcedures + 1;
@@ -304,7 +318,9 @@ final class RoutineRetriever extends AbstractRetriever {
           final MetadataResultSet results =
               new MetadataResultSet(
                   connection.getMetaData().getProcedures(catalogName, schemaName, null),
-                  "DatabaseMetaData::getProcedures"); ) {
+                  "DatabaseMetaData::getProcedures",
+                  getRetrieverConnection().getFetchSize(proceduresRetrievalStrategy),
+                  getRetrieverConnection().getStringPool()); ) {
         int numProcedures = 0;
         while (results.next()) {
           numProcedures = numProcedures + 1;
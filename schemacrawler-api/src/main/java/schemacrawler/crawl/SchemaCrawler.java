@@ -74,11 +74,14 @@ import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveViewTableU
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.DatabaseInfo;
 import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.NamedObject;
 import schemacrawler.schema.Routine;
 import schemacrawler.schema.RoutineType;
 import schemacrawler.schema.Schema;
@@ -94,6 +97,7 @@ import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.schemacrawler.exceptions.DatabaseAccessException;
 import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
 import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.scheduler.TaskDefinition.TaskRunnable;
 import us.fatehi.utility.string.StringFormat;
 
 /** SchemaCrawler uses database meta-data to get the details about the schema. */
@@ -104,9 +108,11 @@ public final class SchemaCrawler {
   private final SchemaCrawlerOptions options;
   private final RetrieverConnection retrieverConnection;
   private final SchemaInfoLevel infoLevel;
-  private final int maxThreads;
+  private final Collection<CrawlListener> crawlListeners;
+  private final CrawlListenerNotifier crawlListenerNotifier;
   private RetrievalTaskRunner taskRunner;
   private MutableCatalog catalog;
+  private Catalog previousCatalog;
 
   /**
    * Constructs a SchemaCrawler object, from a database connection source.
@@ -120,24 +126,53 @@ public final class SchemaCrawler {
       final SchemaRetrievalOptions schemaRetrievalOptions,
       final SchemaCrawlerOptions options) {
     try {
-      retrieverConnection = new RetrieverConnection(dataSource, schemaRetrievalOptions);
       this.options = requireNonNull(options, "No SchemaCrawler options provided");
 
       final LoadOptions loadOptions = options.getLoadOptions();
       infoLevel = loadOptions.getSchemaInfoLevel();
-      maxThreads = loadOptions.getMaxThreads();
+      crawlListeners = new CopyOnWriteArrayList<>();
+      crawlListenerNotifier = new CrawlListenerNotifier(crawlListeners);
+      retrieverConnection =
+          new RetrieverConnection(
+              dataSource, schemaRetrievalOptions, loadOptions.getMaxThreads());
 
     } catch (final SQLException e) {
       throw new DatabaseAccessException(e);
     }
   }
 
+  /**
+   * Adds a listener that is notified as tables and routines are retrieved, so that they can be
+   * processed before the crawl is complete.
+   *
+   * @param crawlListener Crawl listener
+   */
+  public void addCrawlListener(final CrawlListener crawlListener) {
+    crawlListeners.add(requireNonNull(crawlListener, "No crawl listener provided"));
+  }
+
   /**
    * Crawls the database, to obtain database metadata.
    *
    * @return Database metadata
    */
   public Catalog crawl() {
+    return crawl(null);
+  }
+
+  /**
+   * Crawls the database incrementally, to obtain database metadata. Columns, primary keys, indexes
+   * and triggers of tables that have not changed since the previous catalog was crawled are copied
+   * from the previous catalog, instead of being retrieved again. Changes are detected with the
+   * EXT_TABLE_MODIFICATIONS data dictionary query, and if it is not available for the database,
+   * all tables are retrieved again.
+   *
+   * @param previousCatalog Catalog from a previous crawl, with the same options, or null for a full
+   *     crawl
+   * @return Database metadata
+   */
+  public Catalog crawl(final Catalog previousCatalog) {
+    this.previousCatalog = previousCatalog;
     try {
       try (final Connection connection = retrieverConnection.getConnection(); ) {
         final ConnectionInfoBuilder connectionInfoBuilder =
@@ -156,17 +191,29 @@ public final class SchemaCrawler {
       }
 
       final String runId = catalog.getCrawlInfo().getRunId();
-      taskRunner = new RetrievalTaskRunner(runId, infoLevel, maxThreads);
+      final MutableCrawlMetrics crawlMetrics = new MutableCrawlMetrics();
+      catalog.setCrawlMetrics(crawlMetrics);
+      taskRunner =
+          new RetrievalTaskRunner(retrieverConnection.newTaskRunner(runId), infoLevel)
+              .recordTo(crawlMetrics);
 
       crawlDatabaseInfo();
       LOGGER.log(Level.INFO, String.format("%n%s", catalog.getCrawlInfo()));
 
       crawlSchemas();
+
+      // Build a graph of all remaining retrievals, so that independent
+      // retrievals can run in parallel, without waiting for each other
       crawlColumnDataTypes();
       crawlTables();
       crawlRoutines();
       crawlSynonyms();
       crawlSequences();
+      taskRunner.submit();
+
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat("String deduplication: %s", retrieverConnection.getStringPool()));
 
       return catalog;
     } catch (final RuntimeException e) {
@@ -179,19 +226,45 @@ public final class SchemaCrawler {
       if (taskRunner != null) {
         taskRunner.stopAndLogTime();
       }
+      retrieverConnection.shutdownTaskRunners();
+      crawlListenerNotifier.awaitDelivery();
     }
   }
 
+  /**
+   * Wraps a task so that it runs only if the named objects it works on were retrieved. Since
+   * retrievals are not run in separate phases, this check is made when the task runs.
+   */
+  private static TaskRunnable ifNotEmpty(
+      final NamedObjectList<?> namedObjects, final TaskRunnable task) {
+    return () -> {
+      if (!namedObjects.isEmpty()) {
+        task.run();
+      }
+    };
+  }
+
+  /**
+   * Posts an event for each named object to crawl listeners, which are notified on a separate
+   * thread. Needs to be called from a task that cannot run at the same time as a task that adds or
+   * removes the named objects.
+   */
+  private <N extends NamedObject> void notifyListeners(
+      final String eventName,
+      final NamedObjectList<N> namedObjects,
+      final BiConsumer<CrawlListener, N> event) {
+    crawlListenerNotifier.post(eventName, namedObjects.values(), event);
+  }
+
   private void crawlColumnDataTypes() throws Exception {
 
     final DataTypeRetriever retriever =
         new DataTypeRetriever(retrieverConnection, catalog, options);
 
-    taskRunner.add(retrieveColumnDataTypes, retriever::retrieveSystemColumnDataTypes).submit();
-
     taskRunner
+        .add(retrieveColumnDataTypes, retriever::retrieveSystemColumnDataTypes)
         .add(retrieveUserDefinedColumnDataTypes, retriever::retrieveUserDefinedColumnDataTypes)
-        .submit();
+        .dependsOn(retrieveColumnDataTypes);
   }
 
   private void crawlDatabaseInfo() throws Exception {
@@ -229,49 +302,51 @@ public final class SchemaCrawler {
         new FunctionParameterRetriever(retrieverConnection, catalog, options);
 
     final Collection<RoutineType> routineTypes = limitOptions.getRoutineTypes();
-
-    taskRunner
-        .add(
-            retrieveRoutines,
-            () ->
-                retriever.retrieveRoutines(routineTypes, limitOptions.get(ruleForRoutineInclusion)))
-        .submit();
-
     final NamedObjectList<MutableRoutine> allRoutines = catalog.getAllRoutines();
-    LOGGER.log(Level.INFO, new StringFormat("Retrieved %d routines", allRoutines.size()));
-    if (allRoutines.isEmpty()) {
-      return;
-    }
 
     taskRunner
         .add(
-            retrieveRoutineParameters,
+            retrieveRoutines,
             () -> {
-              LOGGER.log(Level.INFO, "Retrieving routine columns");
-              if (!limitOptions.isExcludeAll(ruleForRoutineParameterInclusion)) {
-                if (routineTypes.contains(RoutineType.procedure)) {
-                  procedureParameterRetriever.retrieveProcedureParameters(
-                      allRoutines, limitOptions.get(ruleForRoutineParameterInclusion));
-                }
-
-                if (routineTypes.contains(RoutineType.function)) {
-                  functionParameterRetriever.retrieveFunctionParameters(
-                      allRoutines, limitOptions.get(ruleForRoutineParameterInclusion));
-                }
-              }
+              retriever.retrieveRoutines(routineTypes, limitOptions.get(ruleForRoutineInclusion));
+              LOGGER.log(Level.INFO, new StringFormat("Retrieved %d routines", allRoutines.size()));
             })
-        .submit();
-
-    taskRunner
+        .add(
+            retrieveRoutineParameters,
+            ifNotEmpty(
+                allRoutines,
+                () -> {
+                  LOGGER.log(Level.INFO, "Retrieving routine columns");
+                  if (!limitOptions.isExcludeAll(ruleForRoutineParameterInclusion)) {
+                    if (routineTypes.contains(RoutineType.procedure)) {
+                      procedureParameterRetriever.retrieveProcedureParameters(
+                          allRoutines, limitOptions.get(ruleForRoutineParameterInclusion));
+                    }
+
+                    if (routineTypes.contains(RoutineType.function)) {
+                      functionParameterRetriever.retrieveFunctionParameters(
+                          allRoutines, limitOptions.get(ruleForRoutineParameterInclusion));
+                    }
+                  }
+                }))
+        .dependsOn(retrieveRoutines, retrieveUserDefinedColumnDataTypes)
         .add(
             "filterAndSortRoutines",
-            () -> {
-              // Filter the list of routines based on grep criteria
-              catalog.reduce(Routine.class, getRoutineReducer(options));
-            })
-        .submit();
-
-    taskRunner.add(retrieveRoutineInformation, retrieverExtra::retrieveRoutineInformation).submit();
+            ifNotEmpty(
+                allRoutines,
+                () -> {
+                  // Filter the list of routines based on grep criteria
+                  catalog.reduce(Routine.class, getRoutineReducer(options));
+                }))
+        .dependsOn(retrieveRoutineParameters)
+        .add(
+            retrieveRoutineInformation,
+            ifNotEmpty(allRoutines, retrieverExtra::retrieveRoutineInformation))
+        .dependsOn("filterAndSortRoutines")
+        .add(
+            "notifyRoutinesComplete",
+            () -> notifyListeners("routine complete", allRoutines, CrawlListener::routineComplete))
+        .dependsOn(retrieveRoutineInformation);
   }
 
   private void crawlSchemas() throws Exception {
@@ -282,10 +357,8 @@ public final class SchemaCrawler {
         .add(
             "retrieveSchemas",
             () -> retriever.retrieveSchemas(options.getLimitOptions().get(ruleForSchemaInclusion)))
-        .submit();
-
-    taskRunner
         .add("filterAndSortSchemas", () -> catalog.reduce(Schema.class, getSchemaReducer(options)))
+        .dependsOn("retrieveSchemas")
         .submit();
 
     final NamedObjectList<SchemaReference> schemas = retriever.getAllSchemas();
@@ -313,13 +386,10 @@ public final class SchemaCrawler {
             () ->
                 retrieverExtra.retrieveSequenceInformation(
                     limitOptions.get(ruleForSequenceInclusion)))
-        .submit();
-
-    taskRunner
         .add(
             "filterAndSortSequences",
             () -> catalog.reduce(Sequence.class, getSequenceReducer(options)))
-        .submit();
+        .dependsOn(retrieveSequenceInformation);
   }
 
   private void crawlSynonyms() throws Exception {
@@ -340,12 +410,11 @@ public final class SchemaCrawler {
             () ->
                 retrieverExtra.retrieveSynonymInformation(
                     limitOptions.get(ruleForSynonymInclusion)))
-        .submit();
-
-    taskRunner
+        // Synonyms are matched to tables and routines that have been filtered
+        .dependsOn("filterAndSortTables", "filterAndSortRoutines")
         .add(
             "filterAndSortSynonms", () -> catalog.reduce(Synonym.class, getSynonymReducer(options)))
-        .submit();
+        .dependsOn(retrieveSynonymInformation);
   }
 
   private void crawlTables() throws Exception {
@@ -370,6 +439,61 @@ public final class SchemaCrawler {
     final TablePrivilegeRetriever retrieverPrivilege =
         new TablePrivilegeRetriever(retrieverConnection, catalog, options);
     final IndexRetriever indexRetriever = new IndexRetriever(retrieverConnection, catalog, options);
+    final TableModificationsRetriever modificationsRetriever =
+        new TableModificationsRetriever(retrieverConnection, catalog, options);
+
+    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
+    // Tables that need details to be retrieved, which are all tables
+    // unless the crawl is incremental
+    final NamedObjectList<MutableTable> changedTables;
+    if (previousCatalog == null) {
+      changedTables = allTables;
+    } else {
+      changedTables = new NamedObjectList<>();
+    }
+
+    // Each table is passed to crawl listeners as soon as the retrievals that change it are
+    // complete for that table, so the retrievers report tables as they are retrieved
+    final TableRetrievalCountdown columnsLoaded =
+        new TableRetrievalCountdown(
+            crawlListenerNotifier,
+            "table columns loaded",
+            CrawlListener::tableColumnsLoaded,
+            retrieveTableColumns.name());
+    final TableRetrievalCountdown keysLoaded =
+        new TableRetrievalCountdown(
+            crawlListenerNotifier,
+            "table keys loaded",
+            CrawlListener::tableKeysLoaded,
+            retrievePrimaryKeys.name(),
+            retrieveForeignKeys.name(),
+            retrieveIndexes.name(),
+            retrieveTableConstraints.name(),
+            retrieveTriggerInformation.name());
+    final TableRetrievalCountdown tablesComplete =
+        new TableRetrievalCountdown(
+            crawlListenerNotifier,
+            "table complete",
+            CrawlListener::tableComplete,
+            "filterAndSortTables",
+            "matchTableConstraints",
+            retrieveTableConstraintDefinitions.name(),
+            retrieveTableConstraintInformation.name(),
+            retrieveViewInformation.name(),
+            retrieveViewTableUsage.name(),
+            retrieveTableDefinitionsInformation.name(),
+            retrieveIndexInformation.name(),
+            retrieveAdditionalTableAttributes.name(),
+            retrieveTablePrivileges.name(),
+            retrieveTableColumnPrivileges.name(),
+            retrieveAdditionalColumnAttributes.name(),
+            retrieveAdditionalColumnMetadata.name());
+    columnRetriever.onTablesRetrieved(
+        tables -> columnsLoaded.retrieved(retrieveTableColumns.name(), tables));
+    pkRetriever.onTablesRetrieved(
+        tables -> keysLoaded.retrieved(retrievePrimaryKeys.name(), tables));
+    indexRetriever.onTablesRetrieved(
+        tables -> keysLoaded.retrieved(retrieveIndexes.name(), tables));
 
     taskRunner
         .add(
@@ -380,108 +504,214 @@ public final class SchemaCrawler {
                   limitOptions.getTableNamePattern(),
                   limitOptions.getTableTypes(),
                   limitOptions.get(ruleForTableInclusion));
-            })
-        .submit();
-
-    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
-    LOGGER.log(Level.INFO, new StringFormat("Retrieved %d tables", allTables.size()));
-    if (allTables.isEmpty()) {
-      return;
+              LOGGER.log(Level.INFO, new StringFormat("Retrieved %d tables", allTables.size()));
+              notifyListeners("table discovered", allTables, CrawlListener::tableDiscovered);
+            });
+
+    final String tableDetailsDependency;
+    if (previousCatalog == null) {
+      tableDetailsDependency = retrieveTables.name();
+    } else {
+      // Copies details of unchanged tables, so needs data types to be available
+      tableDetailsDependency = "retrieveTableModifications";
+      taskRunner
+          .add(
+              tableDetailsDependency,
+              ifNotEmpty(
+                  allTables,
+                  () ->
+                      modificationsRetriever.retrieveTableModifications(
+                          allTables, previousCatalog, changedTables)))
+          .dependsOn(retrieveTables, retrieveUserDefinedColumnDataTypes);
     }
 
     taskRunner
         .add(
             retrieveTableColumns,
-            () -> {
-              if (!limitOptions.isExcludeAll(ruleForColumnInclusion)) {
-                columnRetriever.retrieveTableColumns(
-                    allTables, limitOptions.get(ruleForColumnInclusion));
-              }
-            })
-        .submit();
+            columnsLoaded.countDown(
+                retrieveTableColumns.name(),
+                allTables,
+                () -> {
+                  if (!changedTables.isEmpty()
+                      && !limitOptions.isExcludeAll(ruleForColumnInclusion)) {
+                    columnRetriever.retrieveTableColumns(
+                        changedTables, limitOptions.get(ruleForColumnInclusion));
+                  }
+                }))
+        .dependsOn(tableDetailsDependency, retrieveUserDefinedColumnDataTypes.name());
 
     taskRunner
         .add(
             retrievePrimaryKeys,
-            () -> pkRetriever.retrievePrimaryKeys(allTables),
+            keysLoaded.countDown(
+                retrievePrimaryKeys.name(),
+                allTables,
+                ifNotEmpty(changedTables, () -> pkRetriever.retrievePrimaryKeys(changedTables))),
             retrieveTableColumns)
+        .dependsOn(retrieveTableColumns)
         .add(
             retrieveForeignKeys,
-            () -> fkRetriever.retrieveForeignKeys(allTables),
+            // Foreign keys are added to both the referenced and the referencing tables, so tables
+            // are not reported until foreign keys have been retrieved for all tables
+            keysLoaded.countDown(
+                retrieveForeignKeys.name(),
+                allTables,
+                ifNotEmpty(allTables, () -> fkRetriever.retrieveForeignKeys(allTables))),
+            retrieveTableColumns)
+        .dependsOn(retrieveTableColumns)
+        .add(
+            retrieveIndexes,
+            keysLoaded.countDown(
+                retrieveIndexes.name(),
+                allTables,
+                ifNotEmpty(changedTables, () -> indexRetriever.retrieveIndexes(changedTables))),
             retrieveTableColumns)
-        .add(retrieveIndexes, () -> indexRetriever.retrieveIndexes(allTables), retrieveTableColumns)
+        .dependsOn(retrieveTableColumns)
         .add(
             retrieveTableConstraints,
-            constraintRetriever::retrieveTableConstraints,
+            keysLoaded.countDown(
+                retrieveTableConstraints.name(),
+                allTables,
+                ifNotEmpty(allTables, constraintRetriever::retrieveTableConstraints)),
             retrieveTableColumns)
-        .add(retrieveTriggerInformation, retrieverExtra::retrieveTriggerInformation)
-        .submit();
+        .dependsOn(retrieveTableColumns)
+        .add(
+            retrieveTriggerInformation,
+            keysLoaded.countDown(
+                retrieveTriggerInformation.name(),
+                allTables,
+                ifNotEmpty(
+                    changedTables,
+                    () -> retrieverExtra.retrieveTriggerInformation(changedTables))))
+        .dependsOn(tableDetailsDependency);
 
     // Should be run independently, since filter and sort modifies the tables collection
     taskRunner
         .add(
             "filterAndSortTables",
-            () -> {
-              // Filter the list of tables based on grep criteria, and
-              // parent-child relationships
-              catalog.reduce(Table.class, getTableReducer(options));
-
-              // Sort the remaining tables
-              final TablesGraph tablesGraph = new TablesGraph(allTables);
-              tablesGraph.setTablesSortIndexes();
-            })
-        .submit();
+            ifNotEmpty(
+                allTables,
+                () -> {
+                  // Filter the list of tables based on grep criteria, and
+                  // parent-child relationships
+                  catalog.reduce(Table.class, getTableReducer(options));
+
+                  // Sort the remaining tables
+                  final TablesGraph tablesGraph = new TablesGraph(allTables);
+                  tablesGraph.setTablesSortIndexes();
+                  allTables.resort();
+
+                  // Only tables that remain after filtering are counted down to be complete
+                  tablesComplete.retrieved("filterAndSortTables", allTables);
+                }))
+        .dependsOn(
+            retrievePrimaryKeys,
+            retrieveForeignKeys,
+            retrieveIndexes,
+            retrieveTableConstraints,
+            retrieveTriggerInformation);
 
     // Should be run independently, since table constraints are modified
     taskRunner
         .add(
             "matchTableConstraints",
-            () -> constraintRetriever.matchTableConstraints(allTables),
+            tablesComplete.countDown(
+                "matchTableConstraints",
+                allTables,
+                ifNotEmpty(allTables, () -> constraintRetriever.matchTableConstraints(allTables))),
             retrieveTableColumns)
-        .submit();
+        .dependsOn("filterAndSortTables");
 
     taskRunner
         .add(
             retrieveTableConstraintDefinitions,
-            constraintRetriever::retrieveTableConstraintDefinitions,
+            tablesComplete.countDown(
+                retrieveTableConstraintDefinitions.name(),
+                allTables,
+                ifNotEmpty(allTables, constraintRetriever::retrieveTableConstraintDefinitions)),
             retrieveTableConstraints)
+        .dependsOn("matchTableConstraints")
         .add(
             retrieveTableConstraintInformation,
-            constraintRetriever::retrieveTableConstraintInformation,
+            tablesComplete.countDown(
+                retrieveTableConstraintInformation.name(),
+                allTables,
+                ifNotEmpty(allTables, constraintRetriever::retrieveTableConstraintInformation)),
             retrieveTableConstraints)
-        .add(retrieveViewInformation, retrieverExtra::retrieveViewInformation, retrieveTables)
-        .add(retrieveViewTableUsage, retrieverExtra::retrieveViewTableUsage, retrieveTables)
+        .dependsOn("matchTableConstraints")
+        .add(
+            retrieveViewInformation,
+            tablesComplete.countDown(
+                retrieveViewInformation.name(),
+                allTables,
+                ifNotEmpty(allTables, retrieverExtra::retrieveViewInformation)),
+            retrieveTables)
+        .dependsOn("filterAndSortTables")
+        .add(
+            retrieveViewTableUsage,
+            tablesComplete.countDown(
+                retrieveViewTableUsage.name(),
+                allTables,
+                ifNotEmpty(allTables, retrieverExtra::retrieveViewTableUsage)),
+            retrieveTables)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveTableDefinitionsInformation,
-            retrieverExtra::retrieveTableDefinitions,
+            tablesComplete.countDown(
+                retrieveTableDefinitionsInformation.name(),
+                allTables,
+                ifNotEmpty(allTables, retrieverExtra::retrieveTableDefinitions)),
             retrieveTables)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveIndexInformation,
-            () -> retrieverExtra.retrieveIndexInformation(),
+            tablesComplete.countDown(
+                retrieveIndexInformation.name(),
+                allTables,
+                ifNotEmpty(allTables, retrieverExtra::retrieveIndexInformation)),
             retrieveIndexes)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveAdditionalTableAttributes,
-            () -> retrieverExtra.retrieveAdditionalTableAttributes(),
+            tablesComplete.countDown(
+                retrieveAdditionalTableAttributes.name(),
+                allTables,
+                ifNotEmpty(allTables, retrieverExtra::retrieveAdditionalTableAttributes)),
             retrieveTables)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveTablePrivileges,
-            () -> retrieverPrivilege.retrieveTablePrivileges(),
+            tablesComplete.countDown(
+                retrieveTablePrivileges.name(),
+                allTables,
+                ifNotEmpty(allTables, retrieverPrivilege::retrieveTablePrivileges)),
             retrieveTables)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveTableColumnPrivileges,
-            retrieverPrivilege::retrieveTableColumnPrivileges,
+            tablesComplete.countDown(
+                retrieveTableColumnPrivileges.name(),
+                allTables,
+                ifNotEmpty(allTables, retrieverPrivilege::retrieveTableColumnPrivileges)),
             retrieveTableColumns)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveAdditionalColumnAttributes,
-            retrieverExtra::retrieveAdditionalColumnAttributes,
+            tablesComplete.countDown(
+                retrieveAdditionalColumnAttributes.name(),
+                allTables,
+                ifNotEmpty(allTables, retrieverExtra::retrieveAdditionalColumnAttributes)),
             retrieveTableColumns)
-        .submit();
+        .dependsOn("filterAndSortTables");
 
     taskRunner
         .add(
             retrieveAdditionalColumnMetadata,
-            retrieverExtra::retrieveAdditionalColumnMetadata,
+            tablesComplete.countDown(
+                retrieveAdditionalColumnMetadata.name(),
+                allTables,
+                ifNotEmpty(allTables, retrieverExtra::retrieveAdditionalColumnMetadata)),
             retrieveTableColumns)
-        .submit();
+        .dependsOn(retrieveAdditionalColumnAttributes);
   }
 }
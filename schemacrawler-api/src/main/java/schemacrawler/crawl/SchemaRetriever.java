@@ -154,7 +154,10 @@ final class SchemaRetriever extends AbstractRetriever {
       try (final Connection connection = getRetrieverConnection().getConnection();
           final MetadataResultSet results =
               new MetadataResultSet(
-                  connection.getMetaData().getSchemas(), "DatabaseMetaData::getSchemas"); ) {
+                  connection.getMetaData().getSchemas(),
+                  "DatabaseMetaData::getSchemas",
+                  0,
+                  getRetrieverConnection().getStringPool()); ) {
         while (results.next()) {
           numSchemas = numSchemas + 1;
           final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -200,7 +203,12 @@ final class SchemaRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(schemataSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                schemataSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(SCHEMATA),
+                getRetrieverConnection().getStringPool()); ) {
       int numSchemas = 0;
       while (results.next()) {
         numSchemas = numSchemas + 1;
@@ -38,6 +38,7 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -56,12 +57,47 @@ import schemacrawler.schemacrawler.exceptions.SchemaCrawlerException;
 import schemacrawler.schemacrawler.exceptions.WrappedSQLException;
 import us.fatehi.utility.scheduler.TaskDefinition;
 import us.fatehi.utility.scheduler.TaskRunner;
-import us.fatehi.utility.scheduler.TaskRunners;
 import us.fatehi.utility.string.StringFormat;
 
 /** A retriever uses database metadata to get the details about the database table columns. */
 final class TableColumnRetriever extends AbstractRetriever {
 
+  /** Ordinal positions of the columns of table column metadata, looked up once for the results. */
+  private static final class ColumnOrdinals {
+
+    private final int columnDef;
+    private final int tableCat;
+    private final int tableSchem;
+    private final int tableName;
+    private final int columnName;
+    private final int ordinalPosition;
+    private final int dataType;
+    private final int typeName;
+    private final int columnSize;
+    private final int decimalDigits;
+    private final int nullable;
+    private final int isAutoincrement;
+    private final int isGeneratedcolumn;
+    private final int remarks;
+
+    ColumnOrdinals(final MetadataResultSet results) {
+      columnDef = results.findColumn("COLUMN_DEF");
+      tableCat = results.findColumn("TABLE_CAT");
+      tableSchem = results.findColumn("TABLE_SCHEM");
+      tableName = results.findColumn("TABLE_NAME");
+      columnName = results.findColumn("COLUMN_NAME");
+      ordinalPosition = results.findColumn("ORDINAL_POSITION");
+      dataType = results.findColumn("DATA_TYPE");
+      typeName = results.findColumn("TYPE_NAME");
+      columnSize = results.findColumn("COLUMN_SIZE");
+      decimalDigits = results.findColumn("DECIMAL_DIGITS");
+      nullable = results.findColumn("NULLABLE");
+      isAutoincrement = results.findColumn("IS_AUTOINCREMENT");
+      isGeneratedcolumn = results.findColumn("IS_GENERATEDCOLUMN");
+      remarks = results.findColumn("REMARKS");
+    }
+  }
+
   private static final Logger LOGGER = Logger.getLogger(TableColumnRetriever.class.getName());
 
   TableColumnRetriever(
@@ -98,6 +134,12 @@ final class TableColumnRetriever extends AbstractRetriever {
         retrieveTableColumnsFromMetadata(allTables, columnFilter, hiddenTableColumnsLookupKeys);
         break;
 
+      case metadata_all:
+        LOGGER.log(Level.INFO, "Retrieving table columns, for all tables in each schema");
+        retrieveTableColumnsFromMetadataForAllTables(
+            allTables, columnFilter, hiddenTableColumnsLookupKeys);
+        break;
+
       default:
         LOGGER.log(Level.INFO, "Not retrieving table columns");
         break;
@@ -106,6 +148,7 @@ final class TableColumnRetriever extends AbstractRetriever {
 
   private void createTableColumn(
       final MetadataResultSet results,
+      final ColumnOrdinals columns,
       final NamedObjectList<MutableTable> allTables,
       final InclusionRuleFilter<Column> columnFilter,
       final Set<NamedObjectKey> hiddenTableColumnsLookupKeys) {
@@ -113,12 +156,12 @@ final class TableColumnRetriever extends AbstractRetriever {
     // Get the "COLUMN_DEF" value first as it the Oracle driver
     // don't handle it properly otherwise.
     // https://github.com/schemacrawler/SchemaCrawler/issues/835
-    final String defaultValue = results.getString("COLUMN_DEF");
+    final String defaultValue = results.getString(columns.columnDef);
 
-    final String catalogName = normalizeCatalogName(results.getString("TABLE_CAT"));
-    final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEM"));
-    final String tableName = results.getString("TABLE_NAME");
-    final String columnName = results.getString("COLUMN_NAME");
+    final String catalogName = normalizeCatalogName(results.getString(columns.tableCat));
+    final String schemaName = normalizeSchemaName(results.getString(columns.tableSchem));
+    final String tableName = results.getString(columns.tableName);
+    final String columnName = results.getString(columns.columnName);
     LOGGER.log(
         Level.FINE,
         new StringFormat(
@@ -139,17 +182,17 @@ final class TableColumnRetriever extends AbstractRetriever {
     column.withQuoting(getRetrieverConnection().getIdentifiers());
 
     if (columnFilter.test(column) && belongsToSchema(table, catalogName, schemaName)) {
-      final int ordinalPosition = results.getInt("ORDINAL_POSITION", 0);
-      final int dataType = results.getInt("DATA_TYPE", 0);
-      final String typeName = results.getString("TYPE_NAME");
-      final int size = results.getInt("COLUMN_SIZE", 0);
-      final int decimalDigits = results.getInt("DECIMAL_DIGITS", 0);
+      final int ordinalPosition = results.getInt(columns.ordinalPosition, 0);
+      final int dataType = results.getInt(columns.dataType, 0);
+      final String typeName = results.getString(columns.typeName);
+      final int size = results.getInt(columns.columnSize, 0);
+      final int decimalDigits = results.getInt(columns.decimalDigits, 0);
       final boolean isNullable =
-          results.getInt("NULLABLE", DatabaseMetaData.columnNullableUnknown)
+          results.getInt(columns.nullable, DatabaseMetaData.columnNullableUnknown)
               == DatabaseMetaData.columnNullable;
-      final boolean isAutoIncremented = results.getBoolean("IS_AUTOINCREMENT");
-      final boolean isGenerated = results.getBoolean("IS_GENERATEDCOLUMN");
-      final String remarks = results.getString("REMARKS");
+      final boolean isAutoIncremented = results.getBoolean(columns.isAutoincrement);
+      final boolean isGenerated = results.getBoolean(columns.isGeneratedcolumn);
+      final String remarks = results.getString(columns.remarks);
 
       final boolean isHidden = hiddenTableColumnsLookupKeys.contains(column.key());
 
@@ -167,7 +210,7 @@ final class TableColumnRetriever extends AbstractRetriever {
         column.setDefaultValue(defaultValue);
       }
 
-      column.addAttributes(results.getAttributes());
+      column.addAttributes(results.getAttributes(getAttributeCapture(Column.class)));
 
       LOGGER.log(
           Level.FINER,
@@ -218,7 +261,12 @@ final class TableColumnRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(hiddenColumnsSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                hiddenColumnsSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(EXT_HIDDEN_TABLE_COLUMNS),
+                getRetrieverConnection().getStringPool()); ) {
       while (results.next()) {
         // NOTE: The column names in the extension table are different
         // than the database metadata column names
@@ -253,13 +301,39 @@ final class TableColumnRetriever extends AbstractRetriever {
       throw new ExecutionRuntimeException("No table columns SQL provided");
     }
     final Query tableColumnsSql = informationSchemaViews.getQuery(TABLE_COLUMNS);
-    try (final Connection connection = getRetrieverConnection().getConnection();
-        final Statement statement = connection.createStatement();
-        final MetadataResultSet results =
-            new MetadataResultSet(tableColumnsSql, statement, getSchemaInclusionRule()); ) {
-      while (results.next()) {
-        createTableColumn(results, allTables, columnFilter, hiddenTableColumnsLookupKeys);
-      }
+    retrieveFromDataDictionary(
+        tableColumnsSql,
+        getRetrieverConnection().getFetchSize(TABLE_COLUMNS, tableColumnsRetrievalStrategy),
+        results -> {
+          final ColumnOrdinals columns = new ColumnOrdinals(results);
+          while (results.next()) {
+            createTableColumn(
+                results, columns, allTables, columnFilter, hiddenTableColumnsLookupKeys);
+          }
+        });
+  }
+
+  private void retrieveTableColumnsFromMetadataForAllTables(
+      final NamedObjectList<MutableTable> allTables,
+      final InclusionRuleFilter<Column> columnFilter,
+      final Set<NamedObjectKey> hiddenTableColumnsLookupKeys)
+      throws SQLException {
+    final NamedObjectList<MutableTable> remainingTables =
+        retrieveFromMetadataForAllTables(
+            allTables,
+            "DatabaseMetaData::getColumns",
+            getRetrieverConnection().getFetchSize(tableColumnsRetrievalStrategy),
+            (metaData, schema) ->
+                metaData.getColumns(schema.getCatalogName(), schema.getName(), null, null),
+            results -> {
+              final ColumnOrdinals columns = new ColumnOrdinals(results);
+              return row ->
+                  createTableColumn(
+                      row, columns, allTables, columnFilter, hiddenTableColumnsLookupKeys);
+            });
+    if (!remainingTables.isEmpty()) {
+      retrieveTableColumnsFromMetadata(
+          remainingTables, columnFilter, hiddenTableColumnsLookupKeys);
     }
   }
 
@@ -269,37 +343,17 @@ final class TableColumnRetriever extends AbstractRetriever {
       final Set<NamedObjectKey> hiddenTableColumnsLookupKeys)
       throws SQLException {
     try (final TaskRunner taskRunner =
-        TaskRunners.getTaskRunner("retrieve-table-columns-from-metadata", 5); ) {
+        getRetrieverConnection().newTaskRunner("retrieve-table-columns-from-metadata"); ) {
       for (final MutableTable table : allTables) {
         taskRunner.add(
             new TaskDefinition(
                 table.getFullName(),
-                () -> {
-                  LOGGER.log(
-                      Level.FINE, new StringFormat("Retrieving table columns for <%s>", table));
-                  try (final Connection connection = getRetrieverConnection().getConnection();
-                      final MetadataResultSet results =
-                          new MetadataResultSet(
-                              connection
-                                  .getMetaData()
-                                  .getColumns(
-                                      table.getSchema().getCatalogName(),
-                                      table.getSchema().getName(),
-                                      table.getName(),
-                                      null),
-                              "DatabaseMetaData::getColumns"); ) {
-                    while (results.next()) {
-                      createTableColumn(
-                          results, allTables, columnFilter, hiddenTableColumnsLookupKeys);
-                    }
-                  } catch (final SQLException e) {
-                    throw new WrappedSQLException(
-                        String.format(
-                            "Could not retrieve table columns for %s <%s>",
-                            table.getTableType(), table),
-                        e);
-                  }
-                }));
+                MutableCrawlMetrics.propagate(
+                    () -> {
+                      retrieveTableColumnsFromMetadata(
+                          table, allTables, columnFilter, hiddenTableColumnsLookupKeys);
+                      tablesRetrieved(Collections.singletonList(table));
+                    })));
       }
       taskRunner.submit();
     } catch (final SQLException | SchemaCrawlerException e) {
@@ -308,4 +362,36 @@ final class TableColumnRetriever extends AbstractRetriever {
       throw new ExecutionRuntimeException(e.getMessage(), e);
     }
   }
+
+  private void retrieveTableColumnsFromMetadata(
+      final MutableTable table,
+      final NamedObjectList<MutableTable> allTables,
+      final InclusionRuleFilter<Column> columnFilter,
+      final Set<NamedObjectKey> hiddenTableColumnsLookupKeys)
+      throws SQLException {
+    LOGGER.log(Level.FINE, new StringFormat("Retrieving table columns for <%s>", table));
+    try (final Connection connection = getRetrieverConnection().getConnection();
+        final MetadataResultSet results =
+            new MetadataResultSet(
+                connection
+                    .getMetaData()
+                    .getColumns(
+                        table.getSchema().getCatalogName(),
+                        table.getSchema().getName(),
+                        table.getName(),
+                        null),
+                "DatabaseMetaData::getColumns",
+                getRetrieverConnection().getFetchSize(tableColumnsRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
+      final ColumnOrdinals columns = new ColumnOrdinals(results);
+      while (results.next()) {
+        createTableColumn(results, columns, allTables, columnFilter, hiddenTableColumnsLookupKeys);
+      }
+    } catch (final SQLException e) {
+      throw new WrappedSQLException(
+          String.format(
+              "Could not retrieve table columns for %s <%s>", table.getTableType(), table),
+          e);
+    }
+  }
 }
@@ -47,6 +47,7 @@ import schemacrawler.schema.ActionOrientationType;
 import schemacrawler.schema.CheckOptionType;
 import schemacrawler.schema.ConditionTimingType;
 import schemacrawler.schema.EventManipulationType;
+import schemacrawler.schema.NamedObjectKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
@@ -84,7 +85,12 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(columnAttributesSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                columnAttributesSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(ADDITIONAL_COLUMN_ATTRIBUTES),
+                getRetrieverConnection().getStringPool()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -179,7 +185,12 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tableAttributesSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                tableAttributesSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(ADDITIONAL_TABLE_ATTRIBUTES),
+                getRetrieverConnection().getStringPool()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -227,7 +238,11 @@ final class TableExtRetriever extends AbstractRetriever {
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
             new MetadataResultSet(
-                extIndexesInformationSql, statement, getSchemaInclusionRule()); ) {
+                extIndexesInformationSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(EXT_INDEXES),
+                getRetrieverConnection().getStringPool()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("INDEX_CATALOG"));
@@ -293,7 +308,11 @@ final class TableExtRetriever extends AbstractRetriever {
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
             new MetadataResultSet(
-                tableDefinitionsInformationSql, statement, getSchemaInclusionRule()); ) {
+                tableDefinitionsInformationSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(EXT_TABLES),
+                getRetrieverConnection().getStringPool()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -326,9 +345,11 @@ final class TableExtRetriever extends AbstractRetriever {
   /**
    * Retrieves a trigger information from the database, in the INFORMATION_SCHEMA format.
    *
+   * @param allTables Tables to retrieve triggers for
    * @throws SQLException On a SQL exception
    */
-  void retrieveTriggerInformation() throws SQLException {
+  void retrieveTriggerInformation(final NamedObjectList<MutableTable> allTables)
+      throws SQLException {
     final InformationSchemaViews informationSchemaViews =
         getRetrieverConnection().getInformationSchemaViews();
     if (!informationSchemaViews.hasQuery(TRIGGERS)) {
@@ -343,7 +364,12 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(triggerInformationSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                triggerInformationSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(TRIGGERS),
+                getRetrieverConnection().getStringPool()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TRIGGER_CATALOG"));
@@ -355,7 +381,7 @@ final class TableExtRetriever extends AbstractRetriever {
         final String tableName = results.getString("EVENT_OBJECT_TABLE");
 
         final Optional<MutableTable> tableOptional =
-            lookupTable(catalogName, schemaName, tableName);
+            allTables.lookup(new NamedObjectKey(catalogName, schemaName, tableName));
         if (!tableOptional.isPresent()) {
           LOGGER.log(
               Level.FINE,
@@ -422,7 +448,12 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(viewInformationSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                viewInformationSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(VIEWS),
+                getRetrieverConnection().getStringPool()); ) {
 
       while (results.next()) {
 
@@ -483,7 +514,12 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(viewTableUsageSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                viewTableUsageSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(VIEW_TABLE_USAGE),
+                getRetrieverConnection().getStringPool()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("VIEW_CATALOG"));
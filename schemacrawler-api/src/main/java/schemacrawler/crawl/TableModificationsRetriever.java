@@ -0,0 +1,292 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.schema.DataTypeType.user_defined;
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_TABLE_MODIFICATIONS;
+import static us.fatehi.utility.Utility.isBlank;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.NamedObjectKey;
+import schemacrawler.schema.PrimaryKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.exceptions.WrappedSQLException;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * A retriever that compares table modification tokens from the data dictionary against a previously
+ * crawled catalog. Tables that have not changed get their columns, primary keys, indexes and
+ * triggers copied from the previous catalog, so that they do not need to be retrieved again.
+ */
+final class TableModificationsRetriever extends AbstractRetriever {
+
+  private static final Logger LOGGER =
+      Logger.getLogger(TableModificationsRetriever.class.getName());
+
+  /** Table attribute that holds the modification token for the table. */
+  static final String LAST_MODIFIED = "LAST_MODIFIED";
+
+  TableModificationsRetriever(
+      final RetrieverConnection retrieverConnection,
+      final MutableCatalog catalog,
+      final SchemaCrawlerOptions options)
+      throws SQLException {
+    super(retrieverConnection, catalog, options);
+  }
+
+  /**
+   * Finds tables that have changed since the previous catalog was crawled, and copies details for
+   * tables that have not changed from the previous catalog. Tables are considered to be changed if
+   * they are new, or if a modification token is not available for them, either now or in the
+   * previous catalog.
+   *
+   * @param allTables Tables retrieved in this crawl
+   * @param previousCatalog Previously crawled catalog
+   * @param changedTables Populated with tables that need to be fully retrieved
+   * @throws SQLException On a SQL exception
+   */
+  void retrieveTableModifications(
+      final NamedObjectList<MutableTable> allTables,
+      final Catalog previousCatalog,
+      final NamedObjectList<MutableTable> changedTables)
+      throws SQLException {
+    requireNonNull(allTables, "No tables provided");
+    requireNonNull(previousCatalog, "No previous catalog provided");
+    requireNonNull(changedTables, "No changed tables provided");
+
+    final Map<NamedObjectKey, String> modificationTokens = retrieveModificationTokens();
+
+    for (final MutableTable table : allTables) {
+      final String modificationToken = modificationTokens.get(table.key());
+      if (!isBlank(modificationToken)) {
+        table.setAttribute(LAST_MODIFIED, modificationToken);
+      }
+
+      final Optional<Table> optionalPreviousTable =
+          previousCatalog.lookupTable(table.getSchema(), table.getName());
+      if (isBlank(modificationToken)
+          || !optionalPreviousTable.isPresent()
+          || !Objects.equals(
+              modificationToken, optionalPreviousTable.get().getAttribute(LAST_MODIFIED))) {
+        changedTables.add(table);
+        continue;
+      }
+
+      LOGGER.log(
+          Level.FINER, new StringFormat("Reusing details of unchanged table <%s>", table));
+      final Table previousTable = optionalPreviousTable.get();
+      copyColumns(table, previousTable);
+      copyPrimaryKey(table, previousTable);
+      copyIndexes(table, previousTable);
+      copyTriggers(table, previousTable);
+    }
+
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Found %d changed tables, out of %d tables", changedTables.size(), allTables.size()));
+  }
+
+  private void copyColumns(final MutableTable table, final Table previousTable) {
+    for (final Column previousColumn : previousTable.getColumns()) {
+      table.addColumn(copyColumn(table, previousColumn));
+    }
+    for (final Column previousColumn : previousTable.getHiddenColumns()) {
+      final MutableColumn column = copyColumn(table, previousColumn);
+      column.setHidden(true);
+      table.addHiddenColumn(column);
+    }
+  }
+
+  private MutableColumn copyColumn(final MutableTable table, final Column previousColumn) {
+    final MutableColumn column = new MutableColumn(table, previousColumn.getName());
+    column.withQuoting(getRetrieverConnection().getIdentifiers());
+
+    final ColumnDataType previousColumnDataType = previousColumn.getColumnDataType();
+    column.setOrdinalPosition(previousColumn.getOrdinalPosition());
+    column.setColumnDataType(
+        lookupOrCreateColumnDataType(
+            user_defined,
+            table.getSchema(),
+            previousColumnDataType.getJavaSqlType().getVendorTypeNumber(),
+            previousColumnDataType.getName()));
+    column.setSize(previousColumn.getSize());
+    column.setDecimalDigits(previousColumn.getDecimalDigits());
+    column.setNullable(previousColumn.isNullable());
+    column.setAutoIncremented(previousColumn.isAutoIncremented());
+    column.setGenerated(previousColumn.isGenerated());
+    column.setRemarks(previousColumn.getRemarks());
+    if (previousColumn.hasDefaultValue()) {
+      column.setDefaultValue(previousColumn.getDefaultValue());
+    }
+    column.addAttributes(previousColumn.getAttributes());
+
+    return column;
+  }
+
+  private void copyIndexes(final MutableTable table, final Table previousTable) {
+    for (final Index previousIndex : previousTable.getIndexes()) {
+      final MutableIndex index = new MutableIndex(table, previousIndex.getName());
+      index.withQuoting(getRetrieverConnection().getIdentifiers());
+      for (final IndexColumn previousIndexColumn : previousIndex.getColumns()) {
+        final Column column;
+        final Optional<MutableColumn> columnOptional =
+            table.lookupColumn(previousIndexColumn.getName());
+        if (columnOptional.isPresent()) {
+          final MutableColumn mutableColumn = columnOptional.get();
+          mutableColumn.markAsPartOfIndex();
+          if (previousIndex.isUnique()) {
+            mutableColumn.markAsPartOfUniqueIndex();
+          }
+          column = mutableColumn;
+        } else {
+          column = new ColumnPartial(table, previousIndexColumn.getName());
+        }
+        final MutableIndexColumn indexColumn = new MutableIndexColumn(index, column);
+        indexColumn.setKeyOrdinalPosition(previousIndexColumn.getIndexOrdinalPosition());
+        indexColumn.setSortSequence(previousIndexColumn.getSortSequence());
+        index.addColumn(indexColumn);
+      }
+      index.setUnique(previousIndex.isUnique());
+      index.setIndexType(previousIndex.getIndexType());
+      index.setCardinality(previousIndex.getCardinality());
+      index.setPages(previousIndex.getPages());
+      index.setRemarks(previousIndex.getRemarks());
+      // Index definitions are not copied, since they are retrieved again for all tables
+      index.addAttributes(previousIndex.getAttributes());
+
+      table.addIndex(index);
+    }
+  }
+
+  private void copyPrimaryKey(final MutableTable table, final Table previousTable) {
+    if (!previousTable.hasPrimaryKey()) {
+      return;
+    }
+    final PrimaryKey previousPrimaryKey = previousTable.getPrimaryKey();
+    final MutablePrimaryKey primaryKey =
+        MutablePrimaryKey.newPrimaryKey(table, previousPrimaryKey.getName());
+    for (final TableConstraintColumn previousPkColumn :
+        previousPrimaryKey.getConstrainedColumns()) {
+      final Optional<MutableColumn> columnOptional =
+          table.lookupColumn(previousPkColumn.getName());
+      if (columnOptional.isPresent()) {
+        final MutableColumn column = columnOptional.get();
+        column.markAsPartOfPrimaryKey();
+        final MutableTableConstraintColumn pkColumn =
+            new MutableTableConstraintColumn(primaryKey, column);
+        pkColumn.setKeyOrdinalPosition(previousPkColumn.getTableConstraintOrdinalPosition());
+        primaryKey.addColumn(pkColumn);
+      }
+    }
+    primaryKey.setDeferrable(previousPrimaryKey.isDeferrable());
+    primaryKey.setInitiallyDeferred(previousPrimaryKey.isInitiallyDeferred());
+    primaryKey.setRemarks(previousPrimaryKey.getRemarks());
+    primaryKey.appendDefinition(previousPrimaryKey.getDefinition());
+    primaryKey.addAttributes(previousPrimaryKey.getAttributes());
+
+    table.setPrimaryKey(primaryKey);
+  }
+
+  private void copyTriggers(final MutableTable table, final Table previousTable) {
+    for (final Trigger previousTrigger : previousTable.getTriggers()) {
+      final MutableTrigger trigger = new MutableTrigger(table, previousTrigger.getName());
+      trigger.withQuoting(getRetrieverConnection().getIdentifiers());
+
+      trigger.setEventManipulationType(previousTrigger.getEventManipulationType());
+      trigger.setActionOrder(previousTrigger.getActionOrder());
+      trigger.appendActionCondition(previousTrigger.getActionCondition());
+      trigger.appendActionStatement(previousTrigger.getActionStatement());
+      trigger.setActionOrientation(previousTrigger.getActionOrientation());
+      trigger.setConditionTiming(previousTrigger.getConditionTiming());
+      trigger.addAttributes(previousTrigger.getAttributes());
+
+      table.addTrigger(trigger);
+    }
+  }
+
+  private Map<NamedObjectKey, String> retrieveModificationTokens() throws WrappedSQLException {
+    final Map<NamedObjectKey, String> modificationTokens = new ConcurrentHashMap<>();
+
+    final InformationSchemaViews informationSchemaViews =
+        getRetrieverConnection().getInformationSchemaViews();
+    if (!informationSchemaViews.hasQuery(EXT_TABLE_MODIFICATIONS)) {
+      LOGGER.log(
+          Level.INFO,
+          "Not retrieving table modifications, so all tables will be retrieved again");
+      LOGGER.log(Level.FINE, "Table modifications SQL statement was not provided");
+      return modificationTokens;
+    }
+
+    LOGGER.log(Level.INFO, "Retrieving table modifications");
+
+    final Query tableModificationsSql = informationSchemaViews.getQuery(EXT_TABLE_MODIFICATIONS);
+    try {
+      retrieveFromDataDictionary(
+          tableModificationsSql,
+          getRetrieverConnection().getFetchSize(EXT_TABLE_MODIFICATIONS),
+          results -> {
+            while (results.next()) {
+              final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
+              final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEMA"));
+              final String tableName = results.getString("TABLE_NAME");
+              final String lastModified = results.getString("LAST_MODIFIED");
+              if (isBlank(tableName) || isBlank(lastModified)) {
+                continue;
+              }
+              modificationTokens.put(
+                  new NamedObjectKey(catalogName, schemaName, tableName), lastModified);
+            }
+          });
+    } catch (final SQLException e) {
+      throw new WrappedSQLException(
+          String.format(
+              "Could not retrieve table modifications from SQL:%n%s", tableModificationsSql),
+          e);
+    }
+
+    return modificationTokens;
+  }
+}
@@ -67,6 +67,7 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
         break;
 
       case metadata:
+      case metadata_all:
         LOGGER.log(Level.INFO, "Retrieving column privileges from metadata");
         retrieveTableColumnPrivilegesFromMetadata();
         break;
@@ -85,6 +86,7 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
         break;
 
       case metadata:
+      case metadata_all:
         LOGGER.log(Level.INFO, "Retrieving table privileges from metadata");
         retrieveTablePrivilegesFromMetadata();
         break;
@@ -166,7 +168,14 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tablePrivelegesSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                tablePrivelegesSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection()
+                    .getFetchSize(
+                        TABLE_COLUMN_PRIVILEGES, tableColumnPrivilegesRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       createPrivileges(results, true);
     }
   }
@@ -176,7 +185,9 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
         final MetadataResultSet results =
             new MetadataResultSet(
                 connection.getMetaData().getColumnPrivileges(null, null, null, null),
-                "DatabaseMetaData::getColumnPrivileges"); ) {
+                "DatabaseMetaData::getColumnPrivileges",
+                getRetrieverConnection().getFetchSize(tableColumnPrivilegesRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       createPrivileges(results, true);
     } catch (final Exception e) {
       LOGGER.log(Level.WARNING, "Could not retrieve table column privileges:" + e.getMessage());
@@ -193,7 +204,13 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tablePrivelegesSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                tablePrivelegesSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection()
+                    .getFetchSize(TABLE_PRIVILEGES, tablePrivilegesRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       createPrivileges(results, false);
     }
   }
@@ -203,7 +220,9 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
         final MetadataResultSet results =
             new MetadataResultSet(
                 connection.getMetaData().getTablePrivileges(null, null, null),
-                "DatabaseMetaData::getTablePrivileges"); ) {
+                "DatabaseMetaData::getTablePrivileges",
+                getRetrieverConnection().getFetchSize(tablePrivilegesRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       createPrivileges(results, false);
     } catch (final Exception e) {
       LOGGER.log(Level.WARNING, "Could not retrieve table privileges", e);
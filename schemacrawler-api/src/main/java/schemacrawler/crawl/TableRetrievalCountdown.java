@@ -0,0 +1,162 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import schemacrawler.schema.Table;
+import us.fatehi.utility.scheduler.TaskDefinition.TaskRunnable;
+
+/**
+ * Counts down the retrievals that need to be complete for each table, and posts a crawl event for
+ * a table as soon as all of them are complete for that table, without waiting for other tables.
+ * Retrievals report tables one schema or one table at a time where they can, and all the tables
+ * that they were run for once they end. Retrievals that are not run for the schema info-level are
+ * complete for all tables.
+ */
+final class TableRetrievalCountdown {
+
+  /** Retrieval task that reports all the tables it was run for once it is complete. */
+  final class CountedTask implements TaskRunnable {
+
+    private final String retrieval;
+    private final Iterable<? extends Table> tables;
+    private final TaskRunnable task;
+
+    private CountedTask(
+        final String retrieval, final Iterable<? extends Table> tables, final TaskRunnable task) {
+      this.retrieval = requireNonNull(retrieval, "No retrieval provided");
+      this.tables = requireNonNull(tables, "No tables provided");
+      this.task = requireNonNull(task, "No task provided");
+    }
+
+    @Override
+    public void run() throws Exception {
+      task.run();
+      retrieved(retrieval, tables);
+    }
+
+    /** Counts the retrieval as complete for all tables, since it is not run. */
+    void skip() {
+      notRetrieved(retrieval);
+    }
+  }
+
+  private final CrawlListenerNotifier crawlListenerNotifier;
+  private final String eventName;
+  private final BiConsumer<CrawlListener, Table> event;
+  private final Collection<String> retrievals;
+  private final Map<Table, Collection<String>> remainingRetrievals;
+
+  /**
+   * Counts down retrievals for an event.
+   *
+   * @param crawlListenerNotifier Notifier to post events to
+   * @param eventName Name of the event, for logging
+   * @param event Event to raise on each listener
+   * @param retrievals Names of the retrievals that need to be complete for a table
+   */
+  TableRetrievalCountdown(
+      final CrawlListenerNotifier crawlListenerNotifier,
+      final String eventName,
+      final BiConsumer<CrawlListener, Table> event,
+      final String... retrievals) {
+    this.crawlListenerNotifier =
+        requireNonNull(crawlListenerNotifier, "No crawl listener notifier provided");
+    this.eventName = requireNonNull(eventName, "No event name provided");
+    this.event = requireNonNull(event, "No event provided");
+    this.retrievals = new HashSet<>(Arrays.asList(retrievals));
+    remainingRetrievals = new HashMap<>();
+  }
+
+  /**
+   * Wraps a retrieval task, so that all the tables are reported as retrieved once the task is
+   * complete. Tables that the retrieval has already reported are not counted again. If the task is
+   * not run for the schema info-level, the retrieval is complete for all tables.
+   *
+   * @param retrieval Name of the retrieval
+   * @param tables Tables that the retrieval is run for
+   * @param task Retrieval task
+   * @return Task that reports the tables once the retrieval is complete
+   */
+  CountedTask countDown(
+      final String retrieval, final Iterable<? extends Table> tables, final TaskRunnable task) {
+    return new CountedTask(retrieval, tables, task);
+  }
+
+  /**
+   * Reports tables for which a retrieval is complete, and posts the event for tables for which all
+   * retrievals are now complete.
+   *
+   * @param retrieval Name of the retrieval
+   * @param tables Tables that have been retrieved
+   */
+  void retrieved(final String retrieval, final Iterable<? extends Table> tables) {
+    final List<Table> completeTables = new ArrayList<>();
+    // Post while holding the lock, so that events are posted in the order in which tables
+    // became complete
+    synchronized (remainingRetrievals) {
+      if (!retrievals.contains(retrieval)) {
+        throw new IllegalArgumentException(
+            String.format("Retrieval <%s> is not counted for <%s>", retrieval, eventName));
+      }
+      for (final Table table : tables) {
+        final Collection<String> remaining =
+            remainingRetrievals.computeIfAbsent(table, key -> new HashSet<>(retrievals));
+        if (remaining.remove(retrieval) && remaining.isEmpty()) {
+          completeTables.add(table);
+        }
+      }
+      crawlListenerNotifier.post(eventName, completeTables, event);
+    }
+  }
+
+  private void notRetrieved(final String retrieval) {
+    final List<Table> completeTables = new ArrayList<>();
+    synchronized (remainingRetrievals) {
+      retrievals.remove(retrieval);
+      for (final Map.Entry<Table, Collection<String>> entry : remainingRetrievals.entrySet()) {
+        final Collection<String> remaining = entry.getValue();
+        if (remaining.remove(retrieval) && remaining.isEmpty()) {
+          completeTables.add(entry.getKey());
+        }
+      }
+      crawlListenerNotifier.post(eventName, completeTables, event);
+    }
+  }
+}
@@ -87,6 +87,7 @@ final class TableRetriever extends AbstractRetriever {
         break;
 
       case metadata:
+      case metadata_all:
         LOGGER.log(Level.INFO, "Retrieving tables");
         retrieveTablesFromMetadata(schemas, tableNamePattern, tableTypes, tableFilter);
         break;
@@ -140,7 +141,7 @@ final class TableRetriever extends AbstractRetriever {
     if (tableFilter.test(table)) {
       table.setTableType(tableType);
       table.setRemarks(remarks);
-      table.addAttributes(results.getAttributes());
+      table.addAttributes(results.getAttributes(getAttributeCapture(Table.class)));
 
       catalog.addTable(table);
     }
@@ -167,7 +168,12 @@ final class TableRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tablesSql, statement, getSchemaInclusionRule()); ) {
+            new MetadataResultSet(
+                tablesSql,
+                statement,
+                getSchemaInclusionRule(),
+                getRetrieverConnection().getFetchSize(TABLES, tablesRetrievalStrategy),
+                getRetrieverConnection().getStringPool()); ) {
       int numTables = 0;
       while (results.next()) {
         numTables = numTables + 1;
@@ -200,7 +206,9 @@ final class TableRetriever extends AbstractRetriever {
                       .getMetaData()
                       .getTables(
                           catalogName, schemaName, tableNamePattern, filteredTableTypes.toArray()),
-                  "DatabaseMetaData::getTables"); ) {
+                  "DatabaseMetaData::getTables",
+                  getRetrieverConnection().getFetchSize(tablesRetrievalStrategy),
+                  getRetrieverConnection().getStringPool()); ) {
         int numTables = 0;
         while (results.next()) {
           numTables = numTables + 1;
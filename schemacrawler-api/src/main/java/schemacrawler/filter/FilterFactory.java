@@ -69,14 +69,28 @@ public final class FilterFactory {
   }
 
   public static Predicate<Table> tableFilter(final SchemaCrawlerOptions options) {
-    final LimitOptions limitOptions = options.getLimitOptions();
     final Predicate<Table> tableFilter =
-        new TableTypesFilter(limitOptions)
-            .and(new DatabaseObjectFilter<>(limitOptions, ruleForTableInclusion))
-            .and(new TableGrepFilter(options.getGrepOptions()));
+        tableLimitFilter(options).and(new TableGrepFilter(options.getGrepOptions()));
 
     return tableFilter;
   }
 
+  /**
+   * Filter for tables using only the limit options, that is, table types and the inclusion rules
+   * for schemas and tables. The filter only needs the schema, name and table type of a table, so it
+   * can be used before the rest of a table is known.
+   *
+   * @param options SchemaCrawler options
+   * @return Table filter
+   */
+  public static Predicate<Table> tableLimitFilter(final SchemaCrawlerOptions options) {
+    final LimitOptions limitOptions = options.getLimitOptions();
+    final Predicate<Table> tableLimitFilter =
+        new TableTypesFilter(limitOptions)
+            .and(new DatabaseObjectFilter<>(limitOptions, ruleForTableInclusion));
+
+    return tableLimitFilter;
+  }
+
   private FilterFactory() {}
 }
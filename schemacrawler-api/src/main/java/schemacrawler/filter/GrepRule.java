@@ -0,0 +1,330 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.filter;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.regex.Pattern.CANON_EQ;
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+import static java.util.regex.Pattern.COMMENTS;
+import static java.util.regex.Pattern.LITERAL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.inclusionrule.InclusionRuleWithRegularExpression;
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.inclusionrule.RegularExpressionRule;
+
+/**
+ * A grep inclusion rule, compiled with a prefilter. Most of the text that is grepped does not
+ * match, so if every match of the inclusion pattern has to contain a literal string, text that does
+ * not contain the literal is rejected with a substring search, without running the regular
+ * expression. Only inclusion rules that are known to include text only if it matches the inclusion
+ * pattern are prefiltered.
+ */
+final class GrepRule implements Predicate<String> {
+
+  private static final int NOT_LITERAL = -1;
+
+  /**
+   * Finds the longest literal string that any text matching the pattern has to contain. The
+   * pattern is analyzed conservatively, so the literal may be shorter than it could be, and there
+   * is no literal if the pattern has alternatives, or is case-insensitive.
+   *
+   * @param pattern Regular expression pattern
+   * @return Required literal, or null if none was found
+   */
+  static String requiredLiteral(final Pattern pattern) {
+    if (pattern == null
+        || (pattern.flags() & (CASE_INSENSITIVE | COMMENTS | LITERAL | CANON_EQ)) != 0) {
+      return null;
+    }
+
+    final String regex = pattern.pattern();
+    final int length = regex.length();
+    // Each atom is either a literal character, or a part of the pattern that is not literal
+    final List<Integer> atoms = new ArrayList<>();
+    int i = 0;
+    while (i < length) {
+      final char ch = regex.charAt(i);
+      i++;
+      switch (ch) {
+        case '\\':
+          if (i >= length) {
+            return null;
+          }
+          final char escaped = regex.charAt(i);
+          i++;
+          if (escaped == 'Q') {
+            int end = regex.indexOf("\\E", i);
+            if (end < 0) {
+              end = length;
+            }
+            for (int j = i; j < end; j++) {
+              atoms.add((int) regex.charAt(j));
+            }
+            i = Math.min(end + 2, length);
+          } else if (Character.isLetterOrDigit(escaped)) {
+            atoms.add(NOT_LITERAL);
+            i = skipEscapeArguments(regex, escaped, i);
+          } else {
+            atoms.add((int) escaped);
+          }
+          break;
+        case '[':
+          atoms.add(NOT_LITERAL);
+          i = skipCharacterClass(regex, i);
+          break;
+        case '(':
+          if (hasInlineFlags(regex, i)) {
+            return null;
+          }
+          atoms.add(NOT_LITERAL);
+          i = skipGroup(regex, i);
+          break;
+        case '|':
+          return null;
+        case '*':
+        case '?':
+          makeOptional(atoms);
+          i = skipQuantifierMode(regex, i);
+          break;
+        case '+':
+          atoms.add(NOT_LITERAL);
+          i = skipQuantifierMode(regex, i);
+          break;
+        case '{':
+          final int end = regex.indexOf('}', i);
+          if (end < 0) {
+            return null;
+          }
+          final String bounds = regex.substring(i, end);
+          final int comma = bounds.indexOf(',');
+          final String minimum = comma < 0 ? bounds : bounds.substring(0, comma);
+          if (minimum.trim().matches("0+")) {
+            makeOptional(atoms);
+          } else {
+            atoms.add(NOT_LITERAL);
+          }
+          i = skipQuantifierMode(regex, end + 1);
+          break;
+        case '.':
+        case '^':
+        case '$':
+        case ')':
+        case ']':
+        case '}':
+          atoms.add(NOT_LITERAL);
+          break;
+        default:
+          atoms.add((int) ch);
+          break;
+      }
+    }
+
+    String longestLiteral = "";
+    final StringBuilder literal = new StringBuilder();
+    for (final int atom : atoms) {
+      if (atom == NOT_LITERAL) {
+        literal.setLength(0);
+      } else {
+        literal.append((char) atom);
+        if (literal.length() > longestLiteral.length()) {
+          longestLiteral = literal.toString();
+        }
+      }
+    }
+    if (longestLiteral.isEmpty()) {
+      return null;
+    }
+    return longestLiteral;
+  }
+
+  private static boolean hasInlineFlags(final String regex, final int start) {
+    if (start >= regex.length() || regex.charAt(start) != '?') {
+      return false;
+    }
+    for (int i = start + 1; i < regex.length(); i++) {
+      final char ch = regex.charAt(i);
+      if (ch == ':' || ch == ')') {
+        return i > start + 1;
+      }
+      if (!Character.isLetter(ch) && ch != '-') {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /** An optional atom, including both halves of a surrogate pair, is not required. */
+  private static void makeOptional(final List<Integer> atoms) {
+    if (atoms.isEmpty()) {
+      return;
+    }
+    final int last = atoms.size() - 1;
+    final int atom = atoms.get(last);
+    atoms.set(last, NOT_LITERAL);
+    if (atom != NOT_LITERAL && Character.isLowSurrogate((char) atom) && last > 0) {
+      atoms.set(last - 1, NOT_LITERAL);
+    }
+  }
+
+  private static int skipCharacterClass(final String regex, final int start) {
+    int i = start;
+    if (i < regex.length() && regex.charAt(i) == '^') {
+      i++;
+    }
+    // A closing bracket at the start of a class is a literal
+    if (i < regex.length() && regex.charAt(i) == ']') {
+      i++;
+    }
+    int depth = 1;
+    while (i < regex.length() && depth > 0) {
+      final char ch = regex.charAt(i);
+      if (ch == '\\') {
+        i = skipQuoted(regex, i + 1);
+      } else if (ch == '[') {
+        depth++;
+      } else if (ch == ']') {
+        depth--;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  private static int skipEscapeArguments(final String regex, final char escaped, final int start) {
+    final int length = regex.length();
+    int i = start;
+    switch (escaped) {
+      case 'x':
+      case 'p':
+      case 'P':
+      case 'N':
+        if (i < length && regex.charAt(i) == '{') {
+          final int end = regex.indexOf('}', i);
+          return end < 0 ? length : end + 1;
+        }
+        return Math.min(i + (escaped == 'x' ? 2 : 1), length);
+      case 'u':
+        return Math.min(i + 4, length);
+      case 'c':
+        return Math.min(i + 1, length);
+      case 'k':
+        final int end = regex.indexOf('>', i);
+        return end < 0 ? length : end + 1;
+      case '0':
+        while (i < length && i < start + 3 && regex.charAt(i) >= '0' && regex.charAt(i) <= '7') {
+          i++;
+        }
+        return i;
+      default:
+        if (Character.isDigit(escaped)) {
+          // Back-reference
+          while (i < length && Character.isDigit(regex.charAt(i))) {
+            i++;
+          }
+        }
+        return i;
+    }
+  }
+
+  private static int skipGroup(final String regex, final int start) {
+    int i = start;
+    int depth = 1;
+    while (i < regex.length() && depth > 0) {
+      final char ch = regex.charAt(i);
+      if (ch == '\\') {
+        i = skipQuoted(regex, i + 1);
+      } else if (ch == '[') {
+        i = skipCharacterClass(regex, i + 1) - 1;
+      } else if (ch == '(') {
+        depth++;
+      } else if (ch == ')') {
+        depth--;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Skips the character after a backslash, or to the last character of a quoted section.
+   *
+   * @return Index of the last character that was skipped
+   */
+  private static int skipQuoted(final String regex, final int start) {
+    if (start < regex.length() && regex.charAt(start) == 'Q') {
+      final int end = regex.indexOf("\\E", start);
+      return end < 0 ? regex.length() : end + 1;
+    }
+    return start;
+  }
+
+  /** Skips the reluctant or possessive mode of a quantifier. */
+  private static int skipQuantifierMode(final String regex, final int start) {
+    if (start < regex.length() && (regex.charAt(start) == '?' || regex.charAt(start) == '+')) {
+      return start + 1;
+    }
+    return start;
+  }
+
+  private final InclusionRule inclusionRule;
+  private final String requiredLiteral;
+
+  GrepRule(final InclusionRule inclusionRule) {
+    this.inclusionRule = requireNonNull(inclusionRule, "No inclusion rule provided");
+    if (inclusionRule instanceof RegularExpressionRule
+        || inclusionRule instanceof RegularExpressionInclusionRule
+        || inclusionRule instanceof RegularExpressionExclusionRule) {
+      requiredLiteral =
+          requiredLiteral(
+              ((InclusionRuleWithRegularExpression) inclusionRule).getInclusionPattern());
+    } else {
+      requiredLiteral = null;
+    }
+  }
+
+  @Override
+  public boolean test(final String text) {
+    if (requiredLiteral != null && (text == null || !text.contains(requiredLiteral))) {
+      return false;
+    }
+    return inclusionRule.test(text);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s, requiring <%s>", inclusionRule, requiredLiteral);
+  }
+}
@@ -6,7 +6,11 @@ import static schemacrawler.filter.FilterFactory.schemaFilter;
 import static schemacrawler.filter.FilterFactory.sequenceFilter;
 import static schemacrawler.filter.FilterFactory.synonymFilter;
 import static schemacrawler.filter.FilterFactory.tableFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import schemacrawler.schema.NamedObject;
 import schemacrawler.schema.Reducer;
 import schemacrawler.schema.ReducibleCollection;
@@ -22,15 +26,25 @@ public final class ReducerFactory {
   private static class FilteringReducer<N extends NamedObject> implements Reducer<N> {
 
     private final Predicate<N> filter;
+    private final boolean isParallel;
 
     protected FilteringReducer(final Predicate<N> filter) {
+      this(filter, false);
+    }
+
+    protected FilteringReducer(final Predicate<N> filter, final boolean isParallel) {
       this.filter = requireNonNull(filter, "No filter provided");
+      this.isParallel = isParallel;
     }
 
     @Override
     public void reduce(final ReducibleCollection<? extends N> allNamedObjects) {
       requireNonNull(allNamedObjects, "No named objects provided");
-      allNamedObjects.filter(filter);
+      if (isParallel) {
+        allNamedObjects.filter(filterInParallel(allNamedObjects, filter)::contains);
+      } else {
+        allNamedObjects.filter(filter);
+      }
     }
 
     @Override
@@ -41,7 +55,8 @@ public final class ReducerFactory {
   }
 
   public static Reducer<Routine> getRoutineReducer(final SchemaCrawlerOptions options) {
-    return new FilteringReducer<>(routineFilter(options));
+    // Routine filters only use immutable options, so routines can be grepped in parallel
+    return new FilteringReducer<>(routineFilter(options), true);
   }
 
   public static Reducer<Schema> getSchemaReducer(final SchemaCrawlerOptions options) {
@@ -64,6 +79,21 @@ public final class ReducerFactory {
     return new TablesReducer(options, tableFilter(options));
   }
 
+  /**
+   * Finds named objects that match a filter, testing them in parallel, since grep filters can take
+   * a while for large catalogs. The filter needs to be safe for use from multiple threads.
+   *
+   * @param namedObjects Named objects to test
+   * @param filter Filter to test named objects with
+   * @return Named objects that match the filter
+   */
+  static <N extends NamedObject> Set<N> filterInParallel(
+      final Iterable<? extends N> namedObjects, final Predicate<? super N> filter) {
+    final List<N> namedObjectsList = new ArrayList<>();
+    namedObjects.forEach(namedObjectsList::add);
+    return namedObjectsList.parallelStream().filter(filter).collect(Collectors.toSet());
+  }
+
   private ReducerFactory() {
     // Prevent instantiation
   }
@@ -31,25 +31,28 @@ package schemacrawler.filter;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import schemacrawler.inclusionrule.InclusionRule;
 import schemacrawler.schema.Routine;
 import schemacrawler.schema.RoutineParameter;
 import schemacrawler.schemacrawler.GrepOptions;
 import us.fatehi.utility.string.StringFormat;
 
+/**
+ * Greps routines in a single pass. Parameter names and definitions are checked in turn, and checks
+ * stop as soon as any of them matches.
+ */
 class RoutineGrepFilter implements Predicate<Routine> {
 
   private static final Logger LOGGER = Logger.getLogger(RoutineGrepFilter.class.getName());
 
-  private final InclusionRule grepColumnInclusionRule;
-  private final InclusionRule grepDefinitionInclusionRule;
+  private final GrepRule grepColumnRule;
+  private final GrepRule grepDefinitionRule;
   private final boolean invertMatch;
 
   public RoutineGrepFilter(final GrepOptions options) {
     invertMatch = options.isGrepInvertMatch();
 
-    grepColumnInclusionRule = options.getGrepRoutineParameterInclusionRule().orElse(null);
-    grepDefinitionInclusionRule = options.getGrepDefinitionInclusionRule().orElse(null);
+    grepColumnRule = options.getGrepRoutineParameterInclusionRule().map(GrepRule::new).orElse(null);
+    grepDefinitionRule = options.getGrepDefinitionInclusionRule().map(GrepRule::new).orElse(null);
   }
 
   /**
@@ -61,38 +64,11 @@ class RoutineGrepFilter implements Predicate<Routine> {
    */
   @Override
   public boolean test(final Routine routine) {
-    final boolean checkIncludeForColumns = grepColumnInclusionRule != null;
-    final boolean checkIncludeForDefinitions = grepDefinitionInclusionRule != null;
-
-    if (!checkIncludeForColumns && !checkIncludeForDefinitions) {
+    if (grepColumnRule == null && grepDefinitionRule == null) {
       return true;
     }
 
-    boolean includeForColumns = false;
-    boolean includeForDefinitions = false;
-    for (final RoutineParameter<?> parameter : routine.getParameters()) {
-      if (checkIncludeForColumns && grepColumnInclusionRule.test(parameter.getFullName())) {
-        includeForColumns = true;
-        break;
-      }
-      if (checkIncludeForDefinitions && grepDefinitionInclusionRule.test(parameter.getRemarks())) {
-        includeForDefinitions = true;
-        break;
-      }
-    }
-    // Additional include checks for definitions
-    if (checkIncludeForDefinitions) {
-      if (grepDefinitionInclusionRule.test(routine.getRemarks())) {
-        includeForDefinitions = true;
-      }
-      if (grepDefinitionInclusionRule.test(routine.getDefinition())) {
-        includeForDefinitions = true;
-      }
-    }
-
-    boolean include =
-        checkIncludeForColumns && includeForColumns
-            || checkIncludeForDefinitions && includeForDefinitions;
+    boolean include = matches(routine);
     if (invertMatch) {
       include = !include;
     }
@@ -103,4 +79,19 @@ class RoutineGrepFilter implements Predicate<Routine> {
 
     return include;
   }
+
+  private boolean matches(final Routine routine) {
+    for (final RoutineParameter<?> parameter : routine.getParameters()) {
+      if (grepColumnRule != null && grepColumnRule.test(parameter.getFullName())) {
+        return true;
+      }
+      if (grepDefinitionRule != null && grepDefinitionRule.test(parameter.getRemarks())) {
+        return true;
+      }
+    }
+    // Additional checks for definitions
+    return grepDefinitionRule != null
+        && (grepDefinitionRule.test(routine.getRemarks())
+            || grepDefinitionRule.test(routine.getDefinition()));
+  }
 }
@@ -33,20 +33,25 @@ import java.util.List;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import schemacrawler.inclusionrule.InclusionRule;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.Table;
 import schemacrawler.schema.Trigger;
 import schemacrawler.schemacrawler.GrepOptions;
 import us.fatehi.utility.string.StringFormat;
 
+/**
+ * Greps tables in a single pass. Table names, column names and definitions are checked in turn,
+ * and checks stop as soon as any of them matches. Inclusion rules are compiled with a literal
+ * prefilter, so that most text that does not match is rejected without running regular
+ * expressions.
+ */
 class TableGrepFilter implements Predicate<Table> {
 
   private static final Logger LOGGER = Logger.getLogger(TableGrepFilter.class.getName());
 
-  private final InclusionRule grepTableInclusionRule;
-  private final InclusionRule grepColumnInclusionRule;
-  private final InclusionRule grepDefinitionInclusionRule;
+  private final GrepRule grepTableRule;
+  private final GrepRule grepColumnRule;
+  private final GrepRule grepDefinitionRule;
   private final boolean invertMatch;
 
   public TableGrepFilter(final GrepOptions options) {
@@ -55,9 +60,9 @@ class TableGrepFilter implements Predicate<Table> {
 
     invertMatch = options.isGrepInvertMatch();
 
-    grepTableInclusionRule = options.getGrepTableInclusionRule().orElse(null);
-    grepColumnInclusionRule = options.getGrepColumnInclusionRule().orElse(null);
-    grepDefinitionInclusionRule = options.getGrepDefinitionInclusionRule().orElse(null);
+    grepTableRule = options.getGrepTableInclusionRule().map(GrepRule::new).orElse(null);
+    grepColumnRule = options.getGrepColumnInclusionRule().map(GrepRule::new).orElse(null);
+    grepDefinitionRule = options.getGrepDefinitionInclusionRule().map(GrepRule::new).orElse(null);
   }
 
   /**
@@ -69,65 +74,56 @@ class TableGrepFilter implements Predicate<Table> {
    */
   @Override
   public boolean test(final Table table) {
-    final boolean checkIncludeForTables = grepTableInclusionRule != null;
-    final boolean checkIncludeForColumns = grepColumnInclusionRule != null;
-    final boolean checkIncludeForDefinitions = grepDefinitionInclusionRule != null;
-
-    if (!checkIncludeForTables && !checkIncludeForColumns && !checkIncludeForDefinitions) {
+    if (grepTableRule == null && grepColumnRule == null && grepDefinitionRule == null) {
       return true;
     }
 
-    boolean includeForTables = false;
-    boolean includeForColumns = false;
-    boolean includeForDefinitions = false;
+    boolean include = matches(table);
+    if (invertMatch) {
+      include = !include;
+    }
 
-    if (checkIncludeForTables && grepTableInclusionRule.test(table.getFullName())) {
-      includeForTables = true;
+    if (!include) {
+      LOGGER.log(Level.FINE, new StringFormat("Excluding table <%s>", table));
+    }
+    return include;
+  }
+
+  private boolean matches(final Table table) {
+    if (grepTableRule != null && grepTableRule.test(table.getFullName())) {
+      return true;
+    }
+    if (grepColumnRule == null && grepDefinitionRule == null) {
+      return false;
     }
 
     final List<Column> columns = table.getColumns();
     // Check if info-level=minimum, and no columns were retrieved
     if (columns.isEmpty()) {
-      includeForColumns = true;
-      includeForDefinitions = true;
+      return true;
     }
     for (final Column column : columns) {
-      if (checkIncludeForColumns && grepColumnInclusionRule.test(column.getFullName())) {
-        includeForColumns = true;
-        break;
+      if (grepColumnRule != null && grepColumnRule.test(column.getFullName())) {
+        return true;
       }
-      if (checkIncludeForDefinitions && grepDefinitionInclusionRule.test(column.getRemarks())) {
-        includeForDefinitions = true;
-        break;
-      }
-    }
-    // Additional include checks for definitions
-    if (checkIncludeForDefinitions) {
-      if (grepDefinitionInclusionRule.test(table.getRemarks())) {
-        includeForDefinitions = true;
-      }
-      if (grepDefinitionInclusionRule.test(table.getDefinition())) {
-        includeForDefinitions = true;
-      }
-      for (final Trigger trigger : table.getTriggers()) {
-        if (grepDefinitionInclusionRule.test(trigger.getActionStatement())) {
-          includeForDefinitions = true;
-          break;
-        }
+      if (grepDefinitionRule != null && grepDefinitionRule.test(column.getRemarks())) {
+        return true;
       }
     }
 
-    boolean include =
-        checkIncludeForTables && includeForTables
-            || checkIncludeForColumns && includeForColumns
-            || checkIncludeForDefinitions && includeForDefinitions;
-    if (invertMatch) {
-      include = !include;
+    // Additional checks for definitions
+    if (grepDefinitionRule == null) {
+      return false;
     }
-
-    if (!include) {
-      LOGGER.log(Level.FINE, new StringFormat("Excluding table <%s>", table));
+    if (grepDefinitionRule.test(table.getRemarks())
+        || grepDefinitionRule.test(table.getDefinition())) {
+      return true;
     }
-    return include;
+    for (final Trigger trigger : table.getTriggers()) {
+      if (grepDefinitionRule.test(trigger.getActionStatement())) {
+        return true;
+      }
+    }
+    return false;
   }
 }
@@ -68,13 +68,9 @@ final class TablesReducer implements Reducer<Table> {
   }
 
   private void doReduce(final ReducibleCollection<? extends Table> allTables) {
-    // Filter tables, keeping the ones we need
-    final Set<Table> reducedTables = new HashSet<>();
-    for (final Table table : allTables) {
-      if (tableFilter.test(table)) {
-        reducedTables.add(table);
-      }
-    }
+    // Filter tables, keeping the ones we need - tables are tested in parallel, since table
+    // filters only use immutable options
+    final Set<Table> reducedTables = ReducerFactory.filterInParallel(allTables, tableFilter);
 
     // Add in referenced tables
     final FilterOptions filterOptions = options.getFilterOptions();
@@ -35,6 +35,14 @@ import schemacrawler.ProductVersion;
 
 public interface CrawlInfo extends Serializable {
 
+  /**
+   * Gets metrics for the retrievals made while crawling the database. Metrics are not available
+   * for catalogs that were loaded from a catalog snapshot.
+   *
+   * @return Crawl metrics
+   */
+  CrawlMetrics getCrawlMetrics();
+
   /**
    * Gets the timestamp of when the database was crawled, in UTC to the second.
    *
@@ -0,0 +1,67 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.schema;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * Metrics for the retrievals made while crawling the database. These show which retrieval tasks,
+ * and which data dictionary queries or metadata calls, take the most time on a given database.
+ */
+public interface CrawlMetrics extends Serializable {
+
+  /**
+   * Gets metrics for each data dictionary query or database metadata call, sorted by name.
+   *
+   * @return Query metrics
+   */
+  Collection<RetrievalMetrics> getQueryMetrics();
+
+  /**
+   * Gets metrics for each retrieval task, sorted by name.
+   *
+   * @return Retrieval task metrics
+   */
+  Collection<RetrievalMetrics> getTaskMetrics();
+
+  /**
+   * Exports the metrics as a JSON object.
+   *
+   * @return Metrics in JSON
+   */
+  String toJson();
+
+  /**
+   * Exports the metrics in OpenMetrics text format, for monitoring systems.
+   *
+   * @return Metrics in OpenMetrics text format
+   */
+  String toOpenMetrics();
+}
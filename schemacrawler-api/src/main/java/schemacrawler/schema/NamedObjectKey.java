@@ -31,20 +31,46 @@ package schemacrawler.schema;
 import static us.fatehi.utility.Utility.convertForComparison;
 
 import java.io.Serializable;
-import java.util.Arrays;
-
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lookup key for a named object, made up of the names of the object and its parents, such as the
+ * catalog, schema, table and column names for a column. Keys are stored as a reference to the key
+ * of the parent, and a name, so that the key of a child object can be created without copying the
+ * key of the parent, and the hash code is computed only once.
+ */
 public final class NamedObjectKey implements Serializable {
 
-  private static final long serialVersionUID = -5008609072012459037L;
+  private static final long serialVersionUID = 2372356745424659617L;
+
+  private static final NamedObjectKey EMPTY = new NamedObjectKey();
 
-  private final String[] key;
+  private final NamedObjectKey parent;
+  private final String name;
+  private final int hash;
 
   public NamedObjectKey(final String... key) {
     if (key == null || key.length == 0) {
-      this.key = new String[0];
+      parent = null;
+      name = null;
     } else {
-      this.key = Arrays.copyOf(key, key.length);
+      NamedObjectKey parentKey = EMPTY;
+      for (int i = 0; i < key.length - 1; i++) {
+        parentKey = parentKey.with(key[i]);
+      }
+      parent = parentKey;
+      name = key[key.length - 1];
     }
+    hash = calculateHashCode();
+  }
+
+  private NamedObjectKey(final NamedObjectKey parent, final String name) {
+    this.parent = parent;
+    this.name = name;
+    hash = calculateHashCode();
   }
 
   @Override
@@ -56,31 +82,58 @@ public final class NamedObjectKey implements Serializable {
       return false;
     }
     final NamedObjectKey other = (NamedObjectKey) obj;
-    return Arrays.equals(key, other.key);
+    return Objects.equals(name, other.name) && Objects.equals(parent, other.parent);
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(key);
+    return hash;
+  }
+
+  /**
+   * Last name in the key, which is the name of the object itself.
+   *
+   * @return Name, which may be null
+   */
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Key of the parent of the object, which has all the names in this key, except the last one.
+   *
+   * @return Parent key, or null for an empty key
+   */
+  public NamedObjectKey parent() {
+    return parent;
   }
 
   public String slug() {
-    if (key.length == 0) {
+    if (parent == null) {
       return "";
     }
-    final String name = key[key.length - 1];
     return convertForComparison(name) + "_" + Integer.toHexString(hashCode());
   }
 
   @Override
   public String toString() {
-    return "{\"key\": \"" + String.join("/", key) + "\"}";
+    final List<String> names = new ArrayList<>();
+    for (NamedObjectKey key = this; key.parent != null; key = key.parent) {
+      names.add(String.valueOf(key.name));
+    }
+    Collections.reverse(names);
+    return "{\"key\": \"" + String.join("/", names) + "\"}";
   }
 
   public NamedObjectKey with(final String name) {
-    final int currentLength = key.length;
-    final String[] newKey = Arrays.copyOf(key, currentLength + 1);
-    newKey[currentLength] = name;
-    return new NamedObjectKey(newKey);
+    return new NamedObjectKey(this, name);
+  }
+
+  /** Same hash code as for an array of all the names in the key. */
+  private int calculateHashCode() {
+    if (parent == null) {
+      return 1;
+    }
+    return 31 * parent.hash + Objects.hashCode(name);
   }
 }
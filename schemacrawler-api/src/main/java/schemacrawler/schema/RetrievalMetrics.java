@@ -0,0 +1,88 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.schema;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/** Metrics for a retrieval task, or for a data dictionary query or database metadata call. */
+public interface RetrievalMetrics extends Serializable {
+
+  /**
+   * Gets the number of bytes fetched. This is estimated from the values that were read, at two
+   * bytes per character.
+   *
+   * @return Bytes fetched
+   */
+  long getBytesFetched();
+
+  /**
+   * Gets the total time spent waiting for database connections. Connection wait is measured only
+   * for retrieval tasks.
+   *
+   * @return Connection wait time
+   */
+  Duration getConnectionWait();
+
+  /**
+   * Gets the number of times the retrieval was run.
+   *
+   * @return Number of runs
+   */
+  long getCount();
+
+  /**
+   * Gets the total time taken by the retrieval. For queries and metadata calls, this is the time
+   * taken to read the results.
+   *
+   * @return Time taken
+   */
+  Duration getDuration();
+
+  /**
+   * Gets the number of errors, including values that could not be read.
+   *
+   * @return Number of errors
+   */
+  long getErrorCount();
+
+  /**
+   * Gets the name of the retrieval task, data dictionary query or metadata call.
+   *
+   * @return Name
+   */
+  String getName();
+
+  /**
+   * Gets the number of rows read.
+   *
+   * @return Number of rows
+   */
+  long getRowCount();
+}
@@ -0,0 +1,180 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.schemacrawler;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.Utility.isBlank;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import us.fatehi.utility.ObjectToString;
+
+/**
+ * Identifies which unmapped result-set columns from database metadata are captured as attributes
+ * of database objects. Either all columns are captured, none are captured, or only columns with
+ * the named labels are captured. Column labels are matched without regard to case.
+ */
+public final class AttributeCapture implements Serializable {
+
+  private static final long serialVersionUID = -4219362475398027710L;
+
+  private static final AttributeCapture ALL = new AttributeCapture(true, Collections.emptySet());
+  private static final AttributeCapture NONE = new AttributeCapture(false, Collections.emptySet());
+
+  /**
+   * Captures all unmapped columns as attributes.
+   *
+   * @return Attribute capture
+   */
+  public static AttributeCapture all() {
+    return ALL;
+  }
+
+  /**
+   * Does not capture any unmapped columns as attributes.
+   *
+   * @return Attribute capture
+   */
+  public static AttributeCapture none() {
+    return NONE;
+  }
+
+  /**
+   * Captures only unmapped columns with the provided labels as attributes.
+   *
+   * @param labels Column labels
+   * @return Attribute capture
+   */
+  public static AttributeCapture only(final Collection<String> labels) {
+    requireNonNull(labels, "No column labels provided");
+    final Set<String> capturedLabels = new TreeSet<>();
+    for (final String label : labels) {
+      if (!isBlank(label)) {
+        capturedLabels.add(label.trim().toUpperCase(Locale.ENGLISH));
+      }
+    }
+    if (capturedLabels.isEmpty()) {
+      return NONE;
+    }
+    return new AttributeCapture(false, capturedLabels);
+  }
+
+  /**
+   * Captures only unmapped columns with the provided labels as attributes.
+   *
+   * @param labels Column labels
+   * @return Attribute capture
+   */
+  public static AttributeCapture only(final String... labels) {
+    requireNonNull(labels, "No column labels provided");
+    return only(Arrays.asList(labels));
+  }
+
+  /**
+   * Parses an attribute capture from a string, which can be "all", "none", or a comma-separated
+   * list of column labels. A blank value captures all columns.
+   *
+   * @param attributeCaptureValue String value
+   * @return Attribute capture
+   */
+  public static AttributeCapture valueOfFromString(final String attributeCaptureValue) {
+    if (isBlank(attributeCaptureValue)) {
+      return ALL;
+    }
+    final String value = attributeCaptureValue.trim();
+    if (value.equalsIgnoreCase("all")) {
+      return ALL;
+    }
+    if (value.equalsIgnoreCase("none")) {
+      return NONE;
+    }
+    return only(value.split(","));
+  }
+
+  private final boolean captureAll;
+  private final Set<String> labels;
+
+  private AttributeCapture(final boolean captureAll, final Set<String> labels) {
+    this.captureAll = captureAll;
+    this.labels = Collections.unmodifiableSet(labels);
+  }
+
+  /**
+   * Checks whether an unmapped column with the given label is captured as an attribute.
+   *
+   * @param label Column label
+   * @return Whether the column is captured
+   */
+  public boolean captures(final String label) {
+    if (captureAll) {
+      return true;
+    }
+    if (isBlank(label)) {
+      return false;
+    }
+    return labels.contains(label.toUpperCase(Locale.ENGLISH));
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof AttributeCapture)) {
+      return false;
+    }
+    final AttributeCapture other = (AttributeCapture) obj;
+    return captureAll == other.captureAll && labels.equals(other.labels);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Boolean.hashCode(captureAll) + labels.hashCode();
+  }
+
+  public boolean isAll() {
+    return captureAll;
+  }
+
+  public boolean isNone() {
+    return !captureAll && labels.isEmpty();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return ObjectToString.toString(this);
+  }
+}
@@ -42,6 +42,7 @@ public enum InformationSchemaKey {
   EXT_HIDDEN_TABLE_COLUMNS(METADATA_EXTENSION),
   EXT_INDEXES(METADATA_EXTENSION),
   EXT_TABLE_CONSTRAINTS(METADATA_EXTENSION),
+  EXT_TABLE_MODIFICATIONS(METADATA_EXTENSION),
   EXT_SYNONYMS(METADATA_EXTENSION),
   EXT_TABLES(METADATA_EXTENSION),
   FOREIGN_KEYS(DATABASE_METADATA),
@@ -54,6 +55,7 @@ public enum InformationSchemaKey {
   PROCEDURE_COLUMNS(DATABASE_METADATA),
   ROUTINES(INFORMATION_SCHEMA),
   SCHEMATA(INFORMATION_SCHEMA),
+  SCHEMA_FINGERPRINT(ADDITIONAL_INFO),
   SEQUENCES(INFORMATION_SCHEMA),
   SERVER_INFORMATION(ADDITIONAL_INFO),
   TABLES(DATABASE_METADATA),
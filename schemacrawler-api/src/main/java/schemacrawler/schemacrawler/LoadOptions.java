@@ -29,16 +29,55 @@ http://www.gnu.org/licenses/
 package schemacrawler.schemacrawler;
 
 import static java.util.Objects.requireNonNull;
+import java.util.HashMap;
+import java.util.Map;
+import schemacrawler.schema.AttributedObject;
 import us.fatehi.utility.ObjectToString;
 
 public final class LoadOptions implements Options {
 
   private final SchemaInfoLevel schemaInfoLevel;
   private final int maxThreads;
+  private final int dataDictionaryPartitions;
+  private final Map<Class<? extends AttributedObject>, AttributeCapture> attributeCaptures;
 
-  LoadOptions(final SchemaInfoLevel schemaInfoLevel, final int maxThreads) {
+  LoadOptions(
+      final SchemaInfoLevel schemaInfoLevel,
+      final int maxThreads,
+      final int dataDictionaryPartitions,
+      final Map<Class<? extends AttributedObject>, AttributeCapture> attributeCaptures) {
     this.schemaInfoLevel = requireNonNull(schemaInfoLevel, "No schema info level provided");
     this.maxThreads = maxThreads;
+    this.dataDictionaryPartitions = dataDictionaryPartitions;
+    requireNonNull(attributeCaptures, "No attribute captures provided");
+    this.attributeCaptures = new HashMap<>(attributeCaptures);
+  }
+
+  /**
+   * Identifies which unmapped columns from database metadata are captured as attributes for a
+   * type of database object, such as tables, columns, indexes or foreign keys. By default, all
+   * unmapped columns are captured.
+   *
+   * @param type Type of database object
+   * @return Attribute capture for the type of database object
+   */
+  public AttributeCapture getAttributeCapture(final Class<? extends AttributedObject> type) {
+    return attributeCaptures.getOrDefault(type, AttributeCapture.all());
+  }
+
+  Map<Class<? extends AttributedObject>, AttributeCapture> getAttributeCaptures() {
+    return new HashMap<>(attributeCaptures);
+  }
+
+  /**
+   * Number of partitions to split data dictionary queries into. Queries are split by schema, and
+   * each partition is run in parallel on its own connection. A value of 1 means that queries are
+   * not split.
+   *
+   * @return Number of data dictionary query partitions.
+   */
+  public int getDataDictionaryPartitions() {
+    return dataDictionaryPartitions;
   }
 
   /**
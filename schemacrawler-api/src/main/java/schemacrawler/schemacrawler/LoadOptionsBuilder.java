@@ -31,6 +31,11 @@ package schemacrawler.schemacrawler;
 import static us.fatehi.utility.scheduler.TaskRunner.MAX_THREADS;
 import static us.fatehi.utility.scheduler.TaskRunner.MIN_THREADS;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import schemacrawler.schema.AttributedObject;
+
 public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuilder, LoadOptions> {
 
   public static LoadOptionsBuilder builder() {
@@ -43,11 +48,15 @@ public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuild
 
   private SchemaInfoLevel schemaInfoLevel;
   private int maxThreads;
+  private int dataDictionaryPartitions;
+  private final Map<Class<? extends AttributedObject>, AttributeCapture> attributeCaptures;
 
   /** Default options. */
   private LoadOptionsBuilder() {
     schemaInfoLevel = SchemaInfoLevelBuilder.standard();
     maxThreads = MAX_THREADS;
+    dataDictionaryPartitions = 1;
+    attributeCaptures = new HashMap<>();
   }
 
   @Override
@@ -58,13 +67,51 @@ public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuild
 
     schemaInfoLevel = options.getSchemaInfoLevel();
     maxThreads = options.getMaxThreads();
+    dataDictionaryPartitions = options.getDataDictionaryPartitions();
+    attributeCaptures.clear();
+    attributeCaptures.putAll(options.getAttributeCaptures());
 
     return this;
   }
 
   @Override
   public LoadOptions toOptions() {
-    return new LoadOptions(schemaInfoLevel, maxThreads);
+    return new LoadOptions(
+        schemaInfoLevel, maxThreads, dataDictionaryPartitions, attributeCaptures);
+  }
+
+  /**
+   * Sets which unmapped columns from database metadata are captured as attributes for a type of
+   * database object. Capture can be set for tables, columns, indexes and foreign keys, using the
+   * corresponding interface from the schema package, such as <code>Table.class</code>.
+   *
+   * @param type Type of database object
+   * @param attributeCapture Attribute capture, or null to capture all unmapped columns
+   * @return Builder
+   */
+  public LoadOptionsBuilder withAttributeCapture(
+      final Class<? extends AttributedObject> type, final AttributeCapture attributeCapture) {
+    if (type != null) {
+      if (attributeCapture == null) {
+        attributeCaptures.remove(type);
+      } else {
+        attributeCaptures.put(type, attributeCapture);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Splits data dictionary queries by schema into a number of partitions, which are retrieved in
+   * parallel. Only queries that are restricted by the schemas parameter can be split.
+   *
+   * @param dataDictionaryPartitions Number of partitions, with 1 meaning no partitioning.
+   * @return Builder
+   */
+  public LoadOptionsBuilder withDataDictionaryPartitions(final int dataDictionaryPartitions) {
+    this.dataDictionaryPartitions =
+        Math.min(Math.max(dataDictionaryPartitions, MIN_THREADS), MAX_THREADS);
+    return this;
   }
 
   public LoadOptionsBuilder withInfoLevel(final InfoLevel infoLevel) {
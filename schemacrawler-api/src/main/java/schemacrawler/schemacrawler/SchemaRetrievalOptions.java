@@ -56,6 +56,8 @@ public final class SchemaRetrievalOptions implements Options {
   private final EnumDataTypeHelper enumDataTypeHelper;
   private final EnumMap<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy>
       metadataRetrievalStrategyMap;
+  private final EnumMap<SchemaInfoMetadataRetrievalStrategy, Integer> metadataFetchSizes;
+  private final EnumMap<InformationSchemaKey, Integer> informationSchemaFetchSizes;
   private final Consumer<Connection> connectionInitializer;
 
   protected SchemaRetrievalOptions(final SchemaRetrievalOptionsBuilder builder) {
@@ -72,6 +74,8 @@ public final class SchemaRetrievalOptions implements Options {
     tableTypes = bldr.tableTypes;
     enumDataTypeHelper = bldr.enumDataTypeHelper;
     metadataRetrievalStrategyMap = new EnumMap<>(bldr.metadataRetrievalStrategyMap);
+    metadataFetchSizes = new EnumMap<>(bldr.metadataFetchSizes);
+    informationSchemaFetchSizes = new EnumMap<>(bldr.informationSchemaFetchSizes);
     connectionInitializer = bldr.connectionInitializer;
   }
 
@@ -82,6 +86,33 @@ public final class SchemaRetrievalOptions implements Options {
     return metadataRetrievalStrategyMap.get(schemaInfoMetadataRetrievalStrategy);
   }
 
+  /**
+   * Gets the JDBC fetch size for results of a data dictionary query. If no fetch size was set for
+   * the query, the fetch size is determined by how the query is used.
+   *
+   * @param informationSchemaKey Data dictionary query
+   * @return Fetch size, or 0 if not set
+   */
+  public int getFetchSize(final InformationSchemaKey informationSchemaKey) {
+    requireNonNull(informationSchemaKey, "No information schema key provided");
+    return informationSchemaFetchSizes.getOrDefault(informationSchemaKey, 0);
+  }
+
+  /**
+   * Gets the JDBC fetch size for results retrieved for a type of schema information, from JDBC
+   * metadata or from the data dictionary. If no fetch size was set, the fetch size adapts to the
+   * results.
+   *
+   * @param schemaInfoMetadataRetrievalStrategy Type of schema information
+   * @return Fetch size, or 0 if not set
+   */
+  public int getFetchSize(
+      final SchemaInfoMetadataRetrievalStrategy schemaInfoMetadataRetrievalStrategy) {
+    requireNonNull(
+        schemaInfoMetadataRetrievalStrategy, "No schema info metadata retrieval strategy provided");
+    return metadataFetchSizes.getOrDefault(schemaInfoMetadataRetrievalStrategy, 0);
+  }
+
   public Consumer<Connection> getConnectionInitializer() {
     return connectionInitializer;
   }
@@ -128,6 +159,14 @@ public final class SchemaRetrievalOptions implements Options {
     return ObjectToString.toString(this);
   }
 
+  Map<InformationSchemaKey, Integer> getInformationSchemaFetchSizes() {
+    return new EnumMap<>(informationSchemaFetchSizes);
+  }
+
+  Map<SchemaInfoMetadataRetrievalStrategy, Integer> getMetadataFetchSizes() {
+    return new EnumMap<>(metadataFetchSizes);
+  }
+
   Map<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy>
       getMetadataRetrievalStrategyMap() {
     return new EnumMap<>(metadataRetrievalStrategyMap);
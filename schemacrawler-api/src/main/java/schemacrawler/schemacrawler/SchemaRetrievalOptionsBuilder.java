@@ -70,6 +70,8 @@ public final class SchemaRetrievalOptionsBuilder
   boolean supportsSchemas;
   EnumDataTypeHelper enumDataTypeHelper;
   Map<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy> metadataRetrievalStrategyMap;
+  Map<SchemaInfoMetadataRetrievalStrategy, Integer> metadataFetchSizes;
+  Map<InformationSchemaKey, Integer> informationSchemaFetchSizes;
   Consumer<Connection> connectionInitializer;
 
   private SchemaRetrievalOptionsBuilder() {
@@ -92,6 +94,8 @@ public final class SchemaRetrievalOptionsBuilder
         SchemaInfoMetadataRetrievalStrategy.values()) {
       metadataRetrievalStrategyMap.put(key, metadata);
     }
+    metadataFetchSizes = new EnumMap<>(SchemaInfoMetadataRetrievalStrategy.class);
+    informationSchemaFetchSizes = new EnumMap<>(InformationSchemaKey.class);
   }
 
   public SchemaRetrievalOptionsBuilder fromConnnection(final Connection connection) {
@@ -142,6 +146,8 @@ public final class SchemaRetrievalOptionsBuilder
     identifiers = options.getIdentifiers();
     overridesTypeMap = Optional.empty();
     metadataRetrievalStrategyMap = options.getMetadataRetrievalStrategyMap();
+    metadataFetchSizes = options.getMetadataFetchSizes();
+    informationSchemaFetchSizes = options.getInformationSchemaFetchSizes();
     connectionInitializer = options.getConnectionInitializer();
 
     return this;
@@ -232,6 +238,47 @@ public final class SchemaRetrievalOptionsBuilder
    *
    * @param identifierQuoteString Value for the override
    */
+  /**
+   * Sets the JDBC fetch size for results of a data dictionary query, overriding any fetch size set
+   * for the type of schema information that the query retrieves.
+   *
+   * @param informationSchemaKey Data dictionary query
+   * @param fetchSize Fetch size, or 0 to reset to the default
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(
+      final InformationSchemaKey informationSchemaKey, final int fetchSize) {
+    if (informationSchemaKey == null) {
+      return this;
+    }
+    if (fetchSize <= 0) {
+      informationSchemaFetchSizes.remove(informationSchemaKey);
+    } else {
+      informationSchemaFetchSizes.put(informationSchemaKey, fetchSize);
+    }
+    return this;
+  }
+
+  /**
+   * Sets the JDBC fetch size for results retrieved for a type of schema information, whether from
+   * JDBC metadata or from the data dictionary. By default, the fetch size adapts to the results.
+   *
+   * @param schemaInfoMetadataRetrievalStrategy Type of schema information
+   * @param fetchSize Fetch size, or 0 to reset to the default
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(
+      final SchemaInfoMetadataRetrievalStrategy schemaInfoMetadataRetrievalStrategy,
+      final int fetchSize) {
+    if (schemaInfoMetadataRetrievalStrategy == null) {
+      return this;
+    }
+    if (fetchSize <= 0) {
+      metadataFetchSizes.remove(schemaInfoMetadataRetrievalStrategy);
+    } else {
+      metadataFetchSizes.put(schemaInfoMetadataRetrievalStrategy, fetchSize);
+    }
+    return this;
+  }
+
   public SchemaRetrievalOptionsBuilder withIdentifierQuoteString(
       final String identifierQuoteString) {
     if (isBlank(identifierQuoteString)) {
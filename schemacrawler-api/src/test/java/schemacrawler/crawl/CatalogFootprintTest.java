@@ -0,0 +1,150 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.crawl.CatalogFootprint.ObjectType;
+import schemacrawler.schema.DataTypeType;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.utility.JavaSqlTypes;
+
+public class CatalogFootprintTest {
+
+  @Test
+  public void footprint() {
+    final MutableCatalog catalog = newCatalog(false);
+    final CatalogFootprint footprint = new CatalogFootprint(catalog);
+
+    for (final ObjectType objectType :
+        new ObjectType[] {
+          ObjectType.catalog,
+          ObjectType.schemas,
+          ObjectType.tables,
+          ObjectType.columns,
+          ObjectType.indexes,
+          ObjectType.constraints,
+          ObjectType.data_types,
+          ObjectType.attributes
+        }) {
+      assertThat(objectType.toString(), footprint.getSize(objectType), is(greaterThan(0L)));
+      assertThat(objectType.toString(), footprint.getObjectCount(objectType), is(greaterThan(0L)));
+    }
+    assertThat(footprint.getSize(ObjectType.routines), is(0L));
+    assertThat(footprint.getSize(ObjectType.lints), is(0L));
+
+    long totalSize = 0;
+    for (final ObjectType objectType : ObjectType.values()) {
+      totalSize = totalSize + footprint.getSize(objectType);
+    }
+    assertThat(footprint.getTotalSize(), is(totalSize));
+
+    assertThat(footprint.toString(), containsString("foreign keys"));
+    assertThat(footprint.toString(), containsString("total"));
+  }
+
+  @Test
+  public void lints() {
+    final CatalogFootprint footprint = new CatalogFootprint(newCatalog(true));
+    assertThat(footprint.getSize(ObjectType.lints), is(greaterThan(0L)));
+  }
+
+  @Test
+  public void moreColumns() {
+    final MutableCatalog catalog = newCatalog(false);
+    final long columnsSize = new CatalogFootprint(catalog).getSize(ObjectType.columns);
+
+    final MutableTable table =
+        (MutableTable)
+            catalog.lookupTable(new SchemaReference("catalog", "schema"), "table1").get();
+    table.addColumn(new MutableColumn(table, "column3"));
+
+    final CatalogFootprint footprint = new CatalogFootprint(catalog);
+    assertThat(footprint.getSize(ObjectType.columns), is(greaterThan(columnsSize)));
+  }
+
+  @Test
+  public void nullArgs() {
+    assertThrows(NullPointerException.class, () -> new CatalogFootprint(null));
+  }
+
+  private MutableCatalog newCatalog(final boolean withLints) {
+    final MutableCatalog catalog =
+        new MutableCatalog(
+            "catalog",
+            new MutableDatabaseInfo("database", "1.0", "user"),
+            new MutableJdbcDriverInfo(
+                "driver", "DriverClass", "1.0", 1, 0, 4, 2, true, "jdbc:test"));
+    final SchemaReference schema = new SchemaReference("catalog", "schema");
+    catalog.addSchema(schema);
+
+    final MutableColumnDataType dataType =
+        new MutableColumnDataType(schema, "VARCHAR", DataTypeType.system);
+    dataType.setJavaSqlType(new JavaSqlTypes().valueOf(java.sql.Types.VARCHAR));
+    catalog.addColumnDataType(dataType);
+
+    final MutableTable table = new MutableTable(schema, "table1");
+    table.setRemarks("Table remarks");
+    for (int i = 1; i <= 2; i++) {
+      final MutableColumn column = new MutableColumn(table, "column" + i);
+      column.setOrdinalPosition(i);
+      column.setColumnDataType(dataType);
+      column.setRemarks("Column remarks");
+      table.addColumn(column);
+    }
+    catalog.addTable(table);
+
+    final MutablePrimaryKey primaryKey = MutablePrimaryKey.newPrimaryKey(table, "pk_table1");
+    final MutableTableConstraintColumn primaryKeyColumn =
+        new MutableTableConstraintColumn(primaryKey, table.lookupColumn("column1").get());
+    primaryKeyColumn.setKeyOrdinalPosition(1);
+    primaryKey.addColumn(primaryKeyColumn);
+    table.setPrimaryKey(primaryKey);
+
+    final MutableIndex index = new MutableIndex(table, "idx_table1");
+    index.addColumn(new MutableIndexColumn(index, table.lookupColumn("column2").get()));
+    table.addIndex(index);
+
+    if (withLints) {
+      final List<String> lints = new ArrayList<>();
+      lints.add("Table has no foreign keys");
+      table.setAttribute("schemacrawler.lint", lints);
+    }
+    return catalog;
+  }
+}
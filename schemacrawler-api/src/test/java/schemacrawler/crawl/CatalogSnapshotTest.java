@@ -0,0 +1,231 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DataTypeType;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.View;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.utility.JavaSqlTypes;
+
+public class CatalogSnapshotTest {
+
+  private static final Function<Object, byte[]> NO_SERIALIZER =
+      value -> {
+        throw new AssertionError("Unexpected value " + value);
+      };
+  private static final Function<byte[], Object> NO_DESERIALIZER =
+      bytes -> {
+        throw new AssertionError("Unexpected value");
+      };
+
+  @Test
+  public void badHeader() throws IOException {
+    final byte[] bytes = {'A', 'C', 'E', 'D', 0, 0};
+    assertThat(
+        CatalogSnapshot.isCatalogSnapshot(new BufferedInputStream(new ByteArrayInputStream(bytes))),
+        is(false));
+    assertThrows(
+        StreamCorruptedException.class,
+        () -> CatalogSnapshot.readCatalog(new ByteArrayInputStream(bytes), NO_DESERIALIZER));
+  }
+
+  @Test
+  public void roundTrip() throws IOException {
+    final MutableCatalog catalog = newCatalog();
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CatalogSnapshot.writeCatalog(catalog, out, NO_SERIALIZER);
+    final BufferedInputStream in =
+        new BufferedInputStream(new ByteArrayInputStream(out.toByteArray()));
+    assertThat(CatalogSnapshot.isCatalogSnapshot(in), is(true));
+    final Catalog catalogRead = CatalogSnapshot.readCatalog(in, NO_DESERIALIZER);
+
+    assertThat(catalogRead.getSchemas(), hasSize(1));
+    assertThat(catalogRead.getTables(), hasSize(2));
+    assertThat(
+        catalogRead.getCrawlInfo().getRunId(), is(catalog.getCrawlInfo().getRunId()));
+    assertThat(
+        catalogRead.getCrawlInfo().getCrawlTimestamp(),
+        is(catalog.getCrawlInfo().getCrawlTimestamp()));
+
+    final SchemaReference schema = new SchemaReference("catalog", "schema");
+    final Table table = catalogRead.lookupTable(schema, "table1").get();
+    assertThat(table.getRemarks(), is("Table remarks"));
+    assertThat(table.<BigDecimal>getAttribute("decimal"), is(new BigDecimal("1.25")));
+    assertThat(table.getAttribute("list"), is(Arrays.asList("a", 1, 2L, true)));
+    assertThat(table.getColumns(), hasSize(2));
+    assertThat(table.getPrimaryKey().getName(), is("pk_table1"));
+
+    final Column column = table.getColumns().get(1);
+    assertThat(column.getName(), is("column2"));
+    assertThat(column.getOrdinalPosition(), is(2));
+    assertThat(column.isNullable(), is(true));
+    assertThat(column.getColumnDataType().getName(), is("VARCHAR"));
+
+    final Table view = catalogRead.lookupTable(schema, "view2").get();
+    assertThat(view, instanceOf(View.class));
+    final ForeignKey foreignKey = view.getForeignKeys().iterator().next();
+    assertThat(foreignKey.getName(), is("fk_view2"));
+    assertThat(foreignKey.getPrimaryKeyTable(), is(table));
+    assertThat(
+        foreignKey.getColumnReferences().get(0).getPrimaryKeyColumn(),
+        is(table.getColumns().get(0)));
+    assertThat(table.getForeignKeys(), contains(foreignKey));
+  }
+
+  @Test
+  public void roundTripFiltered() throws IOException {
+    final MutableCatalog catalog = newCatalog();
+    catalog.getAllTables().filter(table -> !(table instanceof View));
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CatalogSnapshot.writeCatalog(catalog, out, NO_SERIALIZER);
+    final Catalog catalogRead =
+        CatalogSnapshot.readCatalog(new ByteArrayInputStream(out.toByteArray()), NO_DESERIALIZER);
+
+    assertThat(catalogRead.getTables(), hasSize(1));
+    final Table table = catalogRead.getTables().iterator().next();
+    // Foreign keys to filtered tables are still available
+    assertThat(table.getForeignKeys(), hasSize(1));
+  }
+
+  @Test
+  public void selectedTables() throws IOException {
+    final MutableCatalog catalog = newCatalog();
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CatalogSnapshot.writeCatalog(catalog, out, NO_SERIALIZER);
+    final ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    assertThat(CatalogSnapshot.isCatalogSnapshot(buffer), is(true));
+    final Catalog catalogRead =
+        CatalogSnapshot.readCatalog(
+            buffer, NO_DESERIALIZER, table -> table.getName().equals("view2"));
+
+    assertThat(catalogRead.getTables(), hasSize(1));
+    final Table view = catalogRead.getTables().iterator().next();
+    assertThat(view.getColumns(), hasSize(2));
+    // Tables that are not selected are referred to as partial tables
+    final ForeignKey foreignKey = view.getForeignKeys().iterator().next();
+    final Table primaryKeyTable = foreignKey.getPrimaryKeyTable();
+    assertThat(primaryKeyTable, instanceOf(TablePartial.class));
+    assertThat(primaryKeyTable.getName(), is("table1"));
+    assertThat(
+        foreignKey.getColumnReferences().get(0).getPrimaryKeyColumn().getName(), is("column1"));
+    assertThat(primaryKeyTable.lookupForeignKey("fk_view2").get(), is(foreignKey));
+  }
+
+  @Test
+  public void serializedValues() throws IOException {
+    final MutableCatalog catalog = newCatalog();
+    final Object value = new StringBuilder("value");
+    catalog.setAttribute("serialized", value);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    CatalogSnapshot.writeCatalog(catalog, out, object -> new byte[] {1, 2, 3});
+    final Catalog catalogRead =
+        CatalogSnapshot.readCatalog(
+            new ByteArrayInputStream(out.toByteArray()), bytes -> Arrays.toString(bytes));
+
+    assertThat(catalogRead.getAttribute("serialized"), is("[1, 2, 3]"));
+  }
+
+  private MutableCatalog newCatalog() {
+    final MutableCatalog catalog =
+        new MutableCatalog(
+            "catalog",
+            new MutableDatabaseInfo("database", "1.0", "user"),
+            new MutableJdbcDriverInfo(
+                "driver", "DriverClass", "1.0", 1, 0, 4, 2, true, "jdbc:test"));
+    final SchemaReference schema = new SchemaReference("catalog", "schema");
+    catalog.addSchema(schema);
+
+    final MutableColumnDataType dataType =
+        new MutableColumnDataType(schema, "VARCHAR", DataTypeType.system);
+    dataType.setJavaSqlType(new JavaSqlTypes().valueOf(java.sql.Types.VARCHAR));
+    catalog.addColumnDataType(dataType);
+
+    final MutableTable table1 = new MutableTable(schema, "table1");
+    table1.setRemarks("Table remarks");
+    table1.setAttribute("decimal", new BigDecimal("1.25"));
+    table1.setAttribute("list", Arrays.asList("a", 1, 2L, true));
+    final MutableView view2 = new MutableView(schema, "view2");
+    for (final MutableTable table : new MutableTable[] {table1, view2}) {
+      for (int i = 1; i <= 2; i++) {
+        final MutableColumn column = new MutableColumn(table, "column" + i);
+        column.setOrdinalPosition(i);
+        column.setNullable(i > 1);
+        column.setColumnDataType(dataType);
+        table.addColumn(column);
+      }
+      catalog.addTable(table);
+    }
+
+    final MutablePrimaryKey primaryKey = MutablePrimaryKey.newPrimaryKey(table1, "pk_table1");
+    final MutableTableConstraintColumn primaryKeyColumn =
+        new MutableTableConstraintColumn(primaryKey, table1.lookupColumn("column1").get());
+    primaryKeyColumn.setKeyOrdinalPosition(1);
+    primaryKey.addColumn(primaryKeyColumn);
+    table1.setPrimaryKey(primaryKey);
+
+    final MutableForeignKey foreignKey =
+        new MutableForeignKey(
+            "fk_view2",
+            new ImmutableColumnReference(
+                1, view2.lookupColumn("column2").get(), table1.lookupColumn("column1").get()));
+    table1.addForeignKey(foreignKey);
+    view2.addForeignKey(foreignKey);
+
+    catalog.setAttribute("empty", Collections.emptyMap());
+    return catalog;
+  }
+}
@@ -0,0 +1,190 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.GrepOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.ResolveTestContext;
+import schemacrawler.test.utility.WithTestDatabase;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+
+@WithTestDatabase
+@ResolveTestContext
+public class CrawlListenerTest {
+
+  @Test
+  @DisplayName("Crawl listeners are notified as tables are retrieved")
+  public void crawlListener(final DatabaseConnectionSource dataSource) throws Exception {
+
+    final Collection<Table> discoveredTables = new ConcurrentLinkedQueue<>();
+    final Collection<Table> columnsLoadedTables = new ConcurrentLinkedQueue<>();
+    final Collection<Table> keysLoadedTables = new ConcurrentLinkedQueue<>();
+    final Collection<Table> completeTables = new ConcurrentLinkedQueue<>();
+
+    final SchemaCrawlerOptions options = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+    final SchemaCrawler schemaCrawler =
+        new SchemaCrawler(
+            dataSource, SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(), options);
+    schemaCrawler.addCrawlListener(
+        new CrawlListener() {
+          @Override
+          public void tableDiscovered(final Table table) {
+            discoveredTables.add(table);
+            throw new RuntimeException("Listener failures should not stop the crawl");
+          }
+        });
+    schemaCrawler.addCrawlListener(
+        new CrawlListener() {
+          @Override
+          public void tableColumnsLoaded(final Table table) {
+            assertThat(table.getColumns(), is(not(empty())));
+            columnsLoadedTables.add(table);
+          }
+
+          @Override
+          public void tableComplete(final Table table) {
+            completeTables.add(table);
+          }
+
+          @Override
+          public void tableDiscovered(final Table table) {
+            assertThat(columnsLoadedTables, is(empty()));
+          }
+
+          @Override
+          public void tableKeysLoaded(final Table table) {
+            keysLoadedTables.add(table);
+          }
+        });
+
+    final Catalog catalog = schemaCrawler.crawl();
+
+    final int tableCount = catalog.getTables().size();
+    assertThat(completeTables, hasSize(tableCount));
+    assertThat(discoveredTables.size(), is(greaterThanOrEqualTo(tableCount)));
+    assertThat(columnsLoadedTables, hasSize(discoveredTables.size()));
+    assertThat(keysLoadedTables, hasSize(discoveredTables.size()));
+    for (final Table table : completeTables) {
+      assertThat(catalog.getTables().contains(table), is(true));
+    }
+  }
+
+  @Test
+  @DisplayName("Crawl listeners are notified in order, and only filtered tables are complete")
+  public void crawlListenerWithFilteredTables(final DatabaseConnectionSource dataSource)
+      throws Exception {
+
+    final List<String> events = new ArrayList<>();
+
+    final SchemaCrawlerOptions options =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withGrepOptions(
+                GrepOptionsBuilder.builder()
+                    .includeGreppedTables(Pattern.compile(".*\\.AUTHORS"))
+                    .toOptions());
+    final SchemaCrawler schemaCrawler =
+        new SchemaCrawler(
+            dataSource, SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(), options);
+    // Events are delivered on a single thread, so the listener does not need to be thread safe
+    schemaCrawler.addCrawlListener(
+        new CrawlListener() {
+          @Override
+          public void tableColumnsLoaded(final Table table) {
+            events.add("columns " + table.getFullName());
+          }
+
+          @Override
+          public void tableComplete(final Table table) {
+            events.add("complete " + table.getFullName());
+          }
+
+          @Override
+          public void tableDiscovered(final Table table) {
+            events.add("discovered " + table.getFullName());
+          }
+
+          @Override
+          public void tableKeysLoaded(final Table table) {
+            events.add("keys " + table.getFullName());
+          }
+        });
+
+    final Catalog catalog = schemaCrawler.crawl();
+
+    final Collection<String> completeTables = new HashSet<>();
+    int discoveredCount = 0;
+    for (final String event : events) {
+      if (event.startsWith("complete ")) {
+        completeTables.add(event.substring("complete ".length()));
+      } else if (event.startsWith("discovered ")) {
+        discoveredCount++;
+      }
+    }
+    final Collection<String> catalogTables = new HashSet<>();
+    for (final Table table : catalog.getTables()) {
+      catalogTables.add(table.getFullName());
+    }
+    assertThat(catalogTables, is(not(empty())));
+    assertThat(completeTables, is(catalogTables));
+    assertThat(catalogTables.size(), is(lessThan(discoveredCount)));
+
+    for (final String table : catalogTables) {
+      final int discovered = events.indexOf("discovered " + table);
+      final int columns = events.indexOf("columns " + table);
+      final int keys = events.indexOf("keys " + table);
+      final int complete = events.indexOf("complete " + table);
+      assertThat(discovered, is(greaterThanOrEqualTo(0)));
+      assertThat(discovered, is(lessThan(columns)));
+      assertThat(columns, is(lessThan(keys)));
+      assertThat(keys, is(lessThan(complete)));
+    }
+  }
+}
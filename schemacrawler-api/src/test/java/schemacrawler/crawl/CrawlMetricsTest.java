@@ -0,0 +1,214 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.CrawlMetrics;
+import schemacrawler.schema.RetrievalMetrics;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.WithTestDatabase;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.scheduler.TaskDefinition.TaskRunnable;
+
+@WithTestDatabase
+public class CrawlMetricsTest {
+
+  @Test
+  @DisplayName("Crawl metrics are recorded for retrieval tasks and queries")
+  public void crawlMetrics(final DatabaseConnectionSource dataSource) throws Exception {
+    final SchemaCrawler schemaCrawler =
+        new SchemaCrawler(
+            dataSource,
+            SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+            SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions());
+    final Catalog catalog = schemaCrawler.crawl();
+
+    final CrawlMetrics crawlMetrics = catalog.getCrawlInfo().getCrawlMetrics();
+    assertThat(names(crawlMetrics.getTaskMetrics()), hasItem("retrieveTables"));
+    assertThat(crawlMetrics.getQueryMetrics(), is(not(empty())));
+
+    long rowCount = 0;
+    for (final RetrievalMetrics taskMetrics : crawlMetrics.getTaskMetrics()) {
+      rowCount = rowCount + taskMetrics.getRowCount();
+    }
+    assertThat(rowCount, is(greaterThan(0L)));
+  }
+
+  @Test
+  @DisplayName("Failed retrieval tasks are counted as errors")
+  public void failedTask() throws Exception {
+    final MutableCrawlMetrics crawlMetrics = new MutableCrawlMetrics();
+
+    final TaskRunnable task =
+        crawlMetrics.measure(
+            "failing",
+            () -> {
+              throw new IllegalStateException("Failed");
+            });
+    assertThrows(IllegalStateException.class, () -> task.run());
+
+    final RetrievalMetrics taskMetrics = crawlMetrics.getTaskMetrics().iterator().next();
+    assertThat(taskMetrics.getName(), is("failing"));
+    assertThat(taskMetrics.getCount(), is(1L));
+    assertThat(taskMetrics.getErrorCount(), is(1L));
+  }
+
+  @Test
+  @DisplayName("Crawl metrics are exported as JSON and in OpenMetrics text format")
+  public void export() throws Exception {
+    final MutableCrawlMetrics crawlMetrics = new MutableCrawlMetrics();
+    crawlMetrics
+        .measure(
+            "retrieveTables",
+            () -> {
+              MutableCrawlMetrics.recordConnectionWait(Duration.ofMillis(5).toNanos());
+              MutableCrawlMetrics.recordResults("TABLES \"quoted\"", 1_500_000, 3, 60, 0);
+            })
+        .run();
+
+    final String json = crawlMetrics.toJson();
+    assertThat(json, startsWith("{"));
+    assertThat(json, containsString("\"name\": \"retrieveTables\""));
+    assertThat(json, containsString("\"name\": \"TABLES \\\"quoted\\\"\""));
+    assertThat(json, containsString("\"duration-seconds\": 0.0015"));
+    assertThat(json, containsString("\"connection-wait-seconds\": 0.005"));
+    assertThat(json, containsString("\"rows\": 3"));
+
+    final String openMetrics = crawlMetrics.toOpenMetrics();
+    assertThat(openMetrics, containsString("# TYPE schemacrawler_crawl_task_rows counter"));
+    assertThat(
+        openMetrics,
+        containsString("schemacrawler_crawl_task_rows_total{task=\"retrieveTables\"} 3"));
+    assertThat(
+        openMetrics,
+        containsString(
+            "schemacrawler_crawl_query_fetched_bytes_total{query=\"TABLES \\\"quoted\\\"\"} 60"));
+    assertThat(openMetrics, endsWith("# EOF\n"));
+  }
+
+  @Test
+  @DisplayName("Results are recorded against the query, and the task that read them")
+  public void recordResults() throws Exception {
+    final MutableCrawlMetrics crawlMetrics = new MutableCrawlMetrics();
+
+    // Not recorded, since no task is being measured
+    MutableCrawlMetrics.recordResults("TABLES", 0, 100, 100, 0);
+
+    crawlMetrics
+        .measure(
+            "retrieveTables",
+            () -> {
+              MutableCrawlMetrics.recordResults("TABLES", 0, 2, 20, 1);
+              MutableCrawlMetrics.recordResults("TABLES", 0, 3, 30, 0);
+              MutableCrawlMetrics.recordResults("VIEWS", 0, 1, 10, 0);
+            })
+        .run();
+
+    assertThat(crawlMetrics.getTaskMetrics(), hasSize(1));
+    final RetrievalMetrics taskMetrics = crawlMetrics.getTaskMetrics().iterator().next();
+    assertThat(taskMetrics.getCount(), is(1L));
+    assertThat(taskMetrics.getRowCount(), is(6L));
+    assertThat(taskMetrics.getBytesFetched(), is(60L));
+    assertThat(taskMetrics.getErrorCount(), is(1L));
+
+    assertThat(names(crawlMetrics.getQueryMetrics()), is(listOf("TABLES", "VIEWS")));
+    final RetrievalMetrics queryMetrics = crawlMetrics.getQueryMetrics().iterator().next();
+    assertThat(queryMetrics.getCount(), is(2L));
+    assertThat(queryMetrics.getRowCount(), is(5L));
+  }
+
+  @Test
+  @DisplayName("Tasks run on other threads are recorded against the task that started them")
+  public void propagate() throws Exception {
+    final MutableCrawlMetrics crawlMetrics = new MutableCrawlMetrics();
+    final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    try {
+      crawlMetrics
+          .measure(
+              "retrieveTables",
+              () -> {
+                final TaskRunnable subtask =
+                    MutableCrawlMetrics.propagate(
+                        () -> MutableCrawlMetrics.recordResults("TABLES", 0, 4, 40, 0));
+                executorService
+                    .submit(
+                        () -> {
+                          subtask.run();
+                          return null;
+                        })
+                    .get();
+              })
+          .run();
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    final RetrievalMetrics taskMetrics = crawlMetrics.getTaskMetrics().iterator().next();
+    assertThat(taskMetrics.getRowCount(), is(4L));
+    assertThat(crawlMetrics.getQueryMetrics(), hasSize(1));
+  }
+
+  private List<String> listOf(final String... names) {
+    final List<String> list = new ArrayList<>();
+    for (final String name : names) {
+      list.add(name);
+    }
+    return list;
+  }
+
+  private List<String> names(final Iterable<RetrievalMetrics> retrievalMetrics) {
+    final List<String> names = new ArrayList<>();
+    for (final RetrievalMetrics metrics : retrievalMetrics) {
+      names.add(metrics.getName());
+    }
+    return names;
+  }
+}
@@ -113,7 +113,11 @@ public class EqualsTest {
 
   @Test
   public void namedObjectKey() {
-    EqualsVerifier.forClass(NamedObjectKey.class).withNonnullFields("key").verify();
+    EqualsVerifier.forClass(NamedObjectKey.class)
+        .withPrefabValues(
+            NamedObjectKey.class, new NamedObjectKey("parent1"), new NamedObjectKey("parent2"))
+        .withCachedHashCode("hash", "calculateHashCode", new NamedObjectKey("catalog", "schema"))
+        .verify();
   }
 
   @Test
@@ -33,7 +33,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.ByteArrayInputStream;
@@ -45,7 +47,9 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.DayOfWeek;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 import org.junit.jupiter.api.DisplayName;
@@ -54,10 +58,13 @@ import org.junit.jupiter.api.TestInstance;
 
 import schemacrawler.schema.ColumnDataType;
 import schemacrawler.schema.ResultsColumns;
+import schemacrawler.schemacrawler.AttributeCapture;
+import schemacrawler.schemacrawler.SchemaReference;
 import schemacrawler.test.utility.ResolveTestContext;
 import schemacrawler.test.utility.WithTestDatabase;
 import schemacrawler.utility.BinaryData;
 import us.fatehi.utility.database.DatabaseUtility;
+import us.fatehi.utility.string.StringPool;
 
 @WithTestDatabase
 @ResolveTestContext
@@ -305,4 +312,144 @@ public class MetadataResultSetTest {
       }
     }
   }
+
+  @Test
+  @DisplayName("Unread columns are available as attributes for each row")
+  public void unreadColumnAttributes(final Connection connection) throws Exception {
+
+    final String sql =
+        "SELECT C1 AS COLUMN1, C2 AS COLUMN2 FROM (VALUES('A1', 'B1'), ('A2', 'B2')) AS T(C1, C2)";
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results =
+            new MetadataResultSet(
+                DatabaseUtility.executeSql(statement, sql), "unreadColumnAttributes")) {
+
+      assertThat(results.next(), is(true));
+      assertThat(results.getString("column1"), is("A1"));
+      assertThat(results.getString("NOT_A_COLUMN"), is(nullValue()));
+      final Map<String, Object> attributes1 = results.getAttributes();
+      assertThat(attributes1.size(), is(1));
+      assertThat(attributes1.get("COLUMN2"), is("B1"));
+
+      // Columns read from the previous row are not considered to be read
+      assertThat(results.next(), is(true));
+      final Map<String, Object> attributes2 = results.getAttributes();
+      assertThat(attributes2.size(), is(2));
+      assertThat(attributes2.get("COLUMN1"), is("A2"));
+
+      assertThat(results.next(), is(false));
+    }
+  }
+
+  @Test
+  @DisplayName("Columns are read by ordinal position looked up once for the results")
+  public void ordinalValues(final Connection connection) throws Exception {
+
+    final String sql =
+        "SELECT C1 AS COLUMN1, C2 AS COLUMN2 FROM (VALUES('A1', 1), ('A2', NULL)) AS T(C1, C2)";
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results =
+            new MetadataResultSet(DatabaseUtility.executeSql(statement, sql), "ordinalValues")) {
+
+      final int column1 = results.findColumn("column1");
+      final int column2 = results.findColumn("COLUMN2");
+      final int missingColumn = results.findColumn("NOT_A_COLUMN");
+      assertThat(column1, is(1));
+      assertThat(column2, is(2));
+      assertThat(missingColumn, is(0));
+      assertThat(results.findColumn(null), is(0));
+
+      assertThat(results.next(), is(true));
+      assertThat(results.getString(column1), is("A1"));
+      assertThat(results.getInt(column2, -1), is(1));
+      assertThat(results.getLong(column2, -1L), is(1L));
+      assertThat(results.getShort(column2, (short) -1), is((short) 1));
+      assertThat(results.getBoolean(column2), is(true));
+      assertThat(results.getString(missingColumn), is(nullValue()));
+      assertThat(results.getInt(missingColumn, -1), is(-1));
+      // Columns read by ordinal position are not available as attributes
+      assertThat(results.getAttributes().size(), is(0));
+
+      assertThat(results.next(), is(true));
+      assertThat(results.getString(column1), is("A2"));
+      assertThat(results.getInt(column2, -1), is(-1));
+      assertThat(results.getBoolean(column2), is(false));
+
+      assertThat(results.next(), is(false));
+    }
+  }
+
+  @Test
+  @DisplayName("Unread columns are captured as attributes only if selected")
+  public void capturedColumnAttributes(final Connection connection) throws Exception {
+
+    final String sql =
+        "SELECT C1 AS COLUMN1, C2 AS COLUMN2, C3 AS COLUMN3 "
+            + "FROM (VALUES('A1', 'B1', 'C1'), ('A2', NULL, NULL)) AS T(C1, C2, C3)";
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results =
+            new MetadataResultSet(
+                DatabaseUtility.executeSql(statement, sql), "capturedColumnAttributes")) {
+
+      assertThat(results.next(), is(true));
+      assertThat(results.getString("column1"), is("A1"));
+      assertThat(results.getAttributes(AttributeCapture.none()), is(nullValue()));
+      final AttributeRow row1 = results.getAttributes(AttributeCapture.only("column2"));
+      assertThat(row1, is(not(nullValue())));
+      final Map<String, Object> attributes1 = new HashMap<>();
+      row1.copyInto(attributes1);
+      assertThat(attributes1.size(), is(1));
+      assertThat(attributes1.get("COLUMN2"), is("B1"));
+
+      final MutableTable table = new MutableTable(new SchemaReference(), "TABLE1");
+      table.setAttribute("COLUMN2", "X");
+      table.addAttributes(results.getAttributes(AttributeCapture.all()));
+      assertThat(table.getAttributes().size(), is(2));
+      assertThat(table.getAttribute("COLUMN2"), is("B1"));
+      assertThat(table.getAttribute("COLUMN3"), is("C1"));
+      table.removeAttribute("COLUMN3");
+      assertThat(table.hasAttribute("COLUMN3"), is(false));
+      assertThat(table.getAttribute("COLUMN2"), is("B1"));
+
+      // Rows without any captured values do not need attributes
+      assertThat(results.next(), is(true));
+      assertThat(results.getString("column1"), is("A2"));
+      assertThat(results.getAttributes(AttributeCapture.all()), is(nullValue()));
+
+      assertThat(results.next(), is(false));
+    }
+  }
+
+  @Test
+  @DisplayName("Equal strings are deduplicated through a string pool")
+  public void pooledStrings(final Connection connection) throws Exception {
+
+    final String sql =
+        "SELECT TRIM(C1) AS COLUMN1, TRIM(C2) AS COLUMN2 "
+            + "FROM (VALUES(' TYPE ', ' VALUE '), (' TYPE ', ' VALUE ')) AS T(C1, C2)";
+    final StringPool stringPool = new StringPool();
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results =
+            new MetadataResultSet(
+                DatabaseUtility.executeSql(statement, sql), "pooledStrings", 0, stringPool)) {
+
+      assertThat(results.next(), is(true));
+      final String type1 = results.getString("COLUMN1");
+      final AttributeRow row1 = results.getAttributes(AttributeCapture.all());
+      final Map<String, Object> attributes1 = new HashMap<>();
+      row1.copyInto(attributes1);
+
+      assertThat(results.next(), is(true));
+      final String type2 = results.getString("COLUMN1");
+      final AttributeRow row2 = results.getAttributes(AttributeCapture.all());
+      final Map<String, Object> attributes2 = new HashMap<>();
+      row2.copyInto(attributes2);
+
+      assertThat(type2, is("TYPE"));
+      assertThat(type2, is(sameInstance(type1)));
+      assertThat(attributes2.get("COLUMN2"), is("VALUE"));
+      assertThat(attributes2.get("COLUMN2"), is(sameInstance(attributes1.get("COLUMN2"))));
+    }
+    assertThat(stringPool.size(), is(2));
+  }
 }
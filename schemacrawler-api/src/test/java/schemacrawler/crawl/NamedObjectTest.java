@@ -28,11 +28,22 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.crawl;
 
+import static com.github.npathai.hamcrestopt.OptionalMatchers.isEmpty;
+import static com.github.npathai.hamcrestopt.OptionalMatchers.isPresentAndIs;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import schemacrawler.schema.NamedObjectKey;
 import schemacrawler.schema.Schema;
 import schemacrawler.schema.Table;
 import schemacrawler.schema.TableType;
@@ -42,6 +53,92 @@ public class NamedObjectTest {
 
   public static final TableType TABLE = new TableType("TABLE");
 
+  @Test
+  public void lookupByParent() {
+    final Schema schema1 = new SchemaReference("CATALOG", "PUBLIC");
+    final Schema schema2 = new SchemaReference(null, null);
+
+    final NamedObjectList<MutableTable> tables = new NamedObjectList<>();
+    final MutableTable table1 = new MutableTable(schema1, "CUSTOMER");
+    final MutableTable table2 = new MutableTable(schema2, "CUSTOMER");
+    final MutableTable table3 = new MutableTable(schema2, null);
+    tables.add(table1);
+    tables.add(table2);
+    tables.add(table3);
+    assertThat(tables.size(), is(3));
+
+    assertThat(tables.lookup(schema1, "CUSTOMER"), isPresentAndIs(table1));
+    assertThat(tables.lookup(schema2, "CUSTOMER"), isPresentAndIs(table2));
+    assertThat(tables.lookup(schema2, null), isPresentAndIs(table3));
+    assertThat(tables.lookup(schema1, "INVOICE"), isEmpty());
+    assertThat(
+        tables.lookup(new NamedObjectKey("CATALOG", "PUBLIC", "CUSTOMER")),
+        isPresentAndIs(table1));
+    assertThat(tables.lookup(new NamedObjectKey(null, null, null)), isPresentAndIs(table3));
+
+    tables.filter(table -> table.getSchema().equals(schema1));
+    assertThat(tables.size(), is(1));
+    assertThat(tables.lookup(schema2, "CUSTOMER"), isEmpty());
+    tables.resetFilter();
+    assertThat(tables.lookup(schema2, "CUSTOMER"), isPresentAndIs(table2));
+
+    assertThat(tables.remove(table1), is(table1));
+    assertThat(tables.contains(table1), is(false));
+    assertThat(tables.remove(table1), is(nullValue()));
+    assertThat(tables.size(), is(2));
+  }
+
+  @Test
+  public void namedObjectKey() {
+    final NamedObjectKey key = new NamedObjectKey("CATALOG", null, "TABLE");
+
+    assertThat(key, is(new NamedObjectKey("CATALOG").with(null).with("TABLE")));
+    assertThat(key.hashCode(), is(Arrays.hashCode(new String[] {"CATALOG", null, "TABLE"})));
+    assertThat(key.name(), is("TABLE"));
+    assertThat(key.parent(), is(new NamedObjectKey("CATALOG", null)));
+    assertThat(key.toString(), is("{\"key\": \"CATALOG/null/TABLE\"}"));
+
+    final NamedObjectKey emptyKey = new NamedObjectKey();
+    assertThat(emptyKey.hashCode(), is(1));
+    assertThat(emptyKey.parent(), is(nullValue()));
+    assertThat(emptyKey.slug(), is(""));
+  }
+
+  @Test
+  public void sortedValues() {
+    final Schema schema = new SchemaReference("CATALOG", "PUBLIC");
+    final MutableTable table1 = new MutableTable(schema, "CUSTOMER");
+    final MutableTable table2 = new MutableTable(schema, "INVOICE");
+    final MutableTable table3 = new MutableTable(schema, "ITEM");
+
+    final NamedObjectList<MutableTable> tables = new NamedObjectList<>();
+    tables.add(table2);
+    tables.add(table1);
+
+    final List<MutableTable> values = tables.values();
+    assertThat(values, contains(table1, table2));
+    assertThat(tables.values(), is(sameInstance(values)));
+
+    final Iterator<MutableTable> iterator = tables.iterator();
+    iterator.next();
+    assertThrows(UnsupportedOperationException.class, () -> iterator.remove());
+
+    // Sort order changes after tables are added, and cached values are used until re-sorted
+    table1.setSortIndex(2);
+    table2.setSortIndex(1);
+    assertThat(tables.values(), contains(table1, table2));
+    tables.resort();
+    final List<MutableTable> resortedValues = tables.values();
+    assertThat(resortedValues, contains(table2, table1));
+    assertThat(tables.values(), is(sameInstance(resortedValues)));
+
+    tables.add(table3);
+    assertThat(tables.values(), contains(table3, table2, table1));
+
+    tables.filter(table -> table != table3);
+    assertThat(tables.values(), contains(table2, table1));
+  }
+
   @Test
   public void tableNames() {
     final String[] schemaNames = new String[] {"DBO", "PUBLIC"};
@@ -35,7 +35,15 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
 import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.data_dictionary_all;
+import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.metadata_all;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.primaryKeysRetrievalStrategy;
 import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
 import static schemacrawler.test.utility.DatabaseTestUtility.schemaRetrievalOptionsDefault;
@@ -45,6 +53,9 @@ import static schemacrawler.test.utility.FileHasContent.outputOf;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collection;
 
@@ -71,6 +82,7 @@ import schemacrawler.test.utility.TestWriter;
 import schemacrawler.test.utility.WithTestDatabase;
 import schemacrawler.utility.NamedObjectSort;
 import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.datasource.DatabaseConnectionSourceUtility;
 
 @WithTestDatabase
 @ResolveTestContext
@@ -169,4 +181,85 @@ public class PrimaryKeyRetrieverTest {
       }
     }
   }
+
+  @Test
+  @DisplayName("Retrieve primary keys from metadata, for all tables in each schema")
+  public void primaryKeysFromMetadataForAllTables(final DatabaseConnectionSource dataSource)
+      throws Exception {
+    final SchemaCrawlerOptions minimumOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLoadOptions(
+                LoadOptionsBuilder.builder()
+                    .withSchemaInfoLevel(SchemaInfoLevelBuilder.minimum())
+                    .toOptions());
+    final MutableCatalog catalog =
+        (MutableCatalog)
+            new SchemaCrawler(dataSource, schemaRetrievalOptionsDefault, minimumOptions).crawl();
+
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.builder()
+            .with(primaryKeysRetrievalStrategy, metadata_all)
+            .toOptions();
+    final RetrieverConnection retrieverConnection =
+        new RetrieverConnection(dataSource, schemaRetrievalOptions);
+
+    final SchemaCrawlerOptions options = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+
+    final PrimaryKeyRetriever primaryKeyRetriever =
+        new PrimaryKeyRetriever(retrieverConnection, catalog, options);
+    primaryKeyRetriever.retrievePrimaryKeys(catalog.getAllTables());
+
+    verifyRetrievePrimaryKeys(catalog);
+  }
+
+  @Test
+  @DisplayName("Retrieve primary keys from metadata, when the call for a schema fails partway")
+  public void primaryKeysFromMetadataForAllTablesWithFailure(final Connection connection)
+      throws Exception {
+    final Connection spyConnection = spy(connection);
+    final DatabaseMetaData spyMetaData = spy(connection.getMetaData());
+    doReturn(spyMetaData).when(spyConnection).getMetaData();
+    // Fail after the first two primary key columns for the BOOKS schema
+    doAnswer(
+            invocation -> {
+              final ResultSet spyResults = spy((ResultSet) invocation.callRealMethod());
+              doCallRealMethod()
+                  .doCallRealMethod()
+                  .doThrow(new SQLException("Connection lost"))
+                  .when(spyResults)
+                  .next();
+              return spyResults;
+            })
+        .when(spyMetaData)
+        .getPrimaryKeys(any(), eq("BOOKS"), isNull());
+
+    final DatabaseConnectionSource dataSource =
+        DatabaseConnectionSourceUtility.newTestDatabaseConnectionSource(spyConnection);
+
+    final SchemaCrawlerOptions minimumOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLoadOptions(
+                LoadOptionsBuilder.builder()
+                    .withSchemaInfoLevel(SchemaInfoLevelBuilder.minimum())
+                    .toOptions());
+    final MutableCatalog catalog =
+        (MutableCatalog)
+            new SchemaCrawler(dataSource, schemaRetrievalOptionsDefault, minimumOptions).crawl();
+
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.builder()
+            .with(primaryKeysRetrievalStrategy, metadata_all)
+            .toOptions();
+    final RetrieverConnection retrieverConnection =
+        new RetrieverConnection(dataSource, schemaRetrievalOptions);
+
+    final SchemaCrawlerOptions options = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+
+    final PrimaryKeyRetriever primaryKeyRetriever =
+        new PrimaryKeyRetriever(retrieverConnection, catalog, options);
+    primaryKeyRetriever.retrievePrimaryKeys(catalog.getAllTables());
+
+    // Tables in the BOOKS schema are retrieved again, one table at a time
+    verifyRetrievePrimaryKeys(catalog);
+  }
 }
@@ -33,6 +33,7 @@ import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.data_dictionary_all;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.tableColumnsRetrievalStrategy;
@@ -43,8 +44,10 @@ import static schemacrawler.test.utility.FileHasContent.hasSameContentAs;
 import static schemacrawler.test.utility.FileHasContent.outputOf;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -180,6 +183,16 @@ public class TableColumnRetrieverTest {
     assertThat(hiddenColumnCount, is(1));
   }
 
+  @Test
+  @DisplayName("Retrieve table columns from data dictionary in schema partitions")
+  public void partitionedTableColumns(final Connection connection) throws Exception {
+    final List<String> unpartitionedColumns = retrieveColumnsInPartitions(connection, 1);
+    final List<String> partitionedColumns = retrieveColumnsInPartitions(connection, 3);
+
+    assertThat(unpartitionedColumns, is(not(empty())));
+    assertThat(partitionedColumns, is(unpartitionedColumns));
+  }
+
   @BeforeAll
   public void loadBaseCatalog(final Connection connection) {
     final LimitOptionsBuilder limitOptionsBuilder =
@@ -245,4 +258,39 @@ public class TableColumnRetrieverTest {
 
     verifyRetrieveTableColumns(catalog);
   }
+
+  private List<String> retrieveColumnsInPartitions(
+      final Connection connection, final int dataDictionaryPartitions) throws Exception {
+    final InformationSchemaViews informationSchemaViews =
+        InformationSchemaViewsBuilder.builder()
+            .withSql(
+                InformationSchemaKey.TABLE_COLUMNS,
+                IOUtility.readResourceFully("/TABLE_COLUMNS.sql")
+                    + "\nWHERE REGEXP_MATCHES(COLUMNS.TABLE_SCHEM, '${schemas}')")
+            .toOptions();
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.builder()
+            .with(tableColumnsRetrievalStrategy, data_dictionary_all)
+            .withInformationSchemaViews(informationSchemaViews)
+            .toOptions();
+    final LoadOptionsBuilder loadOptionsBuilder =
+        LoadOptionsBuilder.builder()
+            .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+            .withDataDictionaryPartitions(dataDictionaryPartitions);
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLoadOptions(loadOptionsBuilder.toOptions());
+    final Catalog catalog = getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+
+    final List<String> columns = new ArrayList<>();
+    for (final Table table : catalog.getTables()) {
+      for (final Column column : table.getColumns()) {
+        columns.add(
+            String.format(
+                "%s %s %d",
+                column.getFullName(), column.getColumnDataType(), column.getOrdinalPosition()));
+      }
+    }
+    return columns;
+  }
 }
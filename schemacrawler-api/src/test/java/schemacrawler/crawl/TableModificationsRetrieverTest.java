@@ -0,0 +1,115 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static schemacrawler.crawl.TableModificationsRetriever.LAST_MODIFIED;
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_TABLE_MODIFICATIONS;
+
+import java.util.Collection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.PrimaryKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.InformationSchemaViewsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.ResolveTestContext;
+import schemacrawler.test.utility.WithTestDatabase;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+
+@WithTestDatabase
+@ResolveTestContext
+public class TableModificationsRetrieverTest {
+
+  @Test
+  @DisplayName("Incremental crawl reuses details of unchanged tables")
+  public void incrementalCrawl(final DatabaseConnectionSource dataSource) throws Exception {
+
+    final InformationSchemaViews informationSchemaViews =
+        InformationSchemaViewsBuilder.builder()
+            .withSql(
+                EXT_TABLE_MODIFICATIONS,
+                "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, 'TOKEN' AS LAST_MODIFIED "
+                    + "FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME <> 'AUTHORS'")
+            .toOptions();
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.builder()
+            .withInformationSchemaViews(informationSchemaViews)
+            .toOptions();
+    final SchemaCrawlerOptions options = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+
+    final Catalog fullCatalog =
+        new SchemaCrawler(dataSource, schemaRetrievalOptions, options).crawl();
+    // Previous catalog has no modification tokens, so all tables are retrieved
+    final Catalog firstCatalog =
+        new SchemaCrawler(dataSource, schemaRetrievalOptions, options).crawl(fullCatalog);
+    // All tables except AUTHORS are copied from the previous catalog
+    final Catalog secondCatalog =
+        new SchemaCrawler(dataSource, schemaRetrievalOptions, options).crawl(firstCatalog);
+
+    final Collection<Table> tables = secondCatalog.getTables();
+    assertThat(tables, hasSize(fullCatalog.getTables().size()));
+    for (final Table table : tables) {
+      if (table.getName().equals("AUTHORS")) {
+        assertThat(table.getAttribute(LAST_MODIFIED), is(nullValue()));
+      } else {
+        assertThat(table.getAttribute(LAST_MODIFIED), is("TOKEN"));
+      }
+
+      final Table fullTable =
+          fullCatalog
+              .lookupTable(table.getSchema(), table.getName())
+              .orElseThrow(IllegalAccessException::new);
+      assertThat(table.getColumns(), is(fullTable.getColumns()));
+      assertThat(table.getIndexes(), is(fullTable.getIndexes()));
+      assertThat(table.getTriggers(), is(fullTable.getTriggers()));
+      assertThat(table.hasPrimaryKey(), is(fullTable.hasPrimaryKey()));
+      if (table.hasPrimaryKey()) {
+        final PrimaryKey primaryKey = table.getPrimaryKey();
+        final PrimaryKey fullPrimaryKey = fullTable.getPrimaryKey();
+        assertThat(primaryKey.getRemarks(), is(fullPrimaryKey.getRemarks()));
+        assertThat(primaryKey.getDefinition(), is(fullPrimaryKey.getDefinition()));
+        assertThat(primaryKey.getAttributes(), is(fullPrimaryKey.getAttributes()));
+        assertThat(
+            primaryKey.getConstrainedColumns(), is(fullPrimaryKey.getConstrainedColumns()));
+      }
+      assertThat(table.getForeignKeys(), is(fullTable.getForeignKeys()));
+    }
+  }
+}
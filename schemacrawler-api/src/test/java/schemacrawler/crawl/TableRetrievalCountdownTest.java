@@ -0,0 +1,133 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaReference;
+
+public class TableRetrievalCountdownTest {
+
+  private static final SchemaReference SCHEMA = new SchemaReference("catalog", "schema");
+
+  @Test
+  public void eventPostedWhenRetrievalsCompleteForTable() throws Exception {
+    final List<String> events = new ArrayList<>();
+    final CrawlListenerNotifier notifier = makeNotifier(events);
+    final TableRetrievalCountdown countdown =
+        new TableRetrievalCountdown(notifier, "complete", CrawlListener::tableComplete, "a", "b");
+
+    final MutableTable table1 = new MutableTable(SCHEMA, "TABLE1");
+    final MutableTable table2 = new MutableTable(SCHEMA, "TABLE2");
+
+    countdown.retrieved("a", Collections.singletonList(table1));
+    countdown.retrieved("b", Arrays.asList(table1, table2));
+    notifier.awaitDelivery();
+    assertThat(events, contains("complete TABLE1"));
+
+    // Reporting a table again for a retrieval does not post the event again
+    countdown.countDown("a", Arrays.asList(table1, table2), () -> {}).run();
+    countdown.retrieved("b", Arrays.asList(table1, table2));
+    notifier.awaitDelivery();
+    assertThat(events, contains("complete TABLE1", "complete TABLE2"));
+  }
+
+  @Test
+  public void noEventWithoutRetrieval() throws Exception {
+    final List<String> events = new ArrayList<>();
+    final CrawlListenerNotifier notifier = makeNotifier(events);
+    final TableRetrievalCountdown countdown =
+        new TableRetrievalCountdown(notifier, "complete", CrawlListener::tableComplete, "a", "b");
+
+    final MutableTable table = new MutableTable(SCHEMA, "TABLE1");
+
+    // A task that fails does not count the tables as retrieved
+    assertThrows(
+        RuntimeException.class,
+        () ->
+            countdown
+                .countDown(
+                    "a",
+                    Collections.singletonList(table),
+                    () -> {
+                      throw new RuntimeException("Cannot retrieve");
+                    })
+                .run());
+    countdown.retrieved("b", Collections.singletonList(table));
+    notifier.awaitDelivery();
+    assertThat(events, is(empty()));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> countdown.retrieved("c", Collections.singletonList(table)));
+  }
+
+  @Test
+  public void skippedRetrievalComplete() throws Exception {
+    final List<String> events = new ArrayList<>();
+    final CrawlListenerNotifier notifier = makeNotifier(events);
+    final TableRetrievalCountdown countdown =
+        new TableRetrievalCountdown(notifier, "complete", CrawlListener::tableComplete, "a", "b");
+
+    final MutableTable table = new MutableTable(SCHEMA, "TABLE1");
+
+    countdown.retrieved("a", Collections.singletonList(table));
+    notifier.awaitDelivery();
+    assertThat(events, is(empty()));
+
+    countdown.countDown("b", Collections.singletonList(table), () -> {}).skip();
+    notifier.awaitDelivery();
+    assertThat(events, contains("complete TABLE1"));
+  }
+
+  private CrawlListenerNotifier makeNotifier(final List<String> events) {
+    final Collection<CrawlListener> crawlListeners = new ArrayList<>();
+    crawlListeners.add(
+        new CrawlListener() {
+          @Override
+          public void tableComplete(final Table table) {
+            events.add("complete " + table.getName());
+          }
+        });
+    return new CrawlListenerNotifier(crawlListeners);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.filter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static schemacrawler.filter.GrepRule.requiredLiteral;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.inclusionrule.ExcludeAll;
+import schemacrawler.inclusionrule.IncludeAll;
+import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.inclusionrule.RegularExpressionRule;
+
+public class GrepRuleTest {
+
+  private static final String[] PATTERNS = {
+    ".*\\.COL.*",
+    "PUBLIC\\.BOOKS\\..*",
+    "a|b",
+    "(?i)abc",
+    "abc?d",
+    "ab+c",
+    "x{0,2}yz",
+    "x{2}yz",
+    "\\Qa.b\\E",
+    "[abc]def",
+    "[]x]yz",
+    "\\x41BC",
+    "\\u0041BC",
+    "\\p{Alpha}BC",
+    "(a)\\1BC",
+    "(foo|bar)baz",
+    ".*",
+    "",
+    "a??bc",
+    "ab*?c",
+    "\\.\\*",
+    "(\\Q)\\E|x)yz",
+  };
+
+  private static final String[] TEXTS = {
+    "",
+    "PUBLIC.BOOKS.AUTHORS.COL1",
+    "PUBLIC.BOOKS.COLUMN",
+    "a",
+    "b",
+    "ABC",
+    "abc",
+    "abcd",
+    "abd",
+    "abbbc",
+    "ac",
+    "yz",
+    "xxyz",
+    "a.b",
+    "adef",
+    "]yz",
+    "ABC",
+    "aaBC",
+    "foobaz",
+    "barbaz",
+    "bc",
+    "abc",
+    ".*",
+    ")yz",
+    "xyz",
+  };
+
+  @Test
+  public void grepRule() {
+    final InclusionRule[] rules = {
+      new RegularExpressionInclusionRule(".*\\.BOOKS\\..*"),
+      new RegularExpressionInclusionRule((String) null),
+      new RegularExpressionExclusionRule(".*AUTHORS.*"),
+      new RegularExpressionRule("PUBLIC\\..*", ".*COL1"),
+      new IncludeAll(),
+      new ExcludeAll(),
+      text -> text != null && text.endsWith("COLUMN"),
+    };
+    for (final InclusionRule rule : rules) {
+      final GrepRule grepRule = new GrepRule(rule);
+      assertThat(grepRule.test(null), is(rule.test(null)));
+      for (final String text : TEXTS) {
+        assertThat(rule + " " + text, grepRule.test(text), is(rule.test(text)));
+      }
+    }
+  }
+
+  @Test
+  public void requiredLiterals() {
+    assertThat(requiredLiteral(Pattern.compile(".*\\.COL.*")), is(".COL"));
+    assertThat(requiredLiteral(Pattern.compile("PUBLIC\\.BOOKS\\..*")), is("PUBLIC.BOOKS."));
+    assertThat(requiredLiteral(Pattern.compile("abc?d")), is("ab"));
+    assertThat(requiredLiteral(Pattern.compile("ab+c")), is("ab"));
+    assertThat(requiredLiteral(Pattern.compile("x{0,2}yz")), is("yz"));
+    assertThat(requiredLiteral(Pattern.compile("\\Qa.b\\E")), is("a.b"));
+    assertThat(requiredLiteral(Pattern.compile("[abc]def")), is("def"));
+    assertThat(requiredLiteral(Pattern.compile("\\x41BC")), is("BC"));
+    assertThat(requiredLiteral(Pattern.compile("(foo|bar)baz")), is("baz"));
+
+    assertThat(requiredLiteral(Pattern.compile("a|b")), is(nullValue()));
+    assertThat(requiredLiteral(Pattern.compile("(?i)abc")), is(nullValue()));
+    assertThat(
+        requiredLiteral(Pattern.compile("abc", Pattern.CASE_INSENSITIVE)), is(nullValue()));
+    assertThat(requiredLiteral(Pattern.compile(".*")), is(nullValue()));
+    assertThat(requiredLiteral(Pattern.compile("")), is(nullValue()));
+    assertThat(requiredLiteral(null), is(nullValue()));
+  }
+
+  @Test
+  public void requiredLiteralsAreInAllMatches() {
+    for (final String regex : PATTERNS) {
+      final Pattern pattern = Pattern.compile(regex);
+      final String requiredLiteral = requiredLiteral(pattern);
+      if (requiredLiteral == null) {
+        continue;
+      }
+      for (final String text : TEXTS) {
+        if (pattern.matcher(text).matches()) {
+          assertThat("/" + regex + "/", text, containsString(requiredLiteral));
+        }
+      }
+    }
+  }
+}
@@ -37,6 +37,33 @@ import us.fatehi.utility.scheduler.TaskRunner;
 
 public class LoadOptionsBuilderTest {
 
+  @Test
+  public void dataDictionaryPartitions() {
+    final LoadOptionsBuilder loadOptionsBuilder = LoadOptionsBuilder.builder();
+
+    // Default
+    assertThat(loadOptionsBuilder.toOptions().getDataDictionaryPartitions(), is(1));
+
+    loadOptionsBuilder.withDataDictionaryPartitions(0);
+    assertThat(loadOptionsBuilder.toOptions().getDataDictionaryPartitions(), is(1));
+
+    loadOptionsBuilder.withDataDictionaryPartitions(4);
+    assertThat(loadOptionsBuilder.toOptions().getDataDictionaryPartitions(), is(4));
+
+    loadOptionsBuilder.withDataDictionaryPartitions(Integer.MAX_VALUE);
+    assertThat(
+        loadOptionsBuilder.toOptions().getDataDictionaryPartitions(), is(TaskRunner.MAX_THREADS));
+
+    final LoadOptions loadOptions =
+        LoadOptionsBuilder.builder().withDataDictionaryPartitions(3).toOptions();
+    assertThat(
+        LoadOptionsBuilder.builder()
+            .fromOptions(loadOptions)
+            .toOptions()
+            .getDataDictionaryPartitions(),
+        is(3));
+  }
+
   @Test
   public void maxThreads() {
     final LoadOptionsBuilder loadOptionsBuilder = LoadOptionsBuilder.builder();
@@ -42,6 +42,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static schemacrawler.schemacrawler.InformationSchemaKey.TABLE_COLUMNS;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.tableColumnsRetrievalStrategy;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.tablesRetrievalStrategy;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -209,6 +212,29 @@ public class SchemaRetrievalOptionsBuilderTest {
         is(EnumDataTypeInfo.EnumDataTypeTypes.not_enumerated));
   }
 
+  @Test
+  public void fetchSize() {
+    final SchemaRetrievalOptionsBuilder builder = SchemaRetrievalOptionsBuilder.builder();
+
+    final SchemaRetrievalOptions options1 = builder.toOptions();
+    assertThat(options1.getFetchSize(tableColumnsRetrievalStrategy), is(0));
+    assertThat(options1.getFetchSize(TABLE_COLUMNS), is(0));
+
+    builder
+        .withFetchSize(tableColumnsRetrievalStrategy, 500)
+        .withFetchSize(TABLE_COLUMNS, 1000)
+        .withFetchSize((InformationSchemaKey) null, 10)
+        .withFetchSize((SchemaInfoMetadataRetrievalStrategy) null, 10);
+    final SchemaRetrievalOptions options2 =
+        SchemaRetrievalOptionsBuilder.builder(builder.toOptions()).toOptions();
+    assertThat(options2.getFetchSize(tableColumnsRetrievalStrategy), is(500));
+    assertThat(options2.getFetchSize(tablesRetrievalStrategy), is(0));
+    assertThat(options2.getFetchSize(TABLE_COLUMNS), is(1000));
+
+    builder.withFetchSize(TABLE_COLUMNS, 0);
+    assertThat(builder.toOptions().getFetchSize(TABLE_COLUMNS), is(0));
+  }
+
   @Test
   public void fromOptions() {
     final SchemaRetrievalOptions options =
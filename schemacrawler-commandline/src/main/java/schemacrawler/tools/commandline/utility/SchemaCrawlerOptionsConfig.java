@@ -28,9 +28,18 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.tools.commandline.utility;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 
 import schemacrawler.inclusionrule.InclusionRule;
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.AttributeCapture;
 import schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion;
 import schemacrawler.schemacrawler.GrepOptions;
 import schemacrawler.schemacrawler.GrepOptionsBuilder;
@@ -140,8 +149,28 @@ public final class SchemaCrawlerOptionsConfig {
     }
 
     final String SC_LOAD_MAX_THREADS = "schemacrawler.load.max_threads";
+    final String SC_LOAD_DATA_DICTIONARY_PARTITIONS =
+        "schemacrawler.load.data_dictionary_partitions";
 
     builder.withMaxThreads(config.getIntegerValue(SC_LOAD_MAX_THREADS, 5));
+    builder.withDataDictionaryPartitions(
+        config.getIntegerValue(SC_LOAD_DATA_DICTIONARY_PARTITIONS, 1));
+
+    final Map<String, Class<? extends AttributedObject>> attributeCaptureTypes =
+        new LinkedHashMap<>();
+    attributeCaptureTypes.put("tables", Table.class);
+    attributeCaptureTypes.put("columns", Column.class);
+    attributeCaptureTypes.put("indexes", Index.class);
+    attributeCaptureTypes.put("foreign_keys", ForeignKey.class);
+    for (final Entry<String, Class<? extends AttributedObject>> attributeCaptureType :
+        attributeCaptureTypes.entrySet()) {
+      final String key = "schemacrawler.load.attributes." + attributeCaptureType.getKey();
+      if (config.containsKey(key)) {
+        builder.withAttributeCapture(
+            attributeCaptureType.getValue(),
+            AttributeCapture.valueOfFromString(config.getStringValue(key, "all")));
+      }
+    }
 
     return builder;
   }
@@ -159,7 +188,7 @@ public final class SchemaCrawlerOptionsConfig {
       return schemaCrawlerOptions;
     }
 
-    // Load only number of thread for load options
+    // Load only number of threads and partitions for load options
     final LoadOptionsBuilder loadOptionsBuilder =
         LoadOptionsBuilder.builder().fromOptions(schemaCrawlerOptions.getLoadOptions());
     final LoadOptions loadOptions =
@@ -101,6 +101,22 @@ public final class SchemaRetrievalOptionsConfig {
       final MetadataRetrievalStrategy configValue =
           configProperties.getEnumValue(configKey, currentValue);
       builder.with(metadataRetrievalStrategy, configValue);
+
+      final String fetchSizeConfigKey =
+          "schemacrawler.schema.retrieval.fetch_size." + metadataRetrievalStrategy.getKey();
+      if (configProperties.containsKey(fetchSizeConfigKey)) {
+        builder.withFetchSize(
+            metadataRetrievalStrategy, configProperties.getIntegerValue(fetchSizeConfigKey, 0));
+      }
+    }
+
+    for (final InformationSchemaKey informationSchemaKey : InformationSchemaKey.values()) {
+      final String fetchSizeConfigKey =
+          "schemacrawler.schema.retrieval.fetch_size." + informationSchemaKey;
+      if (configProperties.containsKey(fetchSizeConfigKey)) {
+        builder.withFetchSize(
+            informationSchemaKey, configProperties.getIntegerValue(fetchSizeConfigKey, 0));
+      }
     }
 
     return builder;
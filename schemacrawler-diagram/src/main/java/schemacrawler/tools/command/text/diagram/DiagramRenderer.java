@@ -103,6 +103,7 @@ public final class DiagramRenderer extends BaseSchemaCrawlerCommand<DiagramOptio
         NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForTables()));
     traverser.setRoutinesComparator(
         NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForRoutines()));
+    traverser.setParallel(true);
 
     traverser.traverse();
 
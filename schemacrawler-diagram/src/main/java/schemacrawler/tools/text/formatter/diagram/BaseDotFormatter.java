@@ -33,6 +33,7 @@ import static us.fatehi.utility.html.TagBuilder.tableCell;
 import static us.fatehi.utility.html.TagBuilder.tableRow;
 import static us.fatehi.utility.html.TagOutputFormat.html;
 
+import java.io.PrintWriter;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -58,6 +59,15 @@ public abstract class BaseDotFormatter extends BaseFormatter<DiagramOptions> {
     super(schemaTextDetailType, options, outputOptions, identifiers);
   }
 
+  protected BaseDotFormatter(
+      final SchemaTextDetailType schemaTextDetailType,
+      final DiagramOptions options,
+      final OutputOptions outputOptions,
+      final Identifiers identifiers,
+      final PrintWriter out) {
+    super(schemaTextDetailType, options, outputOptions, identifiers, out);
+  }
+
   @Override
   public void begin() {
     final String header = makeGraphvizHeader();
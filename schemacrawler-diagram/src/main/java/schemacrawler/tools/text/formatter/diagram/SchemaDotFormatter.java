@@ -46,6 +46,7 @@ import static us.fatehi.utility.Utility.isBlank;
 import static us.fatehi.utility.html.TagBuilder.tableCell;
 import static us.fatehi.utility.html.TagBuilder.tableRow;
 import static us.fatehi.utility.html.TagOutputFormat.html;
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -69,6 +70,7 @@ import schemacrawler.tools.command.text.diagram.options.DiagramOptions;
 import schemacrawler.tools.command.text.schema.options.SchemaTextDetailType;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.traversal.SchemaTraversalHandler;
+import schemacrawler.tools.traversal.ShardedSchemaTraversalHandler;
 import schemacrawler.utility.MetaDataUtility.ForeignKeyCardinality;
 import schemacrawler.utility.NamedObjectSort;
 import us.fatehi.utility.Color;
@@ -76,7 +78,8 @@ import us.fatehi.utility.html.Alignment;
 import us.fatehi.utility.html.Tag;
 
 /** Graphviz DOT formatting of schema. */
-public final class SchemaDotFormatter extends BaseDotFormatter implements SchemaTraversalHandler {
+public final class SchemaDotFormatter extends BaseDotFormatter
+    implements ShardedSchemaTraversalHandler {
 
   private final int tableColspan;
 
@@ -98,6 +101,17 @@ public final class SchemaDotFormatter extends BaseDotFormatter implements Schema
     tableColspan = options.isShowOrdinalNumbers() ? 4 : 3;
   }
 
+  private SchemaDotFormatter(final SchemaDotFormatter formatter, final PrintWriter out) {
+    super(
+        formatter.schemaTextDetailType,
+        formatter.options,
+        formatter.outputOptions,
+        formatter.identifiers,
+        out);
+
+    tableColspan = formatter.tableColspan;
+  }
+
   @Override
   public void handle(final ColumnDataType columnDataType) {
     // No output required
@@ -249,6 +263,12 @@ public final class SchemaDotFormatter extends BaseDotFormatter implements Schema
     // No output required
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public SchemaTraversalHandler newShardHandler(final PrintWriter out) {
+    return new SchemaDotFormatter(this, out);
+  }
+
   private String arrowhead(final ForeignKeyCardinality connectivity) {
     switch (connectivity) {
       case zero_one:
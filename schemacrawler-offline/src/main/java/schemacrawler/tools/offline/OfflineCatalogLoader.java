@@ -1,21 +1,35 @@
 package schemacrawler.tools.offline;
 
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
 import static java.nio.file.Files.newInputStream;
+import static java.nio.file.StandardOpenOption.READ;
+import static schemacrawler.filter.FilterFactory.tableLimitFilter;
 import static schemacrawler.utility.MetaDataUtility.reduceCatalog;
+import static us.fatehi.utility.compress.ParallelGzipInputStream.isParallelGzip;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.function.Predicate;
 import java.util.zip.GZIPInputStream;
+import schemacrawler.crawl.CatalogSnapshot;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.FilterOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.exceptions.DatabaseAccessException;
 import schemacrawler.schemacrawler.exceptions.IORuntimeException;
 import schemacrawler.tools.catalogloader.BaseCatalogLoader;
 import schemacrawler.tools.executable.CommandDescription;
+import schemacrawler.tools.formatter.serialize.BinarySerializedCatalog;
+import schemacrawler.tools.formatter.serialize.CatalogSerializer;
 import schemacrawler.tools.formatter.serialize.JavaSerializedCatalog;
 import schemacrawler.tools.offline.jdbc.OfflineConnection;
+import us.fatehi.utility.compress.ParallelGzipInputStream;
 
 public final class OfflineCatalogLoader extends BaseCatalogLoader {
 
@@ -51,12 +65,7 @@ public final class OfflineCatalogLoader extends BaseCatalogLoader {
       }
 
       final Path offlineDatabasePath = dbConnection.getOfflineDatabasePath();
-      try (final InputStream inputFileStream =
-          new GZIPInputStream(newInputStream(offlineDatabasePath)); ) {
-        final JavaSerializedCatalog deserializedCatalog =
-            new JavaSerializedCatalog(inputFileStream);
-        catalog = deserializedCatalog.getCatalog();
-      }
+      catalog = loadOfflineCatalog(offlineDatabasePath);
 
       final SchemaCrawlerOptions schemaCrawlerOptions = getSchemaCrawlerOptions();
       reduceCatalog(catalog, schemaCrawlerOptions);
@@ -69,4 +78,55 @@ public final class OfflineCatalogLoader extends BaseCatalogLoader {
 
     setCatalog(catalog);
   }
+
+  private Catalog loadOfflineCatalog(final Path offlineDatabasePath) throws IOException {
+    try (final FileChannel channel = FileChannel.open(offlineDatabasePath, READ)) {
+      if (channel.size() <= Integer.MAX_VALUE) {
+        final MappedByteBuffer buffer = channel.map(READ_ONLY, 0, channel.size());
+        // Uncompressed catalog snapshots are memory-mapped, and only the tables that can be
+        // included are read
+        if (CatalogSnapshot.isCatalogSnapshot(buffer)) {
+          return new BinarySerializedCatalog(buffer, snapshotTableFilter()).getCatalog();
+        }
+        // Blocks compressed in parallel are also decompressed in parallel, ahead of
+        // deserialization
+        if (isParallelGzip(buffer)) {
+          try (final InputStream inputFileStream =
+              new BufferedInputStream(new ParallelGzipInputStream(buffer)); ) {
+            return deserializeCatalog(inputFileStream);
+          }
+        }
+      }
+    }
+
+    try (final InputStream inputFileStream =
+        new BufferedInputStream(new GZIPInputStream(newInputStream(offlineDatabasePath))); ) {
+      return deserializeCatalog(inputFileStream);
+    }
+  }
+
+  private Catalog deserializeCatalog(final InputStream inputFileStream) throws IOException {
+    // Support both catalog snapshots, and older Java serialized catalogs
+    final CatalogSerializer deserializedCatalog;
+    if (CatalogSnapshot.isCatalogSnapshot(inputFileStream)) {
+      deserializedCatalog = new BinarySerializedCatalog(inputFileStream);
+    } else {
+      deserializedCatalog = new JavaSerializedCatalog(inputFileStream);
+    }
+    return deserializedCatalog.getCatalog();
+  }
+
+  /**
+   * Tables that are excluded by the limit options are not read from a snapshot, unless related
+   * tables need to be included, in which case all tables are read.
+   */
+  private Predicate<Table> snapshotTableFilter() {
+    final SchemaCrawlerOptions schemaCrawlerOptions = getSchemaCrawlerOptions();
+    final FilterOptions filterOptions = schemaCrawlerOptions.getFilterOptions();
+    if (filterOptions.getChildTableFilterDepth() > 0
+        || filterOptions.getParentTableFilterDepth() > 0) {
+      return table -> true;
+    }
+    return tableLimitFilter(schemaCrawlerOptions);
+  }
 }
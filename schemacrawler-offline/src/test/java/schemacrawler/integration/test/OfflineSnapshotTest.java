@@ -53,6 +53,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -71,10 +72,12 @@ import schemacrawler.test.utility.WithTestDatabase;
 import schemacrawler.tools.command.text.schema.options.SchemaTextOptionsBuilder;
 import schemacrawler.tools.command.text.schema.options.TextOutputFormat;
 import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.formatter.serialize.BinarySerializedCatalog;
 import schemacrawler.tools.formatter.serialize.JavaSerializedCatalog;
 import schemacrawler.tools.offline.OfflineDatabaseConnector;
 import schemacrawler.tools.options.Config;
 import us.fatehi.utility.IOUtility;
+import us.fatehi.utility.compress.ParallelGzipOutputStream;
 import us.fatehi.utility.datasource.DatabaseConnectionSource;
 
 @WithTestDatabase
@@ -83,6 +86,9 @@ public class OfflineSnapshotTest {
   private static final String OFFLINE_EXECUTABLE_OUTPUT = "offline_executable_output/";
 
   private Path serializedCatalogFile;
+  private Path catalogSnapshotFile;
+  private Path uncompressedCatalogSnapshotFile;
+  private Path parallelCompressedSerializedCatalogFile;
 
   @Test
   @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
@@ -133,6 +139,78 @@ public class OfflineSnapshotTest {
         hasSameContentAs(classpathResource(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt")));
   }
 
+  @Test
+  @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
+  public void offlineCatalogSnapshotCommandLineWithFilters() throws Exception {
+    final TestWriter testout = new TestWriter();
+    try (final TestWriter out = testout) {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("--server", "offline");
+      argsMap.put("--database", catalogSnapshotFile.toString());
+
+      argsMap.put("--no-info", "true");
+      argsMap.put("--info-level", "maximum");
+      argsMap.put("--command", "details");
+      argsMap.put("--output-format", TextOutputFormat.text.getFormat());
+      argsMap.put("--routines", "");
+      argsMap.put("--tables", ".*SALES");
+      argsMap.put("--output-file", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+    }
+    assertThat(
+        outputOf(testout),
+        hasSameContentAs(classpathResource(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt")));
+  }
+
+  @Test
+  @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
+  public void offlineUncompressedCatalogSnapshotCommandLineWithFilters() throws Exception {
+    final TestWriter testout = new TestWriter();
+    try (final TestWriter out = testout) {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("--server", "offline");
+      argsMap.put("--database", uncompressedCatalogSnapshotFile.toString());
+
+      argsMap.put("--no-info", "true");
+      argsMap.put("--info-level", "maximum");
+      argsMap.put("--command", "details");
+      argsMap.put("--output-format", TextOutputFormat.text.getFormat());
+      argsMap.put("--routines", "");
+      argsMap.put("--tables", ".*SALES");
+      argsMap.put("--output-file", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+    }
+    assertThat(
+        outputOf(testout),
+        hasSameContentAs(classpathResource(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt")));
+  }
+
+  @Test
+  @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
+  public void offlineParallelCompressedSnapshotCommandLineWithFilters() throws Exception {
+    final TestWriter testout = new TestWriter();
+    try (final TestWriter out = testout) {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("--server", "offline");
+      argsMap.put("--database", parallelCompressedSerializedCatalogFile.toString());
+
+      argsMap.put("--no-info", "true");
+      argsMap.put("--info-level", "maximum");
+      argsMap.put("--command", "details");
+      argsMap.put("--output-format", TextOutputFormat.text.getFormat());
+      argsMap.put("--routines", "");
+      argsMap.put("--tables", ".*SALES");
+      argsMap.put("--output-file", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+    }
+    assertThat(
+        outputOf(testout),
+        hasSameContentAs(classpathResource(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt")));
+  }
+
   @Test
   @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
   public void offlineSnapshotCommandLineWithSchemaFilters() throws Exception {
@@ -222,6 +300,31 @@ public class OfflineSnapshotTest {
           new GZIPOutputStream(Files.newOutputStream(serializedCatalogFile));
       serializedCatalog.save(outputStream);
       assertThat("Database was not serialized", size(serializedCatalogFile), greaterThan(0L));
+
+      catalogSnapshotFile = IOUtility.createTempFilePath("schemacrawler", "snapshot");
+      new BinarySerializedCatalog(catalog)
+          .save(new GZIPOutputStream(Files.newOutputStream(catalogSnapshotFile)));
+      assertThat("Database was not serialized", size(catalogSnapshotFile), greaterThan(0L));
+
+      uncompressedCatalogSnapshotFile = IOUtility.createTempFilePath("schemacrawler", "snapshot");
+      new BinarySerializedCatalog(catalog)
+          .save(Files.newOutputStream(uncompressedCatalogSnapshotFile));
+      assertThat(
+          "Database was not serialized", size(uncompressedCatalogSnapshotFile), greaterThan(0L));
+
+      parallelCompressedSerializedCatalogFile =
+          IOUtility.createTempFilePath("schemacrawler", "ser");
+      try (final OutputStream outputStream =
+          new ParallelGzipOutputStream(
+              Files.newOutputStream(parallelCompressedSerializedCatalogFile),
+              1024,
+              ForkJoinPool.commonPool())) {
+        serializedCatalog.save(outputStream);
+      }
+      assertThat(
+          "Database was not serialized",
+          size(parallelCompressedSerializedCatalogFile),
+          greaterThan(0L));
     } catch (final IOException e) {
       failTestSetup("Could not serialize catalog", e);
     }
@@ -0,0 +1,44 @@
+SELECT
+  NULL AS TABLE_CATALOG,
+  TABLES.OWNER AS TABLE_SCHEMA,
+  TABLES.OBJECT_NAME AS TABLE_NAME,
+  TO_CHAR(
+    GREATEST(
+      TABLES.LAST_DDL_TIME,
+      NVL(
+        (SELECT MAX(INDEXES.LAST_DDL_TIME)
+         FROM ${catalogscope}_INDEXES INDEX_NAMES
+           INNER JOIN ${catalogscope}_OBJECTS INDEXES
+             ON INDEX_NAMES.OWNER = INDEXES.OWNER
+               AND INDEX_NAMES.INDEX_NAME = INDEXES.OBJECT_NAME
+               AND INDEXES.OBJECT_TYPE = 'INDEX'
+         WHERE INDEX_NAMES.TABLE_OWNER = TABLES.OWNER
+           AND INDEX_NAMES.TABLE_NAME = TABLES.OBJECT_NAME),
+        TABLES.LAST_DDL_TIME),
+      NVL(
+        (SELECT MAX(TRIGGERS.LAST_DDL_TIME)
+         FROM ${catalogscope}_TRIGGERS TRIGGER_NAMES
+           INNER JOIN ${catalogscope}_OBJECTS TRIGGERS
+             ON TRIGGER_NAMES.OWNER = TRIGGERS.OWNER
+               AND TRIGGER_NAMES.TRIGGER_NAME = TRIGGERS.OBJECT_NAME
+               AND TRIGGERS.OBJECT_TYPE = 'TRIGGER'
+         WHERE TRIGGER_NAMES.TABLE_OWNER = TABLES.OWNER
+           AND TRIGGER_NAMES.TABLE_NAME = TABLES.OBJECT_NAME),
+        TABLES.LAST_DDL_TIME)
+    ),
+    'YYYY-MM-DD"T"HH24:MI:SS')
+    AS LAST_MODIFIED
+FROM
+  ${catalogscope}_OBJECTS TABLES
+  INNER JOIN ${catalogscope}_USERS USERS
+    ON TABLES.OWNER = USERS.USERNAME
+      AND USERS.ORACLE_MAINTAINED = 'N'
+      AND NOT REGEXP_LIKE(USERS.USERNAME, '^APEX_[0-9]{6}$')
+      AND NOT REGEXP_LIKE(USERS.USERNAME, '^FLOWS_[0-9]{5}$')
+WHERE
+  REGEXP_LIKE(TABLES.OWNER, '${schemas}')
+  AND TABLES.OBJECT_TYPE IN ('TABLE', 'VIEW')
+  AND TABLES.OBJECT_NAME NOT LIKE 'BIN$%'
+ORDER BY
+  TABLE_SCHEMA,
+  TABLE_NAME
@@ -0,0 +1,35 @@
+SELECT
+  CURRENT_DATABASE()::INFORMATION_SCHEMA.SQL_IDENTIFIER AS TABLE_CATALOG,
+  NAMESPACES.NSPNAME::INFORMATION_SCHEMA.SQL_IDENTIFIER AS TABLE_SCHEMA,
+  TABLES.RELNAME::INFORMATION_SCHEMA.SQL_IDENTIFIER AS TABLE_NAME,
+  CONCAT_WS(
+    ':',
+    TABLES.XMIN::TEXT,
+    (SELECT MAX(ATTRIBUTES.XMIN::TEXT::BIGINT)
+     FROM PG_CATALOG.PG_ATTRIBUTE ATTRIBUTES
+     WHERE ATTRIBUTES.ATTRELID = TABLES.OID),
+    (SELECT MAX(DEFAULTS.XMIN::TEXT::BIGINT)
+     FROM PG_CATALOG.PG_ATTRDEF DEFAULTS
+     WHERE DEFAULTS.ADRELID = TABLES.OID),
+    (SELECT MAX(CONSTRAINTS.XMIN::TEXT::BIGINT)
+     FROM PG_CATALOG.PG_CONSTRAINT CONSTRAINTS
+     WHERE CONSTRAINTS.CONRELID = TABLES.OID),
+    (SELECT MAX(INDEXES.XMIN::TEXT::BIGINT)
+     FROM PG_CATALOG.PG_INDEX INDEXES
+     WHERE INDEXES.INDRELID = TABLES.OID),
+    (SELECT MAX(TRIGGERS.XMIN::TEXT::BIGINT)
+     FROM PG_CATALOG.PG_TRIGGER TRIGGERS
+     WHERE TRIGGERS.TGRELID = TABLES.OID),
+    (SELECT MAX(DESCRIPTIONS.XMIN::TEXT::BIGINT)
+     FROM PG_CATALOG.PG_DESCRIPTION DESCRIPTIONS
+     WHERE DESCRIPTIONS.OBJOID = TABLES.OID)
+  ) AS LAST_MODIFIED
+FROM
+  PG_CATALOG.PG_CLASS TABLES
+  INNER JOIN PG_CATALOG.PG_NAMESPACE NAMESPACES
+    ON TABLES.RELNAMESPACE = NAMESPACES.OID
+WHERE
+  NAMESPACES.NSPNAME NOT IN ('pg_catalog', 'information_schema')
+  AND NAMESPACES.NSPNAME !~ '^pg_toast'
+  AND NAMESPACES.NSPNAME ~ '${schemas}'
+  AND TABLES.RELKIND IN ('r', 'v', 'm', 'p', 'f')
@@ -0,0 +1,19 @@
+SELECT
+  (SELECT COUNT(*) FROM PG_CATALOG.PG_NAMESPACE) AS NAMESPACES,
+  (SELECT MAX(XMIN::TEXT::BIGINT) FROM PG_CATALOG.PG_NAMESPACE) AS NAMESPACES_MODIFIED,
+  (SELECT COUNT(*) FROM PG_CATALOG.PG_CLASS) AS CLASSES,
+  (SELECT MAX(XMIN::TEXT::BIGINT) FROM PG_CATALOG.PG_CLASS) AS CLASSES_MODIFIED,
+  (SELECT COUNT(*) FROM PG_CATALOG.PG_ATTRIBUTE) AS ATTRIBUTES,
+  (SELECT MAX(XMIN::TEXT::BIGINT) FROM PG_CATALOG.PG_ATTRIBUTE) AS ATTRIBUTES_MODIFIED,
+  (SELECT COUNT(*) FROM PG_CATALOG.PG_ATTRDEF) AS DEFAULTS,
+  (SELECT MAX(XMIN::TEXT::BIGINT) FROM PG_CATALOG.PG_ATTRDEF) AS DEFAULTS_MODIFIED,
+  (SELECT COUNT(*) FROM PG_CATALOG.PG_CONSTRAINT) AS CONSTRAINTS,
+  (SELECT MAX(XMIN::TEXT::BIGINT) FROM PG_CATALOG.PG_CONSTRAINT) AS CONSTRAINTS_MODIFIED,
+  (SELECT COUNT(*) FROM PG_CATALOG.PG_INDEX) AS INDEXES,
+  (SELECT MAX(XMIN::TEXT::BIGINT) FROM PG_CATALOG.PG_INDEX) AS INDEXES_MODIFIED,
+  (SELECT COUNT(*) FROM PG_CATALOG.PG_TRIGGER) AS TRIGGERS,
+  (SELECT MAX(XMIN::TEXT::BIGINT) FROM PG_CATALOG.PG_TRIGGER) AS TRIGGERS_MODIFIED,
+  (SELECT COUNT(*) FROM PG_CATALOG.PG_PROC) AS ROUTINES,
+  (SELECT MAX(XMIN::TEXT::BIGINT) FROM PG_CATALOG.PG_PROC) AS ROUTINES_MODIFIED,
+  (SELECT COUNT(*) FROM PG_CATALOG.PG_DESCRIPTION) AS DESCRIPTIONS,
+  (SELECT MAX(XMIN::TEXT::BIGINT) FROM PG_CATALOG.PG_DESCRIPTION) AS DESCRIPTIONS_MODIFIED
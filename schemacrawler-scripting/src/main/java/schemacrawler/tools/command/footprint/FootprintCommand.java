@@ -0,0 +1,66 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.command.footprint;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import schemacrawler.crawl.CatalogFootprint;
+import schemacrawler.schemacrawler.exceptions.IORuntimeException;
+import schemacrawler.tools.command.footprint.options.FootprintOptions;
+import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
+
+/** Reports an estimate of the memory used by each type of object in the catalog. */
+public final class FootprintCommand extends BaseSchemaCrawlerCommand<FootprintOptions> {
+
+  static final String COMMAND = "footprint";
+
+  public FootprintCommand() {
+    super(COMMAND);
+  }
+
+  @Override
+  public void checkAvailability() {
+    // Nothing additional to check at this point. The Command should be
+    // available after the class is loaded, and imports are resolved.
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void execute() {
+    checkCatalog();
+
+    final CatalogFootprint footprint = new CatalogFootprint(catalog);
+    try (final Writer out = outputOptions.openNewOutputWriter()) {
+      out.write(footprint.toString());
+    } catch (final IOException e) {
+      throw new IORuntimeException("Could not write catalog footprint", e);
+    }
+  }
+}
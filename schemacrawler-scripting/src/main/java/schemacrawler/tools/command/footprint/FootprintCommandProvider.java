@@ -0,0 +1,69 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.command.footprint;
+
+import static schemacrawler.tools.executable.commandline.PluginCommand.newPluginCommand;
+
+import schemacrawler.tools.command.footprint.options.FootprintOptions;
+import schemacrawler.tools.executable.BaseCommandProvider;
+import schemacrawler.tools.executable.CommandDescription;
+import schemacrawler.tools.executable.commandline.PluginCommand;
+import schemacrawler.tools.options.Config;
+import schemacrawler.tools.options.OutputOptions;
+
+public class FootprintCommandProvider extends BaseCommandProvider {
+
+  private static final String DESCRIPTION_HEADER =
+      "Show an estimate of the memory used by the catalog";
+
+  public FootprintCommandProvider() {
+    super(new CommandDescription(FootprintCommand.COMMAND, DESCRIPTION_HEADER));
+  }
+
+  @Override
+  public PluginCommand getCommandLineCommand() {
+    return newPluginCommand(
+        FootprintCommand.COMMAND,
+        "** " + DESCRIPTION_HEADER,
+        () -> new String[] {"Memory used is shown for each type of object, in bytes"},
+        () -> new String[] {"Use --info-level=maximum to see the footprint of a full crawl"});
+  }
+
+  @Override
+  public FootprintCommand newSchemaCrawlerCommand(final String command, final Config config) {
+    final FootprintCommand scCommand = new FootprintCommand();
+    scCommand.setCommandOptions(new FootprintOptions());
+    return scCommand;
+  }
+
+  @Override
+  public boolean supportsOutputFormat(final String command, final OutputOptions outputOptions) {
+    return supportsOutputFormat(command, outputOptions, "text"::equalsIgnoreCase);
+  }
+}
@@ -34,7 +34,6 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.file.Path;
-import java.util.zip.GZIPOutputStream;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.exceptions.IORuntimeException;
@@ -44,6 +43,7 @@ import schemacrawler.tools.command.serialize.options.SerializationOptions;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
 import schemacrawler.tools.formatter.serialize.CatalogSerializer;
 import schemacrawler.tools.options.OutputOptionsBuilder;
+import us.fatehi.utility.compress.ParallelGzipOutputStream;
 
 /** Main executor for the serialization integration. */
 public final class SerializationCommand extends BaseSchemaCrawlerCommand<SerializationOptions> {
@@ -87,7 +87,7 @@ public final class SerializationCommand extends BaseSchemaCrawlerCommand<Seriali
       outputOptions =
           OutputOptionsBuilder.builder(outputOptions).withOutputFile(outputFile).toOptions();
 
-      try (final OutputStream out = new GZIPOutputStream(newOutputStream(outputFile))) {
+      try (final OutputStream out = newBinaryOutputStream(outputFile, serializationFormat)) {
         catalogSerializer.save(out);
       } catch (final IOException e) {
         throw new IORuntimeException("Could not save catalog", e);
@@ -98,4 +98,14 @@ public final class SerializationCommand extends BaseSchemaCrawlerCommand<Seriali
       // NOTE: Jackson closes the output writer, so no need for a try-with-resources block
     }
   }
+
+  private OutputStream newBinaryOutputStream(
+      final Path outputFile, final SerializationFormat serializationFormat) throws IOException {
+    final OutputStream out = newOutputStream(outputFile);
+    if (serializationFormat.isCompressed()) {
+      // Blocks are compressed on all available processors, and the output is still a gzip file
+      return new ParallelGzipOutputStream(out);
+    }
+    return out;
+  }
 }
@@ -58,7 +58,7 @@ public class SerializationCommandProvider extends BaseCommandProvider {
                 },
             () ->
                 new String[] {
-                  "Deserialization is possible with the \"offline\" command for Java serialization"
+                  "Deserialization is possible with the \"offline\" command for binary formats"
                 });
 
     return pluginCommand;
@@ -37,14 +37,30 @@ import schemacrawler.tools.options.OutputFormatState;
 import us.fatehi.utility.string.StringFormat;
 
 public enum SerializationFormat implements OutputFormat {
-  ser("Java serialization", "schemacrawler.tools.formatter.serialize.JavaSerializedCatalog", true),
+  ser(
+      "Java serialization",
+      "schemacrawler.tools.formatter.serialize.JavaSerializedCatalog",
+      true,
+      true),
+  snapshot(
+      "Compact binary catalog snapshot",
+      "schemacrawler.tools.formatter.serialize.BinarySerializedCatalog",
+      true,
+      false),
   json(
       "JavaScript Object Notation (JSON) serialization format",
       "schemacrawler.tools.formatter.serialize.JsonSerializedCatalog",
+      false,
       false),
   yaml(
       "YAML Ain't Markup Language (YAML) serialization format",
       "schemacrawler.tools.formatter.serialize.YamlSerializedCatalog",
+      false,
+      false),
+  ndjson(
+      "Newline delimited JSON (NDJSON), with one line for each database object",
+      "schemacrawler.tools.formatter.serialize.NdJsonSerializedCatalog",
+      false,
       false);
 
   private static final Logger LOGGER = Logger.getLogger(SerializationFormat.class.getName());
@@ -89,12 +105,17 @@ public enum SerializationFormat implements OutputFormat {
   private final OutputFormatState outputFormatState;
   private final String serializerClassName;
   private final boolean isBinaryFormat;
+  private final boolean isCompressed;
 
   SerializationFormat(
-      final String description, final String serializerClassName, final boolean isBinaryFormat) {
+      final String description,
+      final String serializerClassName,
+      final boolean isBinaryFormat,
+      final boolean isCompressed) {
     outputFormatState = new OutputFormatState(name(), description);
     this.serializerClassName = serializerClassName;
     this.isBinaryFormat = isBinaryFormat;
+    this.isCompressed = isCompressed;
   }
 
   @Override
@@ -125,6 +146,16 @@ public enum SerializationFormat implements OutputFormat {
     return isBinaryFormat;
   }
 
+  /**
+   * Binary formats are compressed, except for catalog snapshots, which are written uncompressed so
+   * that they can be memory-mapped when they are loaded.
+   *
+   * @return True if the serialized catalog is compressed
+   */
+  public boolean isCompressed() {
+    return isCompressed;
+  }
+
   @Override
   public String toString() {
     return outputFormatState.toString();
@@ -167,6 +167,7 @@ public abstract class BaseJacksonSerializedCatalog implements CatalogSerializer
   private ObjectMapper newConfiguredObjectMapper() {
 
     @JsonIgnoreProperties({
+      "crawl-metrics",
       "parent",
       "referenced-column",
       "exported-foreign-keys",
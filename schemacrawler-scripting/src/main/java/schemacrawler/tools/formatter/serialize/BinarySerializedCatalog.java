@@ -0,0 +1,136 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.formatter.serialize;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.function.Predicate;
+
+import schemacrawler.crawl.CatalogSnapshot;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
+import schemacrawler.schemacrawler.exceptions.IORuntimeException;
+
+/**
+ * Decorates a database to allow for serialization to and from a compact binary catalog snapshot.
+ * Attribute values of types that are not natively supported by the snapshot format are written
+ * using Java serialization.
+ */
+public final class BinarySerializedCatalog implements CatalogSerializer {
+
+  private static Object deserializeValue(final byte[] bytes) {
+    try (final CatalogModelInputStream objIn =
+        new CatalogModelInputStream(new ByteArrayInputStream(bytes))) {
+      return objIn.readObject();
+    } catch (ClassNotFoundException | IOException e) {
+      throw new ExecutionRuntimeException("Cannot deserialize attribute value", e);
+    }
+  }
+
+  private static Catalog readCatalog(final InputStream in) {
+    requireNonNull(in, "No input stream provided");
+    try {
+      return CatalogSnapshot.readCatalog(in, BinarySerializedCatalog::deserializeValue);
+    } catch (final IOException e) {
+      throw new ExecutionRuntimeException("Cannot deserialize catalog", e);
+    }
+  }
+
+  private static Catalog readCatalog(final ByteBuffer buffer, final Predicate<Table> tableFilter) {
+    requireNonNull(buffer, "No buffer provided");
+    try {
+      return CatalogSnapshot.readCatalog(
+          buffer, BinarySerializedCatalog::deserializeValue, tableFilter);
+    } catch (final IOException e) {
+      throw new ExecutionRuntimeException("Cannot deserialize catalog", e);
+    }
+  }
+
+  private static byte[] serializeValue(final Object value) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream objOut = new ObjectOutputStream(bytes)) {
+      objOut.writeObject(value);
+    } catch (final IOException e) {
+      throw new IORuntimeException("Could not serialize attribute value", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private final Catalog catalog;
+
+  public BinarySerializedCatalog(final Catalog catalog) {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+  }
+
+  /**
+   * Reads a catalog snapshot from a buffer, such as a memory-mapped file, with only the tables that
+   * are selected by the table filter.
+   *
+   * @param buffer Buffer with the catalog snapshot
+   * @param tableFilter Filter for tables to read
+   */
+  public BinarySerializedCatalog(final ByteBuffer buffer, final Predicate<Table> tableFilter) {
+    this(readCatalog(buffer, tableFilter));
+  }
+
+  public BinarySerializedCatalog(final InputStream in) {
+    this(readCatalog(in));
+  }
+
+  @Override
+  public Catalog getCatalog() {
+    return catalog;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void save(final OutputStream out) {
+    requireNonNull(out, "No output stream provided");
+    try (final OutputStream snapshotOut = out) {
+      CatalogSnapshot.writeCatalog(catalog, snapshotOut, BinarySerializedCatalog::serializeValue);
+    } catch (final IOException e) {
+      throw new IORuntimeException("Could not serialize catalog", e);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void save(final Writer out) {
+    throw new UnsupportedOperationException("Cannot serialize binary format using character data");
+  }
+}
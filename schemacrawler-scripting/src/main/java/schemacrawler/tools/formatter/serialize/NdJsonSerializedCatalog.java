@@ -0,0 +1,420 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.formatter.serialize;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import schemacrawler.ProductVersion;
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.PrimaryKey;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableReference;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schema.WeakAssociation;
+import schemacrawler.schemacrawler.exceptions.IORuntimeException;
+
+/**
+ * Decorates a database to allow for serialization to newline delimited JSON, with one line for the
+ * catalog, and one line for each table, routine, sequence and synonym. Each line is a
+ * self-contained JSON object, with an "object-type" property. Related objects, such as the primary
+ * key columns that a foreign key refers to, are written by full name, so lines can be processed
+ * independently of each other.
+ *
+ * <p>The catalog is written in a single pass, directly to the output, so no document is built in
+ * memory, no matter how large the catalog is.
+ */
+public final class NdJsonSerializedCatalog implements CatalogSerializer {
+
+  private static final JsonFactory JSON_FACTORY = newJsonFactory();
+
+  private static JsonFactory newJsonFactory() {
+    final JsonFactory jsonFactory = new JsonFactory();
+    jsonFactory.setRootValueSeparator("\n");
+    return jsonFactory;
+  }
+
+  private final Catalog catalog;
+
+  public NdJsonSerializedCatalog(final Catalog catalog) {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+  }
+
+  @Override
+  public Catalog getCatalog() {
+    return catalog;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void save(final OutputStream out) {
+    requireNonNull(out, "No output stream provided");
+    save(new OutputStreamWriter(out, UTF_8));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void save(final Writer out) {
+    requireNonNull(out, "No writer provided");
+    try (final JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+      writeCatalog(generator);
+      for (final Table table : catalog.getTables()) {
+        writeTable(generator, table);
+      }
+      for (final Routine routine : catalog.getRoutines()) {
+        writeRoutine(generator, routine);
+      }
+      for (final Sequence sequence : catalog.getSequences()) {
+        writeSequence(generator, sequence);
+      }
+      for (final Synonym synonym : catalog.getSynonyms()) {
+        writeSynonym(generator, synonym);
+      }
+      generator.writeRaw('\n');
+    } catch (final IOException e) {
+      throw new IORuntimeException("Could not serialize catalog", e);
+    }
+  }
+
+  private void writeAttributes(final JsonGenerator generator, final AttributedObject object)
+      throws IOException {
+    final Map<String, Object> attributes = object.getAttributes();
+    if (attributes.isEmpty()) {
+      return;
+    }
+    generator.writeFieldName("attributes");
+    writeValue(generator, new TreeMap<>(attributes));
+  }
+
+  private void writeCatalog(final JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("object-type", "catalog");
+    generator.writeStringField("name", catalog.getName());
+
+    final CrawlInfo crawlInfo = catalog.getCrawlInfo();
+    generator.writeObjectFieldStart("crawl-info");
+    generator.writeStringField("run-id", crawlInfo.getRunId());
+    generator.writeStringField("crawl-timestamp", crawlInfo.getCrawlTimestamp());
+    writeProductVersion(generator, "schemacrawler-version", crawlInfo.getSchemaCrawlerVersion());
+    writeProductVersion(generator, "database-version", crawlInfo.getDatabaseVersion());
+    writeProductVersion(generator, "jdbc-driver-version", crawlInfo.getJdbcDriverVersion());
+    generator.writeEndObject();
+
+    generator.writeObjectFieldStart("database-info");
+    generator.writeStringField("product-name", catalog.getDatabaseInfo().getProductName());
+    generator.writeStringField("product-version", catalog.getDatabaseInfo().getProductVersion());
+    generator.writeStringField("user-name", catalog.getDatabaseInfo().getUserName());
+    generator.writeEndObject();
+
+    generator.writeObjectFieldStart("jdbc-driver-info");
+    generator.writeStringField("product-name", catalog.getJdbcDriverInfo().getProductName());
+    generator.writeStringField(
+        "product-version", catalog.getJdbcDriverInfo().getProductVersion());
+    generator.writeStringField(
+        "driver-class-name", catalog.getJdbcDriverInfo().getDriverClassName());
+    generator.writeStringField("connection-url", catalog.getJdbcDriverInfo().getConnectionUrl());
+    generator.writeEndObject();
+
+    generator.writeArrayFieldStart("schemas");
+    for (final Schema schema : catalog.getSchemas()) {
+      generator.writeString(schema.getFullName());
+    }
+    generator.writeEndArray();
+
+    writeAttributes(generator, catalog);
+    generator.writeEndObject();
+  }
+
+  private void writeColumn(final JsonGenerator generator, final Column column)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("name", column.getName());
+    generator.writeNumberField("ordinal-position", column.getOrdinalPosition());
+    generator.writeStringField("column-data-type", column.getColumnDataType().getName());
+    generator.writeNumberField("size", column.getSize());
+    generator.writeNumberField("decimal-digits", column.getDecimalDigits());
+    generator.writeBooleanField("nullable", column.isNullable());
+    writeOptionalStringField(generator, "default-value", column.getDefaultValue());
+    generator.writeBooleanField("auto-incremented", column.isAutoIncremented());
+    generator.writeBooleanField("generated", column.isGenerated());
+    generator.writeBooleanField("hidden", column.isHidden());
+    generator.writeBooleanField("part-of-primary-key", column.isPartOfPrimaryKey());
+    generator.writeBooleanField("part-of-foreign-key", column.isPartOfForeignKey());
+    final Column referencedColumn = column.getReferencedColumn();
+    if (referencedColumn != null) {
+      generator.writeStringField("referenced-column", referencedColumn.getFullName());
+    }
+    writeOptionalStringField(generator, "remarks", column.getRemarks());
+    writeAttributes(generator, column);
+    generator.writeEndObject();
+  }
+
+  private void writeDatabaseObject(
+      final JsonGenerator generator, final String objectType, final DatabaseObject object)
+      throws IOException {
+    generator.writeStringField("object-type", objectType);
+    generator.writeStringField("schema", object.getSchema().getFullName());
+    generator.writeStringField("name", object.getName());
+    generator.writeStringField("full-name", object.getFullName());
+    writeOptionalStringField(generator, "remarks", object.getRemarks());
+  }
+
+  private void writeIndex(final JsonGenerator generator, final Index index) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("name", index.getName());
+    generator.writeBooleanField("unique", index.isUnique());
+    writeOptionalStringField(generator, "index-type", index.getIndexType());
+    generator.writeArrayFieldStart("columns");
+    for (final IndexColumn column : index.getColumns()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", column.getName());
+      writeOptionalStringField(generator, "sort-sequence", column.getSortSequence());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    writeAttributes(generator, index);
+    generator.writeEndObject();
+  }
+
+  private void writeNames(
+      final JsonGenerator generator,
+      final String fieldName,
+      final Collection<? extends NamedObject> namedObjects)
+      throws IOException {
+    generator.writeArrayFieldStart(fieldName);
+    for (final NamedObject namedObject : namedObjects) {
+      generator.writeString(namedObject.getName());
+    }
+    generator.writeEndArray();
+  }
+
+  private void writeOptionalStringField(
+      final JsonGenerator generator, final String fieldName, final Object value)
+      throws IOException {
+    if (value == null) {
+      return;
+    }
+    final String stringValue = value.toString();
+    if (!stringValue.isEmpty()) {
+      generator.writeStringField(fieldName, stringValue);
+    }
+  }
+
+  private void writeProductVersion(
+      final JsonGenerator generator, final String fieldName, final ProductVersion productVersion)
+      throws IOException {
+    generator.writeObjectFieldStart(fieldName);
+    generator.writeStringField("product-name", productVersion.getProductName());
+    generator.writeStringField("product-version", productVersion.getProductVersion());
+    generator.writeEndObject();
+  }
+
+  private void writeRoutine(final JsonGenerator generator, final Routine routine)
+      throws IOException {
+    generator.writeStartObject();
+    writeDatabaseObject(generator, "routine", routine);
+    generator.writeStringField("specific-name", routine.getSpecificName());
+    writeOptionalStringField(generator, "routine-type", routine.getRoutineType());
+    writeOptionalStringField(generator, "return-type", routine.getReturnType());
+    generator.writeArrayFieldStart("parameters");
+    for (final RoutineParameter<? extends Routine> parameter : routine.getParameters()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", parameter.getName());
+      generator.writeNumberField("ordinal-position", parameter.getOrdinalPosition());
+      writeOptionalStringField(generator, "parameter-mode", parameter.getParameterMode());
+      generator.writeStringField("column-data-type", parameter.getColumnDataType().getName());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    writeOptionalStringField(generator, "definition", routine.getDefinition());
+    writeAttributes(generator, routine);
+    generator.writeEndObject();
+  }
+
+  private void writeSequence(final JsonGenerator generator, final Sequence sequence)
+      throws IOException {
+    generator.writeStartObject();
+    writeDatabaseObject(generator, "sequence", sequence);
+    generator.writeNumberField("increment", sequence.getIncrement());
+    writeOptionalStringField(generator, "minimum-value", sequence.getMinimumValue());
+    writeOptionalStringField(generator, "maximum-value", sequence.getMaximumValue());
+    generator.writeBooleanField("cycle", sequence.isCycle());
+    writeAttributes(generator, sequence);
+    generator.writeEndObject();
+  }
+
+  private void writeSynonym(final JsonGenerator generator, final Synonym synonym)
+      throws IOException {
+    generator.writeStartObject();
+    writeDatabaseObject(generator, "synonym", synonym);
+    generator.writeStringField("referenced-object", synonym.getReferencedObject().getFullName());
+    writeAttributes(generator, synonym);
+    generator.writeEndObject();
+  }
+
+  private void writeTable(final JsonGenerator generator, final Table table) throws IOException {
+    generator.writeStartObject();
+    writeDatabaseObject(generator, "table", table);
+    generator.writeStringField("table-type", table.getTableType().toString());
+
+    generator.writeArrayFieldStart("columns");
+    for (final Column column : table.getColumns()) {
+      writeColumn(generator, column);
+    }
+    generator.writeEndArray();
+
+    final PrimaryKey primaryKey = table.getPrimaryKey();
+    if (primaryKey != null) {
+      generator.writeObjectFieldStart("primary-key");
+      generator.writeStringField("name", primaryKey.getName());
+      writeNames(generator, "columns", primaryKey.getConstrainedColumns());
+      generator.writeEndObject();
+    }
+
+    // Only imported foreign keys are written, so that each foreign key is written once
+    generator.writeArrayFieldStart("foreign-keys");
+    for (final ForeignKey foreignKey : table.getImportedForeignKeys()) {
+      writeTableReference(generator, foreignKey);
+    }
+    generator.writeEndArray();
+    generator.writeArrayFieldStart("weak-associations");
+    for (final WeakAssociation weakAssociation : table.getWeakAssociations()) {
+      if (weakAssociation.getForeignKeyTable().equals(table)) {
+        writeTableReference(generator, weakAssociation);
+      }
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("indexes");
+    for (final Index index : table.getIndexes()) {
+      writeIndex(generator, index);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("triggers");
+    for (final Trigger trigger : table.getTriggers()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", trigger.getName());
+      writeOptionalStringField(
+          generator, "event-manipulation-type", trigger.getEventManipulationType());
+      writeOptionalStringField(generator, "condition-timing", trigger.getConditionTiming());
+      writeOptionalStringField(generator, "action-statement", trigger.getActionStatement());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    writeOptionalStringField(generator, "definition", table.getDefinition());
+    writeAttributes(generator, table);
+    generator.writeEndObject();
+  }
+
+  private void writeTableReference(
+      final JsonGenerator generator, final TableReference tableReference) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("name", tableReference.getName());
+    generator.writeArrayFieldStart("column-references");
+    for (final ColumnReference columnReference : tableReference.getColumnReferences()) {
+      generator.writeStartObject();
+      generator.writeNumberField("key-sequence", columnReference.getKeySequence());
+      generator.writeStringField(
+          "foreign-key-column", columnReference.getForeignKeyColumn().getFullName());
+      generator.writeStringField(
+          "primary-key-column", columnReference.getPrimaryKeyColumn().getFullName());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    if (tableReference instanceof ForeignKey) {
+      final ForeignKey foreignKey = (ForeignKey) tableReference;
+      writeOptionalStringField(generator, "delete-rule", foreignKey.getDeleteRule());
+      writeOptionalStringField(generator, "update-rule", foreignKey.getUpdateRule());
+    }
+    generator.writeEndObject();
+  }
+
+  private void writeValue(final JsonGenerator generator, final Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Long) {
+      generator.writeNumber(((Number) value).longValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      generator.writeNumber(((Number) value).doubleValue());
+    } else if (value instanceof BigInteger) {
+      generator.writeNumber((BigInteger) value);
+    } else if (value instanceof BigDecimal) {
+      generator.writeNumber((BigDecimal) value);
+    } else if (value instanceof Collection) {
+      generator.writeStartArray();
+      for (final Object element : (Collection<?>) value) {
+        writeValue(generator, element);
+      }
+      generator.writeEndArray();
+    } else if (value instanceof Map) {
+      generator.writeStartObject();
+      for (final Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        generator.writeFieldName(String.valueOf(entry.getKey()));
+        writeValue(generator, entry.getValue());
+      }
+      generator.writeEndObject();
+    } else {
+      generator.writeString(value.toString());
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.test.footprint;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static schemacrawler.test.utility.ExecutableTestUtility.executableExecution;
+import static schemacrawler.test.utility.ExecutableTestUtility.executableOf;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.test.utility.AssertNoSystemErrOutput;
+import schemacrawler.test.utility.AssertNoSystemOutOutput;
+import schemacrawler.test.utility.WithTestDatabase;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+
+@AssertNoSystemErrOutput
+@AssertNoSystemOutOutput
+@WithTestDatabase
+public class ExecutableFootprintCommandTest {
+
+  @Test
+  public void executableFootprint(final DatabaseConnectionSource dataSource) throws Exception {
+    final SchemaCrawlerExecutable executable = executableOf("footprint");
+
+    final Path testOutputFile = executableExecution(dataSource, executable, "text");
+
+    // Sizes depend on the JVM, so only the shape of the report is checked
+    final String footprint = new String(Files.readAllBytes(testOutputFile), StandardCharsets.UTF_8);
+    assertThat(footprint, containsString("tables"));
+    assertThat(footprint, containsString("columns"));
+    assertThat(footprint, containsString("total"));
+  }
+}
@@ -34,6 +34,7 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.oneOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.fail;
 import static schemacrawler.test.utility.DatabaseTestUtility.schemaRetrievalOptionsDefault;
 import static schemacrawler.test.utility.FileHasContent.classpathResource;
@@ -49,6 +50,7 @@ import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -59,6 +61,7 @@ import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Schema;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.test.utility.DatabaseTestUtility;
 import schemacrawler.test.utility.ResolveTestContext;
@@ -66,6 +69,7 @@ import schemacrawler.test.utility.TestContext;
 import schemacrawler.test.utility.TestWriter;
 import schemacrawler.test.utility.WithTestDatabase;
 import schemacrawler.tools.formatter.serialize.JsonSerializedCatalog;
+import schemacrawler.tools.formatter.serialize.NdJsonSerializedCatalog;
 import schemacrawler.tools.options.Config;
 import us.fatehi.utility.IOUtility;
 import us.fatehi.utility.datasource.DatabaseConnectionSource;
@@ -141,4 +145,41 @@ public class CatalogJsonSerializationTest {
     assertThat(
         outputOf(testout), hasSameContentAs(classpathResource(testContext.testMethodFullName())));
   }
+
+  @Test
+  public void catalogSerializationWithNdJson(final DatabaseConnectionSource dataSource)
+      throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog =
+        getCatalog(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions, new Config());
+
+    final Path testOutputFile = IOUtility.createTempFilePath("sc_serialized_catalog", "ndjson");
+    try (final OutputStream out = new FileOutputStream(testOutputFile.toFile())) {
+      new NdJsonSerializedCatalog(catalog).save(out);
+    }
+
+    // Every line is a complete JSON object
+    final ObjectMapper mapper = new ObjectMapper();
+    final List<String> lines = Files.readAllLines(testOutputFile, UTF_8);
+    final JsonNode catalogNode = mapper.readTree(lines.get(0));
+    assertThat(catalogNode.get("object-type").asText(), is("catalog"));
+    assertThat(catalogNode.get("schemas").size(), is(catalog.getSchemas().size()));
+
+    int tableCount = 0;
+    for (final String line : lines.subList(1, lines.size())) {
+      final JsonNode node = mapper.readTree(line);
+      if (node.get("object-type").asText().equals("table")) {
+        final Schema schema = catalog.lookupSchema(node.get("schema").asText()).get();
+        final String tableName = node.get("name").asText();
+        assertThat(
+            "Table was not serialized",
+            catalog.lookupTable(schema, tableName).isPresent(),
+            is(true));
+        tableCount++;
+      }
+    }
+    assertThat(tableCount, is(catalog.getTables().size()));
+  }
 }
@@ -88,6 +88,18 @@ public class CommandLineSerializeCommandTest {
         commandlineSerialize(connectionInfo, SerializationFormat.json), is(oneOf("7B0D", "7B0A")));
   }
 
+  @Test
+  public void commandLineNdJson(final DatabaseConnectionInfo connectionInfo) throws Exception {
+    assertThatOutputIsCorrect(
+        commandlineSerialize(connectionInfo, SerializationFormat.ndjson), is("7B22"));
+  }
+
+  @Test
+  public void commandLineSnapshot(final DatabaseConnectionInfo connectionInfo) throws Exception {
+    assertThatOutputIsCorrect(
+        commandlineSerialize(connectionInfo, SerializationFormat.snapshot), is("5343"));
+  }
+
   @Test
   public void commandLineYaml(final DatabaseConnectionInfo connectionInfo) throws Exception {
     assertThatOutputIsCorrect(
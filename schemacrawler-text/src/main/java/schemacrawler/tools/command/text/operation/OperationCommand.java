@@ -30,7 +30,7 @@ package schemacrawler.tools.command.text.operation;
 
 import static schemacrawler.schemacrawler.IdentifierQuotingStrategy.quote_all;
 import static schemacrawler.schemacrawler.QueryUtility.executeAgainstTable;
-import static us.fatehi.utility.database.DatabaseUtility.createStatement;
+import static us.fatehi.utility.database.DatabaseUtility.createStreamingStatement;
 import static us.fatehi.utility.database.DatabaseUtility.executeSql;
 
 import java.sql.ResultSet;
@@ -59,6 +59,9 @@ import us.fatehi.utility.string.StringFormat;
 public final class OperationCommand extends BaseSchemaCrawlerCommand<OperationOptions> {
   private static final Logger LOGGER = Logger.getLogger(OperationCommand.class.getName());
 
+  /** Table data is streamed, so fetch many rows at a time to save round-trips. */
+  private static final int FETCHSIZE = 1_000;
+
   public OperationCommand(final String command) {
     super(command);
   }
@@ -104,7 +107,7 @@ public final class OperationCommand extends BaseSchemaCrawlerCommand<OperationOp
               .withIdentifierQuotingStrategy(quote_all)
               .toOptions();
 
-      try (final Statement statement = createStatement(connection)) {
+      try (final Statement statement = createStreamingStatement(connection, FETCHSIZE)) {
         for (final Table table : getSortedTables(catalog)) {
           final boolean isAlphabeticalSortForTableColumns =
               commandOptions.isAlphabeticalSortForTableColumns();
@@ -121,7 +124,7 @@ public final class OperationCommand extends BaseSchemaCrawlerCommand<OperationOp
       }
     } else {
       final String sql = query.getQuery();
-      try (final Statement statement = createStatement(connection);
+      try (final Statement statement = createStreamingStatement(connection, FETCHSIZE);
           final ResultSet results = executeSql(statement, sql)) {
         handler.handleData(query, results);
       } catch (final SQLException e) {
@@ -0,0 +1,399 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.command.text.schema;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
+import schemacrawler.schemacrawler.exceptions.IORuntimeException;
+import schemacrawler.schemacrawler.exceptions.InternalRuntimeException;
+import schemacrawler.tools.text.formatter.schema.SchemaTextFormatter;
+import schemacrawler.tools.traversal.SchemaTraversalHandler;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Schema text output that is split into pages of tables, in a directory next to the index. Tables
+ * are grouped by schema, and schemas with more tables than will fit on a page are split into
+ * several pages. Pages are formatted concurrently, and a fingerprint of each page is kept, so that
+ * pages that have not changed since they were last written are not written again.
+ */
+final class SchemaTextPages {
+
+  private static final Logger LOGGER = Logger.getLogger(SchemaTextPages.class.getName());
+
+  private static final String FINGERPRINTS_FILE = "fingerprints.sha256";
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+  private static final class Page {
+
+    private final String fileName;
+    private final List<Table> tables;
+
+    Page(final String fileName) {
+      this.fileName = fileName;
+      tables = new ArrayList<>();
+    }
+  }
+
+  private static String fingerprint(final byte[] bytes) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      final StringBuilder fingerprint = new StringBuilder();
+      for (final byte b : digest.digest(bytes)) {
+        fingerprint.append(String.format("%02x", b));
+      }
+      return fingerprint.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw new InternalRuntimeException("Cannot create page fingerprint", e);
+    }
+  }
+
+  private static String pageFilePrefix(final Schema schema) {
+    final String slug = schema.key().slug();
+    if (slug.isEmpty()) {
+      return "tables";
+    }
+    return slug.replaceAll("[^A-Za-z0-9_-]", "_");
+  }
+
+  /**
+   * Makes a page file prefix unique, by adding a count to a prefix that is already used. Prefixes
+   * are compared without case, since file systems may not be case-sensitive.
+   */
+  private static String uniquePageFilePrefix(
+      final String pageFilePrefix, final Set<String> usedPageFilePrefixes) {
+    String uniquePageFilePrefix = pageFilePrefix;
+    int count = 1;
+    while (!usedPageFilePrefixes.add(uniquePageFilePrefix.toLowerCase(Locale.ENGLISH))) {
+      count++;
+      uniquePageFilePrefix = String.format("%s-%d", pageFilePrefix, count);
+    }
+    return uniquePageFilePrefix;
+  }
+
+  private final Path pagesDirectory;
+  private final String pagesDirectoryName;
+  private final Charset charset;
+  private final List<Page> pages;
+  private final Map<Table, Page> tablePages;
+
+  /**
+   * Splits tables into pages.
+   *
+   * @param indexFile Index file, which pages are written next to
+   * @param tables Tables, in the order that they are formatted
+   * @param tablesPerPage Maximum number of tables on a page
+   * @param charset Character encoding for pages
+   */
+  SchemaTextPages(
+      final Path indexFile,
+      final List<? extends Table> tables,
+      final int tablesPerPage,
+      final Charset charset) {
+    requireNonNull(indexFile, "No index file provided");
+    requireNonNull(tables, "No tables provided");
+    if (tablesPerPage <= 0) {
+      throw new IllegalArgumentException("Tables per page must be positive");
+    }
+    this.charset = requireNonNull(charset, "No character encoding provided");
+
+    final String indexFileName = indexFile.getFileName().toString();
+    final int extensionIndex = indexFileName.lastIndexOf('.');
+    final String baseName;
+    final String extension;
+    if (extensionIndex > 0) {
+      baseName = indexFileName.substring(0, extensionIndex);
+      extension = indexFileName.substring(extensionIndex);
+    } else {
+      baseName = indexFileName;
+      extension = "";
+    }
+    pagesDirectoryName = baseName + "_pages";
+    pagesDirectory = indexFile.toAbsolutePath().resolveSibling(pagesDirectoryName);
+
+    // Group tables by schema, keeping the order of the tables within each schema
+    final Map<Schema, List<Table>> schemaTables = new LinkedHashMap<>();
+    for (final Table table : tables) {
+      schemaTables.computeIfAbsent(table.getSchema(), schema -> new ArrayList<>()).add(table);
+    }
+
+    pages = new ArrayList<>();
+    tablePages = new HashMap<>();
+    final Set<String> usedPageFilePrefixes = new HashSet<>();
+    for (final Map.Entry<Schema, List<Table>> entry : schemaTables.entrySet()) {
+      final String pageFilePrefix =
+          uniquePageFilePrefix(pageFilePrefix(entry.getKey()), usedPageFilePrefixes);
+      // Pages are numbered within each schema, so that pages for other schemas keep their names
+      // when tables are added to a schema
+      int pageNumber = 0;
+      Page page = null;
+      for (final Table table : entry.getValue()) {
+        if (page == null || page.tables.size() >= tablesPerPage) {
+          pageNumber++;
+          page = new Page(String.format("%s_%d%s", pageFilePrefix, pageNumber, extension));
+          pages.add(page);
+        }
+        page.tables.add(table);
+        tablePages.put(table, page);
+      }
+    }
+  }
+
+  /**
+   * Link from the index to the page that a table is formatted on.
+   *
+   * @param table Table
+   * @return Page file, relative to the index, or null if the table is not on any page
+   */
+  String indexLink(final Table table) {
+    final Page page = tablePages.get(table);
+    if (page == null) {
+      return null;
+    }
+    return pagesDirectoryName + "/" + page.fileName;
+  }
+
+  /**
+   * Link from one page to the page that a table is formatted on.
+   *
+   * @param table Table
+   * @return Page file, relative to other pages, or null if the table is not on any page
+   */
+  String pageLink(final Table table) {
+    final Page page = tablePages.get(table);
+    if (page == null) {
+      return null;
+    }
+    return page.fileName;
+  }
+
+  /**
+   * Formats all pages concurrently, and writes pages that have changed since they were last
+   * written. Pages that are no longer needed are deleted.
+   *
+   * @param formatter Formatter for the index, which creates formatters for pages
+   */
+  void write(final SchemaTextFormatter formatter) {
+    requireNonNull(formatter, "No formatter provided");
+    try {
+      Files.createDirectories(pagesDirectory);
+    } catch (final IOException e) {
+      throw new IORuntimeException(
+          String.format("Could not create directory <%s>", pagesDirectory), e);
+    }
+
+    final Map<String, String> previousFingerprints = readFingerprints();
+
+    final List<Future<String>> pendingPages = new ArrayList<>();
+    final Map<String, String> fingerprints = new LinkedHashMap<>();
+    try {
+      for (final Page page : pages) {
+        final String previousFingerprint = previousFingerprints.get(page.fileName);
+        pendingPages.add(
+            ForkJoinPool.commonPool()
+                .submit(() -> writePage(formatter, page, previousFingerprint)));
+      }
+      for (int i = 0; i < pages.size(); i++) {
+        fingerprints.put(pages.get(i).fileName, getFingerprint(pendingPages.get(i)));
+      }
+    } finally {
+      for (final Future<String> pendingPage : pendingPages) {
+        pendingPage.cancel(true);
+      }
+    }
+
+    for (final String previousPage : previousFingerprints.keySet()) {
+      if (!fingerprints.containsKey(previousPage)) {
+        resolvePageFile(previousPage).ifPresent(this::delete);
+      }
+    }
+
+    writeFingerprints(fingerprints);
+  }
+
+  private void delete(final Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (final IOException e) {
+      LOGGER.log(Level.WARNING, e, new StringFormat("Could not delete <%s>", file));
+    }
+  }
+
+  private String getFingerprint(final Future<String> pendingPage) {
+    try {
+      return pendingPage.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutionRuntimeException("Interrupted while writing pages", e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ExecutionRuntimeException("Could not write pages", cause);
+    }
+  }
+
+  /**
+   * Reads fingerprints of pages that were previously written. Fingerprints that cannot be read are
+   * ignored, so all pages are written again.
+   */
+  private Map<String, String> readFingerprints() {
+    final Map<String, String> fingerprints = new HashMap<>();
+    final Path fingerprintsFile = pagesDirectory.resolve(FINGERPRINTS_FILE);
+    if (!Files.isRegularFile(fingerprintsFile)) {
+      return fingerprints;
+    }
+
+    try (final BufferedReader reader = Files.newBufferedReader(fingerprintsFile, UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        // Same format as sha256sum, so that pages can be checked from the command-line
+        final String[] fields = line.split("  ", 2);
+        if (fields.length == 2) {
+          final Optional<Path> pageFile = resolvePageFile(fields[1]);
+          if (pageFile.isPresent()) {
+            fingerprints.put(pageFile.get().getFileName().toString(), fields[0]);
+          }
+        }
+      }
+    } catch (final IOException e) {
+      LOGGER.log(
+          Level.WARNING, e, new StringFormat("Could not read fingerprints <%s>", fingerprintsFile));
+      fingerprints.clear();
+    }
+    return fingerprints;
+  }
+
+  /**
+   * Resolves the name of a page in the pages directory. Names are read from the fingerprints file,
+   * which may have been edited, so names that do not resolve to a file directly in the pages
+   * directory are rejected.
+   *
+   * @param pageFileName Name of a page file
+   * @return Page file, or empty if the name does not refer to a file in the pages directory
+   */
+  private Optional<Path> resolvePageFile(final String pageFileName) {
+    final Path directory = pagesDirectory.normalize();
+    try {
+      final Path pageFile = directory.resolve(pageFileName).normalize();
+      if (directory.equals(pageFile.getParent())) {
+        return Optional.of(pageFile);
+      }
+    } catch (final InvalidPathException e) {
+      LOGGER.log(Level.FINE, e, new StringFormat("Invalid page name <%s>", pageFileName));
+    }
+    return Optional.empty();
+  }
+
+  private void writeFingerprints(final Map<String, String> fingerprints) {
+    final Path fingerprintsFile = pagesDirectory.resolve(FINGERPRINTS_FILE);
+    Path tempFile = null;
+    try {
+      tempFile = Files.createTempFile(pagesDirectory, FINGERPRINTS_FILE, TEMP_FILE_EXTENSION);
+      try (final BufferedWriter writer = Files.newBufferedWriter(tempFile, UTF_8)) {
+        for (final Map.Entry<String, String> entry : fingerprints.entrySet()) {
+          writer.write(entry.getValue() + "  " + entry.getKey());
+          writer.newLine();
+        }
+      }
+      Files.move(tempFile, fingerprintsFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (final IOException e) {
+      // Without fingerprints, all pages are written again next time
+      LOGGER.log(
+          Level.WARNING,
+          e,
+          new StringFormat("Could not write fingerprints <%s>", fingerprintsFile));
+      if (tempFile != null) {
+        delete(tempFile);
+      }
+    }
+  }
+
+  private String writePage(
+      final SchemaTextFormatter formatter, final Page page, final String previousFingerprint) {
+    final StringWriter writer = new StringWriter();
+    final SchemaTraversalHandler pageHandler =
+        formatter.newPageHandler(new PrintWriter(writer), this::pageLink);
+    pageHandler.begin();
+    pageHandler.handleTablesStart();
+    for (final Table table : page.tables) {
+      pageHandler.handle(table);
+    }
+    pageHandler.handleTablesEnd();
+    pageHandler.end();
+
+    final byte[] bytes = writer.toString().getBytes(charset);
+    final String fingerprint = fingerprint(bytes);
+    final Path pageFile = pagesDirectory.resolve(page.fileName);
+    try {
+      if (fingerprint.equals(previousFingerprint)
+          && Files.isRegularFile(pageFile)
+          && Files.size(pageFile) == bytes.length) {
+        LOGGER.log(Level.FINE, new StringFormat("Page <%s> has not changed", pageFile));
+        return fingerprint;
+      }
+      Files.write(pageFile, bytes);
+    } catch (final IOException e) {
+      throw new IORuntimeException(String.format("Could not write page <%s>", pageFile), e);
+    }
+    return fingerprint;
+  }
+}
@@ -28,6 +28,15 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.tools.command.text.schema;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Table;
 import schemacrawler.tools.command.text.schema.options.SchemaTextDetailType;
 import schemacrawler.tools.command.text.schema.options.SchemaTextOptions;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
@@ -40,6 +49,8 @@ import schemacrawler.utility.NamedObjectSort;
 /** Basic SchemaCrawler executor for text output. */
 public final class SchemaTextRenderer extends BaseSchemaCrawlerCommand<SchemaTextOptions> {
 
+  private static final Logger LOGGER = Logger.getLogger(SchemaTextRenderer.class.getName());
+
   public SchemaTextRenderer(final String command) {
     super(command);
   }
@@ -53,17 +64,46 @@ public final class SchemaTextRenderer extends BaseSchemaCrawlerCommand<SchemaTex
   public void execute() {
     checkCatalog();
 
-    final SchemaTraversalHandler formatter = getSchemaTraversalHandler();
+    final Comparator<NamedObject> tablesComparator =
+        NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForTables());
+
+    final SchemaTextPages pages;
+    final SchemaTraversalHandler formatter;
+    if (isSplitOutput()) {
+      final List<Table> tables = new ArrayList<>(catalog.getTables());
+      tables.sort(tablesComparator);
+      final Path indexFile = outputOptions.getOutputFile(outputOptions.getOutputFormatValue());
+      pages =
+          new SchemaTextPages(
+              indexFile,
+              tables,
+              commandOptions.getTablesPerPage(),
+              outputOptions.getOutputCharset());
+      formatter =
+          new SchemaTextFormatter(
+              getSchemaTextDetailType(),
+              commandOptions,
+              outputOptions,
+              identifiers,
+              pages::indexLink);
+    } else {
+      pages = null;
+      formatter = getSchemaTraversalHandler();
+    }
 
     final SchemaTraverser traverser = new SchemaTraverser();
     traverser.setCatalog(catalog);
     traverser.setHandler(formatter);
-    traverser.setTablesComparator(
-        NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForTables()));
+    traverser.setTablesComparator(tablesComparator);
     traverser.setRoutinesComparator(
         NamedObjectSort.getNamedObjectSort(commandOptions.isAlphabeticalSortForRoutines()));
+    traverser.setParallel(true);
 
     traverser.traverse();
+
+    if (pages != null) {
+      pages.write((SchemaTextFormatter) formatter);
+    }
   }
 
   @Override
@@ -81,6 +121,25 @@ public final class SchemaTextRenderer extends BaseSchemaCrawlerCommand<SchemaTex
     return schemaTextDetailType;
   }
 
+  /**
+   * Output is split into pages only for schema text output to a file, since a list of tables is
+   * already an index.
+   */
+  private boolean isSplitOutput() {
+    if (!commandOptions.isSplitOutput()) {
+      return false;
+    }
+    if (getSchemaTextDetailType() == SchemaTextDetailType.list) {
+      LOGGER.log(Level.CONFIG, "Not splitting output for a list of tables");
+      return false;
+    }
+    if (!outputOptions.hasOutputFile()) {
+      LOGGER.log(Level.WARNING, "Not splitting output, since there is no output file");
+      return false;
+    }
+    return true;
+  }
+
   private SchemaTraversalHandler getSchemaTraversalHandler() {
     final SchemaTextDetailType schemaTextDetailType = getSchemaTextDetailType();
     final SchemaTraversalHandler formatter;
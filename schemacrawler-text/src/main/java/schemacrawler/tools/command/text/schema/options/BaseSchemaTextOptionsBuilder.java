@@ -68,6 +68,9 @@ public abstract class BaseSchemaTextOptionsBuilder<
 
   private static final String HIDE_REMARKS = SCHEMACRAWLER_FORMAT_PREFIX + "hide_remarks";
 
+  private static final String SPLIT_OUTPUT_TABLES_PER_PAGE =
+      SCHEMACRAWLER_FORMAT_PREFIX + "split_output.tables_per_page";
+
   private static final String SC_SORT_ALPHABETICALLY_TABLE_INDEXES =
       SCHEMACRAWLER_FORMAT_PREFIX + "sort_alphabetically.table_indexes";
   private static final String SC_SORT_ALPHABETICALLY_TABLE_FOREIGNKEYS =
@@ -79,6 +82,7 @@ public abstract class BaseSchemaTextOptionsBuilder<
   protected boolean isShowOrdinalNumbers;
   protected boolean isShowStandardColumnTypeNames;
   protected boolean isHideTableRowCounts;
+  protected int tablesPerPage;
   protected final Map<HideDatabaseObjectsType, Boolean> hideDatabaseObjects;
   protected final Map<HideDependantDatabaseObjectsType, Boolean> hideDependantDatabaseObjects;
   protected final Map<HideDatabaseObjectNamesType, Boolean> hideNames;
@@ -102,6 +106,8 @@ public abstract class BaseSchemaTextOptionsBuilder<
 
     isHideRemarks = config.getBooleanValue(HIDE_REMARKS);
 
+    splitOutput(config.getIntegerValue(SPLIT_OUTPUT_TABLES_PER_PAGE, 0));
+
     isAlphabeticalSortForForeignKeys =
         config.getBooleanValue(SC_SORT_ALPHABETICALLY_TABLE_FOREIGNKEYS);
     isAlphabeticalSortForIndexes = config.getBooleanValue(SC_SORT_ALPHABETICALLY_TABLE_INDEXES);
@@ -140,6 +146,8 @@ public abstract class BaseSchemaTextOptionsBuilder<
 
     isHideRemarks = options.isHideRemarks();
 
+    tablesPerPage = options.getTablesPerPage();
+
     isAlphabeticalSortForForeignKeys = options.isAlphabeticalSortForForeignKeys();
     isAlphabeticalSortForIndexes = options.isAlphabeticalSortForIndexes();
 
@@ -411,6 +419,17 @@ public abstract class BaseSchemaTextOptionsBuilder<
     return (B) this;
   }
 
+  /**
+   * Splits output into an index, and pages of tables for each schema, written next to the output
+   * file. Schemas with more tables than will fit on a page are split into several pages.
+   *
+   * @param tablesPerPage Maximum number of tables on a page, or 0 to not split output
+   */
+  public final B splitOutput(final int tablesPerPage) {
+    this.tablesPerPage = Math.max(0, tablesPerPage);
+    return (B) this;
+  }
+
   public final B sortForeignKeys() {
     return sortForeignKeys(true);
   }
@@ -439,6 +458,8 @@ public abstract class BaseSchemaTextOptionsBuilder<
 
     config.put(HIDE_REMARKS, isHideRemarks);
 
+    config.put(SPLIT_OUTPUT_TABLES_PER_PAGE, tablesPerPage);
+
     config.put(SC_SORT_ALPHABETICALLY_TABLE_FOREIGNKEYS, isAlphabeticalSortForForeignKeys);
     config.put(SC_SORT_ALPHABETICALLY_TABLE_INDEXES, isAlphabeticalSortForIndexes);
 
@@ -40,6 +40,7 @@ public class SchemaTextOptions extends BaseTextOptions {
   private final boolean isShowOrdinalNumbers;
   private final boolean isShowStandardColumnTypeNames;
   private final boolean isHideTableRowCounts;
+  private final int tablesPerPage;
   private final Map<HideDatabaseObjectsType, Boolean> hideDatabaseObjects;
   private final Map<HideDependantDatabaseObjectsType, Boolean> hideDependantDatabaseObjects;
   private final Map<HideDatabaseObjectNamesType, Boolean> hideNames;
@@ -54,6 +55,7 @@ public class SchemaTextOptions extends BaseTextOptions {
     isShowOrdinalNumbers = builder.isShowOrdinalNumbers;
     isShowStandardColumnTypeNames = builder.isShowStandardColumnTypeNames;
     isHideTableRowCounts = builder.isHideTableRowCounts;
+    tablesPerPage = builder.tablesPerPage;
 
     hideDatabaseObjects = new EnumMap<>(HideDatabaseObjectsType.class);
     for (final HideDatabaseObjectsType databaseObjectsType : HideDatabaseObjectsType.values()) {
@@ -88,6 +90,15 @@ public class SchemaTextOptions extends BaseTextOptions {
     return hideDependantDatabaseObjects.getOrDefault(key, false);
   }
 
+  /**
+   * Maximum number of tables on a page, when output is split into pages.
+   *
+   * @return Maximum number of tables on a page, or 0 if output is not split
+   */
+  public int getTablesPerPage() {
+    return tablesPerPage;
+  }
+
   public boolean isAlphabeticalSortForForeignKeys() {
     return isAlphabeticalSortForForeignKeys;
   }
@@ -104,6 +115,15 @@ public class SchemaTextOptions extends BaseTextOptions {
     return isHideTableRowCounts;
   }
 
+  /**
+   * Checks whether output is split into an index, and pages of tables for each schema.
+   *
+   * @return Whether output is split into pages
+   */
+  public boolean isSplitOutput() {
+    return tablesPerPage > 0;
+  }
+
   public boolean isShowOrdinalNumbers() {
     return isShowOrdinalNumbers;
   }
@@ -69,6 +69,24 @@ public abstract class BaseFormatter<O extends BaseTextOptions> implements Traver
       final O options,
       final OutputOptions outputOptions,
       final Identifiers identifiers) {
+    this(
+        schemaTextDetailType,
+        options,
+        outputOptions,
+        identifiers,
+        requireNonNull(outputOptions, "Output options not provided").openNewOutputWriter(false));
+  }
+
+  /**
+   * Formatter that writes to the given writer, instead of opening the output, such as to format a
+   * shard of tables into a buffer.
+   */
+  protected BaseFormatter(
+      final SchemaTextDetailType schemaTextDetailType,
+      final O options,
+      final OutputOptions outputOptions,
+      final Identifiers identifiers,
+      final PrintWriter out) {
 
     this.options = requireNonNull(options, "Options not provided");
     this.schemaTextDetailType =
@@ -82,7 +100,7 @@ public abstract class BaseFormatter<O extends BaseTextOptions> implements Traver
             .withIdentifierQuotingStrategy(options.getIdentifierQuotingStrategy());
     this.identifiers = identifiersBuilder.toOptions();
 
-    out = outputOptions.openNewOutputWriter(false);
+    this.out = requireNonNull(out, "No output writer provided");
 
     final TextOutputFormat outputFormat =
         TextOutputFormat.fromFormat(outputOptions.getOutputFormatValue());
@@ -104,6 +122,15 @@ public abstract class BaseFormatter<O extends BaseTextOptions> implements Traver
     out.close();
   }
 
+  /**
+   * Writes output that was formatted separately, such as for a shard of tables.
+   *
+   * @param shardOutput Formatted output
+   */
+  public void writeShard(final String shardOutput) {
+    out.write(shardOutput);
+  }
+
   protected String columnNullable(final String columnTypeName, final boolean isNullable) {
     final String columnNullable;
     if (isNullable) {
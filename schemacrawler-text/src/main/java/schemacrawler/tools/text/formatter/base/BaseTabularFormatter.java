@@ -29,6 +29,7 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.formatter.base;
 
 import static us.fatehi.utility.Utility.isBlank;
+import java.io.PrintWriter;
 import java.util.Collection;
 import schemacrawler.schema.CrawlInfo;
 import schemacrawler.schema.DatabaseInfo;
@@ -55,6 +56,15 @@ public abstract class BaseTabularFormatter<O extends BaseTextOptions> extends Ba
     super(schemaTextDetailType, options, outputOptions, identifiers);
   }
 
+  protected BaseTabularFormatter(
+      final SchemaTextDetailType schemaTextDetailType,
+      final O options,
+      final OutputOptions outputOptions,
+      final Identifiers identifiers,
+      final PrintWriter out) {
+    super(schemaTextDetailType, options, outputOptions, identifiers, out);
+  }
+
   /** {@inheritDoc} */
   @Override
   public void begin() {
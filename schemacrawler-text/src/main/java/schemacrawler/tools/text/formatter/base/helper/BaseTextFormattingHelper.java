@@ -31,17 +31,13 @@ package schemacrawler.tools.text.formatter.base.helper;
 import static us.fatehi.utility.ObjectToString.arrayToList;
 import static us.fatehi.utility.Utility.isBlank;
 import static us.fatehi.utility.html.TagBuilder.anchor;
-import static us.fatehi.utility.html.TagBuilder.tableCell;
-import static us.fatehi.utility.html.TagBuilder.tableHeaderCell;
-import static us.fatehi.utility.html.TagBuilder.tableRow;
 import java.io.PrintWriter;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import schemacrawler.tools.command.text.schema.options.TextOutputFormat;
 import schemacrawler.utility.BinaryData;
 import us.fatehi.utility.html.Alignment;
-import us.fatehi.utility.html.Tag;
-import us.fatehi.utility.html.TagBuilder;
+import us.fatehi.utility.html.TableRowWriter;
 import us.fatehi.utility.html.TagOutputFormat;
 
 /** Methods to format entire rows of output as HTML. */
@@ -83,10 +79,21 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
   protected final PrintWriter out;
 
   private final TextOutputFormat outputFormat;
+  private final TableRowWriter rowWriter;
+  private final TableRowWriter dataRowWriter;
 
   public BaseTextFormattingHelper(final PrintWriter out, final TextOutputFormat outputFormat) {
     this.out = out;
     this.outputFormat = outputFormat;
+
+    final TagOutputFormat tagOutputFormat = TagOutputFormat.valueOf(outputFormat.name());
+    rowWriter = new TableRowWriter(out, tagOutputFormat);
+    // Data rows are written as tab-separated values in plain text output
+    if (tagOutputFormat == TagOutputFormat.text) {
+      dataRowWriter = new TableRowWriter(out, TagOutputFormat.tsv);
+    } else {
+      dataRowWriter = rowWriter;
+    }
   }
 
   @Override
@@ -114,10 +121,16 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
   /** {@inheritDoc} */
   @Override
   public void writeDescriptionRow(final String description) {
-    final Tag row = tableRow().make();
-    row.addInnerTag(tableCell().withStyleClass("spacer").make());
-    row.addInnerTag(tableCell().withEscapedText(description).withColumnSpan(2).make());
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    rowWriter
+        .beginRow()
+        .cell()
+        .withStyleClass("spacer")
+        .write()
+        .cell()
+        .withEscapedText(description)
+        .withColumnSpan(2)
+        .write()
+        .endRow();
   }
 
   /** {@inheritDoc} */
@@ -144,31 +157,30 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
       text3Sytle = "";
     }
 
-    final Tag row = tableRow().make();
+    rowWriter.beginRow();
     if (isBlank(text1)) {
-      row.addInnerTag(tableCell().withStyleClass("spacer").make());
+      rowWriter.cell().withStyleClass("spacer").write();
     } else {
-      row.addInnerTag(
-          tableCell().withEscapedText(text1).withWidth(2).withStyleClass("spacer").make());
+      rowWriter.cell().withEscapedText(text1).withWidth(2).withStyleClass("spacer").write();
     }
 
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(text2, escapeText)
-            .withWidth(text2Width)
-            .withEmphasis(emphasize)
-            .withStyleClass("minwidth")
-            .make());
-
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(text3)
-            .withWidth(text3Width)
-            .withAlignment(Alignment.inherit)
-            .withStyleClass("minwidth" + text3Sytle)
-            .make());
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    rowWriter
+        .cell()
+        .withEscapedText(text2, escapeText)
+        .withWidth(text2Width)
+        .withEmphasis(emphasize)
+        .withStyleClass("minwidth")
+        .write();
+
+    rowWriter
+        .cell()
+        .withEscapedText(text3)
+        .withWidth(text3Width)
+        .withAlignment(Alignment.inherit)
+        .withStyleClass("minwidth" + text3Sytle)
+        .write();
+
+    rowWriter.endRow();
   }
 
   /**
@@ -178,9 +190,7 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
    */
   @Override
   public void writeEmptyRow() {
-    final Tag tableRow = tableRow().make();
-    tableRow.addInnerTag(tableCell().withColumnSpan(3).make());
-    out.println(tableRow.render(TagOutputFormat.valueOf(outputFormat.name())));
+    rowWriter.beginRow().cell().withColumnSpan(3).write().endRow();
   }
 
   /**
@@ -203,23 +213,21 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
       nameWidth = Math.max(name.length(), nameWidth - (description.length() - descriptionWidth));
     }
 
-    final Tag row = tableRow().make();
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(name)
-            .withWidth(nameWidth)
-            .withStyleClass("name")
-            .withColumnSpan(2)
-            .make());
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(description)
-            .withWidth(descriptionWidth)
-            .withAlignment(Alignment.right)
-            .withStyleClass("description right")
-            .make());
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    rowWriter
+        .beginRow()
+        .cell()
+        .withEscapedText(name)
+        .withWidth(nameWidth)
+        .withStyleClass("name")
+        .withColumnSpan(2)
+        .write()
+        .cell()
+        .withEscapedText(description)
+        .withWidth(descriptionWidth)
+        .withAlignment(Alignment.right)
+        .withStyleClass("description right")
+        .write()
+        .endRow();
   }
 
   /**
@@ -237,22 +245,20 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
     final String valueStyle =
         "property_value" + (alignmentForValue == Alignment.inherit ? "" : " right");
 
-    final Tag row = tableRow().make();
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(name)
-            .withWidth(nameWidth)
-            .withStyleClass("property_name")
-            .make());
-    row.addInnerTag(
-        tableCell()
-            .withEscapedText(value)
-            .withWidth(valueWidth)
-            .withAlignment(alignmentForValue)
-            .withStyleClass(valueStyle)
-            .make());
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    rowWriter
+        .beginRow()
+        .cell()
+        .withEscapedText(name)
+        .withWidth(nameWidth)
+        .withStyleClass("property_name")
+        .write()
+        .cell()
+        .withEscapedText(value)
+        .withWidth(valueWidth)
+        .withAlignment(alignmentForValue)
+        .withStyleClass(valueStyle)
+        .write()
+        .endRow();
   }
 
   /**
@@ -262,13 +268,9 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
    */
   @Override
   public void writeRow(final Object... columnData) {
-    TextOutputFormat outputFormat = this.outputFormat;
-    if (outputFormat == TextOutputFormat.text) {
-      outputFormat = TextOutputFormat.tsv;
-    }
-    final Tag row = tableRow().make();
+    dataRowWriter.beginRow();
     for (final Object element : columnData) {
-      final TagBuilder tableCell = tableCell().withEscapedText(toString(element));
+      final TableRowWriter.Cell tableCell = dataRowWriter.cell().withEscapedText(toString(element));
       if (element == null) {
         tableCell.withStyleClass("data_null");
       } else if (element instanceof BinaryData) {
@@ -276,10 +278,9 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
       } else if (element instanceof Number) {
         tableCell.withStyleClass("data_number");
       }
-      row.addInnerTag(tableCell.make());
+      tableCell.write();
     }
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    dataRowWriter.endRow();
   }
 
   /**
@@ -289,24 +290,22 @@ abstract class BaseTextFormattingHelper implements TextFormattingHelper {
    */
   @Override
   public void writeRowHeader(final String... columnNames) {
-    TextOutputFormat outputFormat = this.outputFormat;
-    if (outputFormat == TextOutputFormat.text) {
-      outputFormat = TextOutputFormat.tsv;
-    }
-    final Tag row = tableRow().make();
+    dataRowWriter.beginRow();
     for (final String columnName : columnNames) {
-      final Tag headerCell = tableHeaderCell().withText(columnName).make();
-      row.addInnerTag(headerCell);
+      dataRowWriter.headerCell().withText(columnName).write();
     }
-
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    dataRowWriter.endRow();
   }
 
   @Override
   public void writeWideRow(final String definition, final String style) {
-    final Tag row = tableRow().make();
-    row.addInnerTag(
-        tableCell().withEscapedText(definition).withStyleClass(style).withColumnSpan(3).make());
-    out.println(row.render(TagOutputFormat.valueOf(outputFormat.name())));
+    rowWriter
+        .beginRow()
+        .cell()
+        .withEscapedText(definition)
+        .withStyleClass(style)
+        .withColumnSpan(3)
+        .write()
+        .endRow();
   }
 }
@@ -159,7 +159,9 @@ public final class DataTextFormatter extends BaseTabularFormatter<OperationOptio
       formattingHelper.println();
       formattingHelper.writeObjectStart();
       formattingHelper.writeObjectNameRow("", title, "", Color.white);
-      try (final MetadataResultSet dataRows = new MetadataResultSet(rows, "Data")) {
+      // Keep the fetch size of the statement that the data was queried with
+      try (final MetadataResultSet dataRows =
+          new MetadataResultSet(rows, "Data", rows.getFetchSize())) {
         dataRows.setShowLobs(options.isShowLobs());
 
         formattingHelper.writeRowHeader(quoteColumnNames(dataRows.getColumnNames()));
@@ -29,6 +29,7 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.formatter.schema;
 
 import static java.util.Comparator.naturalOrder;
+import static java.util.Objects.requireNonNull;
 import static schemacrawler.loader.counts.TableRowCountsUtility.getRowCountMessage;
 import static schemacrawler.loader.counts.TableRowCountsUtility.hasRowCount;
 import static schemacrawler.schema.DataTypeType.user_defined;
@@ -55,6 +56,7 @@ import static schemacrawler.tools.command.text.schema.options.HideDependantDatab
 import static schemacrawler.tools.command.text.schema.options.HideDependantDatabaseObjectsType.hideWeakAssociations;
 import static us.fatehi.utility.Utility.isBlank;
 import static us.fatehi.utility.Utility.trimToEmpty;
+import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -62,6 +64,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import schemacrawler.crawl.NotLoadedException;
@@ -100,6 +103,7 @@ import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.text.formatter.base.BaseTabularFormatter;
 import schemacrawler.tools.text.formatter.base.helper.TextFormattingHelper.DocumentHeaderType;
 import schemacrawler.tools.traversal.SchemaTraversalHandler;
+import schemacrawler.tools.traversal.ShardedSchemaTraversalHandler;
 import schemacrawler.utility.MetaDataUtility;
 import schemacrawler.utility.MetaDataUtility.ForeignKeyCardinality;
 import schemacrawler.utility.NamedObjectSort;
@@ -107,7 +111,7 @@ import us.fatehi.utility.string.StringFormat;
 
 /** Text formatting of schema. */
 public final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOptions>
-    implements SchemaTraversalHandler {
+    implements ShardedSchemaTraversalHandler {
 
   private static final Logger LOGGER = Logger.getLogger(SchemaTextFormatter.class.getName());
 
@@ -121,6 +125,9 @@ public final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOp
     return textValue;
   }
 
+  private final Function<Table, String> tablePages;
+  private final boolean isTablesIndex;
+
   /**
    * Text formatting of schema.
    *
@@ -135,6 +142,45 @@ public final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOp
       final OutputOptions outputOptions,
       final Identifiers identifiers) {
     super(schemaTextDetailType, options, outputOptions, identifiers);
+    tablePages = null;
+    isTablesIndex = false;
+  }
+
+  /**
+   * Text formatting of the index of schema output that is split into pages. Tables are listed with
+   * links to the pages that they are formatted on, and pages are formatted by handlers from {@link
+   * #newPageHandler(PrintWriter, Function)}.
+   *
+   * @param schemaTextDetailType Types for text formatting of schema
+   * @param options Options for text formatting of schema
+   * @param outputOptions Options for text formatting of schema
+   * @param identifierQuoteString Quote character for identifier
+   * @param tablePages Page file for each table, relative to the index
+   */
+  public SchemaTextFormatter(
+      final SchemaTextDetailType schemaTextDetailType,
+      final SchemaTextOptions options,
+      final OutputOptions outputOptions,
+      final Identifiers identifiers,
+      final Function<Table, String> tablePages) {
+    super(schemaTextDetailType, options, outputOptions, identifiers);
+    this.tablePages = requireNonNull(tablePages, "No table pages provided");
+    isTablesIndex = true;
+  }
+
+  private SchemaTextFormatter(
+      final SchemaTextFormatter formatter,
+      final PrintWriter out,
+      final Function<Table, String> tablePages,
+      final boolean isTablesIndex) {
+    super(
+        formatter.schemaTextDetailType,
+        formatter.options,
+        formatter.outputOptions,
+        formatter.identifiers,
+        out);
+    this.tablePages = tablePages;
+    this.isTablesIndex = isTablesIndex;
   }
 
   /** {@inheritDoc} */
@@ -258,6 +304,12 @@ public final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOp
     final String tableName = quoteName(table);
     final String tableType = "[" + table.getTableType() + "]";
 
+    if (isTablesIndex) {
+      final String tableHyperlink = formattingHelper.createAnchor(tableName, tableLink(table));
+      formattingHelper.writeDetailRow("", tableHyperlink, tableType, false, false, "");
+      return;
+    }
+
     formattingHelper.println();
     formattingHelper.println();
     formattingHelper.writeObjectStart();
@@ -362,7 +414,9 @@ public final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOp
   /** {@inheritDoc} */
   @Override
   public void handleTablesEnd() {
-    // No output required
+    if (isTablesIndex && !options.is(hideTables)) {
+      formattingHelper.writeObjectEnd();
+    }
   }
 
   /** {@inheritDoc} */
@@ -374,6 +428,29 @@ public final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOp
     }
 
     formattingHelper.writeHeader(DocumentHeaderType.subTitle, "Tables");
+    if (isTablesIndex) {
+      formattingHelper.writeObjectStart();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public SchemaTraversalHandler newShardHandler(final PrintWriter out) {
+    return new SchemaTextFormatter(this, out, tablePages, isTablesIndex);
+  }
+
+  /**
+   * Creates a handler that formats a page of tables in full, when output is split into pages. Links
+   * to tables point to the pages that the tables are formatted on.
+   *
+   * @param out Writer for the page
+   * @param tablePages Page file for each table, relative to other pages
+   * @return Handler for a page of tables
+   */
+  public SchemaTraversalHandler newPageHandler(
+      final PrintWriter out, final Function<Table, String> tablePages) {
+    return new SchemaTextFormatter(
+        this, out, requireNonNull(tablePages, "No table pages provided"), false);
   }
 
   private void printAlternateKeys(final Table table) {
@@ -503,7 +580,7 @@ public final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOp
         if (isFkColumnFiltered) {
           fkHyperlink = fkColumnName;
         } else {
-          fkHyperlink = formattingHelper.createAnchor(fkColumnName, "#" + nodeId(dependentTable));
+          fkHyperlink = formattingHelper.createAnchor(fkColumnName, tableLink(dependentTable));
         }
         final String arrow =
             isForeignKey
@@ -516,7 +593,7 @@ public final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOp
         if (isPkColumnFiltered) {
           pkHyperlink = pkColumnName;
         } else {
-          pkHyperlink = formattingHelper.createAnchor(pkColumnName, "#" + nodeId(referencedTable));
+          pkHyperlink = formattingHelper.createAnchor(pkColumnName, tableLink(referencedTable));
         }
         final String arrow =
             isForeignKey
@@ -1034,4 +1111,22 @@ public final class SchemaTextFormatter extends BaseTabularFormatter<SchemaTextOp
       }
     }
   }
+
+  /**
+   * Link to a table, which is on another page if output is split into pages.
+   *
+   * @param table Table to link to
+   * @return Link to the table
+   */
+  private String tableLink(final Table table) {
+    final String tableAnchor = "#" + nodeId(table);
+    if (tablePages == null) {
+      return tableAnchor;
+    }
+    final String tablePage = tablePages.apply(table);
+    if (isBlank(tablePage)) {
+      return tableAnchor;
+    }
+    return tablePage + tableAnchor;
+  }
 }
@@ -60,7 +60,15 @@ public class DatabaseObjectColorMap {
     colorMap = new RegularExpressionColorMap(properties);
   }
 
-  public Color getColor(final DatabaseObject dbObject) {
+  /**
+   * Gets the color for the schema of a database object, and generates a new color if the schema
+   * does not match any of the mappings. Colors may be looked up while tables are formatted on
+   * multiple threads.
+   *
+   * @param dbObject Database object
+   * @return Color for the schema of the database object
+   */
+  public synchronized Color getColor(final DatabaseObject dbObject) {
     requireNonNull(dbObject, "No database object provided");
 
     final String schemaName = dbObject.getSchema().getFullName();
@@ -30,10 +30,15 @@ package schemacrawler.tools.traversal;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.ColumnDataType;
@@ -42,14 +47,47 @@ import schemacrawler.schema.Routine;
 import schemacrawler.schema.Sequence;
 import schemacrawler.schema.Synonym;
 import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
 import schemacrawler.utility.NamedObjectSort;
+import us.fatehi.utility.scheduler.OrderedTaskQueue;
 
 public class SchemaTraverser {
 
+  private static final int TABLES_PER_SHARD = 16;
+
+  private static String handleShard(
+      final ShardedSchemaTraversalHandler handler, final List<? extends Table> tables) {
+    final StringWriter writer = new StringWriter();
+    try (final PrintWriter out = new PrintWriter(writer)) {
+      final SchemaTraversalHandler shardHandler = handler.newShardHandler(out);
+      for (final Table table : tables) {
+        shardHandler.handle(table);
+      }
+    }
+    return writer.toString();
+  }
+
+  private static void writeShard(
+      final ShardedSchemaTraversalHandler handler, final Future<String> pendingShard) {
+    try {
+      handler.writeShard(pendingShard.get());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutionRuntimeException("Interrupted while handling tables", e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ExecutionRuntimeException("Could not handle tables", cause);
+    }
+  }
+
   private Catalog catalog;
   private SchemaTraversalHandler handler;
   private Comparator<NamedObject> tablesComparator;
   private Comparator<NamedObject> routinesComparator;
+  private boolean parallel;
 
   public SchemaTraverser() {
     tablesComparator = NamedObjectSort.natural;
@@ -72,6 +110,15 @@ public class SchemaTraverser {
     return tablesComparator;
   }
 
+  /**
+   * Checks whether tables are handled on multiple threads, if the handler supports it.
+   *
+   * @return True if tables are handled in parallel
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
   public void setCatalog(final Catalog catalog) {
     this.catalog = requireNonNull(catalog, "No catalog provided");
   }
@@ -80,6 +127,16 @@ public class SchemaTraverser {
     this.handler = requireNonNull(handler, "No handler provided");
   }
 
+  /**
+   * Handles tables on multiple threads, if the handler is a {@link ShardedSchemaTraversalHandler}.
+   * The output is the same as when tables are handled one at a time.
+   *
+   * @param parallel Whether tables are handled in parallel
+   */
+  public void setParallel(final boolean parallel) {
+    this.parallel = parallel;
+  }
+
   public void setRoutinesComparator(final Comparator<NamedObject> routinesComparator) {
     this.routinesComparator = requireNonNull(routinesComparator, "No routines comparator provided");
   }
@@ -108,8 +165,12 @@ public class SchemaTraverser {
 
       final List<? extends Table> tablesList = new ArrayList<>(tables);
       tablesList.sort(tablesComparator);
-      for (final Table table : tablesList) {
-        handler.handle(table);
+      if (isHandledInShards(tablesList)) {
+        handleInShards((ShardedSchemaTraversalHandler) handler, tablesList);
+      } else {
+        for (final Table table : tablesList) {
+          handler.handle(table);
+        }
       }
 
       handler.handleTablesEnd();
@@ -158,4 +219,37 @@ public class SchemaTraverser {
 
     handler.end();
   }
+
+  /**
+   * Handles shards of tables on the common fork-join pool, and writes the output of each shard in
+   * the order of the tables. Only a limited number of shards are held in memory at any time.
+   *
+   * @param shardedHandler Handler that creates a handler for each shard
+   * @param tables Sorted tables
+   */
+  private void handleInShards(
+      final ShardedSchemaTraversalHandler shardedHandler, final List<? extends Table> tables) {
+    final OrderedTaskQueue<String> pendingShards =
+        new OrderedTaskQueue<>(
+            ForkJoinPool.commonPool(), 2 * Runtime.getRuntime().availableProcessors());
+    try {
+      for (int start = 0; start < tables.size(); start = start + TABLES_PER_SHARD) {
+        final List<? extends Table> shard =
+            tables.subList(start, Math.min(start + TABLES_PER_SHARD, tables.size()));
+        // Write shards that are already handled, and wait if too many shards are pending
+        pendingShards.submit(
+            () -> handleShard(shardedHandler, shard),
+            pendingShard -> writeShard(shardedHandler, pendingShard));
+      }
+      pendingShards.drain(pendingShard -> writeShard(shardedHandler, pendingShard));
+    } finally {
+      pendingShards.cancel();
+    }
+  }
+
+  private boolean isHandledInShards(final List<? extends Table> tables) {
+    return parallel
+        && handler instanceof ShardedSchemaTraversalHandler
+        && tables.size() > TABLES_PER_SHARD;
+  }
 }
@@ -0,0 +1,54 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.traversal;
+
+import java.io.PrintWriter;
+
+/**
+ * Schema traversal handler that can handle tables on multiple threads. Tables are split into
+ * shards, and each shard is handled by a new handler that writes to its own buffer. The buffers
+ * are then written to the output of this handler, in the order of the tables.
+ */
+public interface ShardedSchemaTraversalHandler extends SchemaTraversalHandler {
+
+  /**
+   * Creates a handler for a shard of tables, with the same options as this handler. Only tables
+   * are handled by the new handler, and it is neither begun nor ended.
+   *
+   * @param out Writer for the output of the shard
+   * @return Handler for a shard of tables
+   */
+  SchemaTraversalHandler newShardHandler(PrintWriter out);
+
+  /**
+   * Writes the output of a shard of tables to the output of this handler.
+   *
+   * @param shardOutput Output of a handler for a shard of tables
+   */
+  void writeShard(String shardOutput);
+}
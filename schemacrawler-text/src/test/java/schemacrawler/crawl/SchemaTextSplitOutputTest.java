@@ -0,0 +1,266 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DataTypeType;
+import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.tools.command.text.schema.SchemaTextRenderer;
+import schemacrawler.tools.command.text.schema.options.SchemaTextOptionsBuilder;
+import schemacrawler.tools.command.text.schema.options.TextOutputFormat;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+
+public class SchemaTextSplitOutputTest {
+
+  private static final FileTime EPOCH = FileTime.fromMillis(0);
+
+  private static final SchemaReference SCHEMA1 = new SchemaReference("catalog", "schema1");
+  private static final SchemaReference SCHEMA2 = new SchemaReference("catalog", "schema2");
+
+  @Test
+  public void collidingPageNamesMadeUnique() throws Exception {
+    final Path directory = Files.createTempDirectory("split");
+    final Path indexFile = directory.resolve("index.txt");
+    final Path pagesDirectory = directory.resolve("index_pages");
+
+    // Catalog names with the same hash code give schemas with the same slug
+    final SchemaReference schema1 = new SchemaReference("Aa", "schema");
+    final SchemaReference schema2 = new SchemaReference("BB", "schema");
+    assertThat(schema1.key().slug(), is(schema2.key().slug()));
+
+    render(makeCatalog(schema1, schema2), TextOutputFormat.text, indexFile, 100);
+
+    final String slug = schema1.key().slug();
+    final String page1 = read(pagesDirectory.resolve(slug + "_1.txt"));
+    final String page2 = read(pagesDirectory.resolve(slug + "-2_1.txt"));
+    assertThat(page1, containsString("TABLE_000"));
+    assertThat(page1, not(containsString("TABLE_045")));
+    assertThat(page2, containsString("TABLE_045"));
+    assertThat(page2, not(containsString("TABLE_000")));
+  }
+
+  @Test
+  public void pagesOutsidePagesDirectoryNotDeleted() throws Exception {
+    final Path directory = Files.createTempDirectory("split");
+    final Path indexFile = directory.resolve("index.txt");
+    final Path pagesDirectory = directory.resolve("index_pages");
+    final Path outsideFile = directory.resolve("outside.txt");
+
+    final MutableCatalog catalog = makeCatalog();
+    render(catalog, TextOutputFormat.text, indexFile, 100);
+
+    // Fingerprints file was edited to refer to files that are not pages
+    Files.write(outsideFile, "outside".getBytes(UTF_8));
+    final String currentPage = pageFileName(SCHEMA1, 1, ".txt");
+    final String fingerprints =
+        String.format(
+            "0  ../outside.txt%n0  sub/../../outside.txt%n0  %s%n0  .%n0  ./%s%n",
+            outsideFile.toAbsolutePath(), currentPage);
+    Files.write(
+        pagesDirectory.resolve("fingerprints.sha256"), fingerprints.getBytes(UTF_8), APPEND);
+
+    render(catalog, TextOutputFormat.text, indexFile, 100);
+
+    assertThat(read(outsideFile), is("outside"));
+    assertThat(
+        listFiles(pagesDirectory, false), is("fingerprints.sha256, schema1_1.txt, schema2_1.txt"));
+  }
+
+  @Test
+  public void splitOutputHtml() throws Exception {
+    final Path directory = Files.createTempDirectory("split");
+    final Path indexFile = directory.resolve("index.html");
+
+    render(makeCatalog(), TextOutputFormat.html, indexFile, 30);
+
+    final Path pagesDirectory = directory.resolve("index_pages");
+    assertThat(
+        listFiles(pagesDirectory, false),
+        is("fingerprints.sha256, schema1_1.html, schema1_2.html, schema2_1.html"));
+
+    final String index = read(indexFile);
+    assertThat(index, containsString("index_pages/" + pageFileName(SCHEMA1, 2, ".html") + "#"));
+    assertThat(index, not(containsString("COLUMN3")));
+
+    final String page = read(pagesDirectory.resolve(pageFileName(SCHEMA1, 2, ".html")));
+    assertThat(page, containsString("TABLE_030"));
+    assertThat(page, containsString("COLUMN3"));
+    assertThat(page, not(containsString("TABLE_000")));
+    // Foreign key to a table on the previous page
+    assertThat(page, containsString("'" + pageFileName(SCHEMA1, 1, ".html") + "#"));
+  }
+
+  @Test
+  public void unchangedPagesNotWritten() throws Exception {
+    final Path directory = Files.createTempDirectory("split");
+    final Path indexFile = directory.resolve("index.txt");
+    final Path pagesDirectory = directory.resolve("index_pages");
+
+    final MutableCatalog catalog = makeCatalog();
+    render(catalog, TextOutputFormat.text, indexFile, 30);
+    try (final Stream<Path> files = Files.list(pagesDirectory)) {
+      for (final Path file : files.collect(Collectors.toList())) {
+        Files.setLastModifiedTime(file, EPOCH);
+      }
+    }
+
+    catalog.lookupTable(SCHEMA2, "TABLE_045").get().setRemarks("Changed remarks");
+    render(catalog, TextOutputFormat.text, indexFile, 30);
+
+    assertThat(listFiles(pagesDirectory, true), is("fingerprints.sha256, schema2_1.txt"));
+    assertThat(
+        read(pagesDirectory.resolve(pageFileName(SCHEMA2, 1, ".txt"))),
+        containsString("Changed remarks"));
+
+    // Pages that are no longer needed are deleted
+    render(catalog, TextOutputFormat.text, indexFile, 100);
+    assertThat(
+        listFiles(pagesDirectory, false), is("fingerprints.sha256, schema1_1.txt, schema2_1.txt"));
+  }
+
+  /**
+   * Lists files in a directory, with the hash removed from page file names.
+   *
+   * @param directory Directory to list
+   * @param changedOnly Whether to only list files that were changed
+   * @return File names, in order
+   */
+  private String listFiles(final Path directory, final boolean changedOnly) throws IOException {
+    try (final Stream<Path> files = Files.list(directory)) {
+      final List<String> fileNames =
+          files
+              .filter(file -> !changedOnly || !lastModified(file).equals(EPOCH))
+              .map(file -> file.getFileName().toString().replaceAll("_[0-9a-f]+_", "_"))
+              .sorted()
+              .collect(Collectors.toList());
+      return String.join(", ", fileNames);
+    }
+  }
+
+  private FileTime lastModified(final Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private MutableCatalog makeCatalog() {
+    return makeCatalog(SCHEMA1, SCHEMA2);
+  }
+
+  private MutableCatalog makeCatalog(final SchemaReference schema1, final SchemaReference schema2) {
+    final MutableCatalog catalog =
+        new MutableCatalog(
+            "catalog",
+            new MutableDatabaseInfo("database", "1.0", "user"),
+            new MutableJdbcDriverInfo(
+                "driver", "DriverClass", "1.0", 1, 0, 4, 2, true, "jdbc:test"));
+    catalog.addSchema(schema1);
+    catalog.addSchema(schema2);
+
+    final MutableColumnDataType dataType =
+        new MutableColumnDataType(schema1, "VARCHAR", DataTypeType.system);
+    catalog.addColumnDataType(dataType);
+
+    // 40 tables in the first schema, and 20 in the second schema
+    MutableTable previousTable = null;
+    for (int i = 0; i < 60; i++) {
+      final SchemaReference schema = i < 40 ? schema1 : schema2;
+      final MutableTable table = new MutableTable(schema, String.format("TABLE_%03d", i));
+      for (int j = 1; j <= 3; j++) {
+        final MutableColumn column = new MutableColumn(table, "COLUMN" + j);
+        column.setOrdinalPosition(j);
+        column.setColumnDataType(dataType);
+        table.addColumn(column);
+      }
+      catalog.addTable(table);
+
+      // Each table refers to the previous table, so that tables on different pages are linked
+      if (previousTable != null) {
+        final Column fkColumn = table.lookupColumn("COLUMN2").get();
+        final Column pkColumn = previousTable.lookupColumn("COLUMN1").get();
+        final MutableForeignKey foreignKey =
+            new MutableForeignKey(
+                "FK_" + i, new ImmutableColumnReference(1, fkColumn, pkColumn));
+        ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+        table.addForeignKey(foreignKey);
+        previousTable.addForeignKey(foreignKey);
+      }
+      previousTable = table;
+    }
+    return catalog;
+  }
+
+  private String pageFileName(
+      final SchemaReference schema, final int pageNumber, final String extension) {
+    return schema.key().slug() + "_" + pageNumber + extension;
+  }
+
+  private String read(final Path file) throws IOException {
+    return new String(Files.readAllBytes(file), UTF_8);
+  }
+
+  private void render(
+      final MutableCatalog catalog,
+      final TextOutputFormat outputFormat,
+      final Path indexFile,
+      final int tablesPerPage) {
+    final SchemaTextRenderer renderer = new SchemaTextRenderer("details");
+    renderer.setCatalog(catalog);
+    renderer.setIdentifiers(Identifiers.STANDARD);
+    renderer.setCommandOptions(
+        SchemaTextOptionsBuilder.builder().splitOutput(tablesPerPage).toOptions());
+    renderer.setOutputOptions(
+        OutputOptionsBuilder.builder()
+            .withOutputFormatValue(outputFormat.name())
+            .withOutputFile(indexFile)
+            .toOptions());
+
+    renderer.execute();
+  }
+}
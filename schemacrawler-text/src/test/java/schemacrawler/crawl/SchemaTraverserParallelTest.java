@@ -0,0 +1,144 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DataTypeType;
+import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.tools.command.text.schema.options.SchemaTextDetailType;
+import schemacrawler.tools.command.text.schema.options.SchemaTextOptionsBuilder;
+import schemacrawler.tools.command.text.schema.options.TextOutputFormat;
+import schemacrawler.tools.options.OutputOptions;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.text.formatter.schema.SchemaTextFormatter;
+import schemacrawler.tools.traversal.SchemaTraverser;
+import us.fatehi.utility.IOUtility;
+
+public class SchemaTraverserParallelTest {
+
+  private static final int TABLE_COUNT = 100;
+
+  @Test
+  public void parallelHtml() throws Exception {
+    assertSameOutput(TextOutputFormat.html);
+  }
+
+  @Test
+  public void parallelText() throws Exception {
+    assertSameOutput(TextOutputFormat.text);
+  }
+
+  private void assertSameOutput(final TextOutputFormat outputFormat) throws Exception {
+    final MutableCatalog catalog = makeCatalog();
+
+    final String serialOutput = traverse(catalog, outputFormat, false);
+    final String parallelOutput = traverse(catalog, outputFormat, true);
+
+    assertThat(serialOutput.length(), is(greaterThan(0)));
+    assertThat(parallelOutput, is(serialOutput));
+  }
+
+  private MutableCatalog makeCatalog() {
+    final MutableCatalog catalog =
+        new MutableCatalog(
+            "catalog",
+            new MutableDatabaseInfo("database", "1.0", "user"),
+            new MutableJdbcDriverInfo(
+                "driver", "DriverClass", "1.0", 1, 0, 4, 2, true, "jdbc:test"));
+    final SchemaReference schema = new SchemaReference("catalog", "schema");
+    catalog.addSchema(schema);
+
+    final MutableColumnDataType dataType =
+        new MutableColumnDataType(schema, "VARCHAR", DataTypeType.system);
+    catalog.addColumnDataType(dataType);
+
+    MutableTable previousTable = null;
+    for (int i = 0; i < TABLE_COUNT; i++) {
+      final MutableTable table = new MutableTable(schema, String.format("TABLE_%03d", i));
+      table.setRemarks("Table <" + i + "> & remarks");
+      for (int j = 1; j <= 3; j++) {
+        final MutableColumn column = new MutableColumn(table, "COLUMN" + j);
+        column.setOrdinalPosition(j);
+        column.setColumnDataType(dataType);
+        table.addColumn(column);
+      }
+      catalog.addTable(table);
+
+      // Each table refers to the previous table, so that tables in different shards are linked
+      if (previousTable != null) {
+        final Column fkColumn = table.lookupColumn("COLUMN2").get();
+        final Column pkColumn = previousTable.lookupColumn("COLUMN1").get();
+        final MutableForeignKey foreignKey =
+            new MutableForeignKey(
+                "FK_" + i, new ImmutableColumnReference(1, fkColumn, pkColumn));
+        ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+        table.addForeignKey(foreignKey);
+        previousTable.addForeignKey(foreignKey);
+      }
+      previousTable = table;
+    }
+    return catalog;
+  }
+
+  private String traverse(
+      final MutableCatalog catalog, final TextOutputFormat outputFormat, final boolean parallel)
+      throws Exception {
+    final Path outputFile = IOUtility.createTempFilePath("traverse", outputFormat.name());
+    final OutputOptions outputOptions =
+        OutputOptionsBuilder.builder()
+            .withOutputFormatValue(outputFormat.name())
+            .withOutputFile(outputFile)
+            .toOptions();
+
+    final SchemaTraverser traverser = new SchemaTraverser();
+    traverser.setCatalog(catalog);
+    traverser.setHandler(
+        new SchemaTextFormatter(
+            SchemaTextDetailType.details,
+            SchemaTextOptionsBuilder.newSchemaTextOptions(),
+            outputOptions,
+            Identifiers.STANDARD));
+    traverser.setParallel(parallel);
+    assertThat(traverser.isParallel(), is(parallel));
+
+    traverser.traverse();
+
+    return new String(Files.readAllBytes(outputFile), UTF_8);
+  }
+}
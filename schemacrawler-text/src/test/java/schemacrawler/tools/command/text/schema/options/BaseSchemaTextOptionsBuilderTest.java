@@ -280,4 +280,40 @@ public class BaseSchemaTextOptionsBuilderTest {
     assertThat(builder.toOptions().isAlphabeticalSortForIndexes(), is(true));
     assertThat(builder.toOptions().isAlphabeticalSortForForeignKeys(), is(true));
   }
+  @Test
+  public void splitOutput() {
+    final Config config = SchemaTextOptionsBuilder.builder().splitOutput(500).toConfig();
+    final SchemaTextOptions options =
+        SchemaTextOptionsBuilder.builder().splitOutput(500).toOptions();
+
+    SchemaTextOptionsBuilder builder;
+
+    // On and off
+    builder = SchemaTextOptionsBuilder.builder();
+    assertThat(builder.toOptions().isSplitOutput(), is(false));
+    assertThat(builder.toOptions().getTablesPerPage(), is(0));
+    builder.splitOutput(500);
+    assertThat(builder.toOptions().isSplitOutput(), is(true));
+    assertThat(builder.toOptions().getTablesPerPage(), is(500));
+    builder.splitOutput(-1);
+    assertThat(builder.toOptions().isSplitOutput(), is(false));
+    assertThat(builder.toOptions().getTablesPerPage(), is(0));
+
+    // From config
+    builder = SchemaTextOptionsBuilder.builder();
+    assertThat(builder.toOptions().getTablesPerPage(), is(0));
+    builder.fromConfig(config);
+    assertThat(builder.toOptions().getTablesPerPage(), is(500));
+    builder.fromConfig(null);
+    assertThat(builder.toOptions().getTablesPerPage(), is(500));
+
+    // From options
+    builder = SchemaTextOptionsBuilder.builder();
+    assertThat(builder.toOptions().getTablesPerPage(), is(0));
+    builder.fromOptions(options);
+    assertThat(builder.toOptions().getTablesPerPage(), is(500));
+    builder.fromOptions(null);
+    assertThat(builder.toOptions().getTablesPerPage(), is(500));
+  }
+
 }
@@ -0,0 +1,315 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.catalogloader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import schemacrawler.crawl.CatalogSnapshot;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.exceptions.InternalRuntimeException;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * On-disk cache of crawled catalogs, stored as catalog snapshots. Each catalog is stored in a file
+ * named for its cache key, and files are evicted when they are older than the maximum age, or
+ * when the cache grows beyond the maximum size, oldest first. Cache files are written to a
+ * temporary file first, and then moved into place, so that concurrent runs never read a partly
+ * written catalog.
+ */
+final class CatalogCache {
+
+  private static final Logger LOGGER = Logger.getLogger(CatalogCache.class.getName());
+
+  private static final String CACHE_FILE_EXTENSION = ".snapshot";
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+  /**
+   * Deserializes attribute values of types that catalog snapshots do not support directly, allowing
+   * only Java platform classes.
+   */
+  private static final class CachedValueInputStream extends ObjectInputStream {
+
+    private static final Pattern ACCEPT_PATTERN =
+        Pattern.compile("(\\[L)?java\\.(lang|math|sql|time|util)\\..*|\\[[BC]");
+
+    CachedValueInputStream(final InputStream input) throws IOException {
+      super(input);
+    }
+
+    @Override
+    protected Class<?> resolveClass(final ObjectStreamClass objectStreamClass)
+        throws IOException, ClassNotFoundException {
+      final String className = objectStreamClass.getName();
+      if (!ACCEPT_PATTERN.matcher(className).matches()) {
+        throw new InvalidClassException(String.format("Not deserializing class <%s>", className));
+      }
+      return super.resolveClass(objectStreamClass);
+    }
+  }
+
+  /**
+   * Builds a cache key from the values that determine the crawled catalog. The key is a hash, so
+   * that it can be used as a file name.
+   *
+   * @param keyParts Values that determine the catalog, such as the connection URL and options
+   * @return Cache key
+   */
+  static String cacheKey(final List<String> keyParts) {
+    requireNonNull(keyParts, "No cache key parts provided");
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (final String keyPart : keyParts) {
+        digest.update(String.valueOf(keyPart).getBytes(UTF_8));
+        // Separate parts, so that values cannot run into each other
+        digest.update((byte) 0);
+      }
+      final StringBuilder cacheKey = new StringBuilder();
+      for (final byte b : digest.digest()) {
+        cacheKey.append(String.format("%02x", b));
+      }
+      return cacheKey.toString();
+    } catch (final NoSuchAlgorithmException e) {
+      throw new InternalRuntimeException("Cannot create catalog cache key", e);
+    }
+  }
+
+  private static Object deserializeValue(final byte[] bytes) {
+    try (final ObjectInputStream objIn =
+        new CachedValueInputStream(new ByteArrayInputStream(bytes))) {
+      return objIn.readObject();
+    } catch (final ClassNotFoundException e) {
+      throw new UncheckedIOException(new InvalidClassException(e.getMessage()));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] serializeValue(final Object value) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream objOut = new ObjectOutputStream(bytes)) {
+      objOut.writeObject(value);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private final Path directory;
+  private final long maxSize;
+  private final Duration maxAge;
+
+  /**
+   * Creates a catalog cache in a directory, which is created if it does not exist.
+   *
+   * @param directory Cache directory
+   * @param maxSize Maximum total size of cached catalogs, in bytes
+   * @param maxAge Maximum age of a cached catalog
+   */
+  CatalogCache(final Path directory, final long maxSize, final Duration maxAge) {
+    this.directory = requireNonNull(directory, "No cache directory provided");
+    this.maxAge = requireNonNull(maxAge, "No maximum age provided");
+    if (maxSize < 0 || maxAge.isNegative()) {
+      throw new IllegalArgumentException("Cache limits cannot be negative");
+    }
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Deletes cached catalogs that are older than the maximum age, and then the oldest cached
+   * catalogs, until the cache is within the maximum size. Temporary files may still be written by
+   * another run, so they are not counted towards the cache size, and are only deleted once they
+   * are older than the maximum age.
+   *
+   * @throws IOException On an exception listing the cache directory
+   */
+  void evict() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+
+    final List<Path> cacheFiles = new ArrayList<>();
+    try (final DirectoryStream<Path> directoryStream =
+        Files.newDirectoryStream(
+            directory, "*{" + CACHE_FILE_EXTENSION + "," + TEMP_FILE_EXTENSION + "}")) {
+      for (final Path cacheFile : directoryStream) {
+        if (!Files.isRegularFile(cacheFile)) {
+          continue;
+        }
+        if (cacheFile.getFileName().toString().endsWith(TEMP_FILE_EXTENSION)) {
+          if (isExpired(cacheFile)) {
+            delete(cacheFile);
+          }
+        } else {
+          cacheFiles.add(cacheFile);
+        }
+      }
+    }
+    // Newest first, so that the oldest files are evicted when the cache is too large
+    cacheFiles.sort((file1, file2) -> lastModified(file2).compareTo(lastModified(file1)));
+
+    long cacheSize = 0;
+    for (final Path cacheFile : cacheFiles) {
+      final long size = size(cacheFile);
+      if (isExpired(cacheFile) || cacheSize + size > maxSize) {
+        delete(cacheFile);
+      } else {
+        cacheSize = cacheSize + size;
+      }
+    }
+  }
+
+  /**
+   * Gets a cached catalog, if there is one for the key, and it has not expired. Cache files that
+   * cannot be read are deleted.
+   *
+   * @param cacheKey Cache key
+   * @return Cached catalog, or empty if there is no usable cached catalog
+   */
+  Optional<Catalog> get(final String cacheKey) {
+    final Path cacheFile = cacheFile(cacheKey);
+    if (!Files.isRegularFile(cacheFile) || isExpired(cacheFile)) {
+      return Optional.empty();
+    }
+
+    try (final InputStream in = new BufferedInputStream(Files.newInputStream(cacheFile))) {
+      final Catalog catalog = CatalogSnapshot.readCatalog(in, CatalogCache::deserializeValue);
+      LOGGER.log(Level.INFO, new StringFormat("Loaded catalog from cache <%s>", cacheFile));
+      return Optional.of(catalog);
+    } catch (final IOException | UncheckedIOException e) {
+      LOGGER.log(
+          Level.WARNING, e, new StringFormat("Could not load catalog from cache <%s>", cacheFile));
+      delete(cacheFile);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Caches a catalog, and evicts old catalogs. A catalog that cannot be cached is logged, and
+   * otherwise ignored, since the cache is only an optimization.
+   *
+   * @param cacheKey Cache key
+   * @param catalog Catalog to cache
+   */
+  void put(final String cacheKey, final Catalog catalog) {
+    requireNonNull(catalog, "No catalog provided");
+    final Path cacheFile = cacheFile(cacheKey);
+
+    Path tempFile = null;
+    try {
+      Files.createDirectories(directory);
+      tempFile = Files.createTempFile(directory, cacheKey, TEMP_FILE_EXTENSION);
+      try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+        CatalogSnapshot.writeCatalog(catalog, out, CatalogCache::serializeValue);
+      }
+      Files.move(tempFile, cacheFile, REPLACE_EXISTING, ATOMIC_MOVE);
+      LOGGER.log(Level.INFO, new StringFormat("Saved catalog to cache <%s>", cacheFile));
+
+      evict();
+    } catch (final IOException | UncheckedIOException e) {
+      LOGGER.log(
+          Level.WARNING, e, new StringFormat("Could not save catalog to cache <%s>", cacheFile));
+      if (tempFile != null) {
+        delete(tempFile);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "CatalogCache[directory=%s, maxSize=%d, maxAge=%s]", directory, maxSize, maxAge);
+  }
+
+  private Path cacheFile(final String cacheKey) {
+    requireNonNull(cacheKey, "No cache key provided");
+    return directory.resolve(cacheKey + CACHE_FILE_EXTENSION);
+  }
+
+  private void delete(final Path cacheFile) {
+    try {
+      Files.deleteIfExists(cacheFile);
+      LOGGER.log(Level.FINE, new StringFormat("Evicted <%s> from catalog cache", cacheFile));
+    } catch (final IOException e) {
+      LOGGER.log(Level.WARNING, e, new StringFormat("Could not delete <%s>", cacheFile));
+    }
+  }
+
+  private boolean isExpired(final Path cacheFile) {
+    return lastModified(cacheFile).plus(maxAge).isBefore(Instant.now());
+  }
+
+  private Instant lastModified(final Path cacheFile) {
+    try {
+      return Files.readAttributes(cacheFile, BasicFileAttributes.class)
+          .lastModifiedTime()
+          .toInstant();
+    } catch (final IOException e) {
+      // Files that cannot be read are treated as expired
+      return Instant.EPOCH;
+    }
+  }
+
+  private long size(final Path cacheFile) {
+    try {
+      return Files.size(cacheFile);
+    } catch (final IOException e) {
+      return 0;
+    }
+  }
+}
@@ -28,12 +28,65 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.tools.catalogloader;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForSchemaInclusion;
+import static schemacrawler.schemacrawler.InformationSchemaKey.SCHEMA_FINGERPRINT;
+import static schemacrawler.schemacrawler.QueryUtility.executeAgainstSchema;
+import static us.fatehi.utility.Utility.isBlank;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.Version;
 import schemacrawler.crawl.SchemaCrawler;
+import schemacrawler.inclusionrule.InclusionRule;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.CrawlMetrics;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.LoadOptions;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.tools.executable.CommandDescription;
+import schemacrawler.tools.options.Config;
+import us.fatehi.utility.string.StringFormat;
 
+/**
+ * Crawls the database to load the catalog. Crawled catalogs can optionally be cached on disk, so
+ * that repeated runs against an unchanged database do not crawl it again. The cache is keyed by
+ * the connection, the options that determine the crawled catalog, and a database fingerprint from
+ * the SCHEMA_FINGERPRINT query, which should change whenever the schema changes. Without a
+ * fingerprint, catalogs are only cached if a maximum age is explicitly configured. Metrics for the
+ * crawl can optionally be saved to a file, to track how long each retrieval takes over time.
+ */
 public class SchemaCrawlerCatalogLoader extends BaseCatalogLoader {
 
+  private static final Logger LOGGER = Logger.getLogger(SchemaCrawlerCatalogLoader.class.getName());
+
+  private static final String CACHE_DIRECTORY = "schemacrawler.load.cache.directory";
+  private static final String CACHE_MAX_SIZE_MB = "schemacrawler.load.cache.max_size_mb";
+  private static final String CACHE_MAX_AGE_MINUTES = "schemacrawler.load.cache.max_age_minutes";
+  private static final String METRICS_FILE = "schemacrawler.load.metrics.file";
+
   public SchemaCrawlerCatalogLoader() {
     super(
         new CommandDescription("schemacrawlerloader", "Loader for SchemaCrawler metadata catalog"),
@@ -46,9 +99,173 @@ public class SchemaCrawlerCatalogLoader extends BaseCatalogLoader {
       return;
     }
 
+    final Optional<CatalogCache> catalogCache = newCatalogCache();
+    Optional<String> cacheKey = Optional.empty();
+    if (catalogCache.isPresent()) {
+      cacheKey = cacheKey();
+      if (cacheKey.isPresent()) {
+        final Optional<Catalog> cachedCatalog = catalogCache.get().get(cacheKey.get());
+        if (cachedCatalog.isPresent()) {
+          setCatalog(cachedCatalog.get());
+          return;
+        }
+      }
+    }
+
     final SchemaCrawler schemaCrawler =
         new SchemaCrawler(getDataSource(), getSchemaRetrievalOptions(), getSchemaCrawlerOptions());
     final Catalog catalog = schemaCrawler.crawl();
+    saveCrawlMetrics(catalog.getCrawlInfo().getCrawlMetrics());
+    // Cache the catalog before other catalog loaders in the chain add to it
+    if (cacheKey.isPresent()) {
+      catalogCache.get().put(cacheKey.get(), catalog);
+    }
     setCatalog(catalog);
   }
+
+  /**
+   * Builds the cache key from the connection, the options that determine the crawled catalog, and
+   * the database fingerprint.
+   *
+   * @return Cache key, or empty if the catalog should not be cached
+   */
+  private Optional<String> cacheKey() {
+    final SchemaCrawlerOptions schemaCrawlerOptions = getSchemaCrawlerOptions();
+    final LoadOptions loadOptions = schemaCrawlerOptions.getLoadOptions();
+    final SchemaRetrievalOptions schemaRetrievalOptions = getSchemaRetrievalOptions();
+
+    final List<String> keyParts = new ArrayList<>();
+    keyParts.add(Version.version().toString());
+    try (final Connection connection = getDataSource().get()) {
+      final DatabaseMetaData dbMetaData = connection.getMetaData();
+      keyParts.add(dbMetaData.getURL());
+      keyParts.add(dbMetaData.getUserName());
+      keyParts.add(dbMetaData.getDatabaseProductVersion());
+      final String fingerprint = databaseFingerprint(connection);
+      final Config config = getAdditionalConfiguration();
+      if (fingerprint.isEmpty() && !config.containsKey(CACHE_MAX_AGE_MINUTES)) {
+        LOGGER.log(
+            Level.INFO,
+            "Not using catalog cache, since there is no database fingerprint, "
+                + "and no maximum age is configured");
+        return Optional.empty();
+      }
+      keyParts.add(fingerprint);
+    } catch (final SQLException e) {
+      LOGGER.log(Level.WARNING, "Not using catalog cache, since fingerprinting failed", e);
+      return Optional.empty();
+    }
+    keyParts.add(loadOptions.getSchemaInfoLevel().toString());
+    keyParts.add(String.valueOf(loadOptions.getDataDictionaryPartitions()));
+    keyParts.add(loadOptions.getAttributeCapture(Table.class).toString());
+    keyParts.add(loadOptions.getAttributeCapture(Column.class).toString());
+    keyParts.add(loadOptions.getAttributeCapture(Index.class).toString());
+    keyParts.add(loadOptions.getAttributeCapture(ForeignKey.class).toString());
+    keyParts.add(schemaCrawlerOptions.getLimitOptions().toString());
+    keyParts.add(schemaCrawlerOptions.getGrepOptions().toString());
+    keyParts.add(schemaCrawlerOptions.getFilterOptions().toString());
+    keyParts.add(schemaRetrievalOptions.getInformationSchemaViews().toString());
+    for (final SchemaInfoMetadataRetrievalStrategy strategy :
+        SchemaInfoMetadataRetrievalStrategy.values()) {
+      keyParts.add(
+          String.format(
+              "%s=%s,%d",
+              strategy,
+              schemaRetrievalOptions.get(strategy),
+              schemaRetrievalOptions.getFetchSize(strategy)));
+    }
+    for (final InformationSchemaKey key : InformationSchemaKey.values()) {
+      keyParts.add(String.format("%s=%d", key, schemaRetrievalOptions.getFetchSize(key)));
+    }
+
+    return Optional.of(CatalogCache.cacheKey(keyParts));
+  }
+
+  /**
+   * Saves metrics for the crawl, if a metrics file is configured. Metrics are saved as JSON if the
+   * file has a ".json" extension, and in OpenMetrics text format otherwise.
+   *
+   * @param crawlMetrics Metrics for the crawl
+   */
+  private void saveCrawlMetrics(final CrawlMetrics crawlMetrics) {
+    final Config config = getAdditionalConfiguration();
+    if (config == null) {
+      return;
+    }
+    final String metricsFile = config.getStringValue(METRICS_FILE, null);
+    if (isBlank(metricsFile)) {
+      return;
+    }
+
+    final Path metricsFilePath = Paths.get(metricsFile);
+    final String metrics;
+    if (metricsFile.toLowerCase().endsWith(".json")) {
+      metrics = crawlMetrics.toJson();
+    } else {
+      metrics = crawlMetrics.toOpenMetrics();
+    }
+    try {
+      Files.write(metricsFilePath, metrics.getBytes(UTF_8));
+      LOGGER.log(Level.INFO, new StringFormat("Saved crawl metrics to <%s>", metricsFilePath));
+    } catch (final IOException e) {
+      LOGGER.log(
+          Level.WARNING,
+          e,
+          new StringFormat("Could not save crawl metrics to <%s>", metricsFilePath));
+    }
+  }
+
+  private String databaseFingerprint(final Connection connection) throws SQLException {
+    final InformationSchemaViews informationSchemaViews =
+        getSchemaRetrievalOptions().getInformationSchemaViews();
+    if (!informationSchemaViews.hasQuery(SCHEMA_FINGERPRINT)) {
+      LOGGER.log(Level.CONFIG, "No database fingerprint query");
+      return "";
+    }
+
+    final Query query = informationSchemaViews.getQuery(SCHEMA_FINGERPRINT);
+    final InclusionRule schemaInclusionRule =
+        getSchemaCrawlerOptions().getLimitOptions().get(ruleForSchemaInclusion);
+    final StringBuilder fingerprint = new StringBuilder();
+    try (final Statement statement = connection.createStatement();
+        final ResultSet results = executeAgainstSchema(query, statement, schemaInclusionRule)) {
+      if (results == null) {
+        return "";
+      }
+      final int columnCount = results.getMetaData().getColumnCount();
+      while (results.next()) {
+        for (int i = 1; i <= columnCount; i++) {
+          fingerprint.append(results.getString(i)).append('\t');
+        }
+        fingerprint.append('\n');
+      }
+    }
+    return fingerprint.toString();
+  }
+
+  /**
+   * Creates the catalog cache, if a cache directory is configured.
+   *
+   * @return Catalog cache, or empty if catalogs are not cached
+   */
+  private Optional<CatalogCache> newCatalogCache() {
+    final Config config = getAdditionalConfiguration();
+    if (config == null) {
+      return Optional.empty();
+    }
+    final String cacheDirectory = config.getStringValue(CACHE_DIRECTORY, null);
+    if (isBlank(cacheDirectory)) {
+      return Optional.empty();
+    }
+
+    final long maxSizeMb = config.getIntegerValue(CACHE_MAX_SIZE_MB, 512);
+    final long maxAgeMinutes = config.getIntegerValue(CACHE_MAX_AGE_MINUTES, 24 * 60);
+    final CatalogCache catalogCache =
+        new CatalogCache(
+            Paths.get(cacheDirectory),
+            maxSizeMb * 1024 * 1024,
+            Duration.ofMinutes(maxAgeMinutes));
+    LOGGER.log(Level.CONFIG, new StringFormat("Using %s", catalogCache));
+    return Optional.of(catalogCache);
+  }
 }
@@ -110,6 +110,15 @@ public final class OutputOptions implements Options {
     return title;
   }
 
+  /**
+   * Checks whether output is written to a file, rather than to the console or to a writer.
+   *
+   * @return Whether there is an output file
+   */
+  public boolean hasOutputFile() {
+    return outputResource instanceof FileOutputResource;
+  }
+
   /**
    * Checks whether there is a title for the output.
    *
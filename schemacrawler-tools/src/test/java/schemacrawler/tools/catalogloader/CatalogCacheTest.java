@@ -0,0 +1,215 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.catalogloader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaRetrievalOptionsDefault;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.test.utility.WithTestDatabase;
+import schemacrawler.tools.options.Config;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+
+@WithTestDatabase
+public class CatalogCacheTest {
+
+  private Path directory;
+
+  @BeforeEach
+  public void _createDirectory() throws IOException {
+    directory = Files.createTempDirectory("catalog-cache");
+  }
+
+  @Test
+  public void badArgs() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new CatalogCache(directory, -1, Duration.ofMinutes(1)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new CatalogCache(directory, 0, Duration.ofMinutes(-1)));
+    assertThrows(NullPointerException.class, () -> new CatalogCache(null, 0, Duration.ZERO));
+  }
+
+  @Test
+  public void cacheKey() {
+    final String cacheKey = CatalogCache.cacheKey(Arrays.asList("jdbc:test", "standard"));
+    assertThat(cacheKey.length(), is(64));
+    assertThat(CatalogCache.cacheKey(Arrays.asList("jdbc:test", "standard")), is(cacheKey));
+    assertThat(
+        CatalogCache.cacheKey(Arrays.asList("jdbc:test", "maximum")), is(not(cacheKey)));
+    // Parts cannot run into each other
+    assertThat(
+        CatalogCache.cacheKey(Arrays.asList("jdbc:tests", "tandard")), is(not(cacheKey)));
+  }
+
+  @Test
+  public void corruptCacheFile() throws IOException {
+    final Path cacheFile = newCacheFile("corrupt", 100, Instant.now());
+
+    final CatalogCache catalogCache = new CatalogCache(directory, 1024, Duration.ofMinutes(1));
+    assertThat(catalogCache.get("corrupt").isPresent(), is(false));
+    assertThat(Files.exists(cacheFile), is(false));
+  }
+
+  @Test
+  public void evictByAge() throws IOException {
+    final Instant now = Instant.now();
+    final Path newCacheFile = newCacheFile("new", 100, now);
+    final Path oldCacheFile = newCacheFile("old", 100, now.minus(Duration.ofHours(2)));
+    final Path otherFile = directory.resolve("other.txt");
+    Files.write(otherFile, new byte[100]);
+    Files.setLastModifiedTime(otherFile, FileTime.from(now.minus(Duration.ofHours(2))));
+
+    final CatalogCache catalogCache = new CatalogCache(directory, 1024, Duration.ofHours(1));
+    assertThat(catalogCache.get("old").isPresent(), is(false));
+    catalogCache.evict();
+
+    assertThat(Files.exists(newCacheFile), is(true));
+    assertThat(Files.exists(oldCacheFile), is(false));
+    // Files that were not created by the cache are left alone
+    assertThat(Files.exists(otherFile), is(true));
+  }
+
+  @Test
+  public void evictBySize() throws IOException {
+    final Instant now = Instant.now();
+    final Path cacheFile1 = newCacheFile("1", 100, now.minus(Duration.ofMinutes(3)));
+    final Path cacheFile2 = newCacheFile("2", 100, now.minus(Duration.ofMinutes(2)));
+    final Path cacheFile3 = newCacheFile("3", 100, now.minus(Duration.ofMinutes(1)));
+
+    final CatalogCache catalogCache = new CatalogCache(directory, 250, Duration.ofHours(1));
+    catalogCache.evict();
+
+    assertThat(Files.exists(cacheFile1), is(false));
+    assertThat(Files.exists(cacheFile2), is(true));
+    assertThat(Files.exists(cacheFile3), is(true));
+  }
+
+  @Test
+  public void evictTempFiles() throws IOException {
+    final Instant now = Instant.now();
+    final Path newTempFile = newTempFile("new", 100, now);
+    final Path oldTempFile = newTempFile("old", 100, now.minus(Duration.ofHours(2)));
+
+    // Temporary files may still be written by another run, so they are only
+    // deleted once they expire, and do not count towards the cache size
+    final CatalogCache catalogCache = new CatalogCache(directory, 0, Duration.ofHours(1));
+    catalogCache.evict();
+
+    assertThat(Files.exists(newTempFile), is(true));
+    assertThat(Files.exists(oldTempFile), is(false));
+  }
+
+  @Test
+  public void loadFromCache(final DatabaseConnectionSource dataSource) throws Exception {
+    final Config config = new Config();
+    config.put("schemacrawler.load.cache.directory", directory.toString());
+    // The test database has no fingerprint query, so the maximum age must be set explicitly
+    config.put("schemacrawler.load.cache.max_age_minutes", "60");
+
+    final Catalog catalog = loadCatalog(dataSource, config);
+    final Catalog cachedCatalog = loadCatalog(dataSource, config);
+
+    // A cached catalog has the run id of the crawl that created it
+    assertThat(
+        cachedCatalog.getCrawlInfo().getRunId(), is(catalog.getCrawlInfo().getRunId()));
+    assertThat(cachedCatalog.getTables().size(), is(catalog.getTables().size()));
+  }
+
+  @Test
+  public void loadWithoutCache(final DatabaseConnectionSource dataSource) throws Exception {
+    final Catalog catalog = loadCatalog(dataSource, new Config());
+    final Catalog otherCatalog = loadCatalog(dataSource, new Config());
+
+    assertThat(
+        otherCatalog.getCrawlInfo().getRunId(), is(not(catalog.getCrawlInfo().getRunId())));
+  }
+
+  @Test
+  public void loadWithoutFingerprint(final DatabaseConnectionSource dataSource) throws Exception {
+    final Config config = new Config();
+    config.put("schemacrawler.load.cache.directory", directory.toString());
+
+    final Catalog catalog = loadCatalog(dataSource, config);
+    final Catalog otherCatalog = loadCatalog(dataSource, config);
+
+    assertThat(
+        otherCatalog.getCrawlInfo().getRunId(), is(not(catalog.getCrawlInfo().getRunId())));
+  }
+
+  @Test
+  public void missingCacheFile() {
+    final CatalogCache catalogCache = new CatalogCache(directory, 1024, Duration.ofMinutes(1));
+    assertThat(catalogCache.get("missing").isPresent(), is(false));
+  }
+
+  private Catalog loadCatalog(final DatabaseConnectionSource dataSource, final Config config) {
+    final CatalogLoader catalogLoader = new SchemaCrawlerCatalogLoader();
+    catalogLoader.setDataSource(dataSource);
+    catalogLoader.setSchemaRetrievalOptions(schemaRetrievalOptionsDefault);
+    catalogLoader.setAdditionalConfiguration(config);
+    catalogLoader.loadCatalog();
+    return catalogLoader.getCatalog();
+  }
+
+  private Path newCacheFile(final String cacheKey, final int size, final Instant lastModified)
+      throws IOException {
+    return newFile(cacheKey + ".snapshot", size, lastModified);
+  }
+
+  private Path newFile(final String fileName, final int size, final Instant lastModified)
+      throws IOException {
+    final Path cacheFile = directory.resolve(fileName);
+    final byte[] bytes = new byte[size];
+    Arrays.fill(bytes, (byte) 'x');
+    Files.write(cacheFile, bytes);
+    Files.setLastModifiedTime(cacheFile, FileTime.from(lastModified));
+    return cacheFile;
+  }
+
+  private Path newTempFile(final String cacheKey, final int size, final Instant lastModified)
+      throws IOException {
+    return newFile(cacheKey + ".tmp", size, lastModified);
+  }
+}
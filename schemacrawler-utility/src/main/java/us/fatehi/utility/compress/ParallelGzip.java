@@ -0,0 +1,218 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.compress;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Parallel gzip files are a series of independently compressed gzip members, which can be read by
+ * any gzip tool. The header of each member has an extra field with the total size of the member,
+ * so the members can be indexed by skipping from one header to the next, without decompressing
+ * them.
+ */
+final class ParallelGzip {
+
+  static final int HEADER_LENGTH = 20;
+  static final int TRAILER_LENGTH = 8;
+
+  private static final int FEXTRA = 4;
+  private static final int XLEN = 8;
+  private static final byte SUBFIELD_ID1 = 'S';
+  private static final byte SUBFIELD_ID2 = 'C';
+  private static final int SUBFIELD_LENGTH = 4;
+  private static final int MEMBER_SIZE_OFFSET = 16;
+
+  static byte[] compressBlock(final byte[] data, final int length) {
+    final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    try {
+      deflater.setInput(data, 0, length);
+      deflater.finish();
+
+      byte[] member = new byte[HEADER_LENGTH + length + (length >> 3) + 64 + TRAILER_LENGTH];
+      int position = HEADER_LENGTH;
+      while (!deflater.finished()) {
+        if (position == member.length - TRAILER_LENGTH) {
+          member = Arrays.copyOf(member, member.length * 2);
+        }
+        position += deflater.deflate(member, position, member.length - TRAILER_LENGTH - position);
+      }
+      final int memberSize = position + TRAILER_LENGTH;
+
+      final CRC32 crc = new CRC32();
+      crc.update(data, 0, length);
+
+      writeHeader(member, memberSize);
+      writeInt(member, position, (int) crc.getValue());
+      writeInt(member, position + 4, length);
+
+      return Arrays.copyOf(member, memberSize);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Decompresses a member into an array which is one byte larger than the uncompressed size, so
+   * that the end of the compressed data can be detected.
+   */
+  static byte[] decompressBlock(final ByteBuffer buffer, final Member member) throws IOException {
+    final ByteBuffer memberBuffer = buffer.duplicate();
+    memberBuffer.position(member.offset + HEADER_LENGTH);
+    final byte[] compressed = new byte[member.size - HEADER_LENGTH - TRAILER_LENGTH];
+    memberBuffer.get(compressed);
+    final int expectedCrc = readInt(buffer, member.offset + member.size - TRAILER_LENGTH);
+
+    final byte[] data = new byte[member.length + 1];
+    final Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(compressed);
+      int position = 0;
+      while (!inflater.finished()) {
+        if (position == data.length) {
+          throw new ZipException(
+              String.format("Unexpected size of gzip member at offset %d", member.offset));
+        }
+        final int count = inflater.inflate(data, position, data.length - position);
+        if (count == 0
+            && !inflater.finished()
+            && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new ZipException(
+              String.format("Truncated gzip member at offset %d", member.offset));
+        }
+        position += count;
+      }
+      if (position != member.length) {
+        throw new ZipException(
+            String.format("Unexpected size of gzip member at offset %d", member.offset));
+      }
+    } catch (final DataFormatException e) {
+      throw new ZipException(
+          String.format("Corrupt gzip member at offset %d: %s", member.offset, e.getMessage()));
+    } finally {
+      inflater.end();
+    }
+
+    final CRC32 crc = new CRC32();
+    crc.update(data, 0, member.length);
+    if ((int) crc.getValue() != expectedCrc) {
+      throw new ZipException(
+          String.format("CRC mismatch in gzip member at offset %d", member.offset));
+    }
+    return data;
+  }
+
+  static boolean isMemberHeader(final ByteBuffer buffer, final int offset) {
+    if (buffer.limit() - offset < HEADER_LENGTH + TRAILER_LENGTH) {
+      return false;
+    }
+    return (buffer.get(offset) & 0xFF) == 0x1F
+        && (buffer.get(offset + 1) & 0xFF) == 0x8B
+        && buffer.get(offset + 2) == Deflater.DEFLATED
+        && buffer.get(offset + 3) == FEXTRA
+        && readShort(buffer, offset + 10) == XLEN
+        && buffer.get(offset + 12) == SUBFIELD_ID1
+        && buffer.get(offset + 13) == SUBFIELD_ID2
+        && readShort(buffer, offset + 14) == SUBFIELD_LENGTH;
+  }
+
+  /**
+   * Reads the header of the member at the given offset, and the uncompressed size from its
+   * trailer.
+   */
+  static Member readMember(final ByteBuffer buffer, final int offset) throws ZipException {
+    if (!isMemberHeader(buffer, offset)) {
+      throw new ZipException(String.format("No parallel gzip member at offset %d", offset));
+    }
+    final int size = readInt(buffer, offset + MEMBER_SIZE_OFFSET);
+    if (size < HEADER_LENGTH + TRAILER_LENGTH || size > buffer.limit() - offset) {
+      throw new ZipException(String.format("Truncated gzip member at offset %d", offset));
+    }
+    final int length = readInt(buffer, offset + size - 4);
+    if (length < 0) {
+      throw new ZipException(String.format("Gzip member at offset %d is too large", offset));
+    }
+    return new Member(offset, size, length);
+  }
+
+  private static int readInt(final ByteBuffer buffer, final int offset) {
+    return readShort(buffer, offset) | readShort(buffer, offset + 2) << 16;
+  }
+
+  private static int readShort(final ByteBuffer buffer, final int offset) {
+    return buffer.get(offset) & 0xFF | (buffer.get(offset + 1) & 0xFF) << 8;
+  }
+
+  private static void writeHeader(final byte[] member, final int memberSize) {
+    member[0] = (byte) 0x1F;
+    member[1] = (byte) 0x8B;
+    member[2] = Deflater.DEFLATED;
+    member[3] = FEXTRA;
+    // Modification time and extra flags are left as zero, and the operating system is unknown
+    member[9] = (byte) 0xFF;
+    member[10] = XLEN;
+    member[11] = 0;
+    member[12] = SUBFIELD_ID1;
+    member[13] = SUBFIELD_ID2;
+    member[14] = SUBFIELD_LENGTH;
+    member[15] = 0;
+    writeInt(member, MEMBER_SIZE_OFFSET, memberSize);
+  }
+
+  private static void writeInt(final byte[] bytes, final int offset, final int value) {
+    bytes[offset] = (byte) value;
+    bytes[offset + 1] = (byte) (value >>> 8);
+    bytes[offset + 2] = (byte) (value >>> 16);
+    bytes[offset + 3] = (byte) (value >>> 24);
+  }
+
+  /** Location and sizes of a gzip member in the block index. */
+  static final class Member {
+
+    final int offset;
+    final int size;
+    final int length;
+
+    Member(final int offset, final int size, final int length) {
+      this.offset = offset;
+      this.size = size;
+      this.length = length;
+    }
+  }
+
+  private ParallelGzip() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,212 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.compress;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.compress.ParallelGzip.decompressBlock;
+import static us.fatehi.utility.compress.ParallelGzip.isMemberHeader;
+import static us.fatehi.utility.compress.ParallelGzip.readMember;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import us.fatehi.utility.compress.ParallelGzip.Member;
+
+/**
+ * Input stream for data written by a {@link ParallelGzipOutputStream}, usually from a
+ * memory-mapped file. The gzip members are indexed up-front from their headers, and are
+ * decompressed ahead of the reader on all available processors, so that the reader can consume
+ * one block while the next blocks are being decompressed.
+ */
+public final class ParallelGzipInputStream extends InputStream {
+
+  /**
+   * Checks whether the buffer starts with a parallel gzip member. The position of the buffer is
+   * not changed.
+   *
+   * @param buffer Buffer to check
+   * @return Whether the data can be read with a parallel gzip input stream
+   */
+  public static boolean isParallelGzip(final ByteBuffer buffer) {
+    requireNonNull(buffer, "No buffer provided");
+    return isMemberHeader(buffer, buffer.position());
+  }
+
+  private final ByteBuffer buffer;
+  private final ExecutorService executorService;
+  private final List<Member> members;
+  private final int maxPendingBlocks;
+  private final Deque<Future<byte[]>> pendingBlocks;
+  private int nextMember;
+  private int nextBlock;
+  private byte[] block;
+  private int blockPosition;
+  private int blockLength;
+  private boolean closed;
+
+  public ParallelGzipInputStream(final ByteBuffer buffer) throws IOException {
+    this(buffer, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates an input stream which decompresses blocks using the given executor service. The
+   * executor service is not shut down when the stream is closed.
+   *
+   * @param buffer Buffer with parallel gzip data, from the current position to the limit
+   * @param executorService Executor service to decompress blocks
+   * @throws IOException On a buffer that does not contain parallel gzip data
+   */
+  public ParallelGzipInputStream(final ByteBuffer buffer, final ExecutorService executorService)
+      throws IOException {
+    this.buffer = requireNonNull(buffer, "No buffer provided").duplicate();
+    this.executorService = requireNonNull(executorService, "No executor service provided");
+    members = indexMembers(this.buffer);
+    maxPendingBlocks = 2 * Runtime.getRuntime().availableProcessors();
+    pendingBlocks = new ArrayDeque<>();
+    block = new byte[0];
+  }
+
+  @Override
+  public int available() throws IOException {
+    ensureOpen();
+    return blockLength - blockPosition;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    pendingBlocks.forEach(pendingBlock -> pendingBlock.cancel(true));
+    pendingBlocks.clear();
+    block = null;
+  }
+
+  @Override
+  public int read() throws IOException {
+    ensureOpen();
+    if (!ensureBlock()) {
+      return -1;
+    }
+    return block[blockPosition++] & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+    ensureOpen();
+    requireNonNull(bytes, "No bytes provided");
+    if (offset < 0 || length < 0 || length > bytes.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (length == 0) {
+      return 0;
+    }
+    if (!ensureBlock()) {
+      return -1;
+    }
+
+    final int count = Math.min(length, blockLength - blockPosition);
+    System.arraycopy(block, blockPosition, bytes, offset, count);
+    blockPosition += count;
+    return count;
+  }
+
+  /**
+   * Moves on to the next block that has data, if the current block has been read.
+   *
+   * @return False at the end of the stream
+   */
+  private boolean ensureBlock() throws IOException {
+    while (blockPosition == blockLength) {
+      if (nextBlock == members.size()) {
+        return false;
+      }
+      submitBlocks();
+      block = takeBlock(pendingBlocks.remove());
+      blockPosition = 0;
+      blockLength = members.get(nextBlock).length;
+      nextBlock++;
+      submitBlocks();
+    }
+    return true;
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  private static List<Member> indexMembers(final ByteBuffer buffer) throws IOException {
+    final List<Member> members = new ArrayList<>();
+    int offset = buffer.position();
+    while (offset < buffer.limit()) {
+      final Member member = readMember(buffer, offset);
+      members.add(member);
+      offset += member.size;
+    }
+    return members;
+  }
+
+  private void submitBlocks() {
+    while (pendingBlocks.size() < maxPendingBlocks && nextMember < members.size()) {
+      final Member member = members.get(nextMember);
+      pendingBlocks.add(executorService.submit(() -> decompressBlock(buffer, member)));
+      nextMember++;
+    }
+  }
+
+  private byte[] takeBlock(final Future<byte[]> pendingBlock) throws IOException {
+    try {
+      return pendingBlock.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while decompressing block");
+    } catch (final ExecutionException e) {
+      // Some executors wrap exceptions from other threads, so look for the original exception
+      for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+      }
+      throw new IOException("Could not decompress block", e.getCause());
+    }
+  }
+}
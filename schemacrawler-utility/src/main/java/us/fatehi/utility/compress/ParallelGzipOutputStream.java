@@ -0,0 +1,178 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.compress;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.compress.ParallelGzip.compressBlock;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import us.fatehi.utility.scheduler.OrderedTaskQueue;
+
+/**
+ * Gzip output stream that splits the data into fixed size blocks, and compresses the blocks on
+ * all available processors. Each block is written as a separate gzip member, in order, so the
+ * output can be decompressed by any gzip tool, or in parallel with a {@link
+ * ParallelGzipInputStream}. Only a limited number of blocks are held in memory at any time.
+ */
+public final class ParallelGzipOutputStream extends OutputStream {
+
+  public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+  private final OutputStream out;
+  private final OrderedTaskQueue<byte[]> pendingBlocks;
+  private byte[] block;
+  private int blockLength;
+  private boolean hasBlocks;
+  private boolean closed;
+
+  public ParallelGzipOutputStream(final OutputStream out) {
+    this(out, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a gzip output stream which compresses blocks using the given executor service. The
+   * executor service is not shut down when the stream is closed.
+   *
+   * @param out Underlying output stream
+   * @param blockSize Size of uncompressed blocks
+   * @param executorService Executor service to compress blocks
+   */
+  public ParallelGzipOutputStream(
+      final OutputStream out, final int blockSize, final ExecutorService executorService) {
+    this.out = requireNonNull(out, "No output stream provided");
+    requireNonNull(executorService, "No executor service provided");
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("Block size must be positive");
+    }
+    block = new byte[blockSize];
+    pendingBlocks =
+        new OrderedTaskQueue<>(executorService, 2 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Compresses and writes any remaining data, and closes the underlying stream. An empty stream
+   * is written as a single empty gzip member.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (blockLength > 0 || !hasBlocks) {
+        submitBlock();
+      }
+      pendingBlocks.drain(this::writeBlock);
+    } finally {
+      pendingBlocks.cancel();
+      out.close();
+    }
+  }
+
+  /**
+   * Compresses any buffered data as a separate block, so that a flush results in smaller gzip
+   * members. Waits for all blocks to be written before flushing the underlying stream.
+   */
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    if (blockLength > 0) {
+      submitBlock();
+    }
+    pendingBlocks.drain(this::writeBlock);
+    out.flush();
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+    ensureOpen();
+    requireNonNull(bytes, "No bytes provided");
+    if (offset < 0 || length < 0 || length > bytes.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    int position = offset;
+    int remaining = length;
+    while (remaining > 0) {
+      final int count = Math.min(remaining, block.length - blockLength);
+      System.arraycopy(bytes, position, block, blockLength, count);
+      blockLength += count;
+      position += count;
+      remaining -= count;
+      if (blockLength == block.length) {
+        submitBlock();
+      }
+    }
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    ensureOpen();
+    block[blockLength++] = (byte) b;
+    if (blockLength == block.length) {
+      submitBlock();
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  private void submitBlock() throws IOException {
+    final byte[] data = block;
+    final int length = blockLength;
+    block = new byte[data.length];
+    blockLength = 0;
+    hasBlocks = true;
+
+    // Write blocks that are already compressed, and wait if too many blocks are pending
+    pendingBlocks.submit(() -> compressBlock(data, length), this::writeBlock);
+  }
+
+  private void writeBlock(final Future<byte[]> pendingBlock) throws IOException {
+    try {
+      out.write(pendingBlock.get());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while compressing block");
+    } catch (final ExecutionException e) {
+      throw new IOException("Could not compress block", e.getCause());
+    }
+  }
+}
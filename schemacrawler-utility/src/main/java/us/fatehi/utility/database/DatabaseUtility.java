@@ -28,6 +28,8 @@ http://www.gnu.org/licenses/
 
 package us.fatehi.utility.database;
 
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
 import static java.util.Objects.requireNonNull;
 import static us.fatehi.utility.Utility.isBlank;
 import java.sql.Connection;
@@ -78,6 +80,27 @@ public final class DatabaseUtility {
     return connection.createStatement();
   }
 
+  /**
+   * Creates a forward-only, read-only statement with the given fetch size, so that large results
+   * can be read through without being held in memory by the JDBC driver.
+   *
+   * @param connection Database connection
+   * @param fetchSize Number of rows to fetch from the database at a time
+   * @return Statement
+   * @throws SQLException On an exception creating the statement
+   */
+  public static Statement createStreamingStatement(final Connection connection, final int fetchSize)
+      throws SQLException {
+    checkConnection(connection);
+    final Statement statement = connection.createStatement(TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+    try {
+      statement.setFetchSize(fetchSize);
+    } catch (final SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+    }
+    return statement;
+  }
+
   public static ResultSet executeSql(final Statement statement, final String sql)
       throws SQLException {
     if (statement == null) {
@@ -34,6 +34,16 @@ import java.util.function.Supplier;
 
 public interface DatabaseConnectionSource extends AutoCloseable, Supplier<Connection> {
 
+  /**
+   * Maximum number of connections that can be in use at the same time, which limits how many
+   * queries can be run in parallel.
+   *
+   * @return Maximum number of connections in use at the same time
+   */
+  default int getMaxConnections() {
+    return Integer.MAX_VALUE;
+  }
+
   boolean releaseConnection(Connection connection);
 
   void setFirstConnectionInitializer(Consumer<Connection> connectionInitializer);
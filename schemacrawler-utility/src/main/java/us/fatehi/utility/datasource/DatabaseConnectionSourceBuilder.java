@@ -51,6 +51,7 @@ public class DatabaseConnectionSourceBuilder {
   private Map<String, String> defaultUrlx;
   private UserCredentials userCredentials;
   private Consumer<Connection> connectionInitializer;
+  private int maxConnections;
   private String providedDatabase;
   private String providedHost;
   private Integer providedPort;
@@ -61,6 +62,7 @@ public class DatabaseConnectionSourceBuilder {
     this.defaultDatabase = "";
     userCredentials = new MultiUseUserCredentials();
     connectionInitializer = connection -> {};
+    maxConnections = SimpleDatabaseConnectionSource.DEFAULT_MAX_CONNECTIONS;
   }
 
   public DatabaseConnectionSource build() {
@@ -68,7 +70,7 @@ public class DatabaseConnectionSourceBuilder {
     final Map<String, String> connectionUrlx = toUrlx();
     final DatabaseConnectionSource databaseConnectionSource =
         DatabaseConnectionSources.newDatabaseConnectionSource(
-            connectionUrl, connectionUrlx, userCredentials, connectionInitializer);
+            connectionUrl, connectionUrlx, userCredentials, connectionInitializer, maxConnections);
     return databaseConnectionSource;
   }
 
@@ -135,6 +137,18 @@ public class DatabaseConnectionSourceBuilder {
     return this;
   }
 
+  /**
+   * Maximum number of connections that can be open at the same time. Callers wait for a connection
+   * to be returned when this many are in use.
+   *
+   * @param maxConnections Maximum number of connections
+   * @return Builder
+   */
+  public DatabaseConnectionSourceBuilder withMaxConnections(final int maxConnections) {
+    this.maxConnections = Math.max(maxConnections, 1);
+    return this;
+  }
+
   public DatabaseConnectionSourceBuilder withPort(final Integer port) {
     this.providedPort = port;
     return this;
@@ -51,6 +51,30 @@ public class DatabaseConnectionSources {
       final Map<String, String> connectionProperties,
       final UserCredentials userCredentials,
       final Consumer<Connection> connectionInitializer) {
+    return newDatabaseConnectionSource(
+        connectionUrl,
+        connectionProperties,
+        userCredentials,
+        connectionInitializer,
+        SimpleDatabaseConnectionSource.DEFAULT_MAX_CONNECTIONS);
+  }
+
+  /**
+   * Creates a database connection source, which pools connections.
+   *
+   * @param connectionUrl Database connection URL
+   * @param connectionProperties Additional JDBC connection properties
+   * @param userCredentials Database user credentials
+   * @param connectionInitializer Initializes each connection before use
+   * @param maxConnections Maximum number of connections that can be open at the same time
+   * @return Database connection source
+   */
+  public static DatabaseConnectionSource newDatabaseConnectionSource(
+      final String connectionUrl,
+      final Map<String, String> connectionProperties,
+      final UserCredentials userCredentials,
+      final Consumer<Connection> connectionInitializer,
+      final int maxConnections) {
 
     final boolean isSingleThreaded =
         Boolean.valueOf(
@@ -62,7 +86,13 @@ public class DatabaseConnectionSources {
     } else {
       LOGGER.log(Level.CONFIG, "Loading database schema using multiple threads");
       return new SimpleDatabaseConnectionSource(
-          connectionUrl, connectionProperties, userCredentials, connectionInitializer);
+          connectionUrl,
+          connectionProperties,
+          userCredentials,
+          connectionInitializer,
+          maxConnections,
+          SimpleDatabaseConnectionSource.DEFAULT_ACQUIRE_TIMEOUT,
+          SimpleDatabaseConnectionSource.DEFAULT_IDLE_TIMEOUT);
     }
   }
 
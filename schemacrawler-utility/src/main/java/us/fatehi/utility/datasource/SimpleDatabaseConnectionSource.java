@@ -33,34 +33,90 @@ import static us.fatehi.utility.Utility.isBlank;
 import static us.fatehi.utility.Utility.requireNotBlank;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import us.fatehi.utility.SQLRuntimeException;
-import us.fatehi.utility.database.DatabaseUtility;
 import us.fatehi.utility.string.StringFormat;
 
+/**
+ * A simple pool of database connections. The number of connections is capped, and callers wait
+ * for a connection in the order in which they asked for one. Connections that have been idle for
+ * a while are closed, and idle connections are validated before they are handed out.
+ */
 final class SimpleDatabaseConnectionSource extends AbstractDatabaseConnectionSource {
 
+  private static final class IdleConnection {
+    private final Connection connection;
+    private final long idleSinceNanos;
+
+    IdleConnection(final Connection connection) {
+      this.connection = connection;
+      idleSinceNanos = System.nanoTime();
+    }
+  }
+
   private static final Logger LOGGER =
       Logger.getLogger(SimpleDatabaseConnectionSource.class.getName());
 
+  static final int DEFAULT_MAX_CONNECTIONS = 10;
+  static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofMinutes(5);
+  static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
   private final String connectionUrl;
   private final Properties jdbcConnectionProperties;
-  private final Deque<Connection> connectionPool;
-  private final Deque<Connection> usedConnections;
+  private final int maxConnections;
+  private final Duration acquireTimeout;
+  private final Duration idleTimeout;
+
+  private final ReentrantLock lock;
+  private final Condition connectionAvailable;
+  private final Deque<IdleConnection> idleConnections;
+  private final Set<Connection> usedConnections;
+  private int openConnections;
+
+  private long createdConnections;
+  private long borrowedConnections;
+  private long totalWaitNanos;
+  private long maxWaitNanos;
 
   SimpleDatabaseConnectionSource(
       final String connectionUrl,
       final Map<String, String> connectionProperties,
       final UserCredentials userCredentials,
       final Consumer<Connection> connectionInitializer) {
+    this(
+        connectionUrl,
+        connectionProperties,
+        userCredentials,
+        connectionInitializer,
+        DEFAULT_MAX_CONNECTIONS,
+        DEFAULT_ACQUIRE_TIMEOUT,
+        DEFAULT_IDLE_TIMEOUT);
+  }
+
+  SimpleDatabaseConnectionSource(
+      final String connectionUrl,
+      final Map<String, String> connectionProperties,
+      final UserCredentials userCredentials,
+      final Consumer<Connection> connectionInitializer,
+      final int maxConnections,
+      final Duration acquireTimeout,
+      final Duration idleTimeout) {
 
     super(connectionInitializer);
     this.connectionUrl = requireNotBlank(connectionUrl, "No database connection URL provided");
@@ -78,81 +134,335 @@ final class SimpleDatabaseConnectionSource extends AbstractDatabaseConnectionSou
     jdbcConnectionProperties =
         createConnectionProperties(connectionUrl, connectionProperties, user, password);
 
-    connectionPool = new LinkedBlockingDeque<>();
-    usedConnections = new LinkedBlockingDeque<>();
+    this.maxConnections = Math.max(maxConnections, 1);
+    this.acquireTimeout = requireNonNull(acquireTimeout, "No acquire timeout provided");
+    this.idleTimeout = requireNonNull(idleTimeout, "No idle timeout provided");
+
+    lock = new ReentrantLock(true);
+    connectionAvailable = lock.newCondition();
+    idleConnections = new ArrayDeque<>();
+    usedConnections = Collections.newSetFromMap(new IdentityHashMap<>());
   }
 
   @Override
   public void close() throws Exception {
 
     final List<Connection> connections = new ArrayList<>();
-    connections.addAll(connectionPool);
-    connections.addAll(usedConnections);
+    final boolean hasUsedConnections;
+    lock.lock();
+    try {
+      for (final IdleConnection idleConnection : idleConnections) {
+        connections.add(idleConnection.connection);
+      }
+      connections.addAll(usedConnections);
+      hasUsedConnections = !usedConnections.isEmpty();
+
+      idleConnections.clear();
+      usedConnections.clear();
+      openConnections = 0;
+      connectionAvailable.signalAll();
+    } finally {
+      lock.unlock();
+    }
 
     for (final Connection connection : connections) {
-      try {
-        connection.close();
-        LOGGER.log(Level.INFO, new StringFormat("Closed database connection <%s>", connection));
-      } catch (final Exception e) {
-        LOGGER.log(Level.WARNING, "Cannot close connection", e);
-      }
+      closeQuietly(connection);
     }
 
-    if (!usedConnections.isEmpty()) {
+    if (hasUsedConnections) {
       LOGGER.log(Level.SEVERE, "Abnormal termination - not all database connections are closed");
     }
-
-    connectionPool.clear();
-    usedConnections.clear();
+    LOGGER.log(Level.INFO, new StringFormat("Closed connection pool %s", this));
   }
 
+  /**
+   * Gets a connection from the pool, waiting for one to be returned if the maximum number of
+   * connections are in use.
+   *
+   * @throws SQLRuntimeException If a connection could not be obtained in time
+   */
   @Override
-  public synchronized Connection get() {
-    // Create a connection if needed
-    if (connectionPool.isEmpty()) {
-      final Connection connection = getConnection(connectionUrl, jdbcConnectionProperties);
-      connectionPool.add(connection);
-    }
+  public Connection get() {
+    final long startNanos = System.nanoTime();
+    final long deadlineNanos = startNanos + acquireTimeout.toNanos();
 
-    // Mark connection as in-use
-    final Connection connection = connectionPool.removeFirst();
-    usedConnections.add(connection);
+    while (true) {
+      Connection connection = null;
+      boolean createConnection = false;
+      List<Connection> evictedConnections = Collections.emptyList();
 
-    connectionInitializer.accept(connection);
-    LOGGER.log(
-        Level.FINE,
-        new StringFormat(
-            "Initialized database connection <%s> with <%s>", connection, connectionInitializer));
+      lock.lock();
+      try {
+        evictedConnections = evictIdleConnections();
+        while (idleConnections.isEmpty() && openConnections >= maxConnections) {
+          final long waitNanos = deadlineNanos - System.nanoTime();
+          if (waitNanos <= 0L) {
+            throw new SQLRuntimeException(
+                String.format(
+                    "Timed out waiting for a database connection, with <%d> connections in use",
+                    usedConnections.size()));
+          }
+          connectionAvailable.awaitNanos(waitNanos);
+        }
+        if (!idleConnections.isEmpty()) {
+          // Most recently used connections are least likely to have gone stale
+          connection = idleConnections.removeFirst().connection;
+        } else {
+          // Reserve a place in the pool, and create the connection after unlocking
+          openConnections++;
+          createConnection = true;
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLRuntimeException("Interrupted waiting for a database connection", e);
+      } finally {
+        lock.unlock();
+        // Close evicted connections without holding up other callers
+        for (final Connection evictedConnection : evictedConnections) {
+          closeQuietly(evictedConnection);
+        }
+      }
+
+      if (createConnection) {
+        try {
+          connection = getConnection(connectionUrl, jdbcConnectionProperties);
+        } catch (final RuntimeException e) {
+          discardConnection(null);
+          throw e;
+        }
+      } else if (!isValid(connection)) {
+        LOGGER.log(
+            Level.FINE,
+            new StringFormat("Discarding invalid database connection <%s>", connection));
+        discardConnection(connection);
+        continue;
+      }
+
+      borrowConnection(connection, createConnection, System.nanoTime() - startNanos);
 
-    return PooledConnectionUtility.newPooledConnection(connection, this);
+      try {
+        connectionInitializer.accept(connection);
+      } catch (final RuntimeException e) {
+        // The state of the connection is not known, so close it, rather than returning it to the
+        // pool, and give up its place in the pool
+        LOGGER.log(
+            Level.WARNING, new StringFormat("Could not initialize connection <%s>", connection));
+        discardConnection(connection);
+        throw e;
+      }
+      LOGGER.log(
+          Level.FINE,
+          new StringFormat(
+              "Initialized database connection <%s> with <%s>",
+              connection, connectionInitializer));
+
+      return PooledConnectionUtility.newPooledConnection(connection, this);
+    }
   }
 
+  /** {@inheritDoc} */
   @Override
-  public synchronized boolean releaseConnection(final Connection connection) {
+  public int getMaxConnections() {
+    return maxConnections;
+  }
 
-    final boolean removed = usedConnections.remove(connection);
+  @Override
+  public boolean releaseConnection(final Connection connection) {
+    if (connection == null) {
+      return false;
+    }
 
+    final Connection unwrappedConnection;
     try {
-      final Connection unwrappedConnection = connection.unwrap(Connection.class);
-      DatabaseUtility.checkConnection(unwrappedConnection);
+      if (connection instanceof DatabaseConnectionSourceConnection) {
+        unwrappedConnection = connection.unwrap(Connection.class);
+      } else {
+        unwrappedConnection = connection;
+      }
     } catch (final SQLException e) {
-      LOGGER.log(
-          Level.WARNING,
-          "Cannot check connection before returning to the pool - " + e.getMessage());
-      LOGGER.log(Level.FINE, "Cannot check connection before returning to the pool - ", e);
+      LOGGER.log(Level.WARNING, "Cannot return connection to the pool", e);
+      return false;
     }
 
-    connectionPool.add(connection);
+    lock.lock();
+    try {
+      final boolean removed = usedConnections.remove(unwrappedConnection);
+      if (removed) {
+        // Connections are validated when they are next borrowed, not here
+        idleConnections.addFirst(new IdleConnection(unwrappedConnection));
+        connectionAvailable.signal();
+      }
+      return removed;
+    } finally {
+      lock.unlock();
+    }
+  }
 
-    return removed;
+  @Override
+  public String toString() {
+    lock.lock();
+    try {
+      return String.format(
+          "[max=%d, active=%d, idle=%d, created=%d, borrowed=%d, "
+              + "total wait=%d ms, max wait=%d ms]",
+          maxConnections,
+          usedConnections.size(),
+          idleConnections.size(),
+          createdConnections,
+          borrowedConnections,
+          Duration.ofNanos(totalWaitNanos).toMillis(),
+          Duration.ofNanos(maxWaitNanos).toMillis());
+    } finally {
+      lock.unlock();
+    }
   }
 
   @Override
   protected void finalize() throws Throwable {
     // Assert that all connections are closed
-    if (!connectionPool.isEmpty() || !usedConnections.isEmpty()) {
+    if (!idleConnections.isEmpty() || !usedConnections.isEmpty()) {
       throw new SQLRuntimeException("Connection pool is not closed");
     }
     super.finalize();
   }
+
+  /**
+   * Number of connections that are currently in use.
+   *
+   * @return Number of connections in use
+   */
+  int getActiveConnections() {
+    lock.lock();
+    try {
+      return usedConnections.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Number of physical connections that have been created over the life of the pool.
+   *
+   * @return Number of connections created
+   */
+  long getCreatedConnections() {
+    lock.lock();
+    try {
+      return createdConnections;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Number of connections that are open, but not in use.
+   *
+   * @return Number of idle connections
+   */
+  int getIdleConnections() {
+    lock.lock();
+    try {
+      return idleConnections.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Total time that callers have spent waiting to get a connection.
+   *
+   * @return Total wait time
+   */
+  Duration getTotalWaitTime() {
+    lock.lock();
+    try {
+      return Duration.ofNanos(totalWaitNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void borrowConnection(
+      final Connection connection, final boolean isCreated, final long waitNanos) {
+    lock.lock();
+    try {
+      usedConnections.add(connection);
+      if (isCreated) {
+        createdConnections++;
+      }
+      borrowedConnections++;
+      totalWaitNanos = totalWaitNanos + waitNanos;
+      maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void closeQuietly(final Connection connection) {
+    try {
+      connection.close();
+      LOGGER.log(Level.INFO, new StringFormat("Closed database connection <%s>", connection));
+    } catch (final Exception e) {
+      LOGGER.log(Level.WARNING, "Cannot close connection", e);
+    }
+  }
+
+  /** Gives up the place in the pool held by a connection that cannot be used. */
+  private void discardConnection(final Connection connection) {
+    if (connection != null) {
+      closeQuietly(connection);
+    }
+    lock.lock();
+    try {
+      if (connection != null) {
+        usedConnections.remove(connection);
+      }
+      openConnections = Math.max(openConnections - 1, 0);
+      connectionAvailable.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes connections that have been idle for too long from the pool. Needs to be called under
+   * the lock, and the connections that are returned need to be closed after the lock is released.
+   *
+   * @return Evicted connections, which need to be closed
+   */
+  private List<Connection> evictIdleConnections() {
+    final List<Connection> evictedConnections = new ArrayList<>();
+    final long now = System.nanoTime();
+    final Iterator<IdleConnection> iterator = idleConnections.descendingIterator();
+    while (iterator.hasNext()) {
+      final IdleConnection idleConnection = iterator.next();
+      if (now - idleConnection.idleSinceNanos < idleTimeout.toNanos()) {
+        // Connections are ordered from most recently to least recently used
+        break;
+      }
+      iterator.remove();
+      openConnections = Math.max(openConnections - 1, 0);
+      LOGGER.log(
+          Level.FINE,
+          new StringFormat("Evicting idle database connection <%s>", idleConnection.connection));
+      evictedConnections.add(idleConnection.connection);
+    }
+    return evictedConnections;
+  }
+
+  private boolean isValid(final Connection connection) {
+    try {
+      return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (final SQLException | RuntimeException e) {
+      LOGGER.log(Level.FINE, "Cannot validate database connection", e);
+      return false;
+    } catch (final AbstractMethodError e) {
+      // Very old drivers do not implement isValid
+      try {
+        return !connection.isClosed();
+      } catch (final SQLException e1) {
+        return false;
+      }
+    }
+  }
 }
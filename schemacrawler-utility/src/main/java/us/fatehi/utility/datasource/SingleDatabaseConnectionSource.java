@@ -67,6 +67,12 @@ final class SingleDatabaseConnectionSource extends AbstractDatabaseConnectionSou
     connection.close();
   }
 
+  /** A single connection cannot be used to run queries in parallel. */
+  @Override
+  public int getMaxConnections() {
+    return 1;
+  }
+
   @Override
   public Connection get() {
     connectionInitializer.accept(connection);
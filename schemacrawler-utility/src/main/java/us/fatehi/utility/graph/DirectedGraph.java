@@ -28,21 +28,33 @@ http://www.gnu.org/licenses/
 
 package us.fatehi.utility.graph;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+/**
+ * Simple directed graph, with vertices identified by integers in the order in which they were
+ * added, and edges held in adjacency lists, so that graph algorithms can run in linear time.
+ *
+ * @param <T> Any comparable class
+ */
 public class DirectedGraph<T extends Comparable<? super T>> {
 
   private final Set<DirectedEdge<T>> edges;
   private final String name;
-  private final Map<T, Vertex<T>> verticesMap;
+  private final List<List<Integer>> successors;
+  private final Map<T, Integer> vertexIds;
+  private final List<Vertex<T>> vertices;
 
   public DirectedGraph(final String name) {
     this.name = name;
-    verticesMap = new LinkedHashMap<>();
+    vertexIds = new HashMap<>();
+    vertices = new ArrayList<>();
+    successors = new ArrayList<>();
     edges = new LinkedHashSet<>();
   }
 
@@ -54,8 +66,13 @@ public class DirectedGraph<T extends Comparable<? super T>> {
    * @param to Vertex value at the end of the edge
    */
   public void addEdge(final T from, final T to) {
-    if (!from.equals(to)) {
-      edges.add(new DirectedEdge<>(addVertex(from), addVertex(to)));
+    if (from.equals(to)) {
+      return;
+    }
+    final int fromId = addVertexId(from);
+    final int toId = addVertexId(to);
+    if (edges.add(new DirectedEdge<>(vertices.get(fromId), vertices.get(toId)))) {
+      successors.get(fromId).add(toId);
     }
   }
 
@@ -66,14 +83,7 @@ public class DirectedGraph<T extends Comparable<? super T>> {
    * @return The newly added vertex
    */
   public Vertex<T> addVertex(final T value) {
-    final Vertex<T> vertex;
-    if (verticesMap.containsKey(value)) {
-      vertex = verticesMap.get(value);
-    } else {
-      vertex = new Vertex<>(value);
-      verticesMap.put(value, vertex);
-    }
-    return vertex;
+    return vertices.get(addVertexId(value));
   }
 
   public Set<DirectedEdge<T>> edgeSet() {
@@ -91,9 +101,11 @@ public class DirectedGraph<T extends Comparable<? super T>> {
     Objects.requireNonNull(vertexFrom, "No vertex provided");
 
     final Set<DirectedEdge<T>> outgoingEdges = new LinkedHashSet<>();
-    for (final DirectedEdge<T> edge : edges) {
-      if (edge.getFrom().equals(vertexFrom)) {
-        outgoingEdges.add(edge);
+    final Integer fromId = vertexIds.get(vertexFrom.getValue());
+    if (fromId != null) {
+      final Vertex<T> from = vertices.get(fromId);
+      for (final int toId : successors.get(fromId)) {
+        outgoingEdges.add(new DirectedEdge<>(from, vertices.get(toId)));
       }
     }
     return outgoingEdges;
@@ -106,7 +118,7 @@ public class DirectedGraph<T extends Comparable<? super T>> {
     if (name != null && !name.isEmpty()) {
       writer.append(String.format("  [label=\"%s\"]%n", name));
     }
-    for (final Vertex<T> vertex : verticesMap.values()) {
+    for (final Vertex<T> vertex : vertices) {
       writer.append("  ").append(vertex);
       if (vertex.hasAttribute("fillcolor")) {
         writer.append(
@@ -122,6 +134,41 @@ public class DirectedGraph<T extends Comparable<? super T>> {
   }
 
   public Set<Vertex<T>> vertexSet() {
-    return new LinkedHashSet<>(verticesMap.values());
+    return new LinkedHashSet<>(vertices);
+  }
+
+  /**
+   * Successors of each vertex, indexed by vertex id, in the order in which the edges were added.
+   * Graph algorithms work on this compact form, rather than on vertex and edge objects.
+   *
+   * @return Adjacency lists of vertex ids
+   */
+  int[][] adjacencyLists() {
+    final int[][] adjacencyLists = new int[vertices.size()][];
+    for (int vertexId = 0; vertexId < adjacencyLists.length; vertexId++) {
+      final List<Integer> vertexSuccessors = successors.get(vertexId);
+      final int[] successorIds = new int[vertexSuccessors.size()];
+      for (int i = 0; i < successorIds.length; i++) {
+        successorIds[i] = vertexSuccessors.get(i);
+      }
+      adjacencyLists[vertexId] = successorIds;
+    }
+    return adjacencyLists;
+  }
+
+  Vertex<T> getVertex(final int vertexId) {
+    return vertices.get(vertexId);
+  }
+
+  private int addVertexId(final T value) {
+    final Integer vertexId = vertexIds.get(value);
+    if (vertexId != null) {
+      return vertexId;
+    }
+    final int newVertexId = vertices.size();
+    vertexIds.put(value, newVertexId);
+    vertices.add(new Vertex<>(value));
+    successors.add(new ArrayList<>());
+    return newVertexId;
   }
 }
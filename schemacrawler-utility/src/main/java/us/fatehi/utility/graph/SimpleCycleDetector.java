@@ -28,7 +28,7 @@ http://www.gnu.org/licenses/
 
 package us.fatehi.utility.graph;
 
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Objects;
 
 public class SimpleCycleDetector<T extends Comparable<? super T>> {
@@ -50,8 +50,6 @@ public class SimpleCycleDetector<T extends Comparable<? super T>> {
     }
   }
 
-  private static final String ATTRIBUTE_TRAVERSAL_STATE = "traversalstate";
-
   private final DirectedGraph<T> graph;
 
   public SimpleCycleDetector(final DirectedGraph<T> graph) {
@@ -59,48 +57,51 @@ public class SimpleCycleDetector<T extends Comparable<? super T>> {
   }
 
   /**
-   * Checks if the diagram contains a cycle.
+   * Checks if the diagram contains a cycle. Vertices are visited depth-first, without recursion,
+   * so that long chains of edges do not overflow the stack.
    *
    * @return true if the diagram contains a cycle, false otherwise
    */
   public boolean containsCycle() {
-    final Collection<Vertex<T>> vertices = clearTraversalStates();
-    for (final Vertex<T> vertex : vertices) {
-      if ((vertex.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.notStarted)
-          && visitForCyles(vertex)) {
-        return true;
+    final int[][] adjacencyLists = graph.adjacencyLists();
+    final int vertexCount = adjacencyLists.length;
+
+    final TraversalState[] traversalStates = new TraversalState[vertexCount];
+    Arrays.fill(traversalStates, TraversalState.notStarted);
+    // Path from the start vertex, and the next edge to follow from each vertex on the path
+    final int[] path = new int[vertexCount];
+    final int[] nextEdges = new int[vertexCount];
+
+    for (int startId = 0; startId < vertexCount; startId++) {
+      if (traversalStates[startId] != TraversalState.notStarted) {
+        continue;
       }
-    }
-
-    return false;
-  }
 
-  private Collection<Vertex<T>> clearTraversalStates() {
-    final Collection<Vertex<T>> vertices = graph.vertexSet();
-    for (final Vertex<T> vertex : vertices) {
-      vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.notStarted);
-    }
-    return vertices;
-  }
-
-  private boolean visitForCyles(final Vertex<T> vertex) {
-    vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.inProgress);
-
-    for (final DirectedEdge<T> edge : graph.edgeSet()) {
-      if (edge.isFrom(vertex)) {
-        final Vertex<T> to = edge.getTo();
-        if (to.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.inProgress) {
-          to.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.marked);
-          return true;
-        } else if ((to.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.notStarted)
-            && visitForCyles(to)) {
-          return true;
+      int depth = 0;
+      path[depth] = startId;
+      nextEdges[startId] = 0;
+      traversalStates[startId] = TraversalState.inProgress;
+      while (depth >= 0) {
+        final int vertexId = path[depth];
+        final int[] successorIds = adjacencyLists[vertexId];
+        if (nextEdges[vertexId] < successorIds.length) {
+          final int toId = successorIds[nextEdges[vertexId]++];
+          if (traversalStates[toId] == TraversalState.inProgress) {
+            traversalStates[toId] = TraversalState.marked;
+            return true;
+          } else if (traversalStates[toId] == TraversalState.notStarted) {
+            depth++;
+            path[depth] = toId;
+            nextEdges[toId] = 0;
+            traversalStates[toId] = TraversalState.inProgress;
+          }
+        } else {
+          traversalStates[vertexId] = TraversalState.complete;
+          depth--;
         }
       }
     }
 
-    vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.complete);
-
     return false;
   }
 }
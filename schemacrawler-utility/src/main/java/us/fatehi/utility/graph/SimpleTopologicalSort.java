@@ -31,11 +31,16 @@ package us.fatehi.utility.graph;
 import static java.util.Comparator.naturalOrder;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * Sorts vertices level by level, using Kahn's algorithm. Each level consists of the vertices that
+ * have no incoming edges from vertices that are not yet sorted, and vertices in a level are in
+ * their natural order.
+ *
+ * @param <T> Any comparable class
+ */
 public class SimpleTopologicalSort<T extends Comparable<? super T>> {
 
   private final DirectedGraph<T> graph;
@@ -45,83 +50,48 @@ public class SimpleTopologicalSort<T extends Comparable<? super T>> {
   }
 
   public List<T> topologicalSort() throws GraphException {
-    if (containsCycle()) {
-      throw new GraphException("Graph contains a cycle, so cannot be topologically sorted");
-    }
-
-    final Collection<Vertex<T>> vertices = graph.vertexSet();
-    final int collectionSize = vertices.size();
-
-    final Collection<DirectedEdge<T>> edges = new ArrayList<>(graph.edgeSet());
-    final List<T> sortedValues = new ArrayList<>(collectionSize);
+    final int[][] adjacencyLists = graph.adjacencyLists();
+    final int vertexCount = adjacencyLists.length;
 
-    while (!vertices.isEmpty()) {
-
-      final List<T> nodesAtLevel = new ArrayList<>(collectionSize);
-
-      // Remove unattached nodes
-      for (final Iterator<Vertex<T>> iterator = vertices.iterator(); iterator.hasNext(); ) {
-        final Vertex<T> vertex = iterator.next();
-        if (isUnattachedNode(vertex, edges)) {
-          nodesAtLevel.add(vertex.getValue());
-          iterator.remove();
-        }
+    final int[] inDegrees = new int[vertexCount];
+    for (final int[] successorIds : adjacencyLists) {
+      for (final int successorId : successorIds) {
+        inDegrees[successorId]++;
       }
+    }
 
-      // Find all nodes at the current level
-      final List<Vertex<T>> startNodes = new ArrayList<>(collectionSize);
-      for (final Vertex<T> vertex : vertices) {
-        if (isStartNode(vertex, edges)) {
-          startNodes.add(vertex);
-        }
+    List<Integer> level = new ArrayList<>();
+    for (int vertexId = 0; vertexId < vertexCount; vertexId++) {
+      if (inDegrees[vertexId] == 0) {
+        level.add(vertexId);
       }
+    }
 
-      for (final Vertex<T> vertex : startNodes) {
-        // Save the vertex value
-        nodesAtLevel.add(vertex.getValue());
+    final List<T> sortedValues = new ArrayList<>(vertexCount);
+    while (!level.isEmpty()) {
+      final List<T> nodesAtLevel = new ArrayList<>(level.size());
+      final List<Integer> nextLevel = new ArrayList<>();
+      for (final int vertexId : level) {
+        nodesAtLevel.add(graph.getVertex(vertexId).getValue());
         // Remove all out edges
-        dropOutEdges(vertex, edges);
-        // Remove the vertex itself
-        vertices.remove(vertex);
+        for (final int successorId : adjacencyLists[vertexId]) {
+          inDegrees[successorId]--;
+          if (inDegrees[successorId] == 0) {
+            nextLevel.add(successorId);
+          }
+        }
       }
 
       nodesAtLevel.sort(naturalOrder());
       sortedValues.addAll(nodesAtLevel);
+      level = nextLevel;
     }
 
-    return sortedValues;
-  }
-
-  private boolean containsCycle() {
-    final SimpleCycleDetector<T> cycleDetector = new SimpleCycleDetector<>(graph);
-    return cycleDetector.containsCycle();
-  }
-
-  private void dropOutEdges(final Vertex<T> vertex, final Collection<DirectedEdge<T>> edges) {
-    for (final Iterator<DirectedEdge<T>> iterator = edges.iterator(); iterator.hasNext(); ) {
-      final DirectedEdge<T> edge = iterator.next();
-      if (edge.isFrom(vertex)) {
-        iterator.remove();
-      }
-    }
-  }
-
-  private boolean isStartNode(final Vertex<T> vertex, final Collection<DirectedEdge<T>> edges) {
-    for (final DirectedEdge<T> edge : edges) {
-      if (edge.isTo(vertex)) {
-        return false;
-      }
+    // Vertices on a cycle, and those reachable from a cycle, never run out of incoming edges
+    if (sortedValues.size() < vertexCount) {
+      throw new GraphException("Graph contains a cycle, so cannot be topologically sorted");
     }
-    return true;
-  }
 
-  private boolean isUnattachedNode(
-      final Vertex<T> vertex, final Collection<DirectedEdge<T>> edges) {
-    for (final DirectedEdge<T> edge : edges) {
-      if (edge.isTo(vertex) || edge.isFrom(vertex)) {
-        return false;
-      }
-    }
-    return true;
+    return sortedValues;
   }
 }
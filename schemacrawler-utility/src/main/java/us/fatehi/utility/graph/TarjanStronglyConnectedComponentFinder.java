@@ -28,34 +28,29 @@ http://www.gnu.org/licenses/
 
 package us.fatehi.utility.graph;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Implementation of <a href=
  * "https://en.wikipedia.org/wiki/Tarjan%27s_strongly_connected_components_algorithm"> Tarjan's
- * algorithm</a>
+ * algorithm</a>, without recursion, so that long chains of edges do not overflow the stack.
  *
  * @param <T> Any comparable class
  */
 public class TarjanStronglyConnectedComponentFinder<T extends Comparable<? super T>> {
 
-  private static final String ATTRIBUTE_INDEX = "index";
-  private static final String ATTRIBUTE_LOWLINK = "lowlink";
+  private static final int UNVISITED = -1;
+
   private final DirectedGraph<T> graph;
-  private final Deque<Vertex<T>> stack;
-  private final Collection<List<T>> stronglyConnectedComponents;
 
   public TarjanStronglyConnectedComponentFinder(final DirectedGraph<T> graph) {
     this.graph = Objects.requireNonNull(graph, "No diagram provided");
-
-    stronglyConnectedComponents = new HashSet<>();
-    stack = new ArrayDeque<>();
   }
 
   /**
@@ -64,49 +59,72 @@ public class TarjanStronglyConnectedComponentFinder<T extends Comparable<? super
    * @return Set of strongly connected components (sets of vertices)
    */
   public Collection<List<T>> detectCycles() {
-    for (final Vertex<T> vertex : graph.vertexSet()) {
-      if (!vertex.hasAttribute(ATTRIBUTE_INDEX)) {
-        strongConnect(vertex, 0);
+    final int[][] adjacencyLists = graph.adjacencyLists();
+    final int vertexCount = adjacencyLists.length;
+
+    final int[] indexes = new int[vertexCount];
+    Arrays.fill(indexes, UNVISITED);
+    final int[] lowlinks = new int[vertexCount];
+    final boolean[] onStack = new boolean[vertexCount];
+    final int[] stack = new int[vertexCount];
+    int stackSize = 0;
+    // Depth-first path, and the next edge to follow from each vertex on the path
+    final int[] path = new int[vertexCount];
+    final int[] nextEdges = new int[vertexCount];
+    int index = 0;
+
+    final Collection<List<T>> stronglyConnectedComponents = new HashSet<>();
+    for (int rootId = 0; rootId < vertexCount; rootId++) {
+      if (indexes[rootId] != UNVISITED) {
+        continue;
       }
-    }
-    return stronglyConnectedComponents;
-  }
 
-  private void strongConnect(final Vertex<T> vertexFrom, final int index) {
-    vertexFrom.putAttribute(ATTRIBUTE_INDEX, index);
-    vertexFrom.putAttribute(ATTRIBUTE_LOWLINK, index);
-    stack.push(vertexFrom);
-
-    for (final DirectedEdge<T> edge : graph.getOutgoingEdges(vertexFrom)) {
-      final Vertex<T> vertexTo = edge.getTo();
-      if (!vertexTo.hasAttribute(ATTRIBUTE_INDEX)) {
-        // Successor vertex has not yet been visited; recurse on it
-        strongConnect(vertexTo, index + 1);
-        vertexFrom.putAttribute(
-            ATTRIBUTE_LOWLINK,
-            Math.min(
-                vertexFrom.getAttribute(ATTRIBUTE_LOWLINK),
-                vertexTo.getAttribute(ATTRIBUTE_LOWLINK)));
-      } else if (stack.contains(vertexTo)) {
-        // Successor vertex is on stack, hence in the current SCC
-        vertexFrom.putAttribute(
-            ATTRIBUTE_LOWLINK,
-            Math.min(
-                vertexFrom.getAttribute(ATTRIBUTE_LOWLINK),
-                vertexTo.getAttribute(ATTRIBUTE_INDEX)));
-      }
-    }
-
-    if (vertexFrom.getAttribute(ATTRIBUTE_LOWLINK) == vertexFrom.getAttribute(ATTRIBUTE_INDEX)) {
-      final LinkedList<T> scc = new LinkedList<>();
-      Vertex<T> sccVertex;
-      do {
-        sccVertex = stack.pop();
-        scc.addFirst(sccVertex.getValue());
-      } while (!vertexFrom.equals(sccVertex));
-      if (scc.size() > 1) {
-        stronglyConnectedComponents.add(scc);
+      int depth = 0;
+      path[depth] = rootId;
+      indexes[rootId] = lowlinks[rootId] = index++;
+      stack[stackSize++] = rootId;
+      onStack[rootId] = true;
+      while (depth >= 0) {
+        final int vertexId = path[depth];
+        final int[] successorIds = adjacencyLists[vertexId];
+        if (nextEdges[vertexId] < successorIds.length) {
+          final int toId = successorIds[nextEdges[vertexId]++];
+          if (indexes[toId] == UNVISITED) {
+            // Successor vertex has not yet been visited; descend into it
+            depth++;
+            path[depth] = toId;
+            indexes[toId] = lowlinks[toId] = index++;
+            stack[stackSize++] = toId;
+            onStack[toId] = true;
+          } else if (onStack[toId]) {
+            // Successor vertex is on stack, hence in the current SCC
+            lowlinks[vertexId] = Math.min(lowlinks[vertexId], indexes[toId]);
+          }
+          continue;
+        }
+
+        // All successors have been visited, so check for the root of an SCC
+        if (lowlinks[vertexId] == indexes[vertexId]) {
+          final List<T> scc = new ArrayList<>();
+          int sccVertexId;
+          do {
+            sccVertexId = stack[--stackSize];
+            onStack[sccVertexId] = false;
+            scc.add(graph.getVertex(sccVertexId).getValue());
+          } while (sccVertexId != vertexId);
+          if (scc.size() > 1) {
+            // List vertices in the order in which they were visited
+            Collections.reverse(scc);
+            stronglyConnectedComponents.add(scc);
+          }
+        }
+        depth--;
+        if (depth >= 0) {
+          final int parentId = path[depth];
+          lowlinks[parentId] = Math.min(lowlinks[parentId], lowlinks[vertexId]);
+        }
       }
     }
+    return stronglyConnectedComponents;
   }
 }
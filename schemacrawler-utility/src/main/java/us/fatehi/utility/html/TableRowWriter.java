@@ -0,0 +1,299 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package us.fatehi.utility.html;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.Utility.isBlank;
+
+import java.io.PrintWriter;
+
+import us.fatehi.utility.Color;
+
+/**
+ * Writes table rows to the output, escaping text as it is written. The output is the same as
+ * rendering a table row {@link Tag} with table cell tags, but no tags or intermediate strings are
+ * created for rows and cells. Each row is collected in a reused buffer, and written to the output
+ * in a single call when it ends. A single cell is reused for every cell that is written, so a row
+ * writer cannot be shared between threads.
+ */
+public final class TableRowWriter {
+
+  /** Table cell that is written as soon as it is complete. */
+  public final class Cell {
+
+    private String tagName;
+    private String text;
+    private boolean escapeText;
+    private int characterWidth;
+    private Alignment align;
+    private boolean emphasizeText;
+    private String styleClass;
+    private Color bgColor;
+    private int columnSpan;
+
+    private Cell() {
+      // Reused by the row writer
+    }
+
+    public Cell withAlignment(final Alignment align) {
+      this.align = align;
+      return this;
+    }
+
+    public Cell withBackground(final Color bgColor) {
+      this.bgColor = bgColor;
+      return this;
+    }
+
+    public Cell withColumnSpan(final int columnSpan) {
+      this.columnSpan = columnSpan;
+      return this;
+    }
+
+    public Cell withEmphasis(final boolean emphasizeText) {
+      this.emphasizeText = emphasizeText;
+      return this;
+    }
+
+    public Cell withEscapedText(final String text) {
+      return withEscapedText(text, true);
+    }
+
+    public Cell withEscapedText(final String text, final boolean escapeText) {
+      this.text = text == null ? "" : text;
+      this.escapeText = escapeText;
+      return this;
+    }
+
+    public Cell withStyleClass(final String styleClass) {
+      this.styleClass = styleClass;
+      return this;
+    }
+
+    public Cell withText(final String text) {
+      this.text = text == null ? "" : text;
+      return this;
+    }
+
+    public Cell withWidth(final int characterWidth) {
+      this.characterWidth = characterWidth;
+      return this;
+    }
+
+    /**
+     * Writes the cell to the current row.
+     *
+     * @return Row writer, to write the next cell or end the row
+     */
+    public TableRowWriter write() {
+      switch (outputFormat) {
+        case text:
+          writeSeparator("  ");
+          writePlainText();
+          break;
+        case tsv:
+          writeSeparator("\t");
+          buffer.append(text);
+          break;
+        case html:
+        default:
+          writeHtml();
+          break;
+      }
+      cellCount++;
+      return TableRowWriter.this;
+    }
+
+    private Cell reset(final String tagName) {
+      this.tagName = tagName;
+      text = "";
+      escapeText = false;
+      characterWidth = 0;
+      align = null;
+      emphasizeText = false;
+      styleClass = null;
+      bgColor = null;
+      columnSpan = 0;
+      return this;
+    }
+
+    private void writeHtml() {
+      buffer.append("\t\t<");
+      buffer.append(tagName);
+      if (columnSpan > 0) {
+        buffer.append(" colspan='");
+        buffer.append(columnSpan);
+        buffer.append("'");
+      }
+      if (bgColor != null && !bgColor.equals(Color.white)) {
+        buffer.append(" bgcolor='");
+        buffer.append(bgColor.toString());
+        buffer.append("'");
+      }
+      if (!isBlank(styleClass)) {
+        buffer.append(" class='");
+        buffer.append(styleClass);
+        buffer.append("'");
+      } else if (align != null && align != Alignment.inherit) {
+        buffer.append(" align='");
+        buffer.append(align.toString());
+        buffer.append("'");
+      }
+      buffer.append(">");
+      if (emphasizeText) {
+        buffer.append("<b><i>");
+      }
+      if (escapeText) {
+        writeEscapedHtml(text);
+      } else {
+        buffer.append(text);
+      }
+      if (emphasizeText) {
+        buffer.append("</i></b>");
+      }
+      buffer.append("</");
+      buffer.append(tagName);
+      buffer.append(">");
+      buffer.append(LINE_SEPARATOR);
+    }
+
+    private void writePlainText() {
+      final int padding = characterWidth - text.length();
+      if (padding > 0 && align == Alignment.right) {
+        writeSpaces(padding);
+      }
+      buffer.append(text);
+      if (padding > 0 && align != Alignment.right) {
+        writeSpaces(padding);
+      }
+    }
+
+    private void writeSeparator(final String separator) {
+      if (cellCount > 0) {
+        buffer.append(separator);
+      }
+    }
+
+    private void writeSpaces(final int count) {
+      for (int i = 0; i < count; i++) {
+        buffer.append(' ');
+      }
+    }
+  }
+
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
+  private final PrintWriter out;
+  private final TagOutputFormat outputFormat;
+  private final Cell cell;
+  private final StringBuilder buffer;
+  private char[] chars;
+  private int cellCount;
+
+  public TableRowWriter(final PrintWriter out, final TagOutputFormat outputFormat) {
+    this.out = requireNonNull(out, "No output writer provided");
+    this.outputFormat = requireNonNull(outputFormat, "No output format provided");
+    cell = new Cell();
+    buffer = new StringBuilder(1024);
+    chars = new char[1024];
+  }
+
+  public TableRowWriter beginRow() {
+    buffer.setLength(0);
+    cellCount = 0;
+    if (outputFormat == TagOutputFormat.html) {
+      buffer.append("\t<tr>");
+      buffer.append(LINE_SEPARATOR);
+    }
+    return this;
+  }
+
+  /**
+   * Starts a new table cell in the current row. The cell is added to the row when it is written.
+   *
+   * @return Table cell
+   */
+  public Cell cell() {
+    return cell.reset("td");
+  }
+
+  public TableRowWriter endRow() {
+    if (outputFormat == TagOutputFormat.html) {
+      buffer.append("\t</tr>");
+    }
+    buffer.append(LINE_SEPARATOR);
+
+    // Copy the row without creating a string, and write it out in one call
+    final int length = buffer.length();
+    if (chars.length < length) {
+      chars = new char[Math.max(length, chars.length * 2)];
+    }
+    buffer.getChars(0, length, chars, 0);
+    out.write(chars, 0, length);
+    buffer.setLength(0);
+    return this;
+  }
+
+  /**
+   * Starts a new table header cell in the current row, which is added to the row when written.
+   *
+   * @return Table header cell
+   */
+  public Cell headerCell() {
+    return cell.reset("th");
+  }
+
+  /**
+   * Writes text escaped for use in HTML, in runs of characters that do not need to be escaped.
+   *
+   * @param text Text to escape.
+   */
+  private void writeEscapedHtml(final String text) {
+    int start = 0;
+    for (int i = 0; i < text.length(); i++) {
+      final String entity;
+      switch (text.charAt(i)) {
+        case '>':
+          entity = "&gt;";
+          break;
+        case '&':
+          entity = "&amp;";
+          break;
+        case '<':
+          entity = "&lt;";
+          break;
+        default:
+          continue;
+      }
+      buffer.append(text, start, i);
+      buffer.append(entity);
+      start = i + 1;
+    }
+    buffer.append(text, start, text.length());
+  }
+}
@@ -40,6 +40,8 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.util.Collection;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
@@ -53,12 +55,14 @@ abstract class AbstractTaskRunner implements TaskRunner {
   private final String id;
   private final Queue<TaskDefinition> taskDefinitions;
   private final Queue<TimedTaskResult> taskResults;
+  private final Set<String> taskNames;
 
   public AbstractTaskRunner(final String id) {
     this.id = requireNotBlank(id, "No id provided");
 
     taskDefinitions = new LinkedBlockingDeque<>();
     taskResults = new LinkedBlockingDeque<>();
+    taskNames = ConcurrentHashMap.newKeySet();
   }
 
   @Override
@@ -70,8 +74,18 @@ abstract class AbstractTaskRunner implements TaskRunner {
     if (isStopped()) {
       throw new IllegalStateException("Task runner is stopped");
     }
+    // Tasks can only depend on tasks that were added before them, so that a misspelled name does
+    // not silently remove an ordering guarantee
+    for (final String dependency : taskDefinition.getDependencies()) {
+      if (!taskNames.contains(dependency)) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Task <%s> depends on unknown task <%s>", taskDefinition, dependency));
+      }
+    }
 
     taskDefinitions.add(taskDefinition);
+    taskNames.add(taskDefinition.getTaskName());
   }
 
   @Override
@@ -145,21 +159,27 @@ abstract class AbstractTaskRunner implements TaskRunner {
     taskResults.addAll(runTaskResults);
     taskDefinitions.clear();
 
-    // Stop, report and throw on an exception
-    boolean hasException = false;
+    // Stop, report and throw on an exception, with the exceptions of other failed tasks, and of
+    // skipped tasks, as suppressed exceptions
     Exception exception = null;
     for (final TimedTaskResult runTaskResult : runTaskResults) {
-      if (runTaskResult.hasException()) {
-        hasException = true;
-        final Exception runTaskException = runTaskResult.getException();
-        if (exception == null) {
-          exception = runTaskException;
-        } else {
-          exception.addSuppressed(runTaskException);
-        }
+      if (runTaskResult.hasException() && !runTaskResult.isSkipped()) {
+        exception = runTaskResult.getException();
+        break;
+      }
+    }
+    for (final TimedTaskResult runTaskResult : runTaskResults) {
+      if (!runTaskResult.hasException()) {
+        continue;
+      }
+      final Exception runTaskException = runTaskResult.getException();
+      if (exception == null) {
+        exception = runTaskException;
+      } else if (exception != runTaskException) {
+        exception.addSuppressed(runTaskException);
       }
     }
-    if (hasException) {
+    if (exception != null) {
       stop();
       LOGGER.log(Level.CONFIG, report());
       throw exception;
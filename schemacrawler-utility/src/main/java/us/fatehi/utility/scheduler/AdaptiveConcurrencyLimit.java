@@ -0,0 +1,224 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Limits the number of concurrent operations, such as database queries, and adapts the limit from
+ * observed latency. The limit starts at the maximum, which should be set to the capacity of the
+ * resource being protected. It is cut back when latency grows, which is a sign that the server has
+ * started to queue work, and is raised by one again while the average latency stays close to the
+ * best latency seen so far, and the limit is being reached.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+  /**
+   * Permit for a single operation. A permit belongs to the operation, not to a thread, so it can be
+   * released from any thread, such as when a connection is closed on another thread than the one
+   * that opened it. Only the first release of a permit has any effect.
+   */
+  public final class Permit {
+
+    private final AtomicBoolean isReleased;
+
+    private Permit() {
+      isReleased = new AtomicBoolean();
+    }
+
+    /**
+     * Releases the permit, and records how long the operation took.
+     *
+     * @param latency Time taken by the operation, or null if the operation did not run, and should
+     *     not be used to adapt the limit
+     */
+    public void release(final Duration latency) {
+      if (isReleased.compareAndSet(false, true)) {
+        AdaptiveConcurrencyLimit.this.release(latency);
+      }
+    }
+  }
+
+  private static final Logger LOGGER = Logger.getLogger(AdaptiveConcurrencyLimit.class.getName());
+
+  /** Latency that is this much more than the best latency is considered flat. */
+  private static final double FLAT_LATENCY_RATIO = 1.5D;
+  /** Latency that is this much more than the best latency means that work is being queued. */
+  private static final double QUEUEING_LATENCY_RATIO = 2.5D;
+  /** Lets the best latency drift upwards, so that a single fast sample is not used for ever. */
+  private static final double BEST_LATENCY_DRIFT = 1.05D;
+
+  private final String id;
+  private final int minLimit;
+  private final int maxLimit;
+  private final ReentrantLock lock;
+  private final Condition permitAvailable;
+
+  private int limit;
+  private int inFlight;
+  private long releases;
+  private boolean limitReached;
+  private int samples;
+  private long sampleLatencyNanos;
+  private double bestLatencyNanos;
+
+  /**
+   * Creates a limit that starts at the maximum.
+   *
+   * @param id Id for logging
+   * @param minLimit Lowest concurrency to back off to
+   * @param maxLimit Highest concurrency, usually the capacity of the resource
+   */
+  public AdaptiveConcurrencyLimit(final String id, final int minLimit, final int maxLimit) {
+    this.id = id;
+    this.minLimit = Math.max(minLimit, 1);
+    this.maxLimit = Math.max(maxLimit, this.minLimit);
+
+    lock = new ReentrantLock(true);
+    permitAvailable = lock.newCondition();
+
+    limit = this.maxLimit;
+    bestLatencyNanos = Double.MAX_VALUE;
+  }
+
+  /**
+   * Acquires a permit, waiting for one to be available in the order in which they were requested.
+   * Operations never run over the limit. Waiting fails if no other operation releases its permit
+   * within the timeout, since that means that the resource is exhausted, or that operations are
+   * deadlocked. Operations that wait behind many others, which are making progress, do not fail.
+   *
+   * @param timeout How long to wait for any permit to be released
+   * @return Permit, which needs to be released when the operation is done
+   * @throws TimeoutException If no permit is released within the timeout
+   * @throws InterruptedException If interrupted while waiting for a permit
+   */
+  public Permit acquire(final Duration timeout) throws TimeoutException, InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      long waitNanos = timeout.toNanos();
+      long lastReleases = releases;
+      while (inFlight >= limit) {
+        limitReached = true;
+        if (releases != lastReleases) {
+          // Other operations are making progress, so keep waiting
+          lastReleases = releases;
+          waitNanos = timeout.toNanos();
+        }
+        if (waitNanos <= 0L) {
+          throw new TimeoutException(
+              String.format(
+                  "Timed out waiting for %s, with %d operations in progress", id, inFlight));
+        }
+        waitNanos = permitAvailable.awaitNanos(waitNanos);
+      }
+      inFlight++;
+      return new Permit();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Current concurrency limit.
+   *
+   * @return Concurrency limit
+   */
+  public int getLimit() {
+    lock.lock();
+    try {
+      return limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Highest concurrency that the limit can scale up to.
+   *
+   * @return Maximum concurrency limit
+   */
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s [limit=%d, max=%d]", id, getLimit(), maxLimit);
+  }
+
+  private void release(final Duration latency) {
+    lock.lock();
+    try {
+      inFlight = Math.max(inFlight - 1, 0);
+      releases++;
+      if (latency != null) {
+        sample(latency.toNanos());
+      }
+      permitAvailable.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Adjusts the limit once enough samples are available. Needs to be called under the lock. */
+  private void sample(final long latencyNanos) {
+    samples++;
+    sampleLatencyNanos = sampleLatencyNanos + latencyNanos;
+    if (samples < limit) {
+      return;
+    }
+
+    final double averageLatencyNanos = (double) sampleLatencyNanos / samples;
+    bestLatencyNanos = Math.min(averageLatencyNanos, bestLatencyNanos * BEST_LATENCY_DRIFT);
+
+    final int previousLimit = limit;
+    if (averageLatencyNanos > bestLatencyNanos * QUEUEING_LATENCY_RATIO) {
+      limit = Math.max(minLimit, limit * 3 / 4);
+    } else if (limitReached && averageLatencyNanos <= bestLatencyNanos * FLAT_LATENCY_RATIO) {
+      limit = Math.min(maxLimit, limit + 1);
+    }
+    if (limit != previousLimit) {
+      LOGGER.log(
+          Level.FINE,
+          new StringFormat(
+              "Changed concurrency limit for <%s> from <%d> to <%d>", id, previousLimit, limit));
+    }
+
+    samples = 0;
+    sampleLatencyNanos = 0L;
+    limitReached = false;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.scheduler;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on another executor service, such as one that starts a new virtual thread for each
+ * task, allowing only a limited number of tasks to run at the same time. Tasks that are over the
+ * limit wait for a permit on their own thread, which is cheap for virtual threads.
+ */
+final class LimitedExecutorService extends AbstractExecutorService {
+
+  private final ExecutorService executorService;
+  private final Semaphore permits;
+  private final int maxConcurrentTasks;
+
+  LimitedExecutorService(final ExecutorService executorService, final int maxConcurrentTasks) {
+    this.executorService = requireNonNull(executorService, "No executor service provided");
+    this.maxConcurrentTasks = Math.max(maxConcurrentTasks, 1);
+    permits = new Semaphore(this.maxConcurrentTasks, true);
+  }
+
+  @Override
+  public boolean awaitTermination(final long timeout, final TimeUnit unit)
+      throws InterruptedException {
+    return executorService.awaitTermination(timeout, unit);
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    requireNonNull(command, "No task provided");
+    executorService.execute(
+        () -> {
+          permits.acquireUninterruptibly();
+          try {
+            command.run();
+          } finally {
+            permits.release();
+          }
+        });
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return executorService.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return executorService.isTerminated();
+  }
+
+  @Override
+  public void shutdown() {
+    executorService.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return executorService.shutdownNow();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s [max concurrent tasks=%d]", executorService, maxConcurrentTasks);
+  }
+}
@@ -32,6 +32,8 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 final class MainThreadTaskRunner extends AbstractTaskRunner {
@@ -59,9 +61,12 @@ final class MainThreadTaskRunner extends AbstractTaskRunner {
       return Collections.emptyList();
     }
 
+    // Tasks are run in the order in which they were added, so dependencies
+    // are always run before the tasks that depend on them
+    final Map<String, Exception> failedTasks = new ConcurrentHashMap<>();
     final Collection<TimedTaskResult> runTaskResults = new CopyOnWriteArrayList<>();
     for (final TaskDefinition taskDefinition : taskDefinitions) {
-      final TimedTaskResult taskResult = new TimedTask(taskDefinition).call();
+      final TimedTaskResult taskResult = new TimedTask(taskDefinition, failedTasks).call();
       runTaskResults.add(taskResult);
     }
     return runTaskResults;
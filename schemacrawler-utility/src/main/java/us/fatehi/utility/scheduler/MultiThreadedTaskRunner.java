@@ -30,14 +30,19 @@ package us.fatehi.utility.scheduler;
 
 import static java.util.Objects.requireNonNull;
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import us.fatehi.utility.string.StringFormat;
@@ -47,12 +52,15 @@ final class MultiThreadedTaskRunner extends AbstractTaskRunner {
   private static final Logger LOGGER = Logger.getLogger(MultiThreadedTaskRunner.class.getName());
 
   private final ExecutorService executorService;
+  private final boolean isSharedExecutorService;
+  private volatile boolean isStopped;
 
   MultiThreadedTaskRunner(final String id, final int maxThreadsSuggested) {
     super(id);
 
     final int maxThreads = Math.min(Math.max(maxThreadsSuggested, MIN_THREADS), MAX_THREADS);
     executorService = Executors.newFixedThreadPool(maxThreads);
+    isSharedExecutorService = false;
     LOGGER.log(
         Level.INFO,
         new StringFormat(
@@ -60,13 +68,44 @@ final class MultiThreadedTaskRunner extends AbstractTaskRunner {
             executorService, id, maxThreads));
   }
 
+  /**
+   * Runs tasks on an executor service that is shared with other task runners. The executor service
+   * is not shut down when this task runner is stopped.
+   */
+  MultiThreadedTaskRunner(final String id, final ExecutorService executorService) {
+    this(id, executorService, true);
+  }
+
+  /**
+   * Runs tasks on an executor service that was created by the caller, which is shut down when this
+   * task runner is stopped unless it is shared.
+   */
+  MultiThreadedTaskRunner(
+      final String id, final ExecutorService executorService, final boolean isShared) {
+    super(id);
+
+    this.executorService = requireNonNull(executorService, "No executor service provided");
+    isSharedExecutorService = isShared;
+    LOGGER.log(
+        Level.FINE,
+        new StringFormat(
+            "Using %s thread pool <%s> for <%s>",
+            isShared ? "shared" : "own",
+            executorService,
+            id));
+  }
+
   @Override
   public boolean isStopped() {
-    return executorService.isShutdown();
+    return isStopped || executorService.isShutdown();
   }
 
   @Override
   public void stop() {
+    isStopped = true;
+    if (isSharedExecutorService) {
+      return;
+    }
     try {
       executorService.shutdown();
       if (!executorService.awaitTermination(1, TimeUnit.HOURS)) {
@@ -91,22 +130,43 @@ final class MultiThreadedTaskRunner extends AbstractTaskRunner {
     }
 
     try {
-      final Collection<TimedTask> timedTasks = new CopyOnWriteArrayList<>();
+      // Schedule each task to run as soon as the tasks that it depends on are
+      // complete, rather than waiting for all other tasks to complete
+      final Map<String, Exception> failedTasks = new ConcurrentHashMap<>();
+      final Map<String, CompletableFuture<TimedTaskResult>> scheduledTasks = new HashMap<>();
+      final List<CompletableFuture<TimedTaskResult>> futureResults = new ArrayList<>();
       for (final TaskDefinition taskDefinition : taskDefinitions) {
-        final TimedTask timedTask = new TimedTask(taskDefinition);
-        timedTasks.add(timedTask);
+        final TimedTask timedTask = new TimedTask(taskDefinition, failedTasks);
+
+        final List<CompletableFuture<TimedTaskResult>> dependencies = new ArrayList<>();
+        for (final String dependency : taskDefinition.getDependencies()) {
+          // Dependencies that are not a part of this submission were run in an earlier submission
+          final CompletableFuture<TimedTaskResult> scheduledDependency =
+              scheduledTasks.get(dependency);
+          if (scheduledDependency != null) {
+            dependencies.add(scheduledDependency);
+          }
+        }
+
+        final CompletableFuture<TimedTaskResult> futureResult =
+            CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+                .thenApplyAsync(ignored -> timedTask.call(), executorService);
+
+        scheduledTasks.put(taskDefinition.getTaskName(), futureResult);
+        futureResults.add(futureResult);
       }
 
       final Collection<TimedTaskResult> runTaskResults = new CopyOnWriteArrayList<>();
-
-      final List<Future<TimedTaskResult>> futureResults =
-          executorService.invokeAll(timedTasks, 1, TimeUnit.HOURS);
-      for (final Future<TimedTaskResult> futureResult : futureResults) {
-        final TimedTaskResult timedTaskResult = futureResult.get();
+      final long deadline = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+      for (final CompletableFuture<TimedTaskResult> futureResult : futureResults) {
+        final TimedTaskResult timedTaskResult =
+            futureResult.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
         runTaskResults.add(timedTaskResult);
       }
 
       return runTaskResults;
+    } catch (final TimeoutException e) {
+      throw new RunnerException(e);
     } catch (final ExecutionException e) {
       final Throwable cause = e.getCause();
       if (cause instanceof Exception) {
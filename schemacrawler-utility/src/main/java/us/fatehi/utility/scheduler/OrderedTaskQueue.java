@@ -0,0 +1,127 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.scheduler;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs tasks on an executor service, and hands on their results in the order the tasks were
+ * submitted. Only a limited number of tasks are pending at any time, so that results which are
+ * not yet handled do not build up in memory.
+ *
+ * @param <R> Type of task result
+ */
+public final class OrderedTaskQueue<R> {
+
+  /**
+   * Handles the result of a task. The task may still be running, so the handler waits for it by
+   * getting the result from the future.
+   *
+   * @param <R> Type of task result
+   * @param <E> Type of exception thrown by the handler
+   */
+  @FunctionalInterface
+  public interface ResultHandler<R, E extends Exception> {
+
+    void handle(Future<R> result) throws E;
+  }
+
+  private final ExecutorService executorService;
+  private final int maxPendingTasks;
+  private final Deque<Future<R>> pendingTasks;
+
+  /**
+   * Creates a queue of tasks. The executor service is not shut down by the queue.
+   *
+   * @param executorService Executor service to run tasks
+   * @param maxPendingTasks Maximum number of tasks whose results have not been handled
+   */
+  public OrderedTaskQueue(final ExecutorService executorService, final int maxPendingTasks) {
+    this.executorService = requireNonNull(executorService, "No executor service provided");
+    this.maxPendingTasks = Math.max(maxPendingTasks, 1);
+    pendingTasks = new ArrayDeque<>();
+  }
+
+  /** Cancels all tasks whose results have not been handled. */
+  public void cancel() {
+    while (!pendingTasks.isEmpty()) {
+      pendingTasks.remove().cancel(true);
+    }
+  }
+
+  /**
+   * Handles the results of all pending tasks, in order, waiting for each task to complete.
+   *
+   * @param handler Handler for task results
+   * @throws E On an exception from the handler, which leaves the failed task pending
+   */
+  public <E extends Exception> void drain(final ResultHandler<R, E> handler) throws E {
+    requireNonNull(handler, "No result handler provided");
+    handlePendingTasks(handler, 0);
+  }
+
+  /**
+   * Submits a task, and then handles the results of tasks that are already complete, in order. If
+   * too many tasks are pending, waits for the oldest tasks to complete.
+   *
+   * @param task Task to run
+   * @param handler Handler for task results
+   * @throws E On an exception from the handler, which leaves the failed task pending
+   */
+  public <E extends Exception> void submit(
+      final Callable<R> task, final ResultHandler<R, E> handler) throws E {
+    requireNonNull(task, "No task provided");
+    requireNonNull(handler, "No result handler provided");
+    pendingTasks.add(executorService.submit(task));
+
+    while (!pendingTasks.isEmpty() && pendingTasks.peek().isDone()) {
+      handleNextTask(handler);
+    }
+    handlePendingTasks(handler, maxPendingTasks - 1);
+  }
+
+  private <E extends Exception> void handleNextTask(final ResultHandler<R, E> handler) throws E {
+    // Remove the task only once it is handled, so that it is cancelled if the handler fails
+    handler.handle(pendingTasks.peek());
+    pendingTasks.remove();
+  }
+
+  private <E extends Exception> void handlePendingTasks(
+      final ResultHandler<R, E> handler, final int maxRemaining) throws E {
+    while (pendingTasks.size() > maxRemaining) {
+      handleNextTask(handler);
+    }
+  }
+}
@@ -32,6 +32,10 @@ public class RunnerException extends Exception {
 
   private static final long serialVersionUID = -8904255341894856632L;
 
+  public RunnerException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+
   public RunnerException(final Throwable cause) {
     super(cause);
   }
@@ -31,6 +31,10 @@ package us.fatehi.utility.scheduler;
 import static java.util.Objects.requireNonNull;
 import static us.fatehi.utility.Utility.requireNotBlank;
 import static us.fatehi.utility.Utility.toSnakeCase;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import us.fatehi.utility.string.StringFormat;
@@ -50,10 +54,12 @@ public final class TaskDefinition {
 
   private final String taskName;
   private final TaskRunnable task;
+  private final List<String> dependencies;
 
   public TaskDefinition(final String taskName) {
     this.taskName = toSnakeCase(requireNotBlank(taskName, "Task name not provided"));
     this.task = () -> LOGGER.log(Level.INFO, new StringFormat("Not running task <%s>", taskName));
+    dependencies = Collections.emptyList();
   }
 
   public TaskDefinition(final String taskName, final TaskRunnable task) {
@@ -61,6 +67,24 @@ public final class TaskDefinition {
 
     this.taskName = toSnakeCase(taskName);
     this.task = requireNonNull(task, "Task not provided");
+    dependencies = Collections.emptyList();
+  }
+
+  private TaskDefinition(
+      final String taskName, final TaskRunnable task, final List<String> dependencies) {
+    this.taskName = taskName;
+    this.task = task;
+    this.dependencies = dependencies;
+  }
+
+  /**
+   * Names of tasks that need to complete before this task can run. Names are normalized in the
+   * same way as task names.
+   *
+   * @return Names of tasks this task depends on.
+   */
+  public Collection<String> getDependencies() {
+    return dependencies;
   }
 
   public TaskRunnable getTask() {
@@ -71,8 +95,34 @@ public final class TaskDefinition {
     return taskName;
   }
 
+  public boolean hasDependencies() {
+    return !dependencies.isEmpty();
+  }
+
   @Override
   public String toString() {
     return taskName;
   }
+
+  /**
+   * Creates a new task definition, which runs the same task, but only after the named tasks have
+   * completed successfully.
+   *
+   * @param taskNames Names of tasks that this task depends on.
+   * @return New task definition with dependencies.
+   */
+  public TaskDefinition withDependencies(final Collection<String> taskNames) {
+    if (taskNames == null || taskNames.isEmpty()) {
+      return this;
+    }
+    final List<String> allDependencies = new ArrayList<>(dependencies);
+    for (final String dependency : taskNames) {
+      final String dependencyName =
+          toSnakeCase(requireNotBlank(dependency, "Task dependency name not provided"));
+      if (!allDependencies.contains(dependencyName)) {
+        allDependencies.add(dependencyName);
+      }
+    }
+    return new TaskDefinition(taskName, task, Collections.unmodifiableList(allDependencies));
+  }
 }
@@ -36,7 +36,10 @@ public interface TaskRunner extends AutoCloseable {
   int MIN_THREADS = 1;
   int MAX_THREADS = 10;
 
-  /** Add a task definition to the list of tasks to run. */
+  /**
+   * Add a task definition to the list of tasks to run. Any tasks that this task depends on need to
+   * be added before it.
+   */
   void add(TaskDefinition taskDefinition) throws Exception;
 
   /** Alias for stop for use in a try-catch block. */
@@ -77,7 +80,8 @@ public interface TaskRunner extends AutoCloseable {
 
   /**
    * Submit the current list of tasks for execution, and block until execution is complete. Then
-   * clears the task list.
+   * clears the task list. Tasks may run in parallel, unless they depend on each other, in which
+   * case a task will run only after the tasks it depends on have completed successfully.
    *
    * @throws Exception On an exception in any one of the tasks.
    */
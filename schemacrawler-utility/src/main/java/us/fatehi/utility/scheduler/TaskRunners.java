@@ -29,24 +29,162 @@ http://www.gnu.org/licenses/
 package us.fatehi.utility.scheduler;
 
 import static us.fatehi.utility.PropertiesUtility.getSystemConfigurationProperty;
+import static us.fatehi.utility.scheduler.TaskRunner.MIN_THREADS;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import us.fatehi.utility.string.StringFormat;
+
 public class TaskRunners {
 
   private static final Logger LOGGER = Logger.getLogger(TaskRunners.class.getName());
 
+  /**
+   * Default limit on the number of tasks that use connections at the same time on virtual threads,
+   * when the connection source does not limit the number of connections.
+   */
+  public static final int DEFAULT_MAX_CONCURRENCY = 256;
+
+  /** Factory method for virtual thread executors, which is only available on Java 21 or later. */
+  private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = lookupNewVirtualThreadExecutor();
+
+  /**
+   * Gets a task runner with its own threads. When virtual threads are used, a new virtual thread is
+   * started for each task, and the suggested number of threads limits how many tasks can run at the
+   * same time.
+   *
+   * @param id Id of the task runner
+   * @param maxThreadsSuggested Maximum number of tasks to run at the same time
+   * @return Task runner
+   */
   public static TaskRunner getTaskRunner(final String id, final int maxThreadsSuggested) {
-    final boolean isSingleThreaded =
-        Boolean.valueOf(
-            getSystemConfigurationProperty("SC_SINGLE_THREADED", Boolean.FALSE.toString()));
-    if (isSingleThreaded) {
+    if (isSingleThreaded()) {
       LOGGER.log(Level.CONFIG, "Loading database schema in the main thread");
       return new MainThreadTaskRunner(id);
+    } else if (isUsingVirtualThreads()) {
+      LOGGER.log(Level.CONFIG, "Loading database schema using virtual threads");
+      final ExecutorService executorService =
+          new LimitedExecutorService(
+              newVirtualThreadExecutor(), Math.max(maxThreadsSuggested, MIN_THREADS));
+      return new MultiThreadedTaskRunner(id, executorService, false);
     } else {
       LOGGER.log(Level.CONFIG, "Loading database schema using multiple threads");
       return new MultiThreadedTaskRunner(id, maxThreadsSuggested);
     }
   }
+
+  /**
+   * Gets the number of tasks that can use database connections at the same time. System threads
+   * are limited to the suggested number of threads. Virtual threads are cheap, so they are limited
+   * only by the capacity of the connection source, or, if the connection source is unbounded, by
+   * the SC_MAX_CONCURRENCY system property or environment variable.
+   *
+   * @param maxThreadsSuggested Maximum number of system threads to use
+   * @param maxConnections Capacity of the connection source, or Integer.MAX_VALUE if unbounded
+   * @return Maximum number of tasks that use connections at the same time
+   */
+  public static int getMaxConcurrency(final int maxThreadsSuggested, final int maxConnections) {
+    final int maxConcurrency;
+    if (isUsingVirtualThreads()) {
+      if (maxConnections == Integer.MAX_VALUE) {
+        maxConcurrency = getMaxConcurrencyForUnboundedConnections();
+      } else {
+        maxConcurrency = maxConnections;
+      }
+    } else {
+      maxConcurrency = Math.min(maxThreadsSuggested, maxConnections);
+    }
+    return Math.max(maxConcurrency, MIN_THREADS);
+  }
+
+  /**
+   * Gets a task runner that runs tasks on an executor service shared with other task runners, such
+   * as a thread pool for an entire crawl, instead of starting a new thread pool.
+   *
+   * @param id Id of the task runner
+   * @param executorService Shared executor service, which is not shut down with the task runner
+   * @return Task runner
+   */
+  public static TaskRunner getTaskRunner(final String id, final ExecutorService executorService) {
+    if (isSingleThreaded()) {
+      LOGGER.log(Level.CONFIG, "Loading database schema in the main thread");
+      return new MainThreadTaskRunner(id);
+    } else {
+      LOGGER.log(Level.CONFIG, "Loading database schema using a shared thread pool");
+      return new MultiThreadedTaskRunner(id, executorService);
+    }
+  }
+
+  /**
+   * Checks whether tasks are run on virtual threads. Virtual threads are used on Java 21 or later,
+   * unless they are turned off with the SC_VIRTUAL_THREADS system property or environment variable.
+   *
+   * @return True if virtual threads are used
+   */
+  public static boolean isUsingVirtualThreads() {
+    return NEW_VIRTUAL_THREAD_EXECUTOR != null
+        && Boolean.valueOf(
+            getSystemConfigurationProperty("SC_VIRTUAL_THREADS", Boolean.TRUE.toString()));
+  }
+
+  /**
+   * Creates an executor service that can be shared by the task runners of an entire operation, such
+   * as a crawl. Tasks may wait for other tasks on the same executor service to complete without
+   * deadlocks, since either a new virtual thread is started for each task, or a fork-join pool is
+   * used, which adds threads when a task waits. When virtual threads are used, the number of
+   * threads is not limited, and callers need to limit access to shared resources, such as database
+   * connections, themselves.
+   *
+   * @param maxThreads Number of threads to run tasks on, if virtual threads are not used, usually
+   *     from {@link #getMaxConcurrency(int, int)}
+   * @return Executor service
+   */
+  public static ExecutorService newSharedExecutorService(final int maxThreads) {
+    if (isUsingVirtualThreads()) {
+      return newVirtualThreadExecutor();
+    } else {
+      return new ForkJoinPool(Math.max(maxThreads, MIN_THREADS));
+    }
+  }
+
+  private static int getMaxConcurrencyForUnboundedConnections() {
+    final String maxConcurrency =
+        getSystemConfigurationProperty(
+            "SC_MAX_CONCURRENCY", String.valueOf(DEFAULT_MAX_CONCURRENCY));
+    try {
+      return Integer.parseInt(maxConcurrency.trim());
+    } catch (final NumberFormatException e) {
+      LOGGER.log(
+          Level.WARNING,
+          new StringFormat("Ignoring invalid value <SC_MAX_CONCURRENCY=%s>", maxConcurrency));
+      return DEFAULT_MAX_CONCURRENCY;
+    }
+  }
+
+  private static boolean isSingleThreaded() {
+    return Boolean.valueOf(
+        getSystemConfigurationProperty("SC_SINGLE_THREADED", Boolean.FALSE.toString()));
+  }
+
+  private static Method lookupNewVirtualThreadExecutor() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (final NoSuchMethodException | SecurityException e) {
+      LOGGER.log(Level.CONFIG, "Virtual threads are not available");
+      return null;
+    }
+  }
+
+  private static ExecutorService newVirtualThreadExecutor() {
+    try {
+      return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+    } catch (final ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not start virtual threads", e);
+    }
+  }
 }
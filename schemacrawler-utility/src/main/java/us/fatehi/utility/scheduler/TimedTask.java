@@ -32,7 +32,9 @@ import static java.util.Objects.requireNonNull;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,26 +42,55 @@ import us.fatehi.utility.string.StringFormat;
 
 /**
  * Wrapper around a task definition that runs the task and times it. Throws an exception if the task
- * does not succeed.
+ * does not succeed. The task is not run if any of the tasks it depends on have failed, and in that
+ * case it is reported as skipped, with an exception that has the failure of the dependency as the
+ * cause, and is itself considered failed.
  */
 class TimedTask implements Callable<TimedTaskResult> {
 
   private static final Logger LOGGER = Logger.getLogger(TimedTask.class.getName());
 
   private final TaskDefinition taskDefinition;
+  private final Map<String, Exception> failedTasks;
 
   TimedTask(final TaskDefinition task) {
+    this(task, new ConcurrentHashMap<>());
+  }
+
+  /**
+   * Creates a timed task.
+   *
+   * @param task Task definition
+   * @param failedTasks Exceptions of tasks that have failed, by task name, shared by all tasks in a
+   *     submission
+   */
+  TimedTask(final TaskDefinition task, final Map<String, Exception> failedTasks) {
     this.taskDefinition = requireNonNull(task, "Task not provided");
+    this.failedTasks = requireNonNull(failedTasks, "Failed tasks not provided");
   }
 
   @Override
   public TimedTaskResult call() {
 
+    final String taskName = taskDefinition.getTaskName();
+    for (final String dependency : taskDefinition.getDependencies()) {
+      final Exception dependencyException = failedTasks.get(dependency);
+      if (dependencyException != null) {
+        final String message =
+            String.format(
+                "Not running <%s>, since <%s> did not complete successfully",
+                taskName, dependency);
+        LOGGER.log(Level.WARNING, message);
+        final Exception skippedException = new RunnerException(message, dependencyException);
+        failedTasks.put(taskName, skippedException);
+        return TimedTaskResult.skipped(taskName, skippedException);
+      }
+    }
+
     LOGGER.log(
         Level.INFO,
         new StringFormat(
-            "Running <%s> on thread <%s>",
-            taskDefinition.getTaskName(), Thread.currentThread().getName()));
+            "Running <%s> on thread <%s>", taskName, Thread.currentThread().getName()));
 
     final Instant start = Instant.now();
 
@@ -72,10 +103,10 @@ class TimedTask implements Callable<TimedTaskResult> {
 
     final Instant stop = Instant.now();
     final Duration runTime = Duration.between(start, stop);
-    final TimedTaskResult timedTaskResult =
-        new TimedTaskResult(taskDefinition.getTaskName(), runTime, ex);
+    final TimedTaskResult timedTaskResult = new TimedTaskResult(taskName, runTime, ex);
 
     if (ex != null) {
+      failedTasks.put(taskName, ex);
       LOGGER.log(
           Level.WARNING,
           String.format(
@@ -57,13 +57,36 @@ final class TimedTaskResult implements Serializable {
   private final Duration duration;
   private final String taskName;
   private final Exception exception;
+  private final boolean skipped;
+
+  /**
+   * Result for a task that was not run, since a task that it depends on did not complete
+   * successfully.
+   *
+   * @param taskName Name of the task
+   * @param exception Exception with the failure of the dependency as the cause
+   * @return Task result
+   */
+  static TimedTaskResult skipped(final String taskName, final Exception exception) {
+    requireNonNull(exception, "Exception not provided");
+    return new TimedTaskResult(taskName, Duration.ZERO, exception, true);
+  }
 
   TimedTaskResult(final String taskName, final Duration duration, final Exception exception) {
+    this(taskName, duration, exception, false);
+  }
+
+  private TimedTaskResult(
+      final String taskName,
+      final Duration duration,
+      final Exception exception,
+      final boolean skipped) {
     requireNonNull(taskName, "Task name not provided");
     requireNonNull(duration, "Duration not provided");
     this.taskName = taskName;
     this.duration = duration;
     this.exception = exception;
+    this.skipped = skipped;
   }
 
   public Duration getDuration() {
@@ -78,9 +101,26 @@ final class TimedTaskResult implements Serializable {
     return exception != null;
   }
 
+  /**
+   * Whether the task was not run, since a task that it depends on did not complete successfully.
+   *
+   * @return True if the task was skipped
+   */
+  public boolean isSkipped() {
+    return skipped;
+  }
+
   @Override
   public String toString() {
     final LocalTime durationLocal = LocalTime.ofNanoOfDay(duration.toNanos());
-    return String.format("%s - <%s>", durationLocal.format(df), taskName);
+    final String status;
+    if (skipped) {
+      status = " (skipped)";
+    } else if (exception != null) {
+      status = " (failed)";
+    } else {
+      status = "";
+    }
+    return String.format("%s - <%s>%s", durationLocal.format(df), taskName, status);
   }
 }
@@ -0,0 +1,127 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.string;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe pool that deduplicates equal strings, so that only one copy of each is retained.
+ * Unlike {@link String#intern()}, the pool can be discarded when it is no longer needed, for
+ * example at the end of a crawl. Long strings, such as view definitions, are rarely repeated, and
+ * are not pooled.
+ */
+public final class StringPool {
+
+  public static final int DEFAULT_MAX_LENGTH = 1024;
+
+  private final ConcurrentMap<String, String> strings;
+  private final int maxLength;
+  private final LongAdder deduplicatedCount;
+  private final LongAdder deduplicatedLength;
+
+  public StringPool() {
+    this(DEFAULT_MAX_LENGTH);
+  }
+
+  /**
+   * Creates a pool for strings up to a given length.
+   *
+   * @param maxLength Maximum length of strings to pool
+   */
+  public StringPool(final int maxLength) {
+    if (maxLength < 0) {
+      throw new IllegalArgumentException("Maximum length cannot be negative");
+    }
+    this.maxLength = maxLength;
+    strings = new ConcurrentHashMap<>();
+    deduplicatedCount = new LongAdder();
+    deduplicatedLength = new LongAdder();
+  }
+
+  /**
+   * Number of strings that were replaced by a pooled copy.
+   *
+   * @return Number of duplicate strings
+   */
+  public long getDeduplicatedCount() {
+    return deduplicatedCount.sum();
+  }
+
+  /**
+   * Total number of characters in strings that were replaced by a pooled copy.
+   *
+   * @return Number of characters in duplicate strings
+   */
+  public long getDeduplicatedLength() {
+    return deduplicatedLength.sum();
+  }
+
+  /**
+   * Gets the pooled copy of a string, adding the string to the pool if it is not already there.
+   *
+   * @param string String to deduplicate, which may be null
+   * @return Pooled string, or the same string if it is too long to pool, or null
+   */
+  public String pooled(final String string) {
+    if (string == null || string.length() > maxLength) {
+      return string;
+    }
+    // Look up first, since most strings are repeated, and a lookup does not lock
+    String pooled = strings.get(string);
+    if (pooled == null) {
+      pooled = strings.putIfAbsent(string, string);
+      if (pooled == null) {
+        return string;
+      }
+    }
+    if (pooled != string) {
+      deduplicatedCount.increment();
+      deduplicatedLength.add(string.length());
+    }
+    return pooled;
+  }
+
+  /**
+   * Number of distinct strings in the pool.
+   *
+   * @return Pool size
+   */
+  public int size() {
+    return strings.size();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d strings pooled, %d duplicates with %d characters removed",
+        size(), getDeduplicatedCount(), getDeduplicatedLength());
+  }
+}
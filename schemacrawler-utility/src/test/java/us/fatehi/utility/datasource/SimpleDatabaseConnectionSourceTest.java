@@ -37,6 +37,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.time.Duration;
 import java.util.HashMap;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -46,10 +47,14 @@ import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 
+import us.fatehi.utility.SQLRuntimeException;
+
 @TestInstance(Lifecycle.PER_CLASS)
 public class SimpleDatabaseConnectionSourceTest {
 
   private DatabaseConnectionSource databaseConnectionSource;
+  private String connectionUrl;
+  private UserCredentials userCredentials;
 
   @Test
   public void badConstructorArgs() throws Exception {
@@ -97,14 +102,109 @@ public class SimpleDatabaseConnectionSourceTest {
 
     final Connection wrappedConnection = db.getConnection();
     final DatabaseMetaData metaData = wrappedConnection.getMetaData();
-    final String connectionUrl = metaData.getURL();
+    connectionUrl = metaData.getURL();
     final String userName = metaData.getUserName();
     final String password = "";
+    userCredentials = new MultiUseUserCredentials(userName, password);
     databaseConnectionSource =
+        new SimpleDatabaseConnectionSource(
+            connectionUrl, new HashMap<>(), userCredentials, connection -> {});
+  }
+
+  @Test
+  public void idleConnectionsAreEvicted() throws Exception {
+    final SimpleDatabaseConnectionSource pool =
+        new SimpleDatabaseConnectionSource(
+            connectionUrl,
+            new HashMap<>(),
+            userCredentials,
+            connection -> {},
+            2,
+            Duration.ofMinutes(1),
+            Duration.ZERO);
+
+    final Connection connection1 = pool.get();
+    final Connection unwrappedConnection1 = connection1.unwrap(Connection.class);
+    connection1.close();
+    assertThat(pool.getIdleConnections(), is(1));
+
+    final Connection connection2 = pool.get();
+    assertThat(unwrappedConnection1.isClosed(), is(true));
+    assertThat(pool.getCreatedConnections(), is(2L));
+    connection2.close();
+
+    pool.close();
+  }
+
+  @Test
+  public void initializerFailureDoesNotLeakConnections() throws Exception {
+    final SimpleDatabaseConnectionSource pool =
+        new SimpleDatabaseConnectionSource(
+            connectionUrl,
+            new HashMap<>(),
+            userCredentials,
+            connection -> {
+              throw new RuntimeException("Cannot initialize connection");
+            },
+            1,
+            Duration.ofMillis(100),
+            Duration.ofMinutes(1));
+
+    // Each attempt fails in the initializer, rather than timing out waiting for a connection
+    for (int i = 0; i < 3; i++) {
+      final RuntimeException exception = assertThrows(RuntimeException.class, () -> pool.get());
+      assertThat(exception.getMessage(), is("Cannot initialize connection"));
+      assertThat(pool.getActiveConnections(), is(0));
+      assertThat(pool.getIdleConnections(), is(0));
+    }
+
+    pool.close();
+  }
+
+  @Test
+  public void invalidConnectionsAreReplaced() throws Exception {
+    final SimpleDatabaseConnectionSource pool =
+        new SimpleDatabaseConnectionSource(
+            connectionUrl, new HashMap<>(), userCredentials, connection -> {});
+
+    final Connection connection1 = pool.get();
+    connection1.unwrap(Connection.class).close();
+    connection1.close();
+
+    final Connection connection2 = pool.get();
+    assertThat(connection2.isValid(1), is(true));
+    assertThat(pool.getCreatedConnections(), is(2L));
+    connection2.close();
+
+    pool.close();
+  }
+
+  @Test
+  public void poolIsBounded() throws Exception {
+    final SimpleDatabaseConnectionSource pool =
         new SimpleDatabaseConnectionSource(
             connectionUrl,
             new HashMap<>(),
-            new MultiUseUserCredentials(userName, password),
-            connection -> {});
+            userCredentials,
+            connection -> {},
+            1,
+            Duration.ofMillis(100),
+            Duration.ofMinutes(1));
+    assertThat(pool.getMaxConnections(), is(1));
+
+    final Connection connection1 = pool.get();
+    assertThat(pool.getActiveConnections(), is(1));
+    assertThrows(SQLRuntimeException.class, () -> pool.get());
+
+    connection1.close();
+    assertThat(pool.getActiveConnections(), is(0));
+    assertThat(pool.getIdleConnections(), is(1));
+
+    final Connection connection2 = pool.get();
+    assertThat(connection2.unwrap(Connection.class), is(connection1.unwrap(Connection.class)));
+    assertThat(pool.getCreatedConnections(), is(1L));
+    connection2.close();
+
+    pool.close();
   }
 }
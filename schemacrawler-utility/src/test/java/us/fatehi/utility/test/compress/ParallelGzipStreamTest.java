@@ -0,0 +1,172 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.test.compress;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static us.fatehi.utility.compress.ParallelGzipInputStream.isParallelGzip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.compress.ParallelGzipInputStream;
+import us.fatehi.utility.compress.ParallelGzipOutputStream;
+
+public class ParallelGzipStreamTest {
+
+  private static final int BLOCK_SIZE = 1000;
+
+  @Test
+  public void badArgs() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new ParallelGzipOutputStream(
+                new ByteArrayOutputStream(), 0, ForkJoinPool.commonPool()));
+    assertThrows(NullPointerException.class, () -> new ParallelGzipOutputStream(null));
+    assertThrows(NullPointerException.class, () -> new ParallelGzipInputStream(null));
+  }
+
+  @Test
+  public void corruptBlock() throws IOException {
+    final byte[] compressed = compress(testData());
+    compressed[compressed.length / 2] ^= 0x55;
+
+    final ByteBuffer buffer = ByteBuffer.wrap(compressed);
+
+    assertThrows(ZipException.class, () -> readFully(new ParallelGzipInputStream(buffer)));
+  }
+
+  @Test
+  public void emptyStream() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new ParallelGzipOutputStream(bytes).close();
+    final byte[] compressed = bytes.toByteArray();
+
+    assertThat(isParallelGzip(ByteBuffer.wrap(compressed)), is(true));
+    assertThat(readFully(new ParallelGzipInputStream(ByteBuffer.wrap(compressed))).length, is(0));
+    assertThat(
+        readFully(new GZIPInputStream(new ByteArrayInputStream(compressed))).length, is(0));
+  }
+
+  @Test
+  public void plainGzip() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final OutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(testData());
+    }
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+
+    assertThat(isParallelGzip(buffer), is(false));
+    assertThrows(ZipException.class, () -> new ParallelGzipInputStream(buffer));
+  }
+
+  @Test
+  public void readableAsGzip() throws IOException {
+    final byte[] data = testData();
+    final byte[] compressed = compress(data);
+
+    assertThat(
+        Arrays.equals(readFully(new GZIPInputStream(new ByteArrayInputStream(compressed))), data),
+        is(true));
+  }
+
+  @Test
+  public void roundTrip() throws IOException {
+    final byte[] data = testData();
+    final byte[] compressed = compress(data);
+    final ByteBuffer buffer = ByteBuffer.wrap(compressed);
+
+    assertThat(isParallelGzip(buffer), is(true));
+    try (final InputStream in = new ParallelGzipInputStream(buffer)) {
+      assertThat(in.read(), is(data[0] & 0xFF));
+      final byte[] rest = readFully(in);
+      assertThat(Arrays.equals(rest, Arrays.copyOfRange(data, 1, data.length)), is(true));
+      assertThat(in.read(), is(-1));
+    }
+    assertThat("Buffer position should not change", buffer.position(), is(0));
+  }
+
+  @Test
+  public void truncated() throws IOException {
+    final byte[] compressed = compress(testData());
+    final ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(compressed, compressed.length - 3));
+
+    assertThrows(ZipException.class, () -> new ParallelGzipInputStream(buffer));
+  }
+
+  private byte[] compress(final byte[] data) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final OutputStream out =
+        new ParallelGzipOutputStream(bytes, BLOCK_SIZE, ForkJoinPool.commonPool())) {
+      // Write in chunks that do not line up with blocks, and flush part of the way through
+      final int half = data.length / 2;
+      out.write(data, 0, half);
+      out.flush();
+      for (int i = half; i < half + 10; i++) {
+        out.write(data[i]);
+      }
+      out.write(data, half + 10, data.length - half - 10);
+    }
+    return bytes.toByteArray();
+  }
+
+  private byte[] readFully(final InputStream in) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[777];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      bytes.write(buffer, 0, count);
+    }
+    return bytes.toByteArray();
+  }
+
+  private byte[] testData() {
+    final Random random = new Random(7);
+    final StringBuilder buffer = new StringBuilder();
+    while (buffer.length() < 20 * BLOCK_SIZE + 123) {
+      buffer.append("table_").append(random.nextInt(500)).append(' ');
+    }
+    return buffer.toString().getBytes(UTF_8);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package us.fatehi.utility.test.graph;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.graph.DirectedGraph;
+import us.fatehi.utility.graph.TarjanStronglyConnectedComponentFinder;
+import us.fatehi.utility.graph.Vertex;
+
+public class DirectedGraphLargeTest extends GraphTestBase {
+
+  private static final int CHAIN_LENGTH = 200_000;
+
+  @Test
+  public void duplicateEdges() throws Exception {
+    final DirectedGraph<String> graph = new DirectedGraph<>("");
+    graph.addEdge("A", "B");
+    graph.addEdge("A", "C");
+    graph.addEdge("A", "B");
+    final Vertex<String> vertexA = graph.addVertex("A");
+
+    assertThat(graph.edgeSet(), hasSize(2));
+    assertThat(graph.getOutgoingEdges(vertexA), hasSize(2));
+    assertThat(topologicalSort(graph), is(Arrays.asList("A", "B", "C")));
+  }
+
+  @Test
+  public void longChain() throws Exception {
+    final DirectedGraph<Integer> graph = new DirectedGraph<>("");
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < CHAIN_LENGTH; i++) {
+      graph.addEdge(i, i + 1);
+      expected.add(i);
+    }
+    expected.add(CHAIN_LENGTH);
+
+    assertThat(containsCycleSimple(graph), is(false));
+    assertThat(containsCycleTarjan(graph), is(false));
+    assertThat(topologicalSort(graph), is(expected));
+
+    graph.addEdge(CHAIN_LENGTH, 0);
+
+    assertThat(containsCycleSimple(graph), is(true));
+    final Collection<List<Integer>> sccs =
+        new TarjanStronglyConnectedComponentFinder<>(graph).detectCycles();
+    assertThat(sccs, hasSize(1));
+    assertThat(sccs.iterator().next(), is(expected));
+  }
+
+  @Test
+  public void repeatedCycleDetection() throws Exception {
+    final DirectedGraph<String> graph = new DirectedGraph<>("");
+    graph.addEdge("A", "B");
+    graph.addEdge("B", "A");
+    graph.addEdge("B", "C");
+
+    for (int i = 0; i < 2; i++) {
+      assertThat(containsCycleSimple(graph), is(true));
+      final Collection<List<String>> sccs =
+          new TarjanStronglyConnectedComponentFinder<>(graph).detectCycles();
+      assertThat(sccs, containsInAnyOrder(Arrays.asList("A", "B")));
+    }
+  }
+
+  @Test
+  public void stronglyConnectedComponentAcrossBranches() throws Exception {
+    final DirectedGraph<String> graph = new DirectedGraph<>("");
+    graph.addEdge("B", "C");
+    graph.addEdge("C", "B");
+    graph.addEdge("A", "C");
+    graph.addEdge("B", "A");
+
+    final Collection<List<String>> sccs =
+        new TarjanStronglyConnectedComponentFinder<>(graph).detectCycles();
+    assertThat(sccs, hasSize(1));
+    assertThat(sccs.iterator().next(), containsInAnyOrder("A", "B", "C"));
+  }
+
+  @Test
+  public void stronglyConnectedComponents() throws Exception {
+    final DirectedGraph<String> graph = new DirectedGraph<>("");
+    graph.addEdge("A", "B");
+    graph.addEdge("B", "C");
+    graph.addEdge("C", "A");
+    graph.addEdge("C", "D");
+    graph.addEdge("D", "E");
+    graph.addEdge("E", "F");
+    graph.addEdge("F", "E");
+
+    final Collection<List<String>> sccs =
+        new TarjanStronglyConnectedComponentFinder<>(graph).detectCycles();
+    assertThat(
+        sccs, containsInAnyOrder(Arrays.asList("A", "B", "C"), Arrays.asList("E", "F")));
+    assertThat(graph.getOutgoingEdges(graph.addVertex("C")), hasSize(2));
+  }
+}
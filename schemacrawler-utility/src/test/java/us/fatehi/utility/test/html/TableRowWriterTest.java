@@ -0,0 +1,116 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package us.fatehi.utility.test.html;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static us.fatehi.utility.html.TagBuilder.tableCell;
+import static us.fatehi.utility.html.TagBuilder.tableHeaderCell;
+import static us.fatehi.utility.html.TagBuilder.tableRow;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.Color;
+import us.fatehi.utility.html.Alignment;
+import us.fatehi.utility.html.TableRowWriter;
+import us.fatehi.utility.html.Tag;
+import us.fatehi.utility.html.TagOutputFormat;
+
+public class TableRowWriterTest {
+
+  @Test
+  public void emptyRow() {
+    for (final TagOutputFormat tagOutputFormat : TagOutputFormat.values()) {
+      final StringWriter writer = new StringWriter();
+      new TableRowWriter(new PrintWriter(writer), tagOutputFormat).beginRow().endRow();
+
+      assertThat(writer.toString(), is(rendered(tableRow().make(), tagOutputFormat)));
+    }
+  }
+
+  @Test
+  public void sameAsTags() {
+    final Tag row = tableRow().make();
+    row.addInnerTag(tableCell().withStyleClass("spacer").make());
+    row.addInnerTag(
+        tableCell()
+            .withEscapedText("<name> & \"value\"")
+            .withWidth(24)
+            .withEmphasis()
+            .withColumnSpan(2)
+            .make());
+    row.addInnerTag(
+        tableCell()
+            .withText("<b>bold</b>")
+            .withWidth(12)
+            .withAlignment(Alignment.right)
+            .withBackground(Color.fromRGB(255, 0, 100))
+            .make());
+    row.addInnerTag(tableHeaderCell().withEscapedText(null).withStyleClass("header").make());
+
+    for (final TagOutputFormat tagOutputFormat : TagOutputFormat.values()) {
+      final StringWriter writer = new StringWriter();
+      final TableRowWriter rowWriter = new TableRowWriter(new PrintWriter(writer), tagOutputFormat);
+      // Write the row twice, to check that the cell and buffer are reset
+      for (int i = 0; i < 2; i++) {
+        rowWriter
+            .beginRow()
+            .cell()
+            .withStyleClass("spacer")
+            .write()
+            .cell()
+            .withEscapedText("<name> & \"value\"")
+            .withWidth(24)
+            .withEmphasis(true)
+            .withColumnSpan(2)
+            .write()
+            .cell()
+            .withText("<b>bold</b>")
+            .withWidth(12)
+            .withAlignment(Alignment.right)
+            .withBackground(Color.fromRGB(255, 0, 100))
+            .write()
+            .headerCell()
+            .withEscapedText(null)
+            .withStyleClass("header")
+            .write()
+            .endRow();
+      }
+
+      final String expected = rendered(row, tagOutputFormat);
+      assertThat(tagOutputFormat.name(), writer.toString(), is(expected + expected));
+    }
+  }
+
+  private String rendered(final Tag row, final TagOutputFormat tagOutputFormat) {
+    return row.render(tagOutputFormat) + System.lineSeparator();
+  }
+}
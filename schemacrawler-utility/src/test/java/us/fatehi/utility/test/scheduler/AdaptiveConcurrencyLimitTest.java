@@ -0,0 +1,169 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.test.scheduler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.scheduler.AdaptiveConcurrencyLimit;
+
+public class AdaptiveConcurrencyLimitTest {
+
+  @Test
+  public void backOffWhenLatencyGrows() throws Exception {
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 1, 3);
+    assertThat(limit.getLimit(), is(3));
+    for (int i = 0; i < 5; i++) {
+      runOperations(limit, Duration.ofMillis(1));
+    }
+    assertThat(limit.getLimit(), is(3));
+
+    for (int i = 0; i < 5; i++) {
+      runOperations(limit, Duration.ofMillis(100));
+    }
+    assertThat(limit.getLimit(), is(1));
+  }
+
+  @Test
+  public void interruptedWhileWaiting() throws Exception {
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 1, 1);
+    final AdaptiveConcurrencyLimit.Permit permit = limit.acquire(Duration.ZERO);
+
+    Thread.currentThread().interrupt();
+    assertThrows(InterruptedException.class, () -> limit.acquire(Duration.ofHours(1)));
+
+    // The interrupted operation did not take a permit
+    permit.release(null);
+    limit.acquire(Duration.ZERO).release(null);
+  }
+
+  @Test
+  public void permitReleasedOnAnotherThread() throws Exception {
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 1, 1);
+    final AdaptiveConcurrencyLimit.Permit permit = limit.acquire(Duration.ZERO);
+
+    final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    executorService.submit(() -> permit.release(Duration.ZERO)).get();
+    executorService.shutdown();
+    // Releasing again has no effect
+    permit.release(Duration.ZERO);
+
+    final AdaptiveConcurrencyLimit.Permit otherPermit = limit.acquire(Duration.ZERO);
+    assertThrows(TimeoutException.class, () -> limit.acquire(Duration.ZERO));
+    otherPermit.release(null);
+  }
+
+  @Test
+  public void scaleUpWhileLatencyIsFlat() throws Exception {
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 1, 3);
+    assertThat(limit.getMaxLimit(), is(3));
+
+    runOperations(limit, Duration.ofMillis(1));
+    for (int i = 0; i < 5; i++) {
+      runOperations(limit, Duration.ofMillis(100));
+    }
+    assertThat(limit.getLimit(), is(1));
+
+    for (int i = 0; i < 5; i++) {
+      runOperations(limit, Duration.ofMillis(1));
+    }
+    assertThat(limit.getLimit(), is(3));
+  }
+
+  @Test
+  public void timeoutWhenNoPermitReleased() throws Exception {
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 1, 2);
+    final List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+    permits.add(limit.acquire(Duration.ZERO));
+    permits.add(limit.acquire(Duration.ZERO));
+
+    // Never runs over the limit
+    assertThrows(TimeoutException.class, () -> limit.acquire(Duration.ofMillis(50)));
+
+    for (final AdaptiveConcurrencyLimit.Permit permit : permits) {
+      permit.release(null);
+    }
+  }
+
+  @Test
+  public void waitWhileOtherOperationsProgress() throws Exception {
+    final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 1, 1);
+    final AdaptiveConcurrencyLimit.Permit permit = limit.acquire(Duration.ZERO);
+
+    // Operations hold the only permit for longer than the timeout in total, but each one is
+    // shorter, so waiting does not time out
+    final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    final List<Future<Void>> operations = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      operations.add(
+          executorService.submit(
+              () -> {
+                final AdaptiveConcurrencyLimit.Permit otherPermit =
+                    limit.acquire(Duration.ofMillis(500));
+                TimeUnit.MILLISECONDS.sleep(200);
+                otherPermit.release(null);
+                return null;
+              }));
+    }
+    permit.release(null);
+    for (final Future<Void> operation : operations) {
+      operation.get();
+    }
+    executorService.shutdown();
+    limit.acquire(Duration.ZERO).release(null);
+  }
+
+  /**
+   * Runs as many operations at the same time as the current limit, and one more, which cannot get
+   * a permit, so the limit is reached. Operations report the given latency.
+   */
+  private void runOperations(final AdaptiveConcurrencyLimit limit, final Duration latency)
+      throws Exception {
+    final List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < limit.getLimit(); i++) {
+      permits.add(limit.acquire(Duration.ZERO));
+    }
+    assertThrows(TimeoutException.class, () -> limit.acquire(Duration.ZERO));
+    for (final AdaptiveConcurrencyLimit.Permit permit : permits) {
+      permit.release(latency);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.test.scheduler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.scheduler.OrderedTaskQueue;
+
+public class OrderedTaskQueueTest {
+
+  private ExecutorService executorService;
+
+  @BeforeEach
+  public void _createExecutorService() {
+    executorService = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  public void _shutdownExecutorService() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void cancelAfterHandlerFailure() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final OrderedTaskQueue<Integer> queue = new OrderedTaskQueue<>(executorService, 4);
+    queue.submit(
+        () -> {
+          latch.await();
+          return 1;
+        },
+        result -> {});
+
+    final List<Future<Integer>> failed = new ArrayList<>();
+    assertThrows(
+        IOException.class,
+        () ->
+            queue.drain(
+                result -> {
+                  failed.add(result);
+                  throw new IOException("Cannot handle result");
+                }));
+
+    // The task that could not be handled is still pending, and is cancelled
+    queue.cancel();
+    assertThat(failed.get(0).isCancelled(), is(true));
+    latch.countDown();
+  }
+
+  @Test
+  public void limitPendingTasks() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final OrderedTaskQueue<Integer> queue = new OrderedTaskQueue<>(executorService, 2);
+    final List<Integer> results = new ArrayList<>();
+
+    queue.submit(
+        () -> {
+          latch.await();
+          return 1;
+        },
+        result -> results.add(result.get()));
+    assertThat(results.isEmpty(), is(true));
+
+    // The second task reaches the limit, so the first task is waited for
+    latch.countDown();
+    queue.submit(() -> 2, result -> results.add(result.get()));
+    assertThat(results.get(0), is(1));
+
+    queue.drain(result -> results.add(result.get()));
+    assertThat(results, contains(1, 2));
+  }
+
+  @Test
+  public void resultsInSubmissionOrder() throws Exception {
+    final OrderedTaskQueue<Integer> queue = new OrderedTaskQueue<>(executorService, 8);
+    final List<Integer> results = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      final int value = i;
+      // Earlier tasks take longer, so later tasks complete first
+      queue.submit(
+          () -> {
+            TimeUnit.MILLISECONDS.sleep(20 - value);
+            return value;
+          },
+          result -> results.add(result.get()));
+    }
+    queue.drain(result -> results.add(result.get()));
+
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      expected.add(i);
+    }
+    assertThat(results, is(expected));
+  }
+}
@@ -0,0 +1,151 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.test.scheduler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.scheduler.RunnerException;
+import us.fatehi.utility.scheduler.TaskDefinition;
+import us.fatehi.utility.scheduler.TaskRunner;
+import us.fatehi.utility.scheduler.TaskRunners;
+
+public class TaskRunnerDependenciesTest {
+
+  @Test
+  public void dependentTaskRunsAfterDependencies() throws Exception {
+    final List<String> completed = new CopyOnWriteArrayList<>();
+
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("dependencies", 4)) {
+      taskRunner.add(
+          new TaskDefinition(
+              "slowTask",
+              () -> {
+                Thread.sleep(200);
+                completed.add("slow_task");
+              }));
+      taskRunner.add(new TaskDefinition("fastTask", () -> completed.add("fast_task")));
+      taskRunner.add(
+          new TaskDefinition("dependentTask", () -> completed.add("dependent_task"))
+              .withDependencies(Arrays.asList("slowTask")));
+      taskRunner.submit();
+    }
+
+    assertThat(completed.size(), is(3));
+    assertThat(completed.indexOf("slow_task"), lessThan(completed.indexOf("dependent_task")));
+    // Independent task does not wait for the slow task
+    assertThat(completed.indexOf("fast_task"), lessThan(completed.indexOf("slow_task")));
+  }
+
+  @Test
+  public void dependentTaskNotRunOnFailure() throws Exception {
+    final List<String> completed = new CopyOnWriteArrayList<>();
+
+    final TaskRunner taskRunner = TaskRunners.getTaskRunner("failure", 4);
+    taskRunner.add(
+        new TaskDefinition(
+            "failedTask",
+            () -> {
+              throw new RuntimeException("Forced exception");
+            }));
+    taskRunner.add(
+        new TaskDefinition("dependentTask", () -> completed.add("dependent_task"))
+            .withDependencies(Arrays.asList("failedTask")));
+    taskRunner.add(
+        new TaskDefinition("transitiveTask", () -> completed.add("transitive_task"))
+            .withDependencies(Arrays.asList("dependentTask")));
+    taskRunner.add(new TaskDefinition("independentTask", () -> completed.add("independent_task")));
+
+    final RuntimeException exception =
+        assertThrows(RuntimeException.class, () -> taskRunner.submit());
+    assertThat(completed, contains("independent_task"));
+    assertThat(taskRunner.isStopped(), is(true));
+
+    // Tasks that were not run are reported with the failure of their dependency
+    assertThat(exception.getMessage(), is("Forced exception"));
+    final Throwable[] skipped = exception.getSuppressed();
+    assertThat(skipped.length, is(2));
+    assertThat(skipped[0], is(instanceOf(RunnerException.class)));
+    assertThat(skipped[0].getMessage(), containsString("<dependent_task>"));
+    assertThat(skipped[0].getCause(), is(sameInstance(exception)));
+    assertThat(skipped[1].getMessage(), containsString("<transitive_task>"));
+    assertThat(skipped[1].getCause(), is(sameInstance(skipped[0])));
+  }
+
+  @Test
+  public void dependencyNames() {
+    final TaskDefinition taskDefinition =
+        new TaskDefinition("someTask", () -> {})
+            .withDependencies(Arrays.asList("retrieveTables", "retrieve_tables", "otherTask"));
+    assertThat(taskDefinition.hasDependencies(), is(true));
+    assertThat(taskDefinition.getDependencies(), contains("retrieve_tables", "other_task"));
+    assertThat(new TaskDefinition("someTask").hasDependencies(), is(false));
+  }
+
+  @Test
+  public void unknownDependency() throws Exception {
+    for (final int maxThreads : new int[] {1, 4}) {
+      try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("unknown", maxThreads)) {
+        taskRunner.add(new TaskDefinition("someTask", () -> {}));
+        final TaskDefinition misspelledDependency =
+            new TaskDefinition("dependentTask", () -> {})
+                .withDependencies(Arrays.asList("someTsk"));
+        assertThrows(IllegalArgumentException.class, () -> taskRunner.add(misspelledDependency));
+      }
+    }
+  }
+
+  @Test
+  public void dependencyInEarlierSubmission() throws Exception {
+    final List<String> completed = new CopyOnWriteArrayList<>();
+
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("earlier", 4)) {
+      taskRunner.add(new TaskDefinition("firstTask", () -> completed.add("first_task")));
+      taskRunner.submit();
+      taskRunner.add(
+          new TaskDefinition("secondTask", () -> completed.add("second_task"))
+              .withDependencies(Arrays.asList("firstTask")));
+      taskRunner.submit();
+    }
+
+    assertThat(completed, contains("first_task", "second_task"));
+  }
+}
@@ -0,0 +1,152 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.test.scheduler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.scheduler.TaskDefinition;
+import us.fatehi.utility.scheduler.TaskRunner;
+import us.fatehi.utility.scheduler.TaskRunners;
+
+public class TaskRunnersTest {
+
+  @Test
+  public void concurrentTasksAreLimited() throws Exception {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final AtomicInteger completed = new AtomicInteger();
+
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("limited", 2)) {
+      for (int i = 0; i < 8; i++) {
+        taskRunner.add(
+            new TaskDefinition(
+                "task" + i,
+                () -> {
+                  maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                  Thread.sleep(50);
+                  running.decrementAndGet();
+                  completed.incrementAndGet();
+                }));
+      }
+      taskRunner.submit();
+    }
+
+    assertThat(completed.get(), is(8));
+    assertThat(maxRunning.get(), is(lessThanOrEqualTo(2)));
+  }
+
+  @Test
+  public void maxConcurrencyOnSystemThreads() {
+    withSystemProperty(
+        "SC_VIRTUAL_THREADS",
+        Boolean.FALSE.toString(),
+        () -> {
+          assertThat(TaskRunners.getMaxConcurrency(4, 10), is(4));
+          assertThat(TaskRunners.getMaxConcurrency(4, 2), is(2));
+          assertThat(TaskRunners.getMaxConcurrency(0, 0), is(1));
+        });
+  }
+
+  @Test
+  public void maxConcurrencyOnVirtualThreads() {
+    withSystemProperty(
+        "SC_VIRTUAL_THREADS",
+        Boolean.TRUE.toString(),
+        () -> {
+          assumeTrue(TaskRunners.isUsingVirtualThreads(), "Virtual threads are not available");
+          // Limited by the connection pool, not by the number of threads
+          assertThat(TaskRunners.getMaxConcurrency(4, 100), is(100));
+          assertThat(
+              TaskRunners.getMaxConcurrency(4, Integer.MAX_VALUE),
+              is(TaskRunners.DEFAULT_MAX_CONCURRENCY));
+          withSystemProperty(
+              "SC_MAX_CONCURRENCY",
+              "1000",
+              () -> assertThat(TaskRunners.getMaxConcurrency(4, Integer.MAX_VALUE), is(1000)));
+        });
+  }
+
+  @Test
+  public void nestedTasksOnSharedExecutorService() throws Exception {
+    final ExecutorService executorService = TaskRunners.newSharedExecutorService(1);
+    final AtomicBoolean nestedTaskRan = new AtomicBoolean();
+
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("outer", executorService)) {
+      taskRunner.add(
+          new TaskDefinition(
+              "outerTask",
+              () -> {
+                // Waits for a task on the same executor service
+                try (final TaskRunner nestedTaskRunner =
+                    TaskRunners.getTaskRunner("nested", executorService)) {
+                  nestedTaskRunner.add(
+                      new TaskDefinition("nestedTask", () -> nestedTaskRan.set(true)));
+                  nestedTaskRunner.submit();
+                }
+              }));
+      taskRunner.submit();
+    }
+
+    assertThat(nestedTaskRan.get(), is(true));
+    assertThat(executorService.isShutdown(), is(false));
+    executorService.shutdown();
+  }
+
+  @Test
+  public void virtualThreadsCanBeTurnedOff() {
+    withSystemProperty(
+        "SC_VIRTUAL_THREADS",
+        Boolean.FALSE.toString(),
+        () -> assertThat(TaskRunners.isUsingVirtualThreads(), is(false)));
+  }
+
+  private void withSystemProperty(
+      final String property, final String value, final Runnable runnable) {
+    final String previousValue = System.getProperty(property);
+    try {
+      System.setProperty(property, value);
+      runnable.run();
+    } finally {
+      if (previousValue == null) {
+        System.clearProperty(property);
+      } else {
+        System.setProperty(property, previousValue);
+      }
+    }
+  }
+}
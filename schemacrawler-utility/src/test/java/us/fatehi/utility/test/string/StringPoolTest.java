@@ -0,0 +1,90 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.test.string;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.string.StringPool;
+
+public class StringPoolTest {
+
+  @Test
+  public void badArgs() {
+    assertThrows(IllegalArgumentException.class, () -> new StringPool(-1));
+  }
+
+  @Test
+  public void longStrings() {
+    final StringPool stringPool = new StringPool(3);
+
+    final String string1 = new String("abcd");
+    final String string2 = new String("abcd");
+    assertThat(stringPool.pooled(string1), is(sameInstance(string1)));
+    assertThat(stringPool.pooled(string2), is(sameInstance(string2)));
+
+    assertThat(stringPool.size(), is(0));
+    assertThat(stringPool.getDeduplicatedCount(), is(0L));
+  }
+
+  @Test
+  public void nullString() {
+    final StringPool stringPool = new StringPool();
+    assertThat(stringPool.pooled(null), is(nullValue()));
+    assertThat(stringPool.size(), is(0));
+  }
+
+  @Test
+  public void pooled() {
+    final StringPool stringPool = new StringPool();
+
+    final String string1 = new String("column");
+    final String string2 = new String("column");
+    final String string3 = new String("table");
+    assertThat(string2, is(not(sameInstance(string1))));
+
+    assertThat(stringPool.pooled(string1), is(sameInstance(string1)));
+    assertThat(stringPool.pooled(string2), is(sameInstance(string1)));
+    assertThat(stringPool.pooled(string3), is(sameInstance(string3)));
+    // Pooling the pooled copy again is not counted as a duplicate
+    assertThat(stringPool.pooled(string1), is(sameInstance(string1)));
+
+    assertThat(stringPool.size(), is(2));
+    assertThat(stringPool.getDeduplicatedCount(), is(1L));
+    assertThat(stringPool.getDeduplicatedLength(), is(6L));
+    assertThat(
+        stringPool.toString(), is("2 strings pooled, 1 duplicates with 6 characters removed"));
+  }
+}